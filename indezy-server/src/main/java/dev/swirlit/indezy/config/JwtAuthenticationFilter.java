@@ -1,5 +1,6 @@
 package dev.swirlit.indezy.config;
 
+import dev.swirlit.indezy.util.JwtPrincipal;
 import dev.swirlit.indezy.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -19,8 +20,11 @@ import java.util.List;
 
 /**
  * Authenticates requests carrying a "Bearer" JWT in the Authorization header.
- * Invalid or missing tokens leave the request anonymous; authorization rules
- * in {@link SecurityConfig} then decide whether the endpoint is reachable.
+ * The token is verified once and the authentication's principal is a
+ * {@link JwtPrincipal} carrying the username and user id (its name is the
+ * username). Invalid or missing tokens leave the request anonymous;
+ * authorization rules in {@link SecurityConfig} then decide whether the
+ * endpoint is reachable.
  */
 @Component
 @RequiredArgsConstructor
@@ -40,17 +44,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)
                 && SecurityContextHolder.getContext().getAuthentication() == null) {
             String token = authHeader.substring(BEARER_PREFIX.length());
-            try {
-                String username = jwtUtil.extractUsername(token);
-                if (Boolean.TRUE.equals(jwtUtil.validateToken(token, username))) {
-                    UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(username, null, List.of());
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
-            } catch (Exception e) {
-                log.debug("Rejected invalid JWT: {}", e.getMessage());
-            }
+            jwtUtil.verify(token).ifPresent(principal -> {
+                UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(principal, null, List.of());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            });
         }
 
         filterChain.doFilter(request, response);
@@ -3,6 +3,7 @@ package dev.swirlit.indezy.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -45,6 +46,8 @@ public class SecurityConfig {
                     .requestMatchers("/public/**").permitAll()
                     .requestMatchers("/health").permitAll()
                     .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                    // Avatars are loaded by <img> tags, which send no bearer token; their names are unguessable
+                    .requestMatchers(HttpMethod.GET, "/files/avatars/**").permitAll()
                     // Swagger/OpenAPI endpoints
                     .requestMatchers("/v3/api-docs/**").permitAll()
                     .requestMatchers("/swagger-ui/**").permitAll()
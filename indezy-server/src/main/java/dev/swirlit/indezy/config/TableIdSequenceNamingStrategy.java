@@ -0,0 +1,32 @@
+package dev.swirlit.indezy.config;
+
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.QualifiedName;
+import org.hibernate.boot.model.relational.QualifiedSequenceName;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.StandardNamingStrategy;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+
+import java.util.Map;
+
+/**
+ * Names the implicit id sequence of every entity {@code <table>_id_seq}. Those are the names
+ * PostgreSQL gave the sequences behind the former {@code bigserial} identity columns, so existing
+ * databases keep their sequences (and current values) when ids switch to pooled sequence
+ * generation. Registered through {@code hibernate.id.db_structure_naming_strategy}.
+ */
+public class TableIdSequenceNamingStrategy extends StandardNamingStrategy {
+
+    static final String SUFFIX = "_id_seq";
+
+    @Override
+    public QualifiedName determineSequenceName(Identifier catalogName, Identifier schemaName,
+                                               Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+        String tableName = ConfigurationHelper.getString(PersistentIdentifierGenerator.TABLE, configValues);
+        if (tableName == null || tableName.isBlank()) {
+            return super.determineSequenceName(catalogName, schemaName, configValues, serviceRegistry);
+        }
+        return new QualifiedSequenceName(catalogName, schemaName, Identifier.toIdentifier(tableName + SUFFIX));
+    }
+}
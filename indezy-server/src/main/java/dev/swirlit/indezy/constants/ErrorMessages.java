@@ -35,12 +35,34 @@ public final class ErrorMessages {
     // Project Note related error messages
     public static final String PROJECT_NOTE_NOT_FOUND = "Project note not found with id: %d";
 
+    // Project Attachment related error messages
+    public static final String PROJECT_ATTACHMENT_NOT_FOUND = "Project attachment not found with id: %d";
+    public static final String PROJECT_UPLOAD_NOT_FOUND = "Upload not found or expired with id: %d";
+    public static final String UPLOAD_OFFSET_MISMATCH = "Chunk offset %d does not match the %d bytes received";
+    public static final String UPLOAD_CHUNK_TOO_LARGE = "Chunk exceeds the maximum chunk size of %d MB";
+    public static final String UPLOAD_SIZE_EXCEEDED = "Chunk goes past the %d bytes declared for the upload";
+    public static final String UPLOAD_INCOMPLETE = "Upload has received %d of %d bytes";
+    public static final String UPLOAD_CHECKSUM_MISMATCH = "SHA-256 of the uploaded content is %s, not %s";
+    public static final String UPLOAD_IN_PROGRESS = "Upload %d is already being completed";
+
     // Validation error messages
     public static final String INVALID_EMAIL_FORMAT = "Invalid email format: %s";
     public static final String INVALID_PHONE_FORMAT = "Invalid phone format: %s";
     public static final String INVALID_DATE_RANGE = "Start date cannot be after end date";
+    public static final String DASHBOARD_PERIOD_CONFLICT = "Use either year or from/to, not both";
     public static final String INVALID_RATING_RANGE = "Rating must be between 1 and 5";
     public static final String INVALID_DAILY_RATE = "Daily rate must be positive";
+    public static final String INVALID_SORT_PROPERTY = "Unsupported sort property: %s";
+    public static final String INVALID_CURSOR = "Invalid pagination cursor: %s";
+
+    // Bulk import error messages
+    public static final String IMPORT_UNSUPPORTED_FORMAT = "Unsupported import content type: %s";
+    public static final String IMPORT_MISSING_COLUMNS = "Import header is missing required columns: %s";
+    public static final String IMPORT_REQUIRED_FIELD = "Missing required field: %s";
+    public static final String IMPORT_INVALID_FIELD = "Invalid value for %s: %s";
+    public static final String IMPORT_MALFORMED_ROW = "Malformed row: %s";
+    public static final String IMPORT_UNTERMINATED_QUOTE = "Unterminated quoted field starting on line %d";
+    public static final String IMPORT_BATCH_FAILED = "Batch write failed: %s";
 
     // Security related error messages
     public static final String ACCESS_DENIED = "Access denied to resource";
@@ -52,8 +74,26 @@ public final class ErrorMessages {
     public static final String FILE_UPLOAD_FAILED = "Failed to upload file: %s";
     public static final String INVALID_FILE_TYPE = "Invalid file type. Allowed types: %s";
     public static final String FILE_SIZE_EXCEEDED = "File size exceeds maximum allowed size of %d MB";
+    public static final String FILE_EMPTY = "File is empty: %s";
+    public static final String IMAGE_DIMENSIONS_EXCEEDED = "Image dimensions exceed %d x %d pixels";
 
     // User related error messages
     public static final String USER_NOT_FOUND = "User not found with id: %d";
     public static final String USER_EMAIL_NOT_FOUND = "User not found with email: %s";
+
+    // Data export related error messages
+    public static final String DATA_EXPORT_NOT_FOUND = "Data export not found with id: %d";
+    public static final String DATA_EXPORT_NOT_READY = "Data export %d is not completed";
+
+    // Background job related error messages
+    public static final String JOB_NOT_FOUND = "Job not found with id: %d";
+    public static final String JOB_TYPE_NOT_SUBMITTABLE = "Jobs of type %s cannot be submitted";
+    public static final String JOB_ALREADY_FINISHED = "Job %d has already finished";
+
+    // Skill tag related error messages
+    public static final String SKILL_TAG_NOT_FOUND = "Skill tag not found with id: %d";
+    public static final String SKILL_TAG_NAME_INVALID = "Skill tag name must have 1 to %d characters";
+
+    // Search related error messages
+    public static final String SEARCH_QUERY_TOO_LONG = "Search query exceeds %d characters";
 }
@@ -1,7 +1,9 @@
 package dev.swirlit.indezy.controller;
 
 import dev.swirlit.indezy.dto.ClientDto;
+import dev.swirlit.indezy.dto.CursorPageDto;
 import dev.swirlit.indezy.service.ClientService;
+import dev.swirlit.indezy.util.CursorPagination;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -49,6 +51,16 @@ public class ClientController {
         return ResponseEntity.ok(clients);
     }
 
+    @Operation(summary = "Scroll all clients (keyset paginated)",
+        description = "Newest first; pass the returned nextCursor as cursor to fetch the following page")
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDto<ClientDto>> scrollClients(
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPagination.MAX_LIMIT) @RequestParam Integer limit) {
+        log.debug("GET /clients?limit={} - Scrolling clients", limit);
+        return ResponseEntity.ok(clientService.scrollAll(cursor, limit));
+    }
+
     @Operation(summary = "Get client by ID", description = "Retrieve a specific client by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved client",
@@ -119,6 +131,17 @@ public class ClientController {
         return ResponseEntity.ok(clients);
     }
 
+    @Operation(summary = "Scroll clients by freelance ID (keyset paginated)",
+        description = "Newest first; pass the returned nextCursor as cursor to fetch the following page")
+    @GetMapping(value = "/by-freelance/{freelanceId}", params = "limit")
+    public ResponseEntity<CursorPageDto<ClientDto>> scrollClientsByFreelanceId(
+            @PathVariable Long freelanceId,
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPagination.MAX_LIMIT) @RequestParam Integer limit) {
+        log.debug("GET /clients/by-freelance/{}?limit={} - Scrolling clients", freelanceId, limit);
+        return ResponseEntity.ok(clientService.scrollByFreelanceId(freelanceId, cursor, limit));
+    }
+
     @Operation(summary = "Get client with projects", description = "Retrieve a client with all associated projects")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved client with projects",
@@ -3,6 +3,7 @@ package dev.swirlit.indezy.controller;
 import dev.swirlit.indezy.dto.CommuteInfoDto;
 import dev.swirlit.indezy.dto.ProjectCommuteDto;
 import dev.swirlit.indezy.model.enums.TravelMode;
+import dev.swirlit.indezy.service.CommutePrecomputeService;
 import dev.swirlit.indezy.service.CommuteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -22,15 +23,17 @@ import java.util.List;
 public class CommuteController {
 
     private final CommuteService commuteService;
+    private final CommutePrecomputeService commutePrecomputeService;
 
     @Operation(summary = "Get projects sorted by commute time",
-            description = "Returns all projects for a freelancer sorted by commute time from their home address to the client location")
+            description = "Returns all projects for a freelancer sorted by commute time from their home address to the client location, "
+                    + "from commutes precomputed in the background")
     @GetMapping("/projects/{freelanceId}")
     public ResponseEntity<List<ProjectCommuteDto>> getProjectsSortedByCommute(
             @PathVariable Long freelanceId,
             @RequestParam(defaultValue = "DRIVING") TravelMode travelMode) {
         log.debug("GET /commute/projects/{} - mode={}", freelanceId, travelMode);
-        List<ProjectCommuteDto> results = commuteService.getProjectsSortedByCommute(freelanceId, travelMode);
+        List<ProjectCommuteDto> results = commutePrecomputeService.getProjectsSortedByCommute(freelanceId, travelMode);
         return ResponseEntity.ok(results);
     }
 
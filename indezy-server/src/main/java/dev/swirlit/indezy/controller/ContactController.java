@@ -1,7 +1,9 @@
 package dev.swirlit.indezy.controller;
 
 import dev.swirlit.indezy.dto.ContactDto;
+import dev.swirlit.indezy.dto.CursorPageDto;
 import dev.swirlit.indezy.service.ContactService;
+import dev.swirlit.indezy.util.CursorPagination;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -49,6 +51,16 @@ public class ContactController {
         return ResponseEntity.ok(contacts);
     }
 
+    @Operation(summary = "Scroll all contacts (keyset paginated)",
+        description = "Newest first; pass the returned nextCursor as cursor to fetch the following page")
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDto<ContactDto>> scrollContacts(
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPagination.MAX_LIMIT) @RequestParam Integer limit) {
+        log.debug("GET /contacts?limit={} - Scrolling contacts", limit);
+        return ResponseEntity.ok(contactService.scrollAll(cursor, limit));
+    }
+
     @Operation(summary = "Get contact by ID", description = "Retrieve a specific contact by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved contact",
@@ -119,6 +131,17 @@ public class ContactController {
         return ResponseEntity.ok(contacts);
     }
 
+    @Operation(summary = "Scroll contacts by freelance ID (keyset paginated)",
+        description = "Newest first; pass the returned nextCursor as cursor to fetch the following page")
+    @GetMapping(value = "/by-freelance/{freelanceId}", params = "limit")
+    public ResponseEntity<CursorPageDto<ContactDto>> scrollContactsByFreelanceId(
+            @PathVariable Long freelanceId,
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPagination.MAX_LIMIT) @RequestParam Integer limit) {
+        log.debug("GET /contacts/by-freelance/{}?limit={} - Scrolling contacts", freelanceId, limit);
+        return ResponseEntity.ok(contactService.scrollByFreelanceId(freelanceId, cursor, limit));
+    }
+
     @Operation(summary = "Get contacts by client ID", description = "Retrieve all contacts for a specific client")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved contacts",
@@ -132,6 +155,17 @@ public class ContactController {
         return ResponseEntity.ok(contacts);
     }
 
+    @Operation(summary = "Scroll contacts by client ID (keyset paginated)",
+        description = "Newest first; pass the returned nextCursor as cursor to fetch the following page")
+    @GetMapping(value = "/by-client/{clientId}", params = "limit")
+    public ResponseEntity<CursorPageDto<ContactDto>> scrollContactsByClientId(
+            @PathVariable Long clientId,
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPagination.MAX_LIMIT) @RequestParam Integer limit) {
+        log.debug("GET /contacts/by-client/{}?limit={} - Scrolling contacts", clientId, limit);
+        return ResponseEntity.ok(contactService.scrollByClientId(clientId, cursor, limit));
+    }
+
     @Operation(summary = "Search contacts by name", description = "Search contacts by name for a specific freelance")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved contacts",
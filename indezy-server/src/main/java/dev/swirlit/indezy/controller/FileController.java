@@ -0,0 +1,55 @@
+package dev.swirlit.indezy.controller;
+
+import dev.swirlit.indezy.service.AvatarService;
+import dev.swirlit.indezy.util.FileDownloads;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/files")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@Tag(name = "Files", description = "Uploaded files served to the browser")
+public class FileController {
+
+    /** Avatar file names carry a digest of their content, so a name never gives other bytes. */
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private final AvatarService avatarService;
+
+    @Operation(summary = "Get avatar",
+        description = "Serve an avatar, or with size its smallest square thumbnail at least that large. Until the "
+            + "thumbnail is generated the original is returned, to be revalidated; files are otherwise cacheable for a year.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Avatar image"),
+        @ApiResponse(responseCode = "304", description = "Avatar unchanged since the given ETag"),
+        @ApiResponse(responseCode = "404", description = "Avatar not found")
+    })
+    @GetMapping("/avatars/{fileName}")
+    public void getAvatar(
+            @PathVariable String fileName,
+            @Parameter(description = "Width and height in pixels of the thumbnail wanted") @RequestParam(required = false) Integer size,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        log.debug("GET /files/avatars/{}?size={} - Serving avatar", fileName, size);
+        AvatarService.AvatarFile avatar = avatarService.resolve(fileName, size);
+        response.setContentType(avatar.contentType());
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+            (avatar.immutable() ? IMMUTABLE : CacheControl.noCache().cachePublic()).getHeaderValue());
+        FileDownloads.serve(avatar.path(), avatar.size(), avatar.etag(), request, response);
+    }
+}
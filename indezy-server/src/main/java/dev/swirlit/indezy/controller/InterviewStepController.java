@@ -1,9 +1,11 @@
 package dev.swirlit.indezy.controller;
 
+import dev.swirlit.indezy.dto.CursorPageDto;
 import dev.swirlit.indezy.dto.InterviewStepDto;
 import dev.swirlit.indezy.dto.StepTransitionDto;
 import dev.swirlit.indezy.model.enums.StepStatus;
 import dev.swirlit.indezy.service.InterviewStepService;
+import dev.swirlit.indezy.util.CursorPagination;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -44,6 +46,16 @@ public class InterviewStepController {
         return ResponseEntity.ok(interviewSteps);
     }
 
+    @Operation(summary = "Scroll all interview steps (keyset paginated)",
+        description = "Newest first; pass the returned nextCursor as cursor to fetch the following page")
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDto<InterviewStepDto>> scrollInterviewSteps(
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPagination.MAX_LIMIT) @RequestParam Integer limit) {
+        log.debug("GET /interview-steps?limit={} - Scrolling interview steps", limit);
+        return ResponseEntity.ok(interviewStepService.scrollAll(cursor, limit));
+    }
+
     @Operation(summary = "Get interview step by ID", description = "Retrieve a specific interview step by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved interview step",
@@ -71,6 +83,17 @@ public class InterviewStepController {
         return ResponseEntity.ok(interviewSteps);
     }
 
+    @Operation(summary = "Scroll interview steps by project ID (keyset paginated)",
+        description = "Newest first; pass the returned nextCursor as cursor to fetch the following page")
+    @GetMapping(value = "/by-project/{projectId}", params = "limit")
+    public ResponseEntity<CursorPageDto<InterviewStepDto>> scrollInterviewStepsByProjectId(
+            @PathVariable Long projectId,
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPagination.MAX_LIMIT) @RequestParam Integer limit) {
+        log.debug("GET /interview-steps/by-project/{}?limit={} - Scrolling interview steps", projectId, limit);
+        return ResponseEntity.ok(interviewStepService.scrollByProjectId(projectId, cursor, limit));
+    }
+
     @Operation(summary = "Get interview steps by project ID ordered by date", description = "Retrieve all interview steps for a specific project ordered by date")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved interview steps",
@@ -98,6 +121,18 @@ public class InterviewStepController {
         return ResponseEntity.ok(interviewSteps);
     }
 
+    @Operation(summary = "Scroll interview steps by freelance ID and status (keyset paginated)",
+        description = "Newest first; without status every step is returned. Pass the returned nextCursor as cursor to fetch the following page")
+    @GetMapping(value = "/by-freelance/{freelanceId}", params = "limit")
+    public ResponseEntity<CursorPageDto<InterviewStepDto>> scrollInterviewStepsByFreelanceIdAndStatus(
+            @PathVariable Long freelanceId,
+            @Parameter(description = "Step status") @RequestParam(required = false) StepStatus status,
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPagination.MAX_LIMIT) @RequestParam Integer limit) {
+        log.debug("GET /interview-steps/by-freelance/{}?limit={} - Scrolling interview steps with status: {}", freelanceId, limit, status);
+        return ResponseEntity.ok(interviewStepService.scrollByFreelanceIdAndStatus(freelanceId, status, cursor, limit));
+    }
+
     @Operation(summary = "Create new interview step", description = "Create a new interview step with the provided details")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Interview step created successfully",
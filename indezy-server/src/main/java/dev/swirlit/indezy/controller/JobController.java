@@ -0,0 +1,74 @@
+package dev.swirlit.indezy.controller;
+
+import dev.swirlit.indezy.dto.JobDto;
+import dev.swirlit.indezy.model.enums.JobType;
+import dev.swirlit.indezy.service.JobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:4200", "http://127.0.0.1:4200"})
+@Tag(name = "Background Jobs", description = "Submit, poll and cancel long-running operations")
+public class JobController {
+
+    private final JobService jobService;
+
+    @PostMapping("/{freelanceId}")
+    @Operation(summary = "Submit a job",
+            description = "Queue a background job for the freelancer and return at once; poll the returned Location for its progress")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job queued, or the job of that type already queued or running"),
+            @ApiResponse(responseCode = "400", description = "Job type that cannot be submitted"),
+            @ApiResponse(responseCode = "404", description = "Owner not found")
+    })
+    public ResponseEntity<JobDto> submitJob(@PathVariable Long freelanceId, @RequestParam JobType type) {
+        log.debug("POST /jobs/{} - type={}", freelanceId, type);
+        JobDto job = jobService.submitForUser(type, freelanceId);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}").buildAndExpand(job.getId()).toUri())
+                .body(job);
+    }
+
+    @GetMapping("/{freelanceId}")
+    @Operation(summary = "List jobs", description = "The most recent jobs of the freelancer, newest first")
+    public ResponseEntity<List<JobDto>> getJobs(@PathVariable Long freelanceId) {
+        log.debug("GET /jobs/{}", freelanceId);
+        return ResponseEntity.ok(jobService.getJobs(freelanceId));
+    }
+
+    @GetMapping("/{freelanceId}/{jobId}")
+    @Operation(summary = "Get job status", description = "Status, progress and result of a job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    public ResponseEntity<JobDto> getJob(@PathVariable Long freelanceId, @PathVariable Long jobId) {
+        log.debug("GET /jobs/{}/{}", freelanceId, jobId);
+        return ResponseEntity.ok(jobService.getJob(freelanceId, jobId));
+    }
+
+    @PostMapping("/{freelanceId}/{jobId}/cancel")
+    @Operation(summary = "Cancel a job",
+            description = "Cancel a queued job, or ask a running job to stop at its next step")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cancellation applied or requested"),
+            @ApiResponse(responseCode = "400", description = "Job already finished"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    public ResponseEntity<JobDto> cancelJob(@PathVariable Long freelanceId, @PathVariable Long jobId) {
+        log.debug("POST /jobs/{}/{}/cancel", freelanceId, jobId);
+        return ResponseEntity.ok(jobService.cancel(freelanceId, jobId));
+    }
+}
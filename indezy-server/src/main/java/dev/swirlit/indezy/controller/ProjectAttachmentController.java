@@ -0,0 +1,102 @@
+package dev.swirlit.indezy.controller;
+
+import dev.swirlit.indezy.dto.ProjectAttachmentDto;
+import dev.swirlit.indezy.service.ProjectAttachmentService;
+import dev.swirlit.indezy.util.FileDownloads;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/projects/{projectId}/attachments")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:4200", "http://127.0.0.1:4200"})
+@Tag(name = "Project Attachments", description = "Files attached to a project, with inline preview")
+public class ProjectAttachmentController {
+
+    /** Attachment URLs always serve the same bytes: rows are never updated and ids never reused. */
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+    private final ProjectAttachmentService projectAttachmentService;
+
+    @Operation(summary = "List project attachments", description = "Get a project's attachments, newest first")
+    @GetMapping
+    public ResponseEntity<List<ProjectAttachmentDto>> getAttachments(@PathVariable Long projectId) {
+        log.debug("GET /projects/{}/attachments - Listing attachments", projectId);
+        return ResponseEntity.ok(projectAttachmentService.getAttachments(projectId));
+    }
+
+    @Operation(summary = "Add project attachment",
+        description = "Upload a file to the project; a file already attached to it is returned instead of added again")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Attachment added, or the identical attachment already there"),
+        @ApiResponse(responseCode = "400", description = "Empty or too large file"),
+        @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProjectAttachmentDto> addAttachment(
+            @PathVariable Long projectId,
+            @Parameter(description = "Attached file") @RequestParam("file") MultipartFile file) throws IOException {
+        log.debug("POST /projects/{}/attachments - Adding attachment", projectId);
+        ProjectAttachmentDto created = projectAttachmentService.addAttachment(projectId, file);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Get attachment content",
+        description = "Serve the file, inline for PDFs, images and text unless download is set. Supports ETag "
+            + "conditional requests (If-None-Match) and single byte ranges (Range, If-Range).")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Whole file"),
+        @ApiResponse(responseCode = "206", description = "Requested range of the file"),
+        @ApiResponse(responseCode = "304", description = "File unchanged since the given ETag"),
+        @ApiResponse(responseCode = "404", description = "Attachment not found"),
+        @ApiResponse(responseCode = "416", description = "Range starting past the end of the file")
+    })
+    @GetMapping("/{attachmentId}/content")
+    public void getAttachmentContent(
+            @PathVariable Long projectId,
+            @PathVariable Long attachmentId,
+            @Parameter(description = "Always download, even a file the browser could display")
+            @RequestParam(defaultValue = "false") boolean download,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        log.debug("GET /projects/{}/attachments/{}/content - Serving attachment", projectId, attachmentId);
+        ProjectAttachmentService.Content content = projectAttachmentService.getContent(projectId, attachmentId);
+        boolean inline = !download && content.previewable();
+        ContentDisposition disposition = (inline ? ContentDisposition.inline() : ContentDisposition.attachment())
+            .filename(content.fileName(), StandardCharsets.UTF_8)
+            .build();
+        response.setContentType(content.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE.getHeaderValue());
+        FileDownloads.serve(content.path(), content.sizeInBytes(), content.etag(), request, response);
+    }
+
+    @Operation(summary = "Delete project attachment", description = "Remove an attachment from the project")
+    @DeleteMapping("/{attachmentId}")
+    public ResponseEntity<Void> deleteAttachment(@PathVariable Long projectId, @PathVariable Long attachmentId) {
+        log.debug("DELETE /projects/{}/attachments/{} - Deleting attachment", projectId, attachmentId);
+        projectAttachmentService.deleteAttachment(projectId, attachmentId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,6 +1,8 @@
 package dev.swirlit.indezy.controller;
 
+import dev.swirlit.indezy.dto.CursorPageDto;
 import dev.swirlit.indezy.dto.DashboardStatsDto;
+import dev.swirlit.indezy.dto.ImportReportDto;
 import dev.swirlit.indezy.dto.KanbanBoardDto;
 import dev.swirlit.indezy.dto.ProjectDto;
 import dev.swirlit.indezy.model.enums.LostReason;
@@ -8,7 +10,9 @@ import dev.swirlit.indezy.model.enums.ProjectStatus;
 import dev.swirlit.indezy.model.enums.WorkMode;
 import dev.swirlit.indezy.service.DashboardStatsService;
 import dev.swirlit.indezy.service.ProjectExportService;
+import dev.swirlit.indezy.service.ProjectImportService;
 import dev.swirlit.indezy.service.ProjectService;
+import dev.swirlit.indezy.util.CursorPagination;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,16 +20,27 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -40,6 +55,7 @@ public class ProjectController {
     private final ProjectService projectService;
     private final DashboardStatsService dashboardStatsService;
     private final ProjectExportService projectExportService;
+    private final ProjectImportService projectImportService;
 
     @Operation(summary = "Get all projects", description = "Retrieve a list of all projects")
     @ApiResponses(value = {
@@ -53,6 +69,16 @@ public class ProjectController {
         return ResponseEntity.ok(projects);
     }
 
+    @Operation(summary = "Scroll all projects (keyset paginated)",
+        description = "Newest first; pass the returned nextCursor as cursor to fetch the following page")
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDto<ProjectDto>> scrollProjects(
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPagination.MAX_LIMIT) @RequestParam Integer limit) {
+        log.debug("GET /projects?limit={} - Scrolling projects", limit);
+        return ResponseEntity.ok(projectService.scrollAll(cursor, limit));
+    }
+
     @Operation(summary = "Get project by ID", description = "Retrieve a specific project by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved project",
@@ -81,6 +107,17 @@ public class ProjectController {
         return ResponseEntity.ok(projects);
     }
 
+    @Operation(summary = "Scroll projects by freelance ID (keyset paginated)",
+        description = "Newest first; pass the returned nextCursor as cursor to fetch the following page")
+    @GetMapping(value = "/by-freelance/{freelanceId}", params = "limit")
+    public ResponseEntity<CursorPageDto<ProjectDto>> scrollProjectsByFreelanceId(
+            @PathVariable Long freelanceId,
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPagination.MAX_LIMIT) @RequestParam Integer limit) {
+        log.debug("GET /projects/by-freelance/{}?limit={} - Scrolling projects", freelanceId, limit);
+        return ResponseEntity.ok(projectService.scrollByFreelanceId(freelanceId, cursor, limit));
+    }
+
     @GetMapping("/by-client/{clientId}")
     public ResponseEntity<List<ProjectDto>> getProjectsByClientId(@PathVariable Long clientId) {
         log.debug("GET /projects/by-client/{} - Getting projects by client id", clientId);
@@ -88,19 +125,34 @@ public class ProjectController {
         return ResponseEntity.ok(projects);
     }
 
+    @Operation(summary = "Scroll projects by client ID (keyset paginated)",
+        description = "Newest first; pass the returned nextCursor as cursor to fetch the following page")
+    @GetMapping(value = "/by-client/{clientId}", params = "limit")
+    public ResponseEntity<CursorPageDto<ProjectDto>> scrollProjectsByClientId(
+            @PathVariable Long clientId,
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPagination.MAX_LIMIT) @RequestParam Integer limit) {
+        log.debug("GET /projects/by-client/{}?limit={} - Scrolling projects", clientId, limit);
+        return ResponseEntity.ok(projectService.scrollByClientId(clientId, cursor, limit));
+    }
+
+    @Operation(summary = "Search projects",
+        description = "Filter, sort and page a freelance's projects; all criteria are applied in the database. "
+            + "Supports repeated sort parameters, e.g. sort=dailyRate,desc&sort=startDate")
     @GetMapping("/by-freelance/{freelanceId}/filtered")
-    public ResponseEntity<List<ProjectDto>> getProjectsByFreelanceIdWithFilters(
+    public ResponseEntity<PagedModel<ProjectDto>> getProjectsByFreelanceIdWithFilters(
             @PathVariable Long freelanceId,
             @RequestParam(required = false) Integer minRate,
             @RequestParam(required = false) Integer maxRate,
             @RequestParam(required = false) WorkMode workMode,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateAfter,
-            @RequestParam(required = false) String techStack) {
-        
+            @RequestParam(required = false) String techStack,
+            @PageableDefault(size = 20, sort = "updatedAt", direction = Sort.Direction.DESC) Pageable pageable) {
+
         log.debug("GET /projects/by-freelance/{}/filtered - Getting filtered projects", freelanceId);
-        List<ProjectDto> projects = projectService.findByFreelanceIdAndFilters(
-            freelanceId, minRate, maxRate, workMode, startDateAfter, techStack);
-        return ResponseEntity.ok(projects);
+        Page<ProjectDto> projects = projectService.findByFreelanceIdAndFilters(
+            freelanceId, minRate, maxRate, workMode, startDateAfter, techStack, pageable);
+        return ResponseEntity.ok(new PagedModel<>(projects));
     }
 
     @Operation(summary = "Create new project", description = "Create a new project with the provided details")
@@ -199,25 +251,61 @@ public class ProjectController {
     }
 
     @Operation(summary = "Export yearly summary",
-        description = "Download a CSV summary of the freelance's projects, optionally limited to a year")
+        description = "Download a CSV summary of the freelance's projects, optionally limited to a year. "
+            + "Rows are streamed to the response as they are read.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "CSV summary", content = @Content(mediaType = "text/csv"))
+    })
     @GetMapping("/export/csv/{freelanceId}")
-    public ResponseEntity<String> exportYearlySummary(
+    public void exportYearlySummary(
             @PathVariable Long freelanceId,
-            @RequestParam(required = false) Integer year) {
+            @RequestParam(required = false) Integer year,
+            HttpServletResponse response) throws IOException {
         log.debug("GET /projects/export/csv/{}?year={} - Exporting yearly summary", freelanceId, year);
-        String csv = projectExportService.buildYearlySummaryCsv(freelanceId, year);
         String filename = "indezy-summary-" + (year != null ? year : "all") + ".csv";
-        return ResponseEntity.ok()
-            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-            .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
-            .body(csv);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        response.setContentType("text/csv; charset=UTF-8");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        projectExportService.writeYearlySummaryCsv(freelanceId, year, writer);
     }
 
-    @Operation(summary = "Get dashboard stats", description = "Get aggregated dashboard statistics for charts")
+    @Operation(summary = "Bulk import projects",
+        description = "Streams a CSV (text/csv, header row with role, dailyRate and client columns) or NDJSON "
+            + "(application/x-ndjson) body of opportunities into the freelance's pipeline. Clients, middlemen, sources "
+            + "and contacts are matched by name and created when missing. Rows are written in batches; invalid rows "
+            + "are reported with their line number and do not stop the import.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import processed, see the report for per-row errors",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportReportDto.class))),
+        @ApiResponse(responseCode = "400", description = "Unsupported content type or missing header columns"),
+        @ApiResponse(responseCode = "404", description = "Freelance not found")
+    })
+    @PostMapping(value = "/import/{freelanceId}", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportReportDto> importProjects(@PathVariable Long freelanceId, HttpServletRequest request) throws IOException {
+        log.debug("POST /projects/import/{} - Importing projects ({})", freelanceId, request.getContentType());
+        ProjectImportService.Format format = ProjectImportService.Format.fromContentType(request.getContentType());
+        // Read straight from the request stream so the file is never buffered in memory.
+        ImportReportDto report = projectImportService.importProjects(freelanceId, request.getInputStream(), format);
+        return ResponseEntity.ok(report);
+    }
+
+    @Operation(summary = "Get dashboard stats",
+        description = "Get aggregated dashboard statistics for charts, optionally limited to projects starting in a year or date range")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics computed successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = DashboardStatsDto.class))),
+        @ApiResponse(responseCode = "400", description = "Both year and from/to given, or from after to")
+    })
     @GetMapping("/stats/dashboard/{freelanceId}")
-    public ResponseEntity<DashboardStatsDto> getDashboardStats(@PathVariable Long freelanceId) {
-        log.debug("GET /projects/stats/dashboard/{} - Getting dashboard stats", freelanceId);
-        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(freelanceId);
+    public ResponseEntity<DashboardStatsDto> getDashboardStats(
+            @PathVariable Long freelanceId,
+            @Parameter(description = "Only projects starting on or after this date") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Only projects starting on or before this date") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Only projects starting in this year; exclusive with from/to") @RequestParam(required = false) Integer year) {
+        log.debug("GET /projects/stats/dashboard/{}?from={}&to={}&year={} - Getting dashboard stats", freelanceId, from, to, year);
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(freelanceId, from, to, year);
         return ResponseEntity.ok(stats);
     }
 }
@@ -0,0 +1,100 @@
+package dev.swirlit.indezy.controller;
+
+import dev.swirlit.indezy.dto.ProjectAttachmentDto;
+import dev.swirlit.indezy.dto.ProjectUploadDto;
+import dev.swirlit.indezy.service.ProjectUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/projects/{projectId}/uploads")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:4200", "http://127.0.0.1:4200"})
+@Tag(name = "Project Uploads", description = "Resumable chunked uploads of large project documents")
+public class ProjectUploadController {
+
+    private final ProjectUploadService projectUploadService;
+
+    @Operation(summary = "Start upload",
+        description = "Declare a file to send in chunks: name, content type, size and lowercase hex SHA-256")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Upload created, expecting its first chunk at offset 0"),
+        @ApiResponse(responseCode = "400", description = "Invalid declaration or file too large"),
+        @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    @PostMapping
+    public ResponseEntity<ProjectUploadDto> createUpload(@PathVariable Long projectId,
+                                                         @Valid @RequestBody ProjectUploadDto request) {
+        log.debug("POST /projects/{}/uploads - Creating upload", projectId);
+        ProjectUploadDto created = projectUploadService.createUpload(projectId, request);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Get upload", description = "Get an upload and the offset to resume it from")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Upload found"),
+        @ApiResponse(responseCode = "404", description = "Upload not found or expired")
+    })
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<ProjectUploadDto> getUpload(@PathVariable Long projectId, @PathVariable Long uploadId) {
+        log.debug("GET /projects/{}/uploads/{} - Getting upload", projectId, uploadId);
+        return ResponseEntity.ok(projectUploadService.getUpload(projectId, uploadId));
+    }
+
+    @Operation(summary = "Send chunk",
+        description = "Write the request body at the given offset, which must be the upload's receivedBytes. "
+            + "After an interruption, get the upload to read the offset to resume from.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Chunk written; the upload with its new offset"),
+        @ApiResponse(responseCode = "400", description = "Wrong offset, chunk too large, or past the declared size"),
+        @ApiResponse(responseCode = "404", description = "Upload not found or expired")
+    })
+    @PutMapping(value = "/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ProjectUploadDto> appendChunk(
+            @PathVariable Long projectId,
+            @PathVariable Long uploadId,
+            @Parameter(description = "Position of the chunk in the file") @RequestParam long offset,
+            HttpServletRequest request) throws IOException {
+        log.debug("PUT /projects/{}/uploads/{}?offset={} - Receiving chunk", projectId, uploadId, offset);
+        return ResponseEntity.ok(projectUploadService.appendChunk(projectId, uploadId, offset, request.getInputStream()));
+    }
+
+    @Operation(summary = "Complete upload",
+        description = "Check the SHA-256 of the received file and attach it to the project. "
+            + "A file that does not match is discarded with its upload.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Attachment added, or the identical attachment already there"),
+        @ApiResponse(responseCode = "400", description = "Upload incomplete, or SHA-256 mismatch"),
+        @ApiResponse(responseCode = "404", description = "Upload not found or expired"),
+        @ApiResponse(responseCode = "409", description = "Upload already being completed or cancelled")
+    })
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<ProjectAttachmentDto> completeUpload(@PathVariable Long projectId,
+                                                               @PathVariable Long uploadId) throws IOException {
+        log.debug("POST /projects/{}/uploads/{}/complete - Completing upload", projectId, uploadId);
+        ProjectAttachmentDto attachment = projectUploadService.completeUpload(projectId, uploadId);
+        return new ResponseEntity<>(attachment, HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Cancel upload", description = "Delete an upload and the bytes received")
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> cancelUpload(@PathVariable Long projectId, @PathVariable Long uploadId) throws IOException {
+        log.debug("DELETE /projects/{}/uploads/{} - Cancelling upload", projectId, uploadId);
+        projectUploadService.cancelUpload(projectId, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+}
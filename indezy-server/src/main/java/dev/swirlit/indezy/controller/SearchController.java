@@ -0,0 +1,47 @@
+package dev.swirlit.indezy.controller;
+
+import dev.swirlit.indezy.dto.SearchHitDto;
+import dev.swirlit.indezy.service.SearchIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/search")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:4200", "http://127.0.0.1:4200"})
+@Tag(name = "Search", description = "Full-text search over projects, notes, clients and contacts")
+public class SearchController {
+
+    private final SearchIndex searchIndex;
+
+    @Operation(summary = "Search a freelance's records",
+        description = "Ranked projects, project notes, clients and contacts containing every word of the query, "
+            + "accents and case ignored. A word ending in * matches the words starting with it.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Hits, best first"),
+        @ApiResponse(responseCode = "400", description = "Query too long")
+    })
+    @GetMapping("/by-freelance/{freelanceId}")
+    public ResponseEntity<List<SearchHitDto>> search(
+            @Parameter(description = "Freelance ID", required = true) @PathVariable Long freelanceId,
+            @Parameter(description = "Words to search for", required = true) @RequestParam String q,
+            @Parameter(description = "Number of hits, capped at " + SearchIndex.MAX_LIMIT) @RequestParam(required = false) Integer limit) {
+        log.debug("GET /search/by-freelance/{}?q={} - Searching", freelanceId, q);
+        return ResponseEntity.ok(searchIndex.search(freelanceId, q, limit));
+    }
+}
@@ -0,0 +1,77 @@
+package dev.swirlit.indezy.controller;
+
+import dev.swirlit.indezy.dto.ProjectDto;
+import dev.swirlit.indezy.dto.SkillTagDto;
+import dev.swirlit.indezy.service.ProjectService;
+import dev.swirlit.indezy.service.SkillTagService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/tags")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:4200", "http://127.0.0.1:4200"})
+@Tag(name = "Skill tags", description = "Skill tags derived from the tech stack of projects")
+public class SkillTagController {
+
+    private final SkillTagService skillTagService;
+    private final ProjectService projectService;
+
+    @Operation(summary = "Get a freelance's skill tags",
+        description = "Every skill tag of a freelance with the number of projects carrying it, the most used first")
+    @ApiResponse(responseCode = "200", description = "Skill tags retrieved successfully")
+    @GetMapping("/by-freelance/{freelanceId}")
+    public ResponseEntity<List<SkillTagDto>> getTags(
+            @Parameter(description = "Freelance ID", required = true) @PathVariable Long freelanceId) {
+        log.debug("GET /tags/by-freelance/{} - Getting skill tags", freelanceId);
+        return ResponseEntity.ok(skillTagService.getTags(freelanceId));
+    }
+
+    @Operation(summary = "Find projects by skill tags",
+        description = "Projects of a freelance tagged with every skill of 'all' and at least one of 'any'. "
+            + "Skills are matched by name, case, accents and common spellings (k8s, ReactJS) ignored.")
+    @ApiResponse(responseCode = "200", description = "Projects retrieved successfully, by increasing id")
+    @GetMapping("/by-freelance/{freelanceId}/projects")
+    public ResponseEntity<List<ProjectDto>> findProjects(
+            @Parameter(description = "Freelance ID", required = true) @PathVariable Long freelanceId,
+            @Parameter(description = "Skills every project must have") @RequestParam(required = false) List<String> all,
+            @Parameter(description = "Skills of which each project must have one") @RequestParam(required = false) List<String> any) {
+        log.debug("GET /tags/by-freelance/{}/projects?all={}&any={} - Finding projects", freelanceId, all, any);
+        List<Long> ids = skillTagService.findProjectIds(freelanceId, all, any);
+        return ResponseEntity.ok(ids.isEmpty() ? List.of() : projectService.findByIds(ids));
+    }
+
+    @Operation(summary = "Rename a skill tag",
+        description = "Renames a tag on every project at once. A name already used by another tag of the "
+            + "freelance merges the two; the former name keeps matching as an alias.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Skill tag renamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid name"),
+        @ApiResponse(responseCode = "404", description = "Skill tag not found")
+    })
+    @PutMapping("/{tagId}")
+    public ResponseEntity<SkillTagDto> renameTag(
+            @Parameter(description = "Skill tag ID", required = true) @PathVariable Long tagId,
+            @Parameter(description = "New name of the tag", required = true) @Valid @RequestBody SkillTagDto skillTagDto) {
+        log.debug("PUT /tags/{} - Renaming skill tag", tagId);
+        return ResponseEntity.ok(skillTagService.renameTag(tagId, skillTagDto.getName()));
+    }
+}
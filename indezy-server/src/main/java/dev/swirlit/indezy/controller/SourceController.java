@@ -1,8 +1,10 @@
 package dev.swirlit.indezy.controller;
 
+import dev.swirlit.indezy.dto.CursorPageDto;
 import dev.swirlit.indezy.dto.SourceDto;
 import dev.swirlit.indezy.model.enums.SourceType;
 import dev.swirlit.indezy.service.SourceService;
+import dev.swirlit.indezy.util.CursorPagination;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -43,6 +45,16 @@ public class SourceController {
         return ResponseEntity.ok(sources);
     }
 
+    @Operation(summary = "Scroll all sources (keyset paginated)",
+        description = "Newest first; pass the returned nextCursor as cursor to fetch the following page")
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDto<SourceDto>> scrollSources(
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPagination.MAX_LIMIT) @RequestParam Integer limit) {
+        log.debug("GET /sources?limit={} - Scrolling sources", limit);
+        return ResponseEntity.ok(sourceService.scrollAll(cursor, limit));
+    }
+
     @Operation(summary = "Get source by ID", description = "Retrieve a specific source by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved source",
@@ -113,6 +125,17 @@ public class SourceController {
         return ResponseEntity.ok(sources);
     }
 
+    @Operation(summary = "Scroll sources by freelance ID (keyset paginated)",
+        description = "Newest first; pass the returned nextCursor as cursor to fetch the following page")
+    @GetMapping(value = "/by-freelance/{freelanceId}", params = "limit")
+    public ResponseEntity<CursorPageDto<SourceDto>> scrollSourcesByFreelanceId(
+            @PathVariable Long freelanceId,
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPagination.MAX_LIMIT) @RequestParam Integer limit) {
+        log.debug("GET /sources/by-freelance/{}?limit={} - Scrolling sources", freelanceId, limit);
+        return ResponseEntity.ok(sourceService.scrollByFreelanceId(freelanceId, cursor, limit));
+    }
+
     @Operation(summary = "Get sources by type", description = "Filter sources by type for a specific freelance")
     @GetMapping("/by-freelance/{freelanceId}/type/{type}")
     public ResponseEntity<List<SourceDto>> getSourcesByType(
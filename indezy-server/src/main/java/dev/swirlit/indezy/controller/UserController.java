@@ -1,6 +1,8 @@
 package dev.swirlit.indezy.controller;
 
 import dev.swirlit.indezy.dto.*;
+import dev.swirlit.indezy.service.AvatarService;
+import dev.swirlit.indezy.service.SkillMatchService;
 import dev.swirlit.indezy.service.UserDataExportService;
 import dev.swirlit.indezy.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,13 +13,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -30,6 +38,8 @@ public class UserController {
 
     private final UserService userService;
     private final UserDataExportService userDataExportService;
+    private final AvatarService avatarService;
+    private final SkillMatchService skillMatchService;
 
     private static final Long CURRENT_USER_ID = 1L;
 
@@ -59,17 +69,19 @@ public class UserController {
     }
 
     @PostMapping("/avatar")
-    @Operation(summary = "Upload user avatar", description = "Upload a new avatar image for the current user")
+    @Operation(summary = "Upload user avatar",
+            description = "Upload a new PNG, JPEG or GIF avatar for the current user and return its URL; "
+                    + "its thumbnails are generated in the background, request one with ?size=")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Avatar uploaded successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid file"),
+            @ApiResponse(responseCode = "400", description = "Empty, too large or not a supported image"),
             @ApiResponse(responseCode = "404", description = "User not found")
     })
     public ResponseEntity<String> uploadAvatar(
             @Parameter(description = "Avatar image file") @RequestParam("file") MultipartFile file) {
         log.debug("POST /users/avatar - Uploading avatar");
         try {
-            String avatarUrl = userService.uploadAvatar(CURRENT_USER_ID, file);
+            String avatarUrl = avatarService.upload(CURRENT_USER_ID, file);
             return ResponseEntity.ok(avatarUrl);
         } catch (IOException e) {
             log.error("Error uploading avatar", e);
@@ -77,6 +89,20 @@ public class UserController {
         }
     }
 
+    @GetMapping("/skill-matches")
+    @Operation(summary = "Get the best skill matches",
+            description = "Active opportunities ranked by the share of their skill tags found in the current user's skills, "
+                    + "with the matched and missing skills of each")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matches retrieved successfully, best first"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<List<SkillMatchDto>> getSkillMatches(
+            @Parameter(description = "Number of matches, capped at " + SkillMatchService.MAX_LIMIT) @RequestParam(required = false) Integer limit) {
+        log.debug("GET /users/skill-matches - Getting the best skill matches");
+        return ResponseEntity.ok(skillMatchService.findBestMatches(CURRENT_USER_ID, limit));
+    }
+
     @PostMapping("/change-password")
     @Operation(summary = "Change password", description = "Change the current user's password")
     @ApiResponses(value = {
@@ -219,22 +245,51 @@ public class UserController {
         }
     }
 
-    @GetMapping("/export")
-    @Operation(summary = "Export user data", description = "Export all user data as a downloadable file")
+    @PostMapping("/export")
+    @Operation(summary = "Start a user data export",
+            description = "Queue an export of all user data as a ZIP archive (profile.json plus one NDJSON file per "
+                    + "entity type); poll its status, then download it once completed")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Data exported successfully"),
+            @ApiResponse(responseCode = "202", description = "Export queued, or already queued or running"),
             @ApiResponse(responseCode = "404", description = "User not found")
     })
-    public ResponseEntity<byte[]> exportUserData() {
-        log.debug("GET /users/export - Exporting user data");
-        byte[] data = userDataExportService.exportUserData(CURRENT_USER_ID);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-        headers.setContentDispositionFormData("attachment", "user-data.json");
-        
+    public ResponseEntity<DataExportDto> startUserDataExport() {
+        log.debug("POST /users/export - Starting user data export");
+        DataExportDto export = userDataExportService.startExport(CURRENT_USER_ID);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(export.getId()).toUri())
+                .body(export);
+    }
+
+    @GetMapping("/export/{exportId}")
+    @Operation(summary = "Get user data export status", description = "Status and progress of a user data export")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export status retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Export not found")
+    })
+    public ResponseEntity<DataExportDto> getUserDataExport(@PathVariable Long exportId) {
+        log.debug("GET /users/export/{} - Getting user data export status", exportId);
+        return ResponseEntity.ok(userDataExportService.getExport(CURRENT_USER_ID, exportId));
+    }
+
+    @GetMapping("/export/{exportId}/download")
+    @Operation(summary = "Download user data export",
+            description = "Download the ZIP archive of a completed export; supports HTTP Range requests")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archive downloaded successfully"),
+            @ApiResponse(responseCode = "206", description = "Requested range of the archive"),
+            @ApiResponse(responseCode = "400", description = "Export not completed"),
+            @ApiResponse(responseCode = "404", description = "Export not found")
+    })
+    public ResponseEntity<Resource> downloadUserDataExport(@PathVariable Long exportId) {
+        log.debug("GET /users/export/{}/download - Downloading user data export", exportId);
+        Path archive = userDataExportService.getExportFile(CURRENT_USER_ID, exportId);
+
+        // A Resource body lets Spring MVC answer Range requests with 206 Partial Content.
         return ResponseEntity.ok()
-                .headers(headers)
-                .body(data);
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("indezy-user-data.zip").build().toString())
+                .body(new FileSystemResource(archive));
     }
 }
@@ -21,4 +21,6 @@ public class CommuteInfoDto {
     private String durationText;
     private Integer distanceInMeters;
     private String distanceText;
+    /** Whether duration and distance are estimated from coordinates rather than from the Distance Matrix API. */
+    private boolean estimated;
 }
@@ -14,6 +14,9 @@ import java.util.Map;
 @NoArgsConstructor
 @AllArgsConstructor
 public class DashboardStatsDto {
+    /** Inclusive start-date bounds the figures were computed for; null when unbounded. */
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
     private long totalProjects;
     private double averageDailyRate;
     private double totalEstimatedRevenue;
@@ -27,6 +30,8 @@ public class DashboardStatsDto {
     private Map<String, Long> projectsByStatus;
     private Map<String, Long> projectsByWorkMode;
     private Map<String, Long> lostReasonsBreakdown;
+    /** Interview steps of the counted projects per step status. */
+    private Map<String, Long> interviewStepsByStatus;
     private List<DailyRateRange> dailyRateRanges;
     private List<SourceRoi> sourceRoi;
     private List<DailyRateEvolution> dailyRateEvolution;
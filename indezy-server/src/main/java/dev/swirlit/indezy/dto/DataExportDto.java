@@ -0,0 +1,33 @@
+package dev.swirlit.indezy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of an account data export, a {@code DATA_EXPORT} background job: {@code progress} is the
+ * percentage of sections written, {@code records} the number of entities written so far.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataExportDto {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    private Long id;
+    private Status status;
+    private int progress;
+    private String currentSection;
+    private long records;
+    private Long sizeInBytes;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,38 @@
+package dev.swirlit.indezy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** Outcome of a bulk import: row counts, created reference data, throughput and per-row errors. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDto {
+    private String format;
+    private int batchSize;
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private long createdClients;
+    private long createdSources;
+    private long createdContacts;
+    private int batches;
+    private boolean postgresCopy;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,35 @@
+package dev.swirlit.indezy.dto;
+
+import dev.swirlit.indezy.model.enums.JobStatus;
+import dev.swirlit.indezy.model.enums.JobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of a background job: {@code progress} is a percentage, {@code processedItems} the number
+ * of items (records, snapshots...) handled so far and {@code attempts} the runs started, more than
+ * one when the job was resumed after a restart.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobDto {
+    private Long id;
+    private JobType type;
+    private JobStatus status;
+    private int progress;
+    private String currentStep;
+    private long processedItems;
+    private String result;
+    private String error;
+    private int attempts;
+    private boolean cancelRequested;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,24 @@
+package dev.swirlit.indezy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectAttachmentDto {
+    private Long id;
+    private Long projectId;
+    private String fileName;
+    private String contentType;
+    private Long sizeInBytes;
+    private String sha256;
+    /** Where the content is served, also listed in the project's documents. */
+    private String url;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,35 @@
+package dev.swirlit.indezy.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/**
+ * One raw opportunity of a bulk import, as read from a CSV column or NDJSON property of the same
+ * name. Every value is kept as text and validated by the import service, so a malformed value
+ * is reported against its line instead of rejecting the whole file. Clients, the middleman and
+ * the source are referenced by name and created when the freelance has none by that name.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProjectImportRow {
+    private String role;
+    private String status;
+    private String description;
+    private String techStack;
+    private String dailyRate;
+    private String workMode;
+    private String startDate;
+    private String durationInMonths;
+    private String link;
+    private String notes;
+    private String client;
+    private String clientCity;
+    private String clientIsFinal;
+    private String middleman;
+    private String source;
+    private String sourceType;
+    private String contactFirstName;
+    private String contactLastName;
+    private String contactEmail;
+    private String contactPhone;
+}
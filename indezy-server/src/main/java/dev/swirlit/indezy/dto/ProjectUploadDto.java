@@ -0,0 +1,43 @@
+package dev.swirlit.indezy.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectUploadDto {
+    private Long id;
+    private Long projectId;
+
+    @NotBlank
+    private String fileName;
+
+    private String contentType;
+
+    @NotNull
+    @Positive
+    private Long sizeInBytes;
+
+    /** Lowercase hex SHA-256 of the whole file, checked once every chunk is received. */
+    @NotBlank
+    @Pattern(regexp = "[0-9a-f]{64}", message = "must be a lowercase hex SHA-256 digest")
+    private String sha256;
+
+    /** Offset of the next chunk to send. */
+    private Long receivedBytes;
+
+    /** Largest chunk accepted, in bytes. */
+    private Long maxChunkSize;
+
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,25 @@
+package dev.swirlit.indezy.dto;
+
+import dev.swirlit.indezy.model.enums.SearchDocumentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDto {
+    private SearchDocumentType type;
+    private Long id;
+
+    /** The project of a note, or the project itself; null for clients and contacts. */
+    private Long projectId;
+
+    /** Project role, client company name, contact full name, or the start of a note. */
+    private String title;
+
+    /** BM25 relevance: only meaningful to compare the hits of one search. */
+    private double score;
+}
@@ -0,0 +1,29 @@
+package dev.swirlit.indezy.dto;
+
+import dev.swirlit.indezy.model.enums.ProjectStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillMatchDto {
+    private Long projectId;
+    private String role;
+    private String clientName;
+    private ProjectStatus status;
+
+    /** Share of the project's skill tags the user has, from 0 (exclusive) to 1. */
+    private double score;
+
+    /** Skill tags of the project the user has, by name. */
+    private List<String> matchedSkills;
+
+    /** Skill tags of the project the user lacks, by name. */
+    private List<String> missingSkills;
+}
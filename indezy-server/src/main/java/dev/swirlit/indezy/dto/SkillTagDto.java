@@ -0,0 +1,24 @@
+package dev.swirlit.indezy.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillTagDto {
+    private Long id;
+    private Long freelanceId;
+
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+
+    /** Number of projects tagged. */
+    private Integer projectCount;
+}
@@ -0,0 +1,8 @@
+package dev.swirlit.indezy.exception;
+
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -8,9 +8,9 @@ import org.mapstruct.*;
 public interface ClientMapper {
 
     @Mapping(target = "freelanceId", source = "freelance.id")
-    @Mapping(target = "totalProjects", expression = "java(client.getProjects().size())")
-    @Mapping(target = "averageDailyRate", expression = "java(client.getProjects().stream().filter(p -> p.getDailyRate() != null).mapToInt(p -> p.getDailyRate()).average().orElse(0.0))")
-    @Mapping(target = "totalContacts", expression = "java(client.getContacts().size())")
+    @Mapping(target = "totalProjects", expression = "java(client.getProjectCount().intValue())")
+    @Mapping(target = "averageDailyRate", expression = "java(client.getAverageDailyRate())")
+    @Mapping(target = "totalContacts", expression = "java(client.getContactCount().intValue())")
     @Mapping(target = "projects", expression = "java(new java.util.ArrayList<>())")
     @Mapping(target = "contacts", expression = "java(new java.util.ArrayList<>())")
     ClientDto toDto(Client client);
@@ -19,6 +19,9 @@ public interface ClientMapper {
     @Mapping(target = "freelance", ignore = true)
     @Mapping(target = "projects", ignore = true)
     @Mapping(target = "contacts", ignore = true)
+    @Mapping(target = "projectCount", ignore = true)
+    @Mapping(target = "dailyRateSum", ignore = true)
+    @Mapping(target = "contactCount", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
@@ -28,6 +31,9 @@ public interface ClientMapper {
     @Mapping(target = "freelance", ignore = true)
     @Mapping(target = "projects", ignore = true)
     @Mapping(target = "contacts", ignore = true)
+    @Mapping(target = "projectCount", ignore = true)
+    @Mapping(target = "dailyRateSum", ignore = true)
+    @Mapping(target = "contactCount", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
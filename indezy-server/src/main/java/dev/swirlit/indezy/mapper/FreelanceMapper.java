@@ -8,8 +8,8 @@ import org.mapstruct.*;
 public interface FreelanceMapper {
 
     @Mapping(target = "fullName", expression = "java(freelance.getFirstName() + \" \" + freelance.getLastName())")
-    @Mapping(target = "totalProjects", expression = "java(freelance.getProjects().size())")
-    @Mapping(target = "averageDailyRate", expression = "java(freelance.getProjects().stream().filter(p -> p.getDailyRate() != null).mapToInt(p -> p.getDailyRate()).average().orElse(0.0))")
+    @Mapping(target = "totalProjects", expression = "java(freelance.getProjectCount().intValue())")
+    @Mapping(target = "averageDailyRate", expression = "java(freelance.getAverageDailyRate())")
     FreelanceDto toDto(Freelance freelance);
 
     @Mapping(target = "id", ignore = true)
@@ -18,6 +18,8 @@ public interface FreelanceMapper {
     @Mapping(target = "contacts", ignore = true)
     @Mapping(target = "sources", ignore = true)
     @Mapping(target = "passwordHash", ignore = true)
+    @Mapping(target = "projectCount", ignore = true)
+    @Mapping(target = "dailyRateSum", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
@@ -29,6 +31,8 @@ public interface FreelanceMapper {
     @Mapping(target = "contacts", ignore = true)
     @Mapping(target = "sources", ignore = true)
     @Mapping(target = "passwordHash", ignore = true)
+    @Mapping(target = "projectCount", ignore = true)
+    @Mapping(target = "dailyRateSum", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
@@ -21,10 +21,10 @@ public interface ProjectMapper {
     @Mapping(target = "totalRevenue", expression = "java(project.getTotalRevenue())")
     @Mapping(target = "margin", expression = "java(project.getMargin())")
     @Mapping(target = "marginPercentage", expression = "java(project.getMarginPercentage())")
-    @Mapping(target = "totalSteps", expression = "java(project.getSteps().size())")
-    @Mapping(target = "completedSteps", expression = "java((int) project.getSteps().stream().filter(step -> dev.swirlit.indezy.model.enums.StepStatus.VALIDATED.equals(step.getStatus())).count())")
-    @Mapping(target = "failedSteps", expression = "java((int) project.getSteps().stream().filter(step -> dev.swirlit.indezy.model.enums.StepStatus.FAILED.equals(step.getStatus())).count())")
-    @Mapping(target = "steps", source = "steps", conditionExpression = "java(!project.getSteps().isEmpty())")
+    @Mapping(target = "totalSteps", expression = "java(project.getStepCount().intValue())")
+    @Mapping(target = "completedSteps", expression = "java(project.getValidatedStepCount().intValue())")
+    @Mapping(target = "failedSteps", expression = "java(project.getFailedStepCount().intValue())")
+    @Mapping(target = "steps", source = "steps", conditionExpression = "java(project.hasLoadedSteps())")
     ProjectDto toDto(Project project);
 
     @Mapping(target = "id", ignore = true)
@@ -33,6 +33,9 @@ public interface ProjectMapper {
     @Mapping(target = "middleman", ignore = true)
     @Mapping(target = "source", ignore = true)
     @Mapping(target = "steps", ignore = true)
+    @Mapping(target = "stepCount", ignore = true)
+    @Mapping(target = "validatedStepCount", ignore = true)
+    @Mapping(target = "failedStepCount", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
@@ -44,6 +47,9 @@ public interface ProjectMapper {
     @Mapping(target = "middleman", ignore = true)
     @Mapping(target = "source", ignore = true)
     @Mapping(target = "steps", ignore = true)
+    @Mapping(target = "stepCount", ignore = true)
+    @Mapping(target = "validatedStepCount", ignore = true)
+    @Mapping(target = "failedStepCount", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
@@ -8,14 +8,16 @@ import org.mapstruct.*;
 public interface SourceMapper {
 
     @Mapping(target = "freelanceId", source = "freelance.id")
-    @Mapping(target = "totalProjects", expression = "java(source.getProjects().size())")
-    @Mapping(target = "averageDailyRate", expression = "java(source.getProjects().stream().filter(p -> p.getDailyRate() != null).mapToInt(p -> p.getDailyRate()).average().orElse(0.0))")
+    @Mapping(target = "totalProjects", expression = "java(source.getProjectCount().intValue())")
+    @Mapping(target = "averageDailyRate", expression = "java(source.getAverageDailyRate())")
     @Mapping(target = "projects", expression = "java(new java.util.ArrayList<>())")
     SourceDto toDto(Source source);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "freelance", ignore = true)
     @Mapping(target = "projects", ignore = true)
+    @Mapping(target = "projectCount", ignore = true)
+    @Mapping(target = "dailyRateSum", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
@@ -24,6 +26,8 @@ public interface SourceMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "freelance", ignore = true)
     @Mapping(target = "projects", ignore = true)
+    @Mapping(target = "projectCount", ignore = true)
+    @Mapping(target = "dailyRateSum", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
@@ -0,0 +1,74 @@
+package dev.swirlit.indezy.model;
+
+import dev.swirlit.indezy.model.enums.JobStatus;
+import dev.swirlit.indezy.model.enums.JobType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A unit of heavy work run by {@code JobService} outside the request threads. The row is the
+ * job's only state: workers claim queued rows, report progress and a handler-defined
+ * {@code checkpoint} while running, and refresh {@code heartbeatAt}; a running row whose heartbeat
+ * stopped (the instance died) is queued again and its handler resumes from the checkpoint.
+ * {@code ownerId} is the freelance the job works for, null for application jobs.
+ */
+@Entity
+@Table(name = "background_jobs",
+    indexes = {
+        @Index(name = "idx_background_jobs_status_type", columnList = "status, job_type"),
+        @Index(name = "idx_background_jobs_owner", columnList = "owner_id")
+    })
+@Getter
+@Setter
+public class BackgroundJob extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false, length = 50)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    /** Percentage of the work done, 0 to 100. */
+    @Column(name = "progress", nullable = false)
+    private int progress;
+
+    @Column(name = "current_step")
+    private String currentStep;
+
+    @Column(name = "processed_items", nullable = false)
+    private long processedItems;
+
+    /** Where a resumed run starts from; its format belongs to the handler. */
+    @Column(name = "checkpoint", length = 1024)
+    private String checkpoint;
+
+    @Column(name = "result", length = 1024)
+    private String result;
+
+    @Column(name = "error", length = 1024)
+    private String error;
+
+    /** Runs started so far, including the current one. */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
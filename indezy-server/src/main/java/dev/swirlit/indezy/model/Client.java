@@ -5,12 +5,19 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * {@code projectCount}, {@code dailyRateSum} and {@code contactCount} are maintained by
+ * {@code AggregateCounterService} with atomic increments, never written through the entity;
+ * {@link DynamicUpdate} keeps the stale values of a loaded client out of its UPDATE statements.
+ */
 @Entity
 @Table(name = "clients")
+@DynamicUpdate
 @Getter
 @Setter
 public class Client extends BaseEntity {
@@ -48,6 +55,31 @@ public class Client extends BaseEntity {
     @Column(name = "blacklist_reason", columnDefinition = "TEXT")
     private String blacklistReason;
 
+    /** Projects whose client this is (not those it intermediates as ESN). */
+    @Column(name = "project_count", nullable = false, columnDefinition = "bigint default 0")
+    private Long projectCount = 0L;
+
+    /** Sum of the daily rates of those projects. */
+    @Column(name = "daily_rate_sum", nullable = false, columnDefinition = "bigint default 0")
+    private Long dailyRateSum = 0L;
+
+    @Column(name = "contact_count", nullable = false, columnDefinition = "bigint default 0")
+    private Long contactCount = 0L;
+
+    /** Coordinates of the address, looked up by {@code GeocodingService}; null until geocoded. */
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    /**
+     * The address the coordinates were looked up for (empty when there was no address to look
+     * up); null while geocoding is pending.
+     */
+    @Column(name = "geocoded_address", length = 512)
+    private String geocodedAddress;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "freelance_id", nullable = false)
     private Freelance freelance;
@@ -90,4 +122,16 @@ public class Client extends BaseEntity {
     public void setContacts(final List<Contact> contacts) {
         this.contacts = contacts != null ? new ArrayList<>(contacts) : new ArrayList<>();
     }
+
+    // Helper methods
+    public Double getAverageDailyRate() {
+        return projectCount != null && projectCount > 0 ? (double) dailyRateSum / projectCount : 0.0;
+    }
+
+    /** Forgets the coordinates of the previous address, so that the new one is geocoded. */
+    public void clearLocation() {
+        this.latitude = null;
+        this.longitude = null;
+        this.geocodedAddress = null;
+    }
 }
@@ -0,0 +1,45 @@
+package dev.swirlit.indezy.model;
+
+import dev.swirlit.indezy.model.enums.TravelMode;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A Distance Matrix result for one normalized origin and destination address and travel mode,
+ * kept for {@code indezy.commute.cache.ttl} so the same route is not paid for twice.
+ */
+@Entity
+@Table(name = "commute_cache_entries",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"origin_key", "destination_key", "travel_mode"}))
+@Getter
+@Setter
+public class CommuteCacheEntry extends BaseEntity {
+
+    @Column(name = "origin_key", nullable = false, length = 512)
+    private String originKey;
+
+    @Column(name = "destination_key", nullable = false, length = 512)
+    private String destinationKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "travel_mode", nullable = false)
+    private TravelMode travelMode;
+
+    @Column(name = "duration_in_seconds", nullable = false)
+    private Integer durationInSeconds;
+
+    @Column(name = "duration_text")
+    private String durationText;
+
+    @Column(name = "distance_in_meters", nullable = false)
+    private Integer distanceInMeters;
+
+    @Column(name = "distance_text")
+    private String distanceText;
+
+    @Column(name = "fetched_at", nullable = false)
+    private LocalDateTime fetchedAt;
+}
@@ -0,0 +1,37 @@
+package dev.swirlit.indezy.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Persisted dashboard counters of one freelance (project counts per status and work mode, rate
+ * sums and histogram, revenue, funnel counts per source and ESN, rates per start year, interview
+ * steps per status), kept up to date by applying deltas on every project and interview-step
+ * mutation. The freelance is referenced by id only, so deleting a freelance is never blocked by
+ * its snapshot; orphaned snapshots are removed by the reconciliation job.
+ */
+@Entity
+@Table(name = "dashboard_snapshots")
+@Getter
+@Setter
+public class DashboardSnapshot extends BaseEntity {
+
+    @Column(name = "freelance_id", nullable = false, unique = true)
+    private Long freelanceId;
+
+    /** Counter values by key; zero counters are not stored. */
+    @ElementCollection
+    @CollectionTable(name = "dashboard_snapshot_counters", joinColumns = @JoinColumn(name = "snapshot_id"))
+    @MapKeyColumn(name = "counter_key")
+    @Column(name = "counter_value", nullable = false)
+    private Map<String, Long> counters = new HashMap<>();
+
+    /** When the counters were last rebuilt from the projects rather than patched by a delta. */
+    @Column(name = "rebuilt_at")
+    private LocalDateTime rebuiltAt;
+}
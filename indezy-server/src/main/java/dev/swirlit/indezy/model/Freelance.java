@@ -7,13 +7,19 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * {@code projectCount} and {@code dailyRateSum} are maintained by {@code AggregateCounterService}
+ * with atomic increments; {@link DynamicUpdate} keeps them out of the entity's UPDATE statements.
+ */
 @Entity
 @Table(name = "freelances")
+@DynamicUpdate
 @Getter
 @Setter
 public class Freelance extends BaseEntity {
@@ -66,6 +72,26 @@ public class Freelance extends BaseEntity {
     @Column(name = "password_hash")
     private String passwordHash;
 
+    @Column(name = "project_count", nullable = false, columnDefinition = "bigint default 0")
+    private Long projectCount = 0L;
+
+    @Column(name = "daily_rate_sum", nullable = false, columnDefinition = "bigint default 0")
+    private Long dailyRateSum = 0L;
+
+    /** Coordinates of the address, looked up by {@code GeocodingService}; null until geocoded. */
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    /**
+     * The address the coordinates were looked up for (empty when there was no address to look
+     * up); null while geocoding is pending.
+     */
+    @Column(name = "geocoded_address", length = 512)
+    private String geocodedAddress;
+
     @OneToMany(mappedBy = "freelance", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Project> projects = new ArrayList<>();
 
@@ -115,4 +141,15 @@ public class Freelance extends BaseEntity {
     public String getFullName() {
         return firstName + " " + lastName;
     }
+
+    public Double getAverageDailyRate() {
+        return projectCount != null && projectCount > 0 ? (double) dailyRateSum / projectCount : 0.0;
+    }
+
+    /** Forgets the coordinates of the previous address, so that the new one is geocoded. */
+    public void clearLocation() {
+        this.latitude = null;
+        this.longitude = null;
+        this.geocodedAddress = null;
+    }
 }
@@ -0,0 +1,29 @@
+package dev.swirlit.indezy.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Failed logins of one account in its current lockout window, shared by all backend replicas when
+ * the database login attempt store is enabled. The account is stored as the SHA-256 digest of its
+ * normalized email, so failed attempts do not leave email addresses behind.
+ */
+@Entity
+@Table(name = "login_attempts")
+@Getter
+@Setter
+public class LoginAttempt extends BaseEntity {
+
+    @Column(name = "attempt_key", nullable = false, unique = true, length = 64)
+    private String attemptKey;
+
+    @Column(nullable = false)
+    private Integer failures;
+
+    /** End of the lockout window (UTC). */
+    @Column(name = "window_end", nullable = false)
+    private LocalDateTime windowEnd;
+}
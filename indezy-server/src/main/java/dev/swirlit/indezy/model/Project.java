@@ -10,13 +10,21 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * The step counters ({@code stepCount}, {@code validatedStepCount}, {@code failedStepCount}) are
+ * maintained by {@code AggregateCounterService} with atomic increments; {@link DynamicUpdate}
+ * keeps them out of the entity's UPDATE statements.
+ */
 @Entity
 @Table(name = "projects")
+@DynamicUpdate
 @Getter
 @Setter
 public class Project extends BaseEntity {
@@ -106,6 +114,15 @@ public class Project extends BaseEntity {
     @Column(name = "board_position")
     private Integer boardPosition;
 
+    @Column(name = "step_count", nullable = false, columnDefinition = "bigint default 0")
+    private Long stepCount = 0L;
+
+    @Column(name = "validated_step_count", nullable = false, columnDefinition = "bigint default 0")
+    private Long validatedStepCount = 0L;
+
+    @Column(name = "failed_step_count", nullable = false, columnDefinition = "bigint default 0")
+    private Long failedStepCount = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "freelance_id", nullable = false)
     private Freelance freelance;
@@ -147,6 +164,11 @@ public class Project extends BaseEntity {
         this.steps = steps != null ? new ArrayList<>(steps) : new ArrayList<>();
     }
 
+    /** Whether the steps were fetched with the project and there is at least one; never loads them. */
+    public boolean hasLoadedSteps() {
+        return steps != null && Hibernate.isInitialized(steps) && !steps.isEmpty();
+    }
+
     // Helper methods
     public Integer getTotalRevenue() {
         if (dailyRate != null && daysPerYear != null && durationInMonths != null) {
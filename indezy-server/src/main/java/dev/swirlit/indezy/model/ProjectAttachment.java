@@ -0,0 +1,42 @@
+package dev.swirlit.indezy.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * A file attached to a project (job description, contract, technical test brief). The content is
+ * kept once per SHA-256 digest by {@code AttachmentStore}: attachments of the same file, on one
+ * project or several, share the same blob. Rows are never updated, so a digest always names the
+ * content of its attachment.
+ */
+@Entity
+@Table(name = "project_attachments",
+    indexes = {
+        @Index(name = "idx_project_attachments_project", columnList = "project_id"),
+        @Index(name = "idx_project_attachments_sha256", columnList = "sha256")
+    })
+@Getter
+@Setter
+public class ProjectAttachment extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Project project;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "size_in_bytes", nullable = false)
+    private Long sizeInBytes;
+
+    /** Lowercase hex digest of the content, the key of its blob in the store. */
+    @Column(name = "sha256", nullable = false, length = 64)
+    private String sha256;
+}
@@ -0,0 +1,61 @@
+package dev.swirlit.indezy.model;
+
+import dev.swirlit.indezy.model.enums.TravelMode;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * The precomputed commute of a project for one travel mode, written in the background by
+ * {@code CommutePrecomputeService}. {@code origin} and {@code destination} are the addresses it was
+ * computed for, so a row left behind by an address change can be told apart; both are empty when
+ * the freelance or the client had no address, in which case there is no duration.
+ */
+@Entity
+@Table(name = "project_commutes",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"project_id", "travel_mode"}),
+    indexes = @Index(name = "idx_project_commutes_freelance_mode", columnList = "freelance_id, travel_mode"))
+@Getter
+@Setter
+public class ProjectCommute extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Project project;
+
+    @Column(name = "freelance_id", nullable = false)
+    private Long freelanceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "travel_mode", nullable = false)
+    private TravelMode travelMode;
+
+    @Column(name = "origin", nullable = false, length = 512)
+    private String origin;
+
+    @Column(name = "destination", nullable = false, length = 512)
+    private String destination;
+
+    @Column(name = "duration_in_seconds")
+    private Integer durationInSeconds;
+
+    @Column(name = "duration_text")
+    private String durationText;
+
+    @Column(name = "distance_in_meters")
+    private Integer distanceInMeters;
+
+    @Column(name = "distance_text")
+    private String distanceText;
+
+    @Column(name = "estimated", nullable = false)
+    private boolean estimated;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
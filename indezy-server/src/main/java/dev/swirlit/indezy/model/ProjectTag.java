@@ -0,0 +1,30 @@
+package dev.swirlit.indezy.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * A {@link SkillTag} on a project, derived from its tech stack by {@code SkillTagService}. Rows
+ * reference the tag by id, so renaming a tag renames it on every project at once.
+ */
+@Entity
+@Table(name = "project_tags",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"project_id", "tag_id"}),
+    indexes = @Index(name = "idx_project_tags_tag", columnList = "tag_id"))
+@Getter
+@Setter
+public class ProjectTag extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Project project;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tag_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private SkillTag tag;
+}
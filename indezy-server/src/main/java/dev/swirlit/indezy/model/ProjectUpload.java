@@ -0,0 +1,56 @@
+package dev.swirlit.indezy.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * A resumable upload of a project document, sent in chunks. The bytes received so far are kept in
+ * a file of their own until the upload is completed into a {@link ProjectAttachment}; the row
+ * records how many there are, so an interrupted client can resume from there. Each chunk pushes
+ * {@code expiresAt} back: an upload left alone until then is deleted.
+ */
+@Entity
+@Table(name = "project_uploads",
+    indexes = {
+        @Index(name = "idx_project_uploads_project", columnList = "project_id"),
+        @Index(name = "idx_project_uploads_expires_at", columnList = "expires_at")
+    })
+@Getter
+@Setter
+public class ProjectUpload extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Project project;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    /** Size of the whole file, declared when the upload is created. */
+    @Column(name = "size_in_bytes", nullable = false)
+    private Long sizeInBytes;
+
+    /** Lowercase hex digest of the whole file, declared by the client and checked on completion. */
+    @Column(name = "sha256", nullable = false, length = 64)
+    private String sha256;
+
+    /** Bytes written so far, from the start of the file: the offset of the next chunk. */
+    @Column(name = "received_bytes", nullable = false)
+    private long receivedBytes;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /** When a request started completing the upload; set while it runs, so no other one does. */
+    @Column(name = "completing_since")
+    private LocalDateTime completingSince;
+}
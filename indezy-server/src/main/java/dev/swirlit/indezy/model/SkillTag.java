@@ -0,0 +1,31 @@
+package dev.swirlit.indezy.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * A skill of a freelance (Java, Kubernetes, Spring Boot), tagged on the projects whose tech stack
+ * names it through {@link ProjectTag}. {@code normalizedName} is the key the tech stack is matched
+ * on (see {@code SkillTags}), unique per freelance; {@code name} is how the tag is shown.
+ */
+@Entity
+@Table(name = "skill_tags",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"freelance_id", "normalized_name"}))
+@Getter
+@Setter
+public class SkillTag extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "freelance_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Freelance freelance;
+
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "normalized_name", nullable = false, length = 100)
+    private String normalizedName;
+}
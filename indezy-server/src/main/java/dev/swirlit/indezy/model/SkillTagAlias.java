@@ -0,0 +1,33 @@
+package dev.swirlit.indezy.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * A former name of a {@link SkillTag}, left behind when it was renamed or merged into another, so
+ * that tech stacks still spelling the skill that way are tagged with it.
+ */
+@Entity
+@Table(name = "skill_tag_aliases",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"freelance_id", "normalized_name"}),
+    indexes = @Index(name = "idx_skill_tag_aliases_tag", columnList = "tag_id"))
+@Getter
+@Setter
+public class SkillTagAlias extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "freelance_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Freelance freelance;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tag_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private SkillTag tag;
+
+    @Column(name = "normalized_name", nullable = false, length = 100)
+    private String normalizedName;
+}
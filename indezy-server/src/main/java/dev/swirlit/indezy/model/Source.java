@@ -8,12 +8,18 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * {@code projectCount} and {@code dailyRateSum} are maintained by {@code AggregateCounterService}
+ * with atomic increments; {@link DynamicUpdate} keeps them out of the entity's UPDATE statements.
+ */
 @Entity
 @Table(name = "sources")
+@DynamicUpdate
 @Getter
 @Setter
 public class Source extends BaseEntity {
@@ -46,6 +52,12 @@ public class Source extends BaseEntity {
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
 
+    @Column(name = "project_count", nullable = false, columnDefinition = "bigint default 0")
+    private Long projectCount = 0L;
+
+    @Column(name = "daily_rate_sum", nullable = false, columnDefinition = "bigint default 0")
+    private Long dailyRateSum = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "freelance_id", nullable = false)
     private Freelance freelance;
@@ -61,4 +73,9 @@ public class Source extends BaseEntity {
     public void setProjects(final List<Project> projects) {
         this.projects = projects != null ? new ArrayList<>(projects) : new ArrayList<>();
     }
+
+    // Helper methods
+    public Double getAverageDailyRate() {
+        return projectCount != null && projectCount > 0 ? (double) dailyRateSum / projectCount : 0.0;
+    }
 }
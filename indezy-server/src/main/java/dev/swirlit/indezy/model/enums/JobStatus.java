@@ -0,0 +1,15 @@
+package dev.swirlit.indezy.model.enums;
+
+/** Lifecycle of a background job: queued, running, then one of the three final statuses. */
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    /** Queued or running, as opposed to finished. */
+    public boolean isActive() {
+        return this == QUEUED || this == RUNNING;
+    }
+}
@@ -0,0 +1,23 @@
+package dev.swirlit.indezy.model.enums;
+
+/**
+ * Kinds of background job run by {@code JobService}, each by the {@code JobHandler} declaring it.
+ * Only user-submittable types can be submitted through the REST API; the others are submitted by
+ * the application itself.
+ */
+public enum JobType {
+    DATA_EXPORT(true),
+    DASHBOARD_RECONCILE(false),
+    AVATAR_VARIANTS(false),
+    COUNTER_RECOUNT(false);
+
+    private final boolean userSubmittable;
+
+    JobType(final boolean userSubmittable) {
+        this.userSubmittable = userSubmittable;
+    }
+
+    public boolean isUserSubmittable() {
+        return userSubmittable;
+    }
+}
@@ -0,0 +1,9 @@
+package dev.swirlit.indezy.model.enums;
+
+/** Kinds of record found by the full-text search of {@code SearchIndex}. */
+public enum SearchDocumentType {
+    PROJECT,
+    PROJECT_NOTE,
+    CLIENT,
+    CONTACT
+}
@@ -0,0 +1,18 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.enums.ProjectStatus;
+
+/**
+ * An opportunity still in the pipeline (neither won nor lost), with just what is shown next to
+ * its skill match score.
+ */
+public interface ActiveOpportunity {
+
+    Long getProjectId();
+
+    String getRole();
+
+    String getClientName();
+
+    ProjectStatus getStatus();
+}
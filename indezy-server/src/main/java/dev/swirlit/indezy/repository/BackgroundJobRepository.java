@@ -0,0 +1,117 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.BackgroundJob;
+import dev.swirlit.indezy.model.enums.JobStatus;
+import dev.swirlit.indezy.model.enums.JobType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Background job rows. Every state change is a conditional UPDATE on the current status, so a
+ * worker, a cancellation request and the stale-job recovery never overwrite each other's changes,
+ * and two instances never claim the same queued job.
+ */
+public interface BackgroundJobRepository extends JpaRepository<BackgroundJob, Long> {
+
+    Optional<BackgroundJob> findByIdAndOwnerId(Long id, Long ownerId);
+
+    List<BackgroundJob> findByOwnerIdOrderByIdDesc(Long ownerId, Limit limit);
+
+    /** The queued or running job of a type and owner, if any; a null owner matches application jobs. */
+    Optional<BackgroundJob> findFirstByTypeAndOwnerIdAndStatusIn(JobType type, Long ownerId, Collection<JobStatus> statuses);
+
+    boolean existsByTypeAndStatus(JobType type, JobStatus status);
+
+    /** Queued jobs of a type, oldest first. */
+    @Query("SELECT j.id FROM BackgroundJob j WHERE j.type = :type AND j.status = :queued ORDER BY j.id")
+    List<Long> findQueuedIds(@Param("type") JobType type, @Param("queued") JobStatus queued, Limit limit);
+
+    /** Moves a queued job to running; returns 0 when another worker or a cancellation got there first. */
+    @Modifying
+    @Query("""
+        UPDATE BackgroundJob j SET j.status = :running, j.attempts = j.attempts + 1,
+            j.startedAt = :now, j.heartbeatAt = :now
+        WHERE j.id = :id AND j.status = :queued
+        """)
+    int claim(@Param("id") Long id, @Param("queued") JobStatus queued, @Param("running") JobStatus running,
+              @Param("now") LocalDateTime now);
+
+    /** Stores the progress of a running job; returns 0 once its cancellation was requested. */
+    @Modifying
+    @Query("""
+        UPDATE BackgroundJob j SET j.progress = :progress, j.currentStep = :step, j.processedItems = :items,
+            j.checkpoint = :checkpoint, j.heartbeatAt = :now
+        WHERE j.id = :id AND j.status = :running AND j.cancelRequested = false
+        """)
+    int reportProgress(@Param("id") Long id, @Param("running") JobStatus running, @Param("progress") int progress,
+                       @Param("step") String step, @Param("items") long items, @Param("checkpoint") String checkpoint,
+                       @Param("now") LocalDateTime now);
+
+    /** Moves a running job to its final status. */
+    @Modifying
+    @Query("""
+        UPDATE BackgroundJob j SET j.status = :status, j.progress = :progress, j.currentStep = :step,
+            j.processedItems = :items, j.result = :result, j.error = :error, j.completedAt = :now, j.heartbeatAt = :now
+        WHERE j.id = :id AND j.status = :running
+        """)
+    int finish(@Param("id") Long id, @Param("running") JobStatus running, @Param("status") JobStatus status,
+               @Param("progress") int progress, @Param("step") String step, @Param("items") long items,
+               @Param("result") String result, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = :cancelled, j.cancelRequested = true, j.completedAt = :now WHERE j.id = :id AND j.status = :queued")
+    int cancelQueued(@Param("id") Long id, @Param("queued") JobStatus queued, @Param("cancelled") JobStatus cancelled,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.cancelRequested = true WHERE j.id = :id AND j.status = :running")
+    int requestCancel(@Param("id") Long id, @Param("running") JobStatus running);
+
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.heartbeatAt = :now WHERE j.id IN :ids AND j.status = :running")
+    int heartbeat(@Param("ids") Collection<Long> ids, @Param("running") JobStatus running, @Param("now") LocalDateTime now);
+
+    /** Queues jobs interrupted by a shutdown again without counting the interrupted run as an attempt. */
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = :queued, j.attempts = j.attempts - 1 WHERE j.id IN :ids AND j.status = :running")
+    int release(@Param("ids") Collection<Long> ids, @Param("running") JobStatus running, @Param("queued") JobStatus queued);
+
+    /**
+     * Moves the running jobs whose heartbeat is older than {@code staleBefore} (their instance is
+     * gone) to {@code status}: cancelled when that was requested, failed once out of attempts, and
+     * queued again otherwise. Called in that order.
+     */
+    @Modifying
+    @Query("""
+        UPDATE BackgroundJob j SET j.status = :cancelled, j.completedAt = :now
+        WHERE j.status = :running AND j.heartbeatAt < :staleBefore AND j.cancelRequested = true
+        """)
+    int cancelStale(@Param("running") JobStatus running, @Param("cancelled") JobStatus cancelled,
+                    @Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        UPDATE BackgroundJob j SET j.status = :failed, j.error = :error, j.completedAt = :now
+        WHERE j.status = :running AND j.heartbeatAt < :staleBefore AND j.attempts >= :maxAttempts
+        """)
+    int failStale(@Param("running") JobStatus running, @Param("failed") JobStatus failed,
+                  @Param("staleBefore") LocalDateTime staleBefore, @Param("maxAttempts") int maxAttempts,
+                  @Param("error") String error, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = :queued WHERE j.status = :running AND j.heartbeatAt < :staleBefore")
+    int requeueStale(@Param("running") JobStatus running, @Param("queued") JobStatus queued,
+                     @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("DELETE FROM BackgroundJob j WHERE j.status IN :finished AND j.completedAt < :cutoff")
+    int deleteFinishedBefore(@Param("finished") Collection<JobStatus> finished, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,10 +1,13 @@
 package dev.swirlit.indezy.repository;
 
 import dev.swirlit.indezy.model.Client;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +17,15 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
 
     List<Client> findByFreelanceIdAndIsFinal(Long freelanceId, Boolean isFinal);
 
+    /** Company names of the clients of a freelance, for {@code SearchIndex}. */
+    @Query("SELECT c.id AS id, c.version AS version, c.companyName AS title FROM Client c WHERE c.freelance.id = :freelanceId")
+    List<SearchTextRow> findSearchTextByFreelanceId(@Param("freelanceId") Long freelanceId);
+
+    // Keyset pagination: rows with an id below the cursor, newest first.
+    List<Client> findByIdLessThanOrderByIdDesc(Long afterId, Limit limit);
+
+    List<Client> findByFreelanceIdAndIdLessThanOrderByIdDesc(Long freelanceId, Long afterId, Limit limit);
+
     @Query("SELECT c FROM Client c WHERE c.freelance.id = :freelanceId AND c.companyName LIKE %:companyName%")
     List<Client> findByFreelanceIdAndCompanyNameContaining(@Param("freelanceId") Long freelanceId, @Param("companyName") String companyName);
 
@@ -31,4 +43,42 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
 
     @Query("SELECT DISTINCT c.domain FROM Client c WHERE c.freelance.id = :freelanceId AND c.domain IS NOT NULL ORDER BY c.domain")
     List<String> findDistinctDomainsByFreelanceId(@Param("freelanceId") Long freelanceId);
+
+    /** Case-insensitive lookup by company name; {@code lowerCaseNames} must already be lower-cased. */
+    @Query("SELECT c FROM Client c WHERE c.freelance.id = :freelanceId AND LOWER(c.companyName) IN :lowerCaseNames")
+    List<Client> findByFreelanceIdAndCompanyNameIgnoreCaseIn(@Param("freelanceId") Long freelanceId,
+                                                             @Param("lowerCaseNames") Collection<String> lowerCaseNames);
+
+    /** Atomically shifts the project counters of a client; see {@code AggregateCounterService}. */
+    @Modifying
+    @Query("UPDATE Client c SET c.projectCount = c.projectCount + :projects, c.dailyRateSum = c.dailyRateSum + :dailyRateSum WHERE c.id = :id")
+    int incrementProjectCounters(@Param("id") Long id, @Param("projects") long projects, @Param("dailyRateSum") long dailyRateSum);
+
+    @Modifying
+    @Query("UPDATE Client c SET c.contactCount = c.contactCount + :contacts WHERE c.id = :id")
+    int incrementContactCount(@Param("id") Long id, @Param("contacts") long contacts);
+
+    /** Recomputes the counters of the clients of a freelance, or of every client when {@code freelanceId} is null. */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE Client c SET
+            c.projectCount = (SELECT COUNT(p) FROM Project p WHERE p.client = c),
+            c.dailyRateSum = (SELECT COALESCE(SUM(p.dailyRate), 0) FROM Project p WHERE p.client = c),
+            c.contactCount = (SELECT COUNT(ct) FROM Contact ct WHERE ct.client = c)
+        WHERE :freelanceId IS NULL OR c.freelance.id = :freelanceId
+        """)
+    int recountByFreelanceId(@Param("freelanceId") Long freelanceId);
+
+    /** Clients whose address has not been geocoded yet, oldest first; see {@code GeocodingService}. */
+    @Query("SELECT c FROM Client c WHERE c.geocodedAddress IS NULL ORDER BY c.id")
+    List<Client> findPendingGeocoding(Limit limit);
+
+    /** Stores the coordinates of an address, unless the client changed since it was read. */
+    @Modifying
+    @Query("""
+        UPDATE Client c SET c.latitude = :latitude, c.longitude = :longitude, c.geocodedAddress = :geocodedAddress
+        WHERE c.id = :id AND c.version = :version AND c.geocodedAddress IS NULL
+        """)
+    int updateLocation(@Param("id") Long id, @Param("version") Long version, @Param("latitude") Double latitude,
+                       @Param("longitude") Double longitude, @Param("geocodedAddress") String geocodedAddress);
 }
@@ -0,0 +1,25 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.CommuteCacheEntry;
+import dev.swirlit.indezy.model.enums.TravelMode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface CommuteCacheEntryRepository extends JpaRepository<CommuteCacheEntry, Long> {
+
+    Optional<CommuteCacheEntry> findByOriginKeyAndDestinationKeyAndTravelMode(String originKey, String destinationKey,
+                                                                              TravelMode travelMode);
+
+    @Modifying
+    @Query("DELETE FROM CommuteCacheEntry e WHERE e.originKey = :addressKey OR e.destinationKey = :addressKey")
+    int deleteByAddressKey(@Param("addressKey") String addressKey);
+
+    @Modifying
+    @Query("DELETE FROM CommuteCacheEntry e WHERE e.fetchedAt < :before")
+    int deleteFetchedBefore(@Param("before") LocalDateTime before);
+}
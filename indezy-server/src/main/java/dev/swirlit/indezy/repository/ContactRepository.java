@@ -1,10 +1,12 @@
 package dev.swirlit.indezy.repository;
 
 import dev.swirlit.indezy.model.Contact;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ContactRepository extends JpaRepository<Contact, Long> {
@@ -13,6 +15,22 @@ public interface ContactRepository extends JpaRepository<Contact, Long> {
 
     List<Contact> findByClientId(Long clientId);
 
+    /** Full names of the contacts of a freelance, for {@code SearchIndex}. */
+    @Query("""
+        SELECT c.id AS id, c.version AS version,
+               CONCAT(COALESCE(c.firstName, ''), ' ', COALESCE(c.lastName, '')) AS title
+        FROM Contact c
+        WHERE c.freelance.id = :freelanceId
+        """)
+    List<SearchTextRow> findSearchTextByFreelanceId(@Param("freelanceId") Long freelanceId);
+
+    // Keyset pagination: rows with an id below the cursor, newest first.
+    List<Contact> findByIdLessThanOrderByIdDesc(Long afterId, Limit limit);
+
+    List<Contact> findByFreelanceIdAndIdLessThanOrderByIdDesc(Long freelanceId, Long afterId, Limit limit);
+
+    List<Contact> findByClientIdAndIdLessThanOrderByIdDesc(Long clientId, Long afterId, Limit limit);
+
     @Query("SELECT c FROM Contact c WHERE c.freelance.id = :freelanceId AND (c.firstName LIKE %:name% OR c.lastName LIKE %:name%)")
     List<Contact> findByFreelanceIdAndNameContaining(@Param("freelanceId") Long freelanceId, @Param("name") String name);
 
@@ -23,4 +41,6 @@ public interface ContactRepository extends JpaRepository<Contact, Long> {
     List<Contact> findByClientIdOrderByFirstName(@Param("clientId") Long clientId);
 
     boolean existsByEmailAndFreelanceId(String email, Long freelanceId);
+
+    List<Contact> findByClientIdIn(Collection<Long> clientIds);
 }
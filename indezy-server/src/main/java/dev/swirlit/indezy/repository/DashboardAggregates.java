@@ -0,0 +1,114 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.enums.LostReason;
+import dev.swirlit.indezy.model.enums.ProjectStatus;
+import dev.swirlit.indezy.model.enums.StepStatus;
+import dev.swirlit.indezy.model.enums.WorkMode;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Row projections of the dashboard aggregate queries in {@link ProjectRepository} and
+ * {@link InterviewStepRepository}. Each query
+ * returns a handful of grouped rows (or a short list of alert candidates) instead of project
+ * entities, so the dashboard never loads the pipeline or its lazy associations.
+ */
+public interface DashboardAggregates {
+
+    /**
+     * Totals for one (status, work mode, lost reason) combination; the daily rate distribution
+     * is counted with conditional aggregation, one column per bucket.
+     */
+    interface StatusSlice {
+
+        ProjectStatus getStatus();
+
+        WorkMode getWorkMode();
+
+        LostReason getLostReason();
+
+        Long getProjectCount();
+
+        Long getDailyRateSum();
+
+        Long getDailyRateCount();
+
+        /** Sum of the estimated revenue of the projects whose rate, days per year and duration are all set. */
+        Long getRevenue();
+
+        Long getRateUnder300();
+
+        Long getRate300To500();
+
+        Long getRate500To700();
+
+        Long getRate700To900();
+
+        Long getRateFrom900();
+    }
+
+    /** Project count for one (source, middleman, status) combination; ids are null when unset. */
+    interface FunnelSlice {
+
+        Long getSourceId();
+
+        Long getMiddlemanId();
+
+        ProjectStatus getStatus();
+
+        Long getProjectCount();
+    }
+
+    /** Asked and obtained daily rate sums for one start year. */
+    interface RateYear {
+
+        Integer getStartYear();
+
+        Long getAskedRateSum();
+
+        Long getAskedRateCount();
+
+        Long getDailyRateSum();
+
+        Long getDailyRateCount();
+
+        Long getProjectCount();
+    }
+
+    /** A signed mission with its dates, the input of the bench and mission-end computations. */
+    interface SignedMission {
+
+        Long getProjectId();
+
+        String getRole();
+
+        String getClientName();
+
+        LocalDate getStartDate();
+
+        Integer getDurationInMonths();
+    }
+
+    /** An active opportunity whose last update is older than the stale threshold. */
+    interface StaleOpportunity {
+
+        Long getProjectId();
+
+        String getRole();
+
+        String getClientName();
+
+        ProjectStatus getStatus();
+
+        LocalDateTime getUpdatedAt();
+    }
+
+    /** Interview step count for one step status. */
+    interface StepSlice {
+
+        StepStatus getStatus();
+
+        Long getStepCount();
+    }
+}
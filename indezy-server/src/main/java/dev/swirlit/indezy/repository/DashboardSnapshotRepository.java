@@ -0,0 +1,38 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.DashboardSnapshot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface DashboardSnapshotRepository extends JpaRepository<DashboardSnapshot, Long> {
+
+    /** Snapshot read by the dashboard: the counters come with it in the same statement. */
+    @EntityGraph(attributePaths = "counters")
+    Optional<DashboardSnapshot> findByFreelanceId(Long freelanceId);
+
+    /**
+     * Snapshot row locked for update, so concurrent mutations of the same freelance apply their
+     * deltas one after the other. The counters are loaded lazily: a row lock cannot cover the
+     * nullable side of the outer join an entity graph would add.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM DashboardSnapshot s WHERE s.freelanceId = :freelanceId")
+    Optional<DashboardSnapshot> findForUpdateByFreelanceId(@Param("freelanceId") Long freelanceId);
+
+    @Query("SELECT s.freelanceId FROM DashboardSnapshot s ORDER BY s.freelanceId")
+    List<Long> findAllFreelanceIds();
+
+    /** Keyset page of {@link #findAllFreelanceIds()}, after {@code afterFreelanceId}. */
+    @Query("SELECT s.freelanceId FROM DashboardSnapshot s WHERE s.freelanceId > :afterFreelanceId ORDER BY s.freelanceId")
+    List<Long> findFreelanceIdsAfter(@Param("afterFreelanceId") Long afterFreelanceId, Limit limit);
+
+    long countByFreelanceIdLessThanEqual(Long freelanceId);
+}
@@ -1,10 +1,15 @@
 package dev.swirlit.indezy.repository;
 
 import dev.swirlit.indezy.model.Freelance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface FreelanceRepository extends JpaRepository<Freelance, Long> {
@@ -13,6 +18,11 @@ public interface FreelanceRepository extends JpaRepository<Freelance, Long> {
 
     boolean existsByEmail(String email);
 
+    /** Freelance row locked for update; see {@code DashboardSnapshotService#getCounters}. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM Freelance f WHERE f.id = :id")
+    Optional<Freelance> findForUpdateById(@Param("id") Long id);
+
     @Query("SELECT f FROM Freelance f LEFT JOIN FETCH f.projects WHERE f.id = :id")
     Optional<Freelance> findByIdWithProjects(@Param("id") Long id);
 
@@ -21,4 +31,38 @@ public interface FreelanceRepository extends JpaRepository<Freelance, Long> {
 
     @Query("SELECT f FROM Freelance f LEFT JOIN FETCH f.sources WHERE f.id = :id")
     Optional<Freelance> findByIdWithSources(@Param("id") Long id);
+
+    /** Atomically shifts the project counters of a freelance; see {@code AggregateCounterService}. */
+    @Modifying
+    @Query("UPDATE Freelance f SET f.projectCount = f.projectCount + :projects, f.dailyRateSum = f.dailyRateSum + :dailyRateSum WHERE f.id = :id")
+    int incrementProjectCounters(@Param("id") Long id, @Param("projects") long projects, @Param("dailyRateSum") long dailyRateSum);
+
+    /** Recomputes the counters of a freelance, or of every freelance when {@code freelanceId} is null. */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE Freelance f SET
+            f.projectCount = (SELECT COUNT(p) FROM Project p WHERE p.freelance = f),
+            f.dailyRateSum = (SELECT COALESCE(SUM(p.dailyRate), 0) FROM Project p WHERE p.freelance = f)
+        WHERE :freelanceId IS NULL OR f.id = :freelanceId
+        """)
+    int recountById(@Param("freelanceId") Long freelanceId);
+
+    /** Keyset page of freelance ids, after {@code afterId}; see {@code AggregateRecountJob}. */
+    @Query("SELECT f.id FROM Freelance f WHERE f.id > :afterId ORDER BY f.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    long countByIdLessThanEqual(Long id);
+
+    /** Freelances whose address has not been geocoded yet, oldest first; see {@code GeocodingService}. */
+    @Query("SELECT f FROM Freelance f WHERE f.geocodedAddress IS NULL ORDER BY f.id")
+    List<Freelance> findPendingGeocoding(Limit limit);
+
+    /** Stores the coordinates of an address, unless the freelance changed since it was read. */
+    @Modifying
+    @Query("""
+        UPDATE Freelance f SET f.latitude = :latitude, f.longitude = :longitude, f.geocodedAddress = :geocodedAddress
+        WHERE f.id = :id AND f.version = :version AND f.geocodedAddress IS NULL
+        """)
+    int updateLocation(@Param("id") Long id, @Param("version") Long version, @Param("latitude") Double latitude,
+                       @Param("longitude") Double longitude, @Param("geocodedAddress") String geocodedAddress);
 }
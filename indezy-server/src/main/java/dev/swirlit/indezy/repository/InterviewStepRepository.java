@@ -2,10 +2,12 @@ package dev.swirlit.indezy.repository;
 
 import dev.swirlit.indezy.model.InterviewStep;
 import dev.swirlit.indezy.model.enums.StepStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -15,6 +17,15 @@ public interface InterviewStepRepository extends JpaRepository<InterviewStep, Lo
 
     List<InterviewStep> findByProjectIdAndStatus(Long projectId, StepStatus status);
 
+    // Keyset pagination: rows with an id below the cursor, newest first.
+    List<InterviewStep> findByIdLessThanOrderByIdDesc(Long afterId, Limit limit);
+
+    List<InterviewStep> findByProjectIdAndIdLessThanOrderByIdDesc(Long projectId, Long afterId, Limit limit);
+
+    List<InterviewStep> findByProjectFreelanceIdAndIdLessThanOrderByIdDesc(Long freelanceId, Long afterId, Limit limit);
+
+    List<InterviewStep> findByProjectFreelanceIdAndStatusAndIdLessThanOrderByIdDesc(Long freelanceId, StepStatus status, Long afterId, Limit limit);
+
     @Query("SELECT s FROM InterviewStep s WHERE s.project.id = :projectId ORDER BY s.date ASC")
     List<InterviewStep> findByProjectIdOrderByDate(@Param("projectId") Long projectId);
 
@@ -26,4 +37,19 @@ public interface InterviewStepRepository extends JpaRepository<InterviewStep, Lo
 
     @Query("SELECT COUNT(s) FROM InterviewStep s WHERE s.project.id = :projectId AND s.status = :status")
     Long countByProjectIdAndStatus(@Param("projectId") Long projectId, @Param("status") StepStatus status);
+
+    /** Step counts per status over the projects of a freelance, optionally bounded by project start date. */
+    @Query("""
+        SELECT s.status AS status, COUNT(s) AS stepCount
+        FROM InterviewStep s
+        WHERE s.project.freelance.id = :freelanceId
+          AND (:from IS NULL OR s.project.startDate >= :from)
+          AND (:to IS NULL OR s.project.startDate <= :to)
+        GROUP BY s.status
+        """)
+    List<DashboardAggregates.StepSlice> aggregateDashboardSteps(@Param("freelanceId") Long freelanceId,
+                                                                @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT s.status AS status, COUNT(s) AS stepCount FROM InterviewStep s WHERE s.project.id = :projectId GROUP BY s.status")
+    List<DashboardAggregates.StepSlice> countByProjectIdGroupByStatus(@Param("projectId") Long projectId);
 }
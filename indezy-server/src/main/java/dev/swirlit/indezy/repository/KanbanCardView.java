@@ -0,0 +1,52 @@
+package dev.swirlit.indezy.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of a Kanban card: the project columns shown on the board, the client and
+ * source names, and the interview step counters, all read by a single query so building the
+ * board never touches lazy associations. Enum columns are exposed by name.
+ */
+public interface KanbanCardView {
+
+    Long getProjectId();
+
+    String getRole();
+
+    String getStatus();
+
+    Long getClientId();
+
+    String getClientName();
+
+    Integer getDailyRate();
+
+    String getWorkMode();
+
+    String getTechStack();
+
+    String getSourceName();
+
+    LocalDate getStartDate();
+
+    Integer getDurationInMonths();
+
+    String getNotes();
+
+    Integer getPersonalRating();
+
+    Boolean getIsFavorite();
+
+    Integer getBoardPosition();
+
+    LocalDateTime getUpdatedAt();
+
+    String getLostReason();
+
+    Integer getTotalSteps();
+
+    Integer getCompletedSteps();
+
+    Integer getFailedSteps();
+}
@@ -0,0 +1,37 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.LoginAttempt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface LoginAttemptRepository extends JpaRepository<LoginAttempt, Long> {
+
+    Optional<LoginAttempt> findByAttemptKey(String attemptKey);
+
+    /**
+     * Adds failures to an account in one atomic statement: a window that ended before
+     * {@code windowStart} is restarted with {@code windowEnd}. Returns 0 when the account has no row yet.
+     */
+    @Modifying
+    @Query("UPDATE LoginAttempt a SET "
+        + "a.failures = CASE WHEN a.windowEnd < :windowStart THEN :failures ELSE a.failures + :failures END, "
+        + "a.windowEnd = CASE WHEN a.windowEnd < :windowStart THEN :windowEnd ELSE a.windowEnd END "
+        + "WHERE a.attemptKey = :attemptKey")
+    int addFailures(@Param("attemptKey") String attemptKey,
+                    @Param("failures") int failures,
+                    @Param("windowStart") LocalDateTime windowStart,
+                    @Param("windowEnd") LocalDateTime windowEnd);
+
+    @Modifying
+    @Query("DELETE FROM LoginAttempt a WHERE a.attemptKey = :attemptKey")
+    int deleteByAttemptKey(@Param("attemptKey") String attemptKey);
+
+    @Modifying
+    @Query("DELETE FROM LoginAttempt a WHERE a.windowEnd < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
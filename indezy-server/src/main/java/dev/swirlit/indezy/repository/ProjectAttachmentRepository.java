@@ -0,0 +1,21 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.ProjectAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ProjectAttachmentRepository extends JpaRepository<ProjectAttachment, Long> {
+
+    /** Attachments of a project, newest first. */
+    List<ProjectAttachment> findByProjectIdOrderByCreatedAtDesc(Long projectId);
+
+    Optional<ProjectAttachment> findByIdAndProjectId(Long id, Long projectId);
+
+    /** The attachment of the same content on the project, if it was already uploaded there. */
+    Optional<ProjectAttachment> findFirstByProjectIdAndSha256(Long projectId, String sha256);
+
+    /** Whether any attachment still uses the blob of this digest. */
+    boolean existsBySha256(String sha256);
+}
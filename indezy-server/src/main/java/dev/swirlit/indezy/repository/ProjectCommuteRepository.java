@@ -0,0 +1,31 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.ProjectCommute;
+import dev.swirlit.indezy.model.enums.TravelMode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ProjectCommuteRepository extends JpaRepository<ProjectCommute, Long> {
+
+    /**
+     * Every project of a freelance with its precomputed commute for the travel mode, shortest
+     * first; projects without a duration (no address, not computed yet) come last.
+     */
+    @Query("""
+        SELECT p AS project, c AS commute FROM Project p
+        LEFT JOIN FETCH p.client
+        LEFT JOIN ProjectCommute c ON c.project = p AND c.travelMode = :travelMode
+        WHERE p.freelance.id = :freelanceId
+        ORDER BY c.durationInSeconds ASC NULLS LAST, p.id
+        """)
+    List<ProjectCommuteView> findProjectsSortedByCommute(@Param("freelanceId") Long freelanceId,
+                                                        @Param("travelMode") TravelMode travelMode);
+
+    @Modifying
+    @Query("DELETE FROM ProjectCommute c WHERE c.freelanceId = :freelanceId AND c.travelMode = :travelMode")
+    int deleteByFreelanceIdAndTravelMode(@Param("freelanceId") Long freelanceId, @Param("travelMode") TravelMode travelMode);
+}
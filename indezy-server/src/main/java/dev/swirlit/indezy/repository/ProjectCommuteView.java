@@ -0,0 +1,12 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.ProjectCommute;
+
+/** A project of a freelance with its precomputed commute, which is null until computed. */
+public interface ProjectCommuteView {
+
+    Project getProject();
+
+    ProjectCommute getCommute();
+}
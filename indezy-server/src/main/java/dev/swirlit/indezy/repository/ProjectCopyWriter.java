@@ -0,0 +1,110 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.Project;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PostgreSQL fast path for bulk imports: writes a batch of new projects with a single
+ * {@code COPY projects ... FROM STDIN} instead of one INSERT per row. Ids are reserved from
+ * {@code projects_id_seq} in blocks matching the pooled allocation Hibernate uses, so they never
+ * collide with ids handed out by the ORM. Bypasses JPA, hence auditing and version columns are
+ * filled here.
+ */
+@Component
+public class ProjectCopyWriter {
+
+    /** Must match the pooled allocation size of the entity id sequences (see BaseEntity). */
+    static final int ID_BLOCK_SIZE = 50;
+
+    private static final String RESERVE_IDS_SQL = "SELECT nextval('projects_id_seq') FROM generate_series(1, ?)";
+    private static final String COPY_SQL = "COPY projects (id, role, status, description, tech_stack, daily_rate, work_mode, "
+        + "start_date, duration_in_months, link, notes, is_favorite, freelance_id, client_id, middleman_id, source_id, "
+        + "created_at, updated_at, version) FROM STDIN WITH (FORMAT csv)";
+
+    /** Whether the connection talks to PostgreSQL, the only database supporting the COPY protocol here. */
+    public boolean supports(Connection connection) throws SQLException {
+        return connection.isWrapperFor(PGConnection.class);
+    }
+
+    /**
+     * Assigns ids to the projects and copies them in one statement. Referenced entities only need
+     * their ids set, so uninitialised JPA references are fine.
+     *
+     * @return the number of rows written
+     */
+    public long copy(Connection connection, List<Project> projects) throws SQLException, IOException {
+        if (projects.isEmpty()) {
+            return 0;
+        }
+        List<Long> blockStarts = reserveIdBlocks(connection, (projects.size() + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE);
+        String now = LocalDateTime.now().toString();
+
+        StringBuilder csv = new StringBuilder(projects.size() * 256);
+        for (int i = 0; i < projects.size(); i++) {
+            Project project = projects.get(i);
+            project.setId(blockStarts.get(i / ID_BLOCK_SIZE) + i % ID_BLOCK_SIZE);
+            appendRow(csv,
+                project.getId(),
+                project.getRole(),
+                project.getStatus() != null ? project.getStatus().name() : null,
+                project.getDescription(),
+                project.getTechStack(),
+                project.getDailyRate(),
+                project.getWorkMode() != null ? project.getWorkMode().name() : null,
+                project.getStartDate(),
+                project.getDurationInMonths(),
+                project.getLink(),
+                project.getNotes(),
+                project.getIsFavorite(),
+                project.getFreelance().getId(),
+                project.getClient().getId(),
+                project.getMiddleman() != null ? project.getMiddleman().getId() : null,
+                project.getSource() != null ? project.getSource().getId() : null,
+                now,
+                now,
+                0);
+        }
+
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        return copyManager.copyIn(COPY_SQL, new StringReader(csv.toString()));
+    }
+
+    /** Each nextval starts a block of {@link #ID_BLOCK_SIZE} ids (the sequences increment by that much). */
+    private List<Long> reserveIdBlocks(Connection connection, int blocks) throws SQLException {
+        List<Long> starts = new ArrayList<>(blocks);
+        try (PreparedStatement statement = connection.prepareStatement(RESERVE_IDS_SQL)) {
+            statement.setInt(1, blocks);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    starts.add(resultSet.getLong(1));
+                }
+            }
+        }
+        return starts;
+    }
+
+    /** CSV-format COPY row: nulls are left unquoted and empty, every other value is quoted. */
+    private void appendRow(StringBuilder csv, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            if (values[i] != null) {
+                csv.append('"').append(values[i].toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        csv.append('\n');
+    }
+}
@@ -0,0 +1,31 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.enums.ProjectStatus;
+import dev.swirlit.indezy.model.enums.WorkMode;
+
+import java.time.LocalDate;
+
+/**
+ * Flat projection of one line of the yearly summary CSV: the project columns plus the client and
+ * source names, read by a single streamed query so exporting never loads entities.
+ */
+public interface ProjectExportRow {
+
+    String getRole();
+
+    ProjectStatus getStatus();
+
+    String getClientName();
+
+    String getSourceName();
+
+    WorkMode getWorkMode();
+
+    LocalDate getStartDate();
+
+    Integer getDurationInMonths();
+
+    Integer getDailyRate();
+
+    Integer getDaysPerYear();
+}
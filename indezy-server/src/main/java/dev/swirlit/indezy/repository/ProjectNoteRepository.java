@@ -1,12 +1,31 @@
 package dev.swirlit.indezy.repository;
 
 import dev.swirlit.indezy.model.ProjectNote;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ProjectNoteRepository extends JpaRepository<ProjectNote, Long> {
 
     /** Notes for a project, newest first, to render the journal timeline. */
     List<ProjectNote> findByProjectIdOrderByCreatedAtDesc(Long projectId);
+
+    /** Content of every note on the projects of a freelance, streamed 500 rows at a time for {@code SearchIndex}. */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT n.id AS id, n.version AS version, p.id AS projectId, n.content AS text
+        FROM ProjectNote n
+        JOIN n.project p
+        WHERE p.freelance.id = :freelanceId
+        """)
+    Stream<SearchTextRow> streamSearchText(@Param("freelanceId") Long freelanceId);
 }
@@ -2,22 +2,46 @@ package dev.swirlit.indezy.repository;
 
 import dev.swirlit.indezy.model.Project;
 import dev.swirlit.indezy.model.enums.WorkMode;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project> {
 
     List<Project> findByFreelanceId(Long freelanceId);
 
+    /** Specification search that fetches the to-one associations the DTO mapper reads in the same statement. */
+    @Override
+    @EntityGraph(attributePaths = {"freelance", "client", "middleman", "source"})
+    Page<Project> findAll(Specification<Project> specification, Pageable pageable);
+
     List<Project> findByClientId(Long clientId);
 
     List<Project> findBySourceId(Long sourceId);
 
+    // Keyset pagination: rows with an id below the cursor, newest first.
+    List<Project> findByIdLessThanOrderByIdDesc(Long afterId, Limit limit);
+
+    List<Project> findByFreelanceIdAndIdLessThanOrderByIdDesc(Long freelanceId, Long afterId, Limit limit);
+
+    List<Project> findByClientIdAndIdLessThanOrderByIdDesc(Long clientId, Long afterId, Limit limit);
+
     @Query("SELECT p FROM Project p LEFT JOIN FETCH p.steps WHERE p.id = :id")
     Optional<Project> findByIdWithSteps(@Param("id") Long id);
 
@@ -42,18 +66,200 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT COUNT(p) FROM Project p WHERE p.freelance.id = :freelanceId")
     Long countByFreelanceId(@Param("freelanceId") Long freelanceId);
 
-    @Query("SELECT p.status, COUNT(p) FROM Project p WHERE p.freelance.id = :freelanceId GROUP BY p.status")
-    List<Object[]> countByFreelanceIdGroupByStatus(@Param("freelanceId") Long freelanceId);
+    /**
+     * Dashboard headline figures in one pass: one row per (status, work mode, lost reason) with
+     * counts, rate sums, estimated revenue and the daily rate distribution. {@code from} and
+     * {@code to} bound the start date when set; projects without one are then left out.
+     */
+    @Query("""
+        SELECT p.status AS status, p.workMode AS workMode, p.lostReason AS lostReason,
+               COUNT(p) AS projectCount,
+               SUM(p.dailyRate) AS dailyRateSum,
+               COUNT(p.dailyRate) AS dailyRateCount,
+               SUM(p.dailyRate * p.daysPerYear * p.durationInMonths / 12) AS revenue,
+               SUM(CASE WHEN p.dailyRate >= 0 AND p.dailyRate < 300 THEN 1 ELSE 0 END) AS rateUnder300,
+               SUM(CASE WHEN p.dailyRate >= 300 AND p.dailyRate < 500 THEN 1 ELSE 0 END) AS rate300To500,
+               SUM(CASE WHEN p.dailyRate >= 500 AND p.dailyRate < 700 THEN 1 ELSE 0 END) AS rate500To700,
+               SUM(CASE WHEN p.dailyRate >= 700 AND p.dailyRate < 900 THEN 1 ELSE 0 END) AS rate700To900,
+               SUM(CASE WHEN p.dailyRate >= 900 THEN 1 ELSE 0 END) AS rateFrom900
+        FROM Project p
+        WHERE p.freelance.id = :freelanceId
+          AND (:from IS NULL OR p.startDate >= :from)
+          AND (:to IS NULL OR p.startDate <= :to)
+        GROUP BY p.status, p.workMode, p.lostReason
+        """)
+    List<DashboardAggregates.StatusSlice> aggregateDashboardByStatus(@Param("freelanceId") Long freelanceId,
+                                                                     @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Project counts per (source id, middleman id, status), feeding the funnel breakdowns and
+     * source ROI. Grouped by id so a renamed source or ESN keeps its counters.
+     */
+    @Query("""
+        SELECT s.id AS sourceId, m.id AS middlemanId, p.status AS status, COUNT(p) AS projectCount
+        FROM Project p
+        LEFT JOIN p.source s
+        LEFT JOIN p.middleman m
+        WHERE p.freelance.id = :freelanceId
+          AND (:from IS NULL OR p.startDate >= :from)
+          AND (:to IS NULL OR p.startDate <= :to)
+        GROUP BY s.id, m.id, p.status
+        """)
+    List<DashboardAggregates.FunnelSlice> aggregateDashboardFunnels(@Param("freelanceId") Long freelanceId,
+                                                                    @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** Asked and obtained daily rate sums per start year, oldest year first. */
+    @Query("""
+        SELECT YEAR(p.startDate) AS startYear,
+               SUM(p.askedDailyRate) AS askedRateSum, COUNT(p.askedDailyRate) AS askedRateCount,
+               SUM(p.dailyRate) AS dailyRateSum, COUNT(p.dailyRate) AS dailyRateCount,
+               COUNT(p) AS projectCount
+        FROM Project p
+        WHERE p.freelance.id = :freelanceId
+          AND p.startDate IS NOT NULL
+          AND (:from IS NULL OR p.startDate >= :from)
+          AND (:to IS NULL OR p.startDate <= :to)
+        GROUP BY YEAR(p.startDate)
+        ORDER BY YEAR(p.startDate)
+        """)
+    List<DashboardAggregates.RateYear> aggregateDailyRateByStartYear(@Param("freelanceId") Long freelanceId,
+                                                                     @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** Signed (WON) missions that carry a start date and a duration, in chronological order. */
+    @Query("""
+        SELECT p.id AS projectId, p.role AS role, c.companyName AS clientName,
+               p.startDate AS startDate, p.durationInMonths AS durationInMonths
+        FROM Project p
+        LEFT JOIN p.client c
+        WHERE p.freelance.id = :freelanceId
+          AND p.status = 'WON'
+          AND p.startDate IS NOT NULL
+          AND p.durationInMonths IS NOT NULL
+          AND (:from IS NULL OR p.startDate >= :from)
+          AND (:to IS NULL OR p.startDate <= :to)
+        ORDER BY p.startDate, p.id
+        """)
+    List<DashboardAggregates.SignedMission> findSignedMissions(@Param("freelanceId") Long freelanceId,
+                                                               @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Lines of the yearly summary CSV, ordered by start date (projects without one last) then role.
+     * {@code from} and {@code to} bound the start date when set. Read-only rows are fetched from
+     * the cursor 500 at a time; the stream must be consumed in a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT p.role AS role, p.status AS status, c.companyName AS clientName, s.name AS sourceName,
+               p.workMode AS workMode, p.startDate AS startDate, p.durationInMonths AS durationInMonths,
+               p.dailyRate AS dailyRate, p.daysPerYear AS daysPerYear
+        FROM Project p
+        LEFT JOIN p.client c
+        LEFT JOIN p.source s
+        WHERE p.freelance.id = :freelanceId
+          AND (:from IS NULL OR p.startDate >= :from)
+          AND (:to IS NULL OR p.startDate <= :to)
+        ORDER BY p.startDate ASC NULLS LAST, p.role, p.id
+        """)
+    Stream<ProjectExportRow> streamExportRows(@Param("freelanceId") Long freelanceId,
+                                              @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** Searchable text of every project of a freelance, streamed 500 rows at a time for {@code SearchIndex}. */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT p.id AS id, p.version AS version, p.id AS projectId, p.role AS title, p.techStack AS keywords,
+               p.description AS text, p.notes AS notes, p.advantages AS advantages
+        FROM Project p
+        WHERE p.freelance.id = :freelanceId
+        """)
+    Stream<SearchTextRow> streamSearchText(@Param("freelanceId") Long freelanceId);
+
+    /** Every active (neither WON nor LOST) opportunity of a freelance, to be ranked in memory. */
+    @Query("""
+        SELECT p.id AS projectId, p.role AS role, c.companyName AS clientName, p.status AS status
+        FROM Project p
+        LEFT JOIN p.client c
+        WHERE p.freelance.id = :freelanceId
+          AND p.status NOT IN ('WON', 'LOST')
+        """)
+    List<ActiveOpportunity> findActiveOpportunities(@Param("freelanceId") Long freelanceId);
 
-    @Query("SELECT p.workMode, COUNT(p) FROM Project p WHERE p.freelance.id = :freelanceId AND p.workMode IS NOT NULL GROUP BY p.workMode")
-    List<Object[]> countByFreelanceIdGroupByWorkMode(@Param("freelanceId") Long freelanceId);
+    /** Active (neither WON nor LOST) opportunities last updated at or before the cutoff, least recently updated first. */
+    @Query("""
+        SELECT p.id AS projectId, p.role AS role, c.companyName AS clientName,
+               p.status AS status, p.updatedAt AS updatedAt
+        FROM Project p
+        LEFT JOIN p.client c
+        WHERE p.freelance.id = :freelanceId
+          AND p.status NOT IN ('WON', 'LOST')
+          AND p.updatedAt <= :cutoff
+        ORDER BY p.updatedAt, p.id
+        """)
+    List<DashboardAggregates.StaleOpportunity> findStaleOpportunities(@Param("freelanceId") Long freelanceId,
+                                                                      @Param("cutoff") LocalDateTime cutoff);
 
-    @Query("SELECT COUNT(p) FROM Project p WHERE p.freelance.id = :freelanceId AND p.status = 'WON'")
-    Long countWonByFreelanceId(@Param("freelanceId") Long freelanceId);
+    /**
+     * Reads every Kanban card of a freelance in one statement. Step counters are aggregated with
+     * GROUP BY in a derived table joined back on the project id, so the wide TEXT columns of the
+     * card (notes) never take part in the grouping and the query stays portable across
+     * PostgreSQL and H2.
+     */
+    @Query(value = """
+        SELECT p.id AS projectId, p.role AS role, p.status AS status,
+               c.id AS clientId, c.company_name AS clientName,
+               p.daily_rate AS dailyRate, p.work_mode AS workMode, p.tech_stack AS techStack,
+               src.name AS sourceName, p.start_date AS startDate,
+               p.duration_in_months AS durationInMonths, p.notes AS notes,
+               p.personal_rating AS personalRating, p.is_favorite AS isFavorite,
+               p.board_position AS boardPosition, p.updated_at AS updatedAt,
+               p.lost_reason AS lostReason,
+               COALESCE(st.total_steps, 0) AS totalSteps,
+               COALESCE(st.completed_steps, 0) AS completedSteps,
+               COALESCE(st.failed_steps, 0) AS failedSteps
+        FROM projects p
+        LEFT JOIN clients c ON c.id = p.client_id
+        LEFT JOIN sources src ON src.id = p.source_id
+        LEFT JOIN (
+            SELECT s.project_id AS project_id,
+                   COUNT(*) AS total_steps,
+                   SUM(CASE WHEN s.status = 'VALIDATED' THEN 1 ELSE 0 END) AS completed_steps,
+                   SUM(CASE WHEN s.status = 'FAILED' THEN 1 ELSE 0 END) AS failed_steps
+            FROM interview_steps s
+            JOIN projects sp ON sp.id = s.project_id
+            WHERE sp.freelance_id = :freelanceId
+            GROUP BY s.project_id
+        ) st ON st.project_id = p.id
+        WHERE p.freelance_id = :freelanceId
+        """, nativeQuery = true)
+    List<KanbanCardView> findKanbanCardsByFreelanceId(@Param("freelanceId") Long freelanceId);
 
-    @Query("SELECT COUNT(p) FROM Project p WHERE p.freelance.id = :freelanceId AND p.status = 'LOST'")
-    Long countLostByFreelanceId(@Param("freelanceId") Long freelanceId);
+    /** Atomically shifts the interview step counters of a project; see {@code AggregateCounterService}. */
+    @Modifying
+    @Query("""
+        UPDATE Project p SET
+            p.stepCount = p.stepCount + :steps,
+            p.validatedStepCount = p.validatedStepCount + :validated,
+            p.failedStepCount = p.failedStepCount + :failed
+        WHERE p.id = :id
+        """)
+    int incrementStepCounters(@Param("id") Long id, @Param("steps") long steps,
+                              @Param("validated") long validated, @Param("failed") long failed);
 
-    @Query("SELECT COUNT(p) FROM Project p WHERE p.freelance.id = :freelanceId AND p.status NOT IN ('LOST', 'WON')")
-    Long countActiveByFreelanceId(@Param("freelanceId") Long freelanceId);
+    /** Recomputes the step counters of the projects of a freelance, or of every project when {@code freelanceId} is null. */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE Project p SET
+            p.stepCount = (SELECT COUNT(s) FROM InterviewStep s WHERE s.project = p),
+            p.validatedStepCount = (SELECT COUNT(s) FROM InterviewStep s WHERE s.project = p
+                                    AND s.status = dev.swirlit.indezy.model.enums.StepStatus.VALIDATED),
+            p.failedStepCount = (SELECT COUNT(s) FROM InterviewStep s WHERE s.project = p
+                                 AND s.status = dev.swirlit.indezy.model.enums.StepStatus.FAILED)
+        WHERE :freelanceId IS NULL OR p.freelance.id = :freelanceId
+        """)
+    int recountStepsByFreelanceId(@Param("freelanceId") Long freelanceId);
 }
@@ -0,0 +1,113 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.constants.ErrorMessages;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.enums.WorkMode;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Composable {@link Specification} building blocks for project search, so every filter, sort
+ * key and page limit is pushed into a single SQL statement instead of filtering in memory.
+ */
+public final class ProjectSpecifications {
+
+    /** Properties a client may sort on; anything else is rejected rather than reaching the query. */
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of(
+        "id", "role", "status", "dailyRate", "workMode", "startDate", "durationInMonths",
+        "personalRating", "boardPosition", "createdAt", "updatedAt"
+    );
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ProjectSpecifications() {
+        // Utility class - prevent instantiation
+    }
+
+    public static Specification<Project> belongsToFreelance(Long freelanceId) {
+        return (root, query, cb) -> cb.equal(root.get("freelance").get("id"), freelanceId);
+    }
+
+    public static Specification<Project> dailyRateAtLeast(Integer minRate) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dailyRate"), minRate);
+    }
+
+    public static Specification<Project> dailyRateAtMost(Integer maxRate) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dailyRate"), maxRate);
+    }
+
+    public static Specification<Project> hasWorkMode(WorkMode workMode) {
+        return (root, query, cb) -> cb.equal(root.get("workMode"), workMode);
+    }
+
+    public static Specification<Project> startsAfter(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThan(root.get("startDate"), date);
+    }
+
+    /**
+     * Case-insensitive substring match on the free-text tech stack. {@code %} and {@code _} in the
+     * value match themselves, not any characters.
+     */
+    public static Specification<Project> techStackContains(String techStack) {
+        String pattern = "%" + escapeLike(techStack.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("techStack")), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * Combines the filters that are set (null or blank values are skipped) with the mandatory
+     * freelance scope into one conjunction.
+     */
+    public static Specification<Project> search(Long freelanceId, Integer minRate, Integer maxRate,
+                                                WorkMode workMode, LocalDate startDateAfter, String techStack) {
+        List<Specification<Project>> specifications = new ArrayList<>();
+        specifications.add(belongsToFreelance(freelanceId));
+        if (minRate != null) {
+            specifications.add(dailyRateAtLeast(minRate));
+        }
+        if (maxRate != null) {
+            specifications.add(dailyRateAtMost(maxRate));
+        }
+        if (workMode != null) {
+            specifications.add(hasWorkMode(workMode));
+        }
+        if (startDateAfter != null) {
+            specifications.add(startsAfter(startDateAfter));
+        }
+        if (techStack != null && !techStack.trim().isEmpty()) {
+            specifications.add(techStackContains(techStack));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    /**
+     * Validates the requested sort keys and appends {@code id} as a final tie-breaker so pages
+     * stay stable when several rows share the same sort values.
+     */
+    public static Sort stableSort(Sort requested) {
+        for (Sort.Order order : requested) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException(String.format(ErrorMessages.INVALID_SORT_PROPERTY, order.getProperty()));
+            }
+        }
+        return requested.getOrderFor("id") != null ? requested : requested.and(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    /** Escapes the LIKE wildcards of a value, and the escape character itself. */
+    static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.ProjectTag;
+import dev.swirlit.indezy.model.SkillTag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProjectTagRepository extends JpaRepository<ProjectTag, Long> {
+
+    /** A tag on a project. */
+    interface Posting {
+
+        Long getProjectId();
+
+        Long getTagId();
+    }
+
+    /** The tech stack of a project, to derive its tags from. */
+    interface TechStackRow {
+
+        Long getId();
+
+        String getTechStack();
+    }
+
+    List<ProjectTag> findByProjectId(Long projectId);
+
+    long countByTagId(Long tagId);
+
+    /** Every tag on the projects of a freelance, by project; streamed to build {@code SkillTagService}'s index. */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT pt.project.id AS projectId, pt.tag.id AS tagId
+        FROM ProjectTag pt
+        WHERE pt.tag.freelance.id = :freelanceId
+        ORDER BY pt.project.id
+        """)
+    Stream<Posting> streamPostings(@Param("freelanceId") Long freelanceId);
+
+    /** Projects of a freelance with a tech stack but no tags yet: imported, or written before tags existed. */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT p.id AS id, p.techStack AS techStack
+        FROM Project p
+        WHERE p.freelance.id = :freelanceId AND p.techStack IS NOT NULL
+          AND NOT EXISTS (SELECT 1 FROM ProjectTag pt WHERE pt.project = p)
+        """)
+    Stream<TechStackRow> streamUntagged(@Param("freelanceId") Long freelanceId);
+
+    /**
+     * Moves every project tagged {@code source} to {@code target} in one statement, except the
+     * projects already tagged {@code target}, whose {@code source} rows are left to delete.
+     */
+    @Modifying
+    @Query("""
+        UPDATE ProjectTag pt SET pt.tag = :target
+        WHERE pt.tag = :source
+          AND NOT EXISTS (SELECT 1 FROM ProjectTag other WHERE other.project = pt.project AND other.tag = :target)
+        """)
+    int reassign(@Param("source") SkillTag source, @Param("target") SkillTag target);
+
+    @Modifying
+    @Query("DELETE FROM ProjectTag pt WHERE pt.tag = :tag")
+    int deleteByTag(@Param("tag") SkillTag tag);
+}
@@ -0,0 +1,41 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.ProjectUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProjectUploadRepository extends JpaRepository<ProjectUpload, Long> {
+
+    Optional<ProjectUpload> findByIdAndProjectId(Long id, Long projectId);
+
+    /** Uploads nobody added a chunk to since their expiry. */
+    List<ProjectUpload> findByExpiresAtBefore(LocalDateTime now);
+
+    /**
+     * Records a chunk written at {@code offset}; returns 0 when another chunk was recorded at that
+     * offset first.
+     */
+    @Modifying
+    @Query("""
+        UPDATE ProjectUpload u SET u.receivedBytes = :received, u.expiresAt = :expiresAt
+        WHERE u.id = :id AND u.receivedBytes = :offset
+        """)
+    int advance(@Param("id") Long id, @Param("offset") long offset, @Param("received") long received,
+                @Param("expiresAt") LocalDateTime expiresAt);
+
+    /** Marks the upload as being completed or cancelled; returns 0 when another request already did. */
+    @Modifying
+    @Query("UPDATE ProjectUpload u SET u.completingSince = :now WHERE u.id = :id AND u.completingSince IS NULL")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /** Lets the upload be completed again, after a completion that failed. */
+    @Modifying
+    @Query("UPDATE ProjectUpload u SET u.completingSince = NULL WHERE u.id = :id")
+    int release(@Param("id") Long id);
+}
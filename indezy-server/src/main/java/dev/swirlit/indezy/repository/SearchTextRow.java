@@ -0,0 +1,29 @@
+package dev.swirlit.indezy.repository;
+
+/**
+ * Searchable text of one project, note, client or contact, read to build the full-text index of
+ * a freelance without loading entities. Each query selects the columns its entity has; the others
+ * read as null.
+ */
+public interface SearchTextRow {
+
+    Long getId();
+
+    Long getVersion();
+
+    /** The project of a note, or the project itself. */
+    Long getProjectId();
+
+    /** Project role, client company name or contact full name. */
+    String getTitle();
+
+    /** Project tech stack. */
+    String getKeywords();
+
+    /** Project description or note content. */
+    String getText();
+
+    String getNotes();
+
+    String getAdvantages();
+}
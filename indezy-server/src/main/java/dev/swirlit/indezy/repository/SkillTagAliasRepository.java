@@ -0,0 +1,31 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.SkillTag;
+import dev.swirlit.indezy.model.SkillTagAlias;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SkillTagAliasRepository extends JpaRepository<SkillTagAlias, Long> {
+
+    /** Aliases of a freelance among the given names, with the tag each one stands for. */
+    @Query("""
+        SELECT a FROM SkillTagAlias a JOIN FETCH a.tag
+        WHERE a.freelance.id = :freelanceId AND a.normalizedName IN :normalizedNames
+        """)
+    List<SkillTagAlias> findWithTagByFreelanceIdAndNormalizedNameIn(@Param("freelanceId") Long freelanceId,
+                                                                   @Param("normalizedNames") Collection<String> normalizedNames);
+
+    /** Points the aliases of {@code source} to {@code target}, when merging the first into the second. */
+    @Modifying
+    @Query("UPDATE SkillTagAlias a SET a.tag = :target WHERE a.tag = :source")
+    int reassign(@Param("source") SkillTag source, @Param("target") SkillTag target);
+
+    @Modifying
+    @Query("DELETE FROM SkillTagAlias a WHERE a.tag = :tag AND a.normalizedName = :normalizedName")
+    int deleteByTagAndNormalizedName(@Param("tag") SkillTag tag, @Param("normalizedName") String normalizedName);
+}
@@ -0,0 +1,14 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.SkillTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SkillTagRepository extends JpaRepository<SkillTag, Long> {
+
+    List<SkillTag> findByFreelanceIdOrderByName(Long freelanceId);
+
+    List<SkillTag> findByFreelanceIdAndNormalizedNameIn(Long freelanceId, Collection<String> normalizedNames);
+}
@@ -2,10 +2,13 @@ package dev.swirlit.indezy.repository;
 
 import dev.swirlit.indezy.model.Source;
 import dev.swirlit.indezy.model.enums.SourceType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +20,11 @@ public interface SourceRepository extends JpaRepository<Source, Long> {
 
     List<Source> findByFreelanceIdAndIsListing(Long freelanceId, Boolean isListing);
 
+    // Keyset pagination: rows with an id below the cursor, newest first.
+    List<Source> findByIdLessThanOrderByIdDesc(Long afterId, Limit limit);
+
+    List<Source> findByFreelanceIdAndIdLessThanOrderByIdDesc(Long freelanceId, Long afterId, Limit limit);
+
     @Query("SELECT s FROM Source s WHERE s.freelance.id = :freelanceId AND s.name LIKE %:name%")
     List<Source> findByFreelanceIdAndNameContaining(@Param("freelanceId") Long freelanceId, @Param("name") String name);
 
@@ -37,4 +45,24 @@ public interface SourceRepository extends JpaRepository<Source, Long> {
 
     @Query("SELECT DISTINCT s.type FROM Source s WHERE s.freelance.id = :freelanceId ORDER BY s.type")
     List<SourceType> findDistinctTypesByFreelanceId(@Param("freelanceId") Long freelanceId);
+
+    /** Case-insensitive lookup by name; {@code lowerCaseNames} must already be lower-cased. */
+    @Query("SELECT s FROM Source s WHERE s.freelance.id = :freelanceId AND LOWER(s.name) IN :lowerCaseNames")
+    List<Source> findByFreelanceIdAndNameIgnoreCaseIn(@Param("freelanceId") Long freelanceId,
+                                                      @Param("lowerCaseNames") Collection<String> lowerCaseNames);
+
+    /** Atomically shifts the project counters of a source; see {@code AggregateCounterService}. */
+    @Modifying
+    @Query("UPDATE Source s SET s.projectCount = s.projectCount + :projects, s.dailyRateSum = s.dailyRateSum + :dailyRateSum WHERE s.id = :id")
+    int incrementProjectCounters(@Param("id") Long id, @Param("projects") long projects, @Param("dailyRateSum") long dailyRateSum);
+
+    /** Recomputes the counters of the sources of a freelance, or of every source when {@code freelanceId} is null. */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE Source s SET
+            s.projectCount = (SELECT COUNT(p) FROM Project p WHERE p.source = s),
+            s.dailyRateSum = (SELECT COALESCE(SUM(p.dailyRate), 0) FROM Project p WHERE p.source = s)
+        WHERE :freelanceId IS NULL OR s.freelance.id = :freelanceId
+        """)
+    int recountByFreelanceId(@Param("freelanceId") Long freelanceId);
 }
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -36,4 +37,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.sessions LEFT JOIN FETCH u.securityQuestions WHERE u.id = :id")
     Optional<User> findByIdWithSecurityData(@Param("id") Long id);
+
+    /**
+     * Find the skills of a user, without loading the user
+     */
+    @Query("SELECT s FROM User u JOIN u.skills s WHERE u.id = :id")
+    List<String> findSkillsById(@Param("id") Long id);
 }
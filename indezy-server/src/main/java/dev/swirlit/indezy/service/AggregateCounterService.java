@@ -0,0 +1,216 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.enums.StepStatus;
+import dev.swirlit.indezy.repository.ClientRepository;
+import dev.swirlit.indezy.repository.FreelanceRepository;
+import dev.swirlit.indezy.repository.InterviewStepRepository;
+import dev.swirlit.indezy.repository.ProjectRepository;
+import dev.swirlit.indezy.repository.SourceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the denormalized counters the list endpoints read instead of loading collections:
+ * project count and daily rate sum on {@code Client}, {@code Source} and {@code Freelance}, contact
+ * count on {@code Client}, and total, validated and failed interview step counts on
+ * {@code Project}. The mutating services report each change here, in their own transaction, and
+ * the matching increments are applied with atomic {@code UPDATE ... SET x = x + :delta}
+ * statements, so concurrent writers never lose an update.
+ *
+ * <p>Cascading client and source deletes are followed by a recount of the freelance, and
+ * {@link AggregateRecountJob} recounts every freelance nightly, and once on a database whose
+ * counters were never recounted (backfilling rows written before the counters existed).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AggregateCounterService {
+
+    private final ClientRepository clientRepository;
+    private final SourceRepository sourceRepository;
+    private final FreelanceRepository freelanceRepository;
+    private final ProjectRepository projectRepository;
+    private final InterviewStepRepository interviewStepRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Replaces the contribution of a project: {@code before} is what it counted for prior to the
+     * mutation ({@code null} for a new project), {@code after} what it counts for now
+     * ({@code null} once removed). Runs in the caller's transaction.
+     */
+    void recordProjectChange(DashboardCounters.ProjectFacts before, DashboardCounters.ProjectFacts after) {
+        Deltas deltas = new Deltas();
+        if (before != null) {
+            deltas.addProject(before, -1);
+        }
+        if (after != null) {
+            deltas.addProject(after, 1);
+        }
+        apply(deltas);
+    }
+
+    /** Removes a project about to be deleted; its own step counters go with it. */
+    void recordProjectRemoval(Long projectId) {
+        projectRepository.findById(projectId).ifPresent(project ->
+            recordProjectChange(DashboardCounters.ProjectFacts.of(project), null));
+    }
+
+    /**
+     * Moves an interview step of a project from {@code before} to {@code after}; {@code before} is
+     * {@code null} for a new step and {@code after} {@code null} for a removed one.
+     */
+    void recordStepChange(Long projectId, StepStatus before, StepStatus after) {
+        Deltas deltas = new Deltas();
+        if (before != null) {
+            deltas.addStep(projectId, before, -1);
+        }
+        if (after != null) {
+            deltas.addStep(projectId, after, 1);
+        }
+        apply(deltas);
+    }
+
+    /** Removes an interview step about to be deleted. */
+    void recordStepRemoval(Long stepId) {
+        interviewStepRepository.findById(stepId).ifPresent(step -> {
+            if (step.getProject() != null) {
+                recordStepChange(step.getProject().getId(), step.getStatus(), null);
+            }
+        });
+    }
+
+    /** Moves a contact from one client to another; either side is {@code null} on create or delete. */
+    void recordContactChange(Long clientIdBefore, Long clientIdAfter) {
+        Deltas deltas = new Deltas();
+        if (clientIdBefore != null) {
+            deltas.addContact(clientIdBefore, -1);
+        }
+        if (clientIdAfter != null) {
+            deltas.addContact(clientIdAfter, 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Recomputes every counter of a freelance, after a change that bypassed the increments (a
+     * client or source delete cascading to projects attached to other clients and sources).
+     */
+    void recount(Long freelanceId) {
+        if (freelanceId == null) {
+            return;
+        }
+        freelanceRepository.recountById(freelanceId);
+        clientRepository.recountByFreelanceId(freelanceId);
+        sourceRepository.recountByFreelanceId(freelanceId);
+        projectRepository.recountStepsByFreelanceId(freelanceId);
+        log.debug("Recounted aggregate counters for freelance: {}", freelanceId);
+    }
+
+    /**
+     * Recomputes the counters of the given freelances, each in its own transaction, and returns
+     * how many were recounted; repairs any drift and backfills rows written without increments.
+     */
+    int recount(List<Long> freelanceIds) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int recounted = 0;
+        for (Long freelanceId : freelanceIds) {
+            try {
+                transaction.executeWithoutResult(status -> recount(freelanceId));
+                recounted++;
+            } catch (RuntimeException e) {
+                log.warn("Aggregate counter recount failed for freelance {}", freelanceId, e);
+            }
+        }
+        return recounted;
+    }
+
+    /**
+     * Applies accumulated deltas, one statement per touched row. Rows are updated in id order
+     * within each table, and tables in a fixed order, so concurrent writers lock them in the
+     * same sequence.
+     */
+    void apply(Deltas deltas) {
+        deltas.freelances.forEach((id, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                freelanceRepository.incrementProjectCounters(id, delta[0], delta[1]);
+            }
+        });
+        deltas.clients.forEach((id, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                clientRepository.incrementProjectCounters(id, delta[0], delta[1]);
+            }
+        });
+        deltas.contacts.forEach((id, delta) -> {
+            if (delta[0] != 0) {
+                clientRepository.incrementContactCount(id, delta[0]);
+            }
+        });
+        deltas.sources.forEach((id, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                sourceRepository.incrementProjectCounters(id, delta[0], delta[1]);
+            }
+        });
+        deltas.projects.forEach((id, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0 || delta[2] != 0) {
+                projectRepository.incrementStepCounters(id, delta[0], delta[1], delta[2]);
+            }
+        });
+    }
+
+    /**
+     * Counter increments accumulated per row, so that a batch (or a project moving between two
+     * clients) is applied as one statement per row. Project counters are
+     * {@code [projects, dailyRateSum]}, contact counters {@code [contacts]} and step counters
+     * {@code [steps, validated, failed]}.
+     */
+    static final class Deltas {
+
+        private final Map<Long, long[]> freelances = new TreeMap<>();
+        private final Map<Long, long[]> clients = new TreeMap<>();
+        private final Map<Long, long[]> contacts = new TreeMap<>();
+        private final Map<Long, long[]> sources = new TreeMap<>();
+        private final Map<Long, long[]> projects = new TreeMap<>();
+
+        /** Adds ({@code sign = 1}) or removes ({@code sign = -1}) one project from its parents. */
+        void addProject(DashboardCounters.ProjectFacts project, int sign) {
+            long dailyRate = project.dailyRate() != null ? project.dailyRate() : 0L;
+            addProject(freelances, project.freelanceId(), sign, dailyRate);
+            addProject(clients, project.clientId(), sign, dailyRate);
+            addProject(sources, project.sourceId(), sign, dailyRate);
+        }
+
+        void addContact(Long clientId, int sign) {
+            if (clientId != null) {
+                contacts.computeIfAbsent(clientId, id -> new long[1])[0] += sign;
+            }
+        }
+
+        void addStep(Long projectId, StepStatus status, int sign) {
+            if (projectId == null) {
+                return;
+            }
+            long[] delta = projects.computeIfAbsent(projectId, id -> new long[3]);
+            delta[0] += sign;
+            if (status == StepStatus.VALIDATED) {
+                delta[1] += sign;
+            } else if (status == StepStatus.FAILED) {
+                delta[2] += sign;
+            }
+        }
+
+        private static void addProject(Map<Long, long[]> counters, Long id, int sign, long dailyRate) {
+            if (id != null) {
+                long[] delta = counters.computeIfAbsent(id, key -> new long[2]);
+                delta[0] += sign;
+                delta[1] += sign * dailyRate;
+            }
+        }
+    }
+}
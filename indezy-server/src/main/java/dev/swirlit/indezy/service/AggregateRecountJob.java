@@ -0,0 +1,79 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.dto.JobDto;
+import dev.swirlit.indezy.model.enums.JobStatus;
+import dev.swirlit.indezy.model.enums.JobType;
+import dev.swirlit.indezy.repository.BackgroundJobRepository;
+import dev.swirlit.indezy.repository.FreelanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Runs the recount of {@link AggregateCounterService} as a {@link JobType#COUNTER_RECOUNT}
+ * background job, submitted on {@code indezy.counters.recount-cron}. Freelances are recounted in
+ * id order, {@value #CHUNK_SIZE} at a time and each in its own transaction, with the last
+ * freelance id recounted as the checkpoint.
+ *
+ * <p>At startup the job is only submitted when no recount ever completed: a completed job is the
+ * marker that the counters were backfilled, and the nightly run keeps one within the job retention.
+ * Being a job, it runs once across instances instead of on every replica.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AggregateRecountJob implements JobHandler {
+
+    static final int CHUNK_SIZE = 50;
+
+    private final AggregateCounterService aggregateCounterService;
+    private final FreelanceRepository freelanceRepository;
+    private final BackgroundJobRepository jobRepository;
+    private final JobService jobService;
+
+    @Scheduled(cron = "${indezy.counters.recount-cron:0 0 4 * * *}")
+    public JobDto submit() {
+        return jobService.submit(JobType.COUNTER_RECOUNT, null);
+    }
+
+    /** Backfills the counters of a database that was never recounted. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (jobRepository.existsByTypeAndStatus(JobType.COUNTER_RECOUNT, JobStatus.COMPLETED)) {
+            log.debug("Aggregate counters already recounted, skipping the startup backfill");
+            return;
+        }
+        submit();
+    }
+
+    @Override
+    public JobType jobType() {
+        return JobType.COUNTER_RECOUNT;
+    }
+
+    @Override
+    public String run(JobContext context) {
+        long afterFreelanceId = context.getCheckpoint() != null ? Long.parseLong(context.getCheckpoint()) : 0L;
+        long total = freelanceRepository.count();
+        long done = freelanceRepository.countByIdLessThanEqual(afterFreelanceId);
+        int recounted = 0;
+        List<Long> chunk;
+        while (!(chunk = freelanceRepository.findIdsAfter(afterFreelanceId, Limit.of(CHUNK_SIZE))).isEmpty()) {
+            context.throwIfCancelled();
+            recounted += aggregateCounterService.recount(chunk);
+            afterFreelanceId = chunk.getLast();
+            done += chunk.size();
+            context.processed(chunk.size());
+            context.checkpoint(Long.toString(afterFreelanceId));
+            context.progress(total > 0 ? (int) Math.min(99, done * 100 / total) : 0, "recounting");
+        }
+        log.info("Recounted aggregate counters of {} freelances", recounted);
+        return String.format("%d freelances recounted", recounted);
+    }
+}
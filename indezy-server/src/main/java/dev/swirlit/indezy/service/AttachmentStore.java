@@ -0,0 +1,247 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.constants.ErrorMessages;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed file storage on local disk: a file is kept once, under the SHA-256 digest of
+ * its content ({@code sha256/ab/cd/abcd...} below {@code indezy.attachments.directory}), however
+ * many times it is uploaded. An upload is streamed to a temporary file while it is hashed, then
+ * moved to its digest's path, or dropped when that blob already exists.
+ *
+ * <p>Blobs are never modified in place (a concurrent upload of the same content at most renames
+ * identical bytes over it), so a digest's path can be read while new uploads arrive. They
+ * are not deleted with the rows using them either: {@link #sweep} removes the blobs nothing refers
+ * to any more, leaving out the recent ones, since storing a duplicate touches the existing blob
+ * before its new row is committed.
+ *
+ * <p>Resumable uploads receive their chunks in {@code uploads/}, on the same disk, and are moved
+ * to their digest's path once complete.
+ */
+@Component
+@Slf4j
+public class AttachmentStore {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final Pattern DIGEST = Pattern.compile("[0-9a-f]{64}");
+    private static final String UPLOAD_SUFFIX = ".upload";
+    private static final Pattern UPLOAD_FILE = Pattern.compile("(\\d{1,18})\\.upload");
+    private static final int HASH_BUFFER_SIZE = 256 * 1024;
+
+    private final Path blobs;
+    private final Path incoming;
+    private final Path uploads;
+
+    @Autowired
+    public AttachmentStore(@Value("${indezy.attachments.directory:attachments}") String directory) {
+        this(Paths.get(directory));
+    }
+
+    AttachmentStore(Path directory) {
+        this.blobs = directory.resolve("sha256");
+        this.incoming = directory.resolve("incoming");
+        this.uploads = directory.resolve("uploads");
+    }
+
+    /** Stores the content, read to its end and closed, and returns its digest. */
+    public StoredBlob store(InputStream content) throws IOException {
+        Files.createDirectories(incoming);
+        Path temp = incoming.resolve(UUID.randomUUID() + ".part");
+        try {
+            MessageDigest digest = newDigest();
+            long size;
+            try (DigestInputStream in = new DigestInputStream(content, digest)) {
+                size = Files.copy(in, temp);
+            }
+            return place(temp, HexFormat.of().formatHex(digest.digest()), size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Stores a file already on the same disk, such as a completed chunked upload, by moving it
+     * rather than copying it. The file is hashed first, and left in place when its digest is not
+     * {@code expectedSha256} or it could not be moved.
+     */
+    public StoredBlob store(Path file, String expectedSha256) throws IOException {
+        MessageDigest digest = newDigest();
+        long size = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                size += buffer.remaining();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        if (!sha256.equals(expectedSha256)) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.UPLOAD_CHECKSUM_MISMATCH, sha256, expectedSha256));
+        }
+        StoredBlob blob = place(file, sha256, size);
+        // Still there when a blob with that digest already existed.
+        Files.deleteIfExists(file);
+        return blob;
+    }
+
+    /**
+     * Puts back a file stored with {@link #store(Path, String)} whose blob could not be recorded, so
+     * it can be stored again. The blob stays for the sweep, since other content may use it by now.
+     */
+    public void restore(StoredBlob blob, Path file) throws IOException {
+        Files.copy(path(blob.sha256()), file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** Moves a fully written file to its digest's path, unless a blob with that digest exists. */
+    private StoredBlob place(Path file, String sha256, long size) throws IOException {
+        Path target = path(sha256);
+        if (Files.exists(target)) {
+            // Keeps the blob out of the next sweep until the caller's row is committed.
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            return new StoredBlob(sha256, size, true);
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            moveInPlace(file, target);
+        } catch (FileAlreadyExistsException e) {
+            // The same content was stored concurrently.
+            return new StoredBlob(sha256, size, true);
+        }
+        log.debug("Stored blob {} ({} bytes)", sha256, size);
+        return new StoredBlob(sha256, size, false);
+    }
+
+    /** The path of a digest's blob; it exists once content with that digest was stored. */
+    public Path path(String sha256) {
+        if (sha256 == null || !DIGEST.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Invalid SHA-256 digest: " + sha256);
+        }
+        return blobs.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    /**
+     * Deletes the blobs last modified before {@code modifiedBefore} that are not {@code referenced},
+     * and the temporary files of uploads interrupted before then. Returns the number of blobs deleted.
+     */
+    public int sweep(Predicate<String> referenced, Instant modifiedBefore) throws IOException {
+        int deleted = 0;
+        if (Files.isDirectory(blobs)) {
+            List<Path> candidates;
+            try (Stream<Path> files = Files.find(blobs, 3, (path, attributes) -> attributes.isRegularFile()
+                    && attributes.lastModifiedTime().toInstant().isBefore(modifiedBefore))) {
+                candidates = files.toList();
+            }
+            for (Path blob : candidates) {
+                String sha256 = blob.getFileName().toString();
+                if (DIGEST.matcher(sha256).matches() && !referenced.test(sha256)
+                        && modifiedBefore(blob, modifiedBefore)
+                        && Files.deleteIfExists(blob)) {
+                    deleted++;
+                }
+            }
+        }
+        if (Files.isDirectory(incoming)) {
+            try (Stream<Path> files = Files.list(incoming)) {
+                files.filter(file -> modifiedBefore(file, modifiedBefore)).forEach(AttachmentStore::deleteQuietly);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * The file receiving the chunks of a resumable upload, next to the blobs so that
+     * {@link #store(Path, String)} moves it in place rather than copying it.
+     */
+    public Path uploadPath(Long uploadId) throws IOException {
+        Files.createDirectories(uploads);
+        return uploads.resolve(uploadId + UPLOAD_SUFFIX);
+    }
+
+    /**
+     * Deletes the files of the resumable uploads not {@code active} any more, last modified before
+     * {@code modifiedBefore}. Returns the number of files deleted.
+     */
+    public int sweepUploads(Predicate<Long> active, Instant modifiedBefore) throws IOException {
+        if (!Files.isDirectory(uploads)) {
+            return 0;
+        }
+        List<Path> candidates;
+        try (Stream<Path> files = Files.list(uploads)) {
+            candidates = files.filter(file -> modifiedBefore(file, modifiedBefore)).toList();
+        }
+        int deleted = 0;
+        for (Path file : candidates) {
+            Matcher name = UPLOAD_FILE.matcher(file.getFileName().toString());
+            if ((!name.matches() || !active.test(Long.valueOf(name.group(1)))) && Files.deleteIfExists(file)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private static void moveInPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        }
+    }
+
+    private static boolean modifiedBefore(Path file, Instant instant) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(instant);
+        } catch (IOException e) {
+            // Moved in place or deleted meanwhile.
+            return false;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** A stored content: its digest, its size, and whether a blob with that digest already existed. */
+    public record StoredBlob(String sha256, long size, boolean deduplicated) {
+    }
+}
@@ -0,0 +1,369 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.constants.ErrorMessages;
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.model.User;
+import dev.swirlit.indezy.model.enums.JobType;
+import dev.swirlit.indezy.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Avatar upload pipeline. On the request thread an upload is only checked (a PNG, JPEG or GIF
+ * whose header gives at most {@code max-dimension} pixels per side) and written, under a name made
+ * of the user id and the start of the content's SHA-256 ({@code 7-0123456789abcdef.jpg}), which
+ * becomes the user's avatar URL. The image is then decoded and cut into square variants of
+ * {@code indezy.avatars.sizes} pixels ({@code 7-0123456789abcdef-64.jpg}) by a
+ * {@link JobType#AVATAR_VARIANTS} background job; JPEGs give JPEG variants, other formats PNG.
+ *
+ * <p>Decoding subsamples the image to about twice the largest variant, so a large photo never
+ * takes its full size in memory. A file name always holds the same content, which lets
+ * {@link #resolve} callers cache it for good; asking for a size before its variant exists
+ * returns the original, to be revalidated.
+ */
+@Service
+@Slf4j
+public class AvatarService implements JobHandler {
+
+    public static final String URL_PREFIX = "/api/files/avatars/";
+
+    /** ImageIO format names accepted, and the extension of their files. */
+    private static final Map<String, String> FORMATS = Map.of("png", "png", "jpeg", "jpg", "gif", "gif");
+    private static final Map<String, String> CONTENT_TYPES = Map.of("png", "image/png", "jpg", "image/jpeg", "gif", "image/gif");
+    private static final Pattern FILE_NAME = Pattern.compile("(\\d+-[0-9a-f]{16})(?:-(\\d+))?\\.(png|jpg|gif)");
+    private static final int BASE = 1;
+    private static final int SIZE = 2;
+    private static final int EXT = 3;
+    private static final int NAME_DIGEST_LENGTH = 16;
+
+    private final UserRepository userRepository;
+    private final JobService jobService;
+    private final Path directory;
+    private final List<Integer> sizes;
+    private final DataSize maxSize;
+    private final int maxDimension;
+
+    @Autowired
+    public AvatarService(UserRepository userRepository,
+                         JobService jobService,
+                         @Value("${indezy.avatars.directory:uploads/avatars}") String directory,
+                         @Value("${indezy.avatars.sizes:32,64,256}") List<Integer> sizes,
+                         @Value("${indezy.avatars.max-size:5MB}") DataSize maxSize,
+                         @Value("${indezy.avatars.max-dimension:10000}") int maxDimension) {
+        this(userRepository, jobService, Paths.get(directory), sizes, maxSize, maxDimension);
+    }
+
+    AvatarService(UserRepository userRepository, JobService jobService, Path directory, List<Integer> sizes,
+                  DataSize maxSize, int maxDimension) {
+        if (sizes.isEmpty() || sizes.stream().anyMatch(size -> size < 1) || maxDimension < 1) {
+            throw new IllegalArgumentException("Invalid avatar settings");
+        }
+        this.userRepository = userRepository;
+        this.jobService = jobService;
+        this.directory = directory;
+        this.sizes = sizes.stream().sorted().distinct().toList();
+        this.maxSize = maxSize;
+        this.maxDimension = maxDimension;
+    }
+
+    /**
+     * Checks and stores a new avatar, makes it the user's avatar, and queues the generation of its
+     * variants. Returns the avatar URL; its previous avatar files are deleted.
+     */
+    public String upload(Long userId, MultipartFile file) throws IOException {
+        log.debug("Uploading avatar for user ID: {}", userId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.USER_NOT_FOUND, userId)));
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.FILE_EMPTY, file.getOriginalFilename()));
+        }
+        if (file.getSize() > maxSize.toBytes()) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.FILE_SIZE_EXCEEDED, maxSize.toMegabytes()));
+        }
+
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(UUID.randomUUID() + ".part");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp);
+            }
+            String extension = probe(temp);
+            String base = userId + "-" + HexFormat.of().formatHex(digest.digest()).substring(0, NAME_DIGEST_LENGTH);
+            String name = base + "." + extension;
+            Files.move(temp, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            user.setAvatar(URL_PREFIX + name);
+            userRepository.save(user);
+            deleteAvatarsOtherThan(userId, base);
+            jobService.submit(JobType.AVATAR_VARIANTS, userId);
+            log.info("Stored avatar {} of user {}", name, userId);
+            return URL_PREFIX + name;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The file to serve for an avatar file name: with a {@code size}, the smallest variant at least
+     * that large (or the largest one), or the original while that variant is not generated yet.
+     * Serving is read-only: variants are only generated by the job queued on upload, so a request
+     * for an image that cannot be decoded never queues another job.
+     */
+    public AvatarFile resolve(String fileName, Integer size) {
+        Matcher name = FILE_NAME.matcher(fileName);
+        if (!name.matches()) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.FILE_NOT_FOUND, fileName));
+        }
+        boolean variantRequested = size != null && name.group(SIZE) == null;
+        if (variantRequested) {
+            AvatarFile variant = file(variantName(name.group(BASE), variantSize(size), name.group(EXT)), true);
+            if (variant != null) {
+                return variant;
+            }
+        }
+        AvatarFile file = file(fileName, !variantRequested);
+        if (file == null) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.FILE_NOT_FOUND, fileName));
+        }
+        return file;
+    }
+
+    @Override
+    public JobType jobType() {
+        return JobType.AVATAR_VARIANTS;
+    }
+
+    /**
+     * Generates the missing variants of the user's avatar, again for the newer avatar when another
+     * one was uploaded meanwhile; the variants of the replaced one are then deleted.
+     */
+    @Override
+    public String run(JobContext context) throws IOException {
+        Long userId = context.getOwnerId();
+        String generated = null;
+        String avatar = currentAvatar(userId);
+        while (avatar != null && !avatar.equals(generated)) {
+            if (generated != null) {
+                deleteAvatarsOtherThan(userId, baseName(avatar));
+            }
+            generateVariants(context, avatar);
+            generated = avatar;
+            avatar = currentAvatar(userId);
+        }
+        return generated;
+    }
+
+    private void generateVariants(JobContext context, String fileName) throws IOException {
+        Matcher name = FILE_NAME.matcher(fileName);
+        if (!name.matches() || name.group(SIZE) != null) {
+            throw new IllegalStateException("Not an avatar: " + fileName);
+        }
+        Path original = directory.resolve(fileName);
+        if (!Files.isRegularFile(original)) {
+            // Replaced by a newer upload; the next loop generates that one.
+            return;
+        }
+        String extension = variantExtension(name.group(EXT));
+        BufferedImage image = decode(original);
+        for (int i = 0; i < sizes.size(); i++) {
+            context.throwIfCancelled();
+            int size = sizes.get(i);
+            context.progress(i * 100 / sizes.size(), size + "px");
+            Path variant = directory.resolve(variantName(name.group(BASE), size, name.group(EXT)));
+            if (!Files.exists(variant)) {
+                write(squareThumbnail(image, size, "jpg".equals(extension)), extension, variant);
+                context.processed(1);
+            }
+        }
+    }
+
+    /**
+     * Crops the image to its centered square and scales it to {@code size} pixels per side (never
+     * up), halving it at most at each step so the bilinear filter keeps every source pixel.
+     */
+    static BufferedImage squareThumbnail(BufferedImage image, int size, boolean opaque) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        BufferedImage current = image.getSubimage((image.getWidth() - side) / 2, (image.getHeight() - side) / 2, side, side);
+        int target = Math.min(size, side);
+        int currentSide = side;
+        do {
+            currentSide = Math.max(target, currentSide / 2);
+            current = scale(current, currentSide, opaque);
+        } while (currentSide > target);
+        return current;
+    }
+
+    private static BufferedImage scale(BufferedImage image, int side, boolean opaque) {
+        BufferedImage scaled = new BufferedImage(side, side, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (opaque) {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, side, side);
+            }
+            graphics.drawImage(image, 0, 0, side, side, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Reads the format and dimensions from the header and returns the file extension; rejects
+     * anything else than a PNG, JPEG or GIF within {@code max-dimension}.
+     */
+    private String probe(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            ImageReader reader = reader(in);
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width > maxDimension || height > maxDimension) {
+                    throw new IllegalArgumentException(String.format(ErrorMessages.IMAGE_DIMENSIONS_EXCEEDED, maxDimension, maxDimension));
+                }
+                return FORMATS.get(reader.getFormatName().toLowerCase(Locale.ROOT));
+            } catch (IIOException e) {
+                throw new IllegalArgumentException(String.format(ErrorMessages.INVALID_FILE_TYPE, "PNG, JPEG, GIF"), e);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** Decodes the image, subsampled so its short side stays at least twice the largest variant. */
+    private BufferedImage decode(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            ImageReader reader = reader(in);
+            try {
+                reader.setInput(in, true, true);
+                int side = Math.min(reader.getWidth(0), reader.getHeight(0));
+                int factor = Math.max(1, side / (2 * sizes.getLast()));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static ImageReader reader(ImageInputStream in) {
+        Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+        while (readers != null && readers.hasNext()) {
+            ImageReader reader = readers.next();
+            try {
+                if (FORMATS.containsKey(reader.getFormatName().toLowerCase(Locale.ROOT))) {
+                    return reader;
+                }
+            } catch (IOException e) {
+                // Not a usable reader.
+            }
+            reader.dispose();
+        }
+        throw new IllegalArgumentException(String.format(ErrorMessages.INVALID_FILE_TYPE, "PNG, JPEG, GIF"));
+    }
+
+    private static void write(BufferedImage image, String extension, Path target) throws IOException {
+        Path temp = target.resolveSibling(UUID.randomUUID() + ".part");
+        try {
+            if (!ImageIO.write(image, "jpg".equals(extension) ? "jpeg" : "png", temp.toFile())) {
+                throw new IOException("No writer for " + extension);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private AvatarFile file(String fileName, boolean immutable) {
+        Path path = directory.resolve(fileName);
+        try {
+            long size = Files.size(path);
+            String extension = fileName.substring(fileName.lastIndexOf('.') + 1);
+            return new AvatarFile(path, size, CONTENT_TYPES.get(extension), "\"" + fileName + "\"", immutable);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private String currentAvatar(Long userId) {
+        String avatar = userRepository.findById(userId).map(User::getAvatar).orElse(null);
+        return avatar != null && avatar.startsWith(URL_PREFIX) ? avatar.substring(URL_PREFIX.length()) : null;
+    }
+
+    /** Deletes the user's avatar files other than those of {@code base}; files being written are left alone. */
+    private void deleteAvatarsOtherThan(Long userId, String base) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, userId + "-*")) {
+            for (Path file : files) {
+                Matcher name = FILE_NAME.matcher(file.getFileName().toString());
+                if (name.matches() && !name.group(BASE).equals(base)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private int variantSize(int requested) {
+        return sizes.stream().filter(size -> size >= requested).findFirst().orElse(sizes.getLast());
+    }
+
+    private static String variantName(String base, int size, String originalExtension) {
+        return base + "-" + size + "." + variantExtension(originalExtension);
+    }
+
+    private static String variantExtension(String originalExtension) {
+        return "jpg".equals(originalExtension) ? "jpg" : "png";
+    }
+
+    private static String baseName(String fileName) {
+        return fileName.substring(0, fileName.lastIndexOf('.'));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** An avatar file to serve; {@code immutable} when its name will always give these bytes. */
+    public record AvatarFile(Path path, long size, String contentType, String etag, boolean immutable) {
+    }
+}
@@ -0,0 +1,148 @@
+package dev.swirlit.indezy.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A consecutive-failure circuit breaker for one upstream. {@link State#CLOSED} lets every call
+ * through; {@code failureThreshold} failures in a row open it. {@link State#OPEN} rejects every
+ * call for {@code openDuration}, then lets a single trial call through ({@link State#HALF_OPEN}):
+ * its success closes the breaker, its failure opens it again. Callers ask {@link #tryAcquire()}
+ * for a {@link Permit} before a call, report its outcome on the permit and close it afterwards.
+ */
+@Slf4j
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+    private final Map<State, LongAdder> transitions = new EnumMap<>(State.class);
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    CircuitBreaker(String name, int failureThreshold, Duration openDuration, Clock clock) {
+        if (failureThreshold < 1 || openDuration.isNegative() || openDuration.isZero()) {
+            throw new IllegalArgumentException("Invalid circuit breaker settings");
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+        for (State target : State.values()) {
+            transitions.put(target, new LongAdder());
+        }
+    }
+
+    /**
+     * A permit for one call, or {@code null} when the call must not go through. The outcome is
+     * reported on the permit, which is closed once the call is over, so a trial that ended
+     * without an outcome (an unexpected exception) frees the way for the next one.
+     */
+    synchronized Permit tryAcquire() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            transitionTo(State.HALF_OPEN);
+        }
+        return switch (state) {
+            case CLOSED -> new Permit(false);
+            case OPEN -> null;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield null;
+                }
+                trialInFlight = true;
+                yield new Permit(true);
+            }
+        };
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    /** How many times the breaker entered the given state. */
+    long transitionsTo(State target) {
+        return transitions.get(target).sum();
+    }
+
+    private synchronized void onSuccess(Permit permit) {
+        consecutiveFailures = 0;
+        // A call let through before the breaker opened does not close it; only the trial does.
+        if (permit.trial) {
+            trialInFlight = false;
+            if (state == State.HALF_OPEN) {
+                transitionTo(State.CLOSED);
+            }
+        }
+    }
+
+    private synchronized void onFailure(Permit permit) {
+        consecutiveFailures++;
+        if (permit.trial) {
+            trialInFlight = false;
+        }
+        if ((state == State.HALF_OPEN && permit.trial) || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAt = clock.instant();
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private synchronized void release(Permit permit) {
+        if (permit.trial) {
+            trialInFlight = false;
+        }
+    }
+
+    private void transitionTo(State target) {
+        log.warn("Circuit breaker {} {} -> {}", name, state, target);
+        state = target;
+        transitions.get(target).increment();
+    }
+
+    /** One call let through by {@link #tryAcquire()}; its first reported outcome counts. */
+    final class Permit implements AutoCloseable {
+
+        private final boolean trial;
+        private boolean done;
+
+        private Permit(boolean trial) {
+            this.trial = trial;
+        }
+
+        void onSuccess() {
+            if (!done) {
+                done = true;
+                CircuitBreaker.this.onSuccess(this);
+            }
+        }
+
+        void onFailure() {
+            if (!done) {
+                done = true;
+                CircuitBreaker.this.onFailure(this);
+            }
+        }
+
+        /** Ends the call; without a reported outcome, only frees the trial slot. */
+        @Override
+        public void close() {
+            if (!done) {
+                done = true;
+                release(this);
+            }
+        }
+    }
+}
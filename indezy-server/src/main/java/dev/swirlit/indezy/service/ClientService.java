@@ -1,12 +1,14 @@
 package dev.swirlit.indezy.service;
 
 import dev.swirlit.indezy.dto.ClientDto;
+import dev.swirlit.indezy.dto.CursorPageDto;
 import dev.swirlit.indezy.exception.ResourceNotFoundException;
 import dev.swirlit.indezy.mapper.ClientMapper;
 import dev.swirlit.indezy.model.Client;
 import dev.swirlit.indezy.model.Freelance;
 import dev.swirlit.indezy.repository.ClientRepository;
 import dev.swirlit.indezy.repository.FreelanceRepository;
+import dev.swirlit.indezy.util.CursorPagination;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -23,6 +25,13 @@ public class ClientService {
     private final ClientRepository clientRepository;
     private final FreelanceRepository freelanceRepository;
     private final ClientMapper clientMapper;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final AggregateCounterService aggregateCounterService;
+    private final FreelanceViewCache viewCache;
+    private final CommuteCache commuteCache;
+    private final CommutePrecomputeService commutePrecomputeService;
+    private final SearchIndex searchIndex;
+    private final SkillTagService skillTagService;
 
     @Transactional(readOnly = true)
     public List<ClientDto> findAll() {
@@ -41,6 +50,24 @@ public class ClientService {
         return clientMapper.toDto(client);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDto<ClientDto> scrollAll(String cursor, Integer limit) {
+        log.debug("Scrolling clients after cursor: {}", cursor);
+        int pageSize = CursorPagination.resolveLimit(limit);
+        return CursorPagination.toPage(
+            clientRepository.findByIdLessThanOrderByIdDesc(CursorPagination.decode(cursor), CursorPagination.fetchLimit(pageSize)),
+            pageSize, clientMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ClientDto> scrollByFreelanceId(Long freelanceId, String cursor, Integer limit) {
+        log.debug("Scrolling clients by freelance id: {} after cursor: {}", freelanceId, cursor);
+        int pageSize = CursorPagination.resolveLimit(limit);
+        return CursorPagination.toPage(
+            clientRepository.findByFreelanceIdAndIdLessThanOrderByIdDesc(freelanceId, CursorPagination.decode(cursor), CursorPagination.fetchLimit(pageSize)),
+            pageSize, clientMapper::toDto);
+    }
+
     public ClientDto create(ClientDto clientDto) {
         log.debug("Creating new client: {}", clientDto.getCompanyName());
         
@@ -53,6 +80,8 @@ public class ClientService {
         client.setFreelance(freelance);
         
         Client savedClient = clientRepository.save(client);
+        viewCache.invalidate(freelance.getId(), FreelanceViewCache.View.CLIENT_CITIES, FreelanceViewCache.View.CLIENT_DOMAINS);
+        searchIndex.indexClient(savedClient);
         log.debug("Created client with id: {}", savedClient.getId());
         
         return clientMapper.toDto(savedClient);
@@ -63,17 +92,32 @@ public class ClientService {
         
         Client existingClient = clientRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
+        // Its name shows on the Kanban cards and dashboard funnels of its (possibly previous) freelance.
+        viewCache.invalidateAll(existingClient.getFreelance().getId());
         
         // Validate freelance exists if changed
         if (!existingClient.getFreelance().getId().equals(clientDto.getFreelanceId())) {
             Freelance freelance = freelanceRepository.findById(clientDto.getFreelanceId())
                 .orElseThrow(() -> new ResourceNotFoundException("Freelance not found with id: " + clientDto.getFreelanceId()));
+            searchIndex.invalidate(existingClient.getFreelance().getId());
             existingClient.setFreelance(freelance);
         }
         
+        String previousAddress = CommuteCache.formatAddress(existingClient.getAddress(), existingClient.getCity());
         clientMapper.updateEntity(clientDto, existingClient);
+        boolean addressChanged = !previousAddress.equals(
+            CommuteCache.formatAddress(existingClient.getAddress(), existingClient.getCity()));
+        if (addressChanged) {
+            existingClient.clearLocation();
+        }
         
         Client updatedClient = clientRepository.save(existingClient);
+        if (addressChanged) {
+            commuteCache.evictAddress(previousAddress);
+            commutePrecomputeService.refresh(updatedClient.getFreelance().getId());
+        }
+        viewCache.invalidateAll(updatedClient.getFreelance().getId());
+        searchIndex.indexClient(updatedClient);
         log.debug("Updated client with id: {}", updatedClient.getId());
         
         return clientMapper.toDto(updatedClient);
@@ -86,6 +130,15 @@ public class ClientService {
             .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
         
         clientRepository.delete(client);
+        // The projects cascading with it bypass the dashboard deltas and the counter increments.
+        if (client.getFreelance() != null) {
+            dashboardSnapshotService.invalidate(client.getFreelance().getId());
+            aggregateCounterService.recount(client.getFreelance().getId());
+            viewCache.invalidateAll(client.getFreelance().getId());
+            // Its projects, their notes and its contacts go with it.
+            searchIndex.invalidate(client.getFreelance().getId());
+            skillTagService.invalidate(client.getFreelance().getId());
+        }
         log.debug("Deleted client with id: {}", id);
     }
 
@@ -144,12 +197,14 @@ public class ClientService {
     @Transactional(readOnly = true)
     public List<String> findDistinctCitiesByFreelanceId(Long freelanceId) {
         log.debug("Finding distinct cities by freelance id: {}", freelanceId);
-        return clientRepository.findDistinctCitiesByFreelanceId(freelanceId);
+        return viewCache.get(FreelanceViewCache.View.CLIENT_CITIES, freelanceId,
+            () -> clientRepository.findDistinctCitiesByFreelanceId(freelanceId));
     }
 
     @Transactional(readOnly = true)
     public List<String> findDistinctDomainsByFreelanceId(Long freelanceId) {
         log.debug("Finding distinct domains by freelance id: {}", freelanceId);
-        return clientRepository.findDistinctDomainsByFreelanceId(freelanceId);
+        return viewCache.get(FreelanceViewCache.View.CLIENT_DOMAINS, freelanceId,
+            () -> clientRepository.findDistinctDomainsByFreelanceId(freelanceId));
     }
 }
@@ -0,0 +1,234 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.CommuteCacheEntry;
+import dev.swirlit.indezy.model.enums.TravelMode;
+import dev.swirlit.indezy.repository.CommuteCacheEntryRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Two-level cache of Distance Matrix results, keyed by normalized origin and destination address
+ * and travel mode: a bounded in-memory LRU in front of the {@code commute_cache_entries} table.
+ * Entries are valid for {@code indezy.commute.cache.ttl}; expired rows are deleted nightly, and
+ * the entries of an address are dropped when a freelance or client moves away from it. Only
+ * successful lookups are cached.
+ *
+ * <p>Memory hits, database hits and misses are published as {@code commute.cache.gets} meters
+ * tagged by {@code result}, with the overall hit ratio as {@code commute.cache.hit.ratio}.
+ */
+@Service
+@Slf4j
+public class CommuteCache implements MeterBinder {
+
+    /** Cache key: both addresses normalized with {@link #normalize(String)}. */
+    public record Key(String origin, String destination, TravelMode travelMode) {
+
+        public static Key of(String origin, String destination, TravelMode travelMode) {
+            return new Key(normalize(origin), normalize(destination), travelMode);
+        }
+    }
+
+    /** A cached route. */
+    public record Route(Integer durationInSeconds, String durationText, Integer distanceInMeters, String distanceText) {
+    }
+
+    private final CommuteCacheEntryRepository commuteCacheEntryRepository;
+    private final TransactionTemplate writeTransaction;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+
+    private final Map<Key, Cached> memory;
+    private long memoryHits;
+    private long databaseHits;
+    private long misses;
+
+    @Autowired
+    public CommuteCache(CommuteCacheEntryRepository commuteCacheEntryRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${indezy.commute.cache.ttl:30d}") Duration ttl,
+                        @Value("${indezy.commute.cache.max-entries:10000}") int maxEntries) {
+        this(commuteCacheEntryRepository, transactionManager, ttl, maxEntries, Clock.systemUTC());
+    }
+
+    CommuteCache(CommuteCacheEntryRepository commuteCacheEntryRepository,
+                 PlatformTransactionManager transactionManager,
+                 Duration ttl, int maxEntries, Clock clock) {
+        if (maxEntries < 1 || ttl.isNegative()) {
+            throw new IllegalArgumentException("Invalid commute cache settings");
+        }
+        this.commuteCacheEntryRepository = commuteCacheEntryRepository;
+        // Commute reads run in read-only transactions; cache writes get their own.
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Cached> eldest) {
+                return size() > CommuteCache.this.maxEntries;
+            }
+        };
+    }
+
+    /** The cached route, from memory or else from the table; empty on a miss or once expired. */
+    public Optional<Route> get(Key key) {
+        Instant now = clock.instant();
+        synchronized (memory) {
+            Cached cached = memory.get(key);
+            if (cached != null && isFresh(cached.fetchedAt(), now)) {
+                memoryHits++;
+                return Optional.of(cached.route());
+            }
+        }
+        Optional<CommuteCacheEntry> stored = commuteCacheEntryRepository
+            .findByOriginKeyAndDestinationKeyAndTravelMode(key.origin(), key.destination(), key.travelMode())
+            .filter(entry -> isFresh(entry.getFetchedAt().toInstant(ZoneOffset.UTC), now));
+        synchronized (memory) {
+            if (stored.isEmpty()) {
+                misses++;
+                return Optional.empty();
+            }
+            databaseHits++;
+            CommuteCacheEntry entry = stored.get();
+            Route route = new Route(entry.getDurationInSeconds(), entry.getDurationText(),
+                entry.getDistanceInMeters(), entry.getDistanceText());
+            memory.put(key, new Cached(route, entry.getFetchedAt().toInstant(ZoneOffset.UTC)));
+            return Optional.of(route);
+        }
+    }
+
+    /** Stores a route fetched now, in memory and (in its own transaction) in the table. */
+    public void put(Key key, Route route) {
+        Instant now = clock.instant();
+        synchronized (memory) {
+            memory.put(key, new Cached(route, now));
+        }
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                CommuteCacheEntry entry = commuteCacheEntryRepository
+                    .findByOriginKeyAndDestinationKeyAndTravelMode(key.origin(), key.destination(), key.travelMode())
+                    .orElseGet(() -> {
+                        CommuteCacheEntry created = new CommuteCacheEntry();
+                        created.setOriginKey(key.origin());
+                        created.setDestinationKey(key.destination());
+                        created.setTravelMode(key.travelMode());
+                        return created;
+                    });
+                entry.setDurationInSeconds(route.durationInSeconds());
+                entry.setDurationText(route.durationText());
+                entry.setDistanceInMeters(route.distanceInMeters());
+                entry.setDistanceText(route.distanceText());
+                entry.setFetchedAt(LocalDateTime.ofInstant(now, ZoneOffset.UTC));
+                commuteCacheEntryRepository.save(entry);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request stored the same route first.
+            log.debug("Commute route already cached: {}", key);
+        }
+    }
+
+    /**
+     * Drops every route from or to an address (formatted with {@link #formatAddress}), after a
+     * freelance or client moved away from it. Runs in the caller's transaction.
+     */
+    public void evictAddress(String address) {
+        String addressKey = normalize(address);
+        if (addressKey.isEmpty()) {
+            return;
+        }
+        synchronized (memory) {
+            memory.keySet().removeIf(key -> key.origin().equals(addressKey) || key.destination().equals(addressKey));
+        }
+        int deleted = commuteCacheEntryRepository.deleteByAddressKey(addressKey);
+        log.debug("Evicted {} cached commute routes of a changed address", deleted);
+    }
+
+    /** Deletes the expired rows. */
+    @Scheduled(cron = "${indezy.commute.cache.sweep-cron:0 15 4 * * *}")
+    public void deleteExpired() {
+        LocalDateTime before = LocalDateTime.ofInstant(clock.instant().minus(ttl), ZoneOffset.UTC);
+        Integer deleted = writeTransaction.execute(status -> commuteCacheEntryRepository.deleteFetchedBefore(before));
+        log.info("Deleted {} expired cached commute routes", deleted);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("commute.cache.gets", this, cache -> cache.counts()[0])
+            .tags("result", "memory").register(registry);
+        FunctionCounter.builder("commute.cache.gets", this, cache -> cache.counts()[1])
+            .tags("result", "database").register(registry);
+        FunctionCounter.builder("commute.cache.gets", this, cache -> cache.counts()[2])
+            .tags("result", "miss").register(registry);
+        Gauge.builder("commute.cache.hit.ratio", this, CommuteCache::hitRatio).register(registry);
+        Gauge.builder("commute.cache.size", this, cache -> cache.size()).register(registry);
+    }
+
+    /** Memory hits, database hits and misses since startup. */
+    long[] counts() {
+        synchronized (memory) {
+            return new long[] {memoryHits, databaseHits, misses};
+        }
+    }
+
+    double hitRatio() {
+        long[] counts = counts();
+        long gets = counts[0] + counts[1] + counts[2];
+        return gets == 0 ? 0.0 : (double) (counts[0] + counts[1]) / gets;
+    }
+
+    int size() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    /** "address, city" with blank parts left out: the address used for commute lookups. */
+    public static String formatAddress(String address, String city) {
+        StringBuilder sb = new StringBuilder();
+        if (address != null && !address.isBlank()) {
+            sb.append(address.trim());
+        }
+        if (city != null && !city.isBlank()) {
+            if (!sb.isEmpty()) {
+                sb.append(", ");
+            }
+            sb.append(city.trim());
+        }
+        return sb.toString();
+    }
+
+    /** Lower case with runs of whitespace collapsed, so cosmetic edits share an entry. */
+    static String normalize(String address) {
+        return address == null ? "" : address.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private boolean isFresh(Instant fetchedAt, Instant now) {
+        return fetchedAt.plus(ttl).isAfter(now);
+    }
+
+    private record Cached(Route route, Instant fetchedAt) {
+    }
+}
@@ -0,0 +1,79 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.enums.TravelMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Estimates a commute without any external call, from the stored coordinates of the freelance and
+ * the client: the great-circle distance, lengthened by {@code detour-factor} for the road or rail
+ * network, at the average door-to-door speed of the travel mode, plus {@code transit-access} (walk
+ * and wait) for public transport. Used where the Distance Matrix API gave no route.
+ */
+@Service
+public class CommuteEstimator {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+
+    private final double detourFactor;
+    private final double drivingSpeedKmh;
+    private final double transitSpeedKmh;
+    private final Duration transitAccess;
+
+    @Autowired
+    public CommuteEstimator(@Value("${indezy.commute.estimate.detour-factor:1.3}") double detourFactor,
+                            @Value("${indezy.commute.estimate.driving-speed-kmh:40}") double drivingSpeedKmh,
+                            @Value("${indezy.commute.estimate.transit-speed-kmh:20}") double transitSpeedKmh,
+                            @Value("${indezy.commute.estimate.transit-access:10m}") Duration transitAccess) {
+        if (detourFactor < 1 || drivingSpeedKmh <= 0 || transitSpeedKmh <= 0 || transitAccess.isNegative()) {
+            throw new IllegalArgumentException("Invalid commute estimate settings");
+        }
+        this.detourFactor = detourFactor;
+        this.drivingSpeedKmh = drivingSpeedKmh;
+        this.transitSpeedKmh = transitSpeedKmh;
+        this.transitAccess = transitAccess;
+    }
+
+    /** The estimated route from the freelance to the client, or empty if either is not geocoded. */
+    public Optional<CommuteCache.Route> estimate(Freelance freelance, Client client, TravelMode travelMode) {
+        if (freelance.getLatitude() == null || freelance.getLongitude() == null
+            || client == null || client.getLatitude() == null || client.getLongitude() == null) {
+            return Optional.empty();
+        }
+        double meters = greatCircleMeters(freelance.getLatitude(), freelance.getLongitude(),
+            client.getLatitude(), client.getLongitude()) * detourFactor;
+        double speedKmh = travelMode == TravelMode.DRIVING ? drivingSpeedKmh : transitSpeedKmh;
+        long seconds = Math.round(meters / 1000 / speedKmh * 3600);
+        if (travelMode == TravelMode.TRANSIT) {
+            seconds += transitAccess.toSeconds();
+        }
+        return Optional.of(new CommuteCache.Route((int) seconds, "~" + durationText(seconds),
+            (int) Math.round(meters), "~" + distanceText(meters)));
+    }
+
+    /** Haversine distance between two points, in meters. */
+    static double greatCircleMeters(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+            + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+            * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // Same style as the French texts of the Distance Matrix API ("25 min", "1 h 05 min", "12 km").
+    private static String durationText(long seconds) {
+        long minutes = Math.max(1, Math.round(seconds / 60.0));
+        return minutes < 60 ? minutes + " min" : "%d h %02d min".formatted(minutes / 60, minutes % 60);
+    }
+
+    private static String distanceText(double meters) {
+        return meters < 1000 ? Math.round(meters) + " m" : Math.round(meters / 1000) + " km";
+    }
+}
@@ -0,0 +1,298 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.dto.CommuteInfoDto;
+import dev.swirlit.indezy.dto.ProjectCommuteDto;
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.mapper.ProjectMapper;
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.ProjectCommute;
+import dev.swirlit.indezy.model.enums.TravelMode;
+import dev.swirlit.indezy.repository.FreelanceRepository;
+import dev.swirlit.indezy.repository.ProjectCommuteRepository;
+import dev.swirlit.indezy.repository.ProjectCommuteView;
+import dev.swirlit.indezy.repository.ProjectRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the commutes of every project precomputed in the {@code project_commutes} table, so the
+ * commute view reads rows sorted in SQL instead of calling the Distance Matrix API. A change to
+ * the inputs (a freelance or client address, a new project, a project moved to another client,
+ * new coordinates) queues its freelance with {@link #refresh(Long)}; once the transaction has
+ * committed, a pool of {@code indezy.commute.precompute.workers} threads recomputes the commutes
+ * of the freelance for every travel mode through {@link CommuteService}. A freelance already
+ * queued is not queued twice, and one being recomputed is not recomputed in parallel: a change
+ * made during its run has the run repeated once it has finished.
+ *
+ * <p>Reading a project without a row, with a row computed for other addresses, or with a row
+ * left without duration (API failure) for more than {@code retry-after}, queues its freelance as
+ * well; such projects are returned as they are until recomputed. With
+ * {@code indezy.commute.precompute.enabled=false} commutes are computed on read, as before.
+ */
+@Service
+@Slf4j
+public class CommutePrecomputeService implements MeterBinder {
+
+    private final CommuteService commuteService;
+    private final FreelanceRepository freelanceRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectCommuteRepository projectCommuteRepository;
+    private final ProjectMapper projectMapper;
+    private final TransactionTemplate writeTransaction;
+    private final boolean enabled;
+    private final Duration retryAfter;
+    private final Executor workers;
+    private final Clock clock;
+
+    private final Map<Long, Run> runs = new ConcurrentHashMap<>();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    @Autowired
+    public CommutePrecomputeService(CommuteService commuteService,
+                                    FreelanceRepository freelanceRepository,
+                                    ProjectRepository projectRepository,
+                                    ProjectCommuteRepository projectCommuteRepository,
+                                    ProjectMapper projectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${indezy.commute.precompute.enabled:true}") boolean enabled,
+                                    @Value("${indezy.commute.precompute.workers:2}") int workers,
+                                    @Value("${indezy.commute.precompute.retry-after:10m}") Duration retryAfter) {
+        this(commuteService, freelanceRepository, projectRepository, projectCommuteRepository, projectMapper,
+            transactionManager, enabled, retryAfter, workerPool(workers), Clock.systemUTC());
+    }
+
+    CommutePrecomputeService(CommuteService commuteService, FreelanceRepository freelanceRepository,
+                             ProjectRepository projectRepository, ProjectCommuteRepository projectCommuteRepository,
+                             ProjectMapper projectMapper, PlatformTransactionManager transactionManager,
+                             boolean enabled, Duration retryAfter, Executor workers, Clock clock) {
+        this.commuteService = commuteService;
+        this.freelanceRepository = freelanceRepository;
+        this.projectRepository = projectRepository;
+        this.projectCommuteRepository = projectCommuteRepository;
+        this.projectMapper = projectMapper;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retryAfter = retryAfter;
+        this.workers = workers;
+        this.clock = clock;
+    }
+
+    /** Every project of the freelance with its precomputed commute, shortest first. */
+    @Transactional(readOnly = true)
+    public List<ProjectCommuteDto> getProjectsSortedByCommute(Long freelanceId, TravelMode travelMode) {
+        if (!enabled) {
+            return commuteService.getProjectsSortedByCommute(freelanceId, travelMode);
+        }
+        Freelance freelance = freelanceRepository.findById(freelanceId)
+            .orElseThrow(() -> new ResourceNotFoundException("Freelance not found: " + freelanceId));
+        String origin = CommuteCache.formatAddress(freelance.getAddress(), freelance.getCity());
+        LocalDateTime retryBefore = LocalDateTime.now(clock).minus(retryAfter);
+
+        boolean outdated = false;
+        List<ProjectCommuteDto> results = new ArrayList<>();
+        for (ProjectCommuteView row : projectCommuteRepository.findProjectsSortedByCommute(freelanceId, travelMode)) {
+            Project project = row.getProject();
+            ProjectCommute commute = row.getCommute();
+            String destination = destinationOf(project);
+            CommuteInfoDto commuteInfo = toDto(project, commute);
+            outdated |= commute == null || !commute.getOrigin().equals(origin)
+                || !commute.getDestination().equals(destination)
+                || (commuteInfo != null && commuteInfo.getDurationInSeconds() == null
+                    && commute.getComputedAt().isBefore(retryBefore));
+            results.add(ProjectCommuteDto.builder()
+                .project(projectMapper.toDto(project))
+                .commute(commuteInfo)
+                .build());
+        }
+        if (outdated) {
+            refresh(freelanceId);
+        }
+        return results;
+    }
+
+    /** Queues the freelance for recomputation once the current transaction (if any) has committed. */
+    public void refresh(Long freelanceId) {
+        if (!enabled || freelanceId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(freelanceId);
+                }
+            });
+        } else {
+            enqueue(freelanceId);
+        }
+    }
+
+    /** Recomputes and stores the commutes of every project of the freelance, for every travel mode. */
+    void precompute(Long freelanceId) {
+        for (TravelMode travelMode : TravelMode.values()) {
+            List<ProjectCommuteDto> computed = commuteService.getProjectsSortedByCommute(freelanceId, travelMode);
+            writeTransaction.executeWithoutResult(status -> store(freelanceId, travelMode, computed));
+        }
+    }
+
+    /** Freelances queued or being recomputed and recomputations done, as {@code commute.precompute.*} meters. */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("commute.precompute.queued", runs, Map::size).register(registry);
+        FunctionCounter.builder("commute.precompute.runs", completed, LongAdder::sum)
+            .tags("outcome", "success").register(registry);
+        FunctionCounter.builder("commute.precompute.runs", failed, LongAdder::sum)
+            .tags("outcome", "failure").register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (workers instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void enqueue(Long freelanceId) {
+        while (true) {
+            Run run = runs.putIfAbsent(freelanceId, Run.QUEUED);
+            if (run == null) {
+                break;
+            }
+            // Queued, or already to be repeated; a running one is repeated unless it finished meanwhile.
+            if (run != Run.RUNNING || runs.replace(freelanceId, Run.RUNNING, Run.REPEAT)) {
+                return;
+            }
+        }
+        try {
+            workers.execute(() -> run(freelanceId));
+        } catch (RejectedExecutionException e) {
+            runs.remove(freelanceId);
+            log.warn("Commute precomputation of freelance {} rejected", freelanceId);
+        }
+    }
+
+    private void run(Long freelanceId) {
+        runs.put(freelanceId, Run.RUNNING);
+        do {
+            try {
+                precompute(freelanceId);
+                completed.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.warn("Commute precomputation failed for freelance {}", freelanceId, e);
+            }
+        } while (!runs.remove(freelanceId, Run.RUNNING) && runs.replace(freelanceId, Run.REPEAT, Run.RUNNING));
+    }
+
+    private void store(Long freelanceId, TravelMode travelMode, List<ProjectCommuteDto> computed) {
+        Freelance freelance = freelanceRepository.findById(freelanceId).orElse(null);
+        if (freelance == null) {
+            return;
+        }
+        String origin = CommuteCache.formatAddress(freelance.getAddress(), freelance.getCity());
+        LocalDateTime now = LocalDateTime.now(clock);
+        // Without a commute (no freelance address), the row still records the client address the
+        // read compares against, so it is not seen as outdated on every read.
+        Map<Long, String> destinations = new HashMap<>();
+        for (Project project : projectRepository.findByFreelanceId(freelanceId)) {
+            destinations.put(project.getId(), destinationOf(project));
+        }
+        projectCommuteRepository.deleteByFreelanceIdAndTravelMode(freelanceId, travelMode);
+        List<ProjectCommute> rows = new ArrayList<>();
+        for (ProjectCommuteDto result : computed) {
+            CommuteInfoDto commute = result.getCommute();
+            Long projectId = result.getProject().getId();
+            ProjectCommute row = new ProjectCommute();
+            row.setProject(projectRepository.getReferenceById(projectId));
+            row.setFreelanceId(freelanceId);
+            row.setTravelMode(travelMode);
+            row.setOrigin(origin);
+            row.setDestination(commute != null && commute.getDestination() != null ? commute.getDestination()
+                : destinations.getOrDefault(projectId, ""));
+            if (commute != null) {
+                row.setDurationInSeconds(commute.getDurationInSeconds());
+                row.setDurationText(commute.getDurationText());
+                row.setDistanceInMeters(commute.getDistanceInMeters());
+                row.setDistanceText(commute.getDistanceText());
+                row.setEstimated(commute.isEstimated());
+            }
+            row.setComputedAt(now);
+            rows.add(row);
+        }
+        projectCommuteRepository.saveAll(rows);
+    }
+
+    /** State of a freelance between its refresh and the end of its recomputation. */
+    private enum Run {
+        QUEUED,
+        RUNNING,
+        /** Running, with a change made since it started. */
+        REPEAT
+    }
+
+    private static String destinationOf(Project project) {
+        Client client = project.getClient();
+        return client == null ? "" : CommuteCache.formatAddress(client.getAddress(), client.getCity());
+    }
+
+    private static CommuteInfoDto toDto(Project project, ProjectCommute commute) {
+        if (commute == null || commute.getOrigin().isEmpty() || commute.getDestination().isEmpty()) {
+            return null;
+        }
+        return CommuteInfoDto.builder()
+            .projectId(project.getId())
+            .projectRole(project.getRole())
+            .clientName(project.getClient() != null ? project.getClient().getCompanyName() : null)
+            .origin(commute.getOrigin())
+            .destination(commute.getDestination())
+            .travelMode(commute.getTravelMode())
+            .durationInSeconds(commute.getDurationInSeconds())
+            .durationText(commute.getDurationText())
+            .distanceInMeters(commute.getDistanceInMeters())
+            .distanceText(commute.getDistanceText())
+            .estimated(commute.isEstimated())
+            .build();
+    }
+
+    private static ExecutorService workerPool(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Invalid commute precompute settings");
+        }
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "commute-precompute-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -1,6 +1,5 @@
 package dev.swirlit.indezy.service;
 
-import tools.jackson.databind.JsonNode;
 import dev.swirlit.indezy.dto.CommuteInfoDto;
 import dev.swirlit.indezy.dto.ProjectCommuteDto;
 import dev.swirlit.indezy.dto.ProjectDto;
@@ -12,50 +11,35 @@ import dev.swirlit.indezy.model.Project;
 import dev.swirlit.indezy.model.enums.TravelMode;
 import dev.swirlit.indezy.repository.FreelanceRepository;
 import dev.swirlit.indezy.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-
+import java.util.Map;
+
+/**
+ * Commute time and distance from a freelance's address to the clients of its projects, from the
+ * Google Maps Distance Matrix API. Results are cached per route in {@link CommuteCache}; the routes
+ * missing from the cache are fetched together through {@link DistanceMatrixClient}. Where the API
+ * gives no route (no API key, API down, unknown address), {@link CommuteEstimator} estimates one
+ * from the stored coordinates, marked as {@code estimated}.
+ */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class CommuteService {
 
     private final FreelanceRepository freelanceRepository;
     private final ProjectRepository projectRepository;
     private final ProjectMapper projectMapper;
-    private final RestTemplate restTemplate;
-
-    @Value("${google.maps.api-key:}")
-    private String googleMapsApiKey;
-
-    private static final String DISTANCE_MATRIX_URL = "https://maps.googleapis.com/maps/api/distancematrix/json";
-    private static final String STATUS_FIELD = "status";
-    private static final String STATUS_OK = "OK";
-
-    @Autowired
-    public CommuteService(FreelanceRepository freelanceRepository,
-                          ProjectRepository projectRepository,
-                          ProjectMapper projectMapper) {
-        this(freelanceRepository, projectRepository, projectMapper, new RestTemplate());
-    }
-
-    CommuteService(FreelanceRepository freelanceRepository,
-                   ProjectRepository projectRepository,
-                   ProjectMapper projectMapper,
-                   RestTemplate restTemplate) {
-        this.freelanceRepository = freelanceRepository;
-        this.projectRepository = projectRepository;
-        this.projectMapper = projectMapper;
-        this.restTemplate = restTemplate;
-    }
+    private final CommuteCache commuteCache;
+    private final DistanceMatrixClient distanceMatrixClient;
+    private final CommuteEstimator commuteEstimator;
 
     @Transactional(readOnly = true)
     public List<ProjectCommuteDto> getProjectsSortedByCommute(Long freelanceId, TravelMode travelMode) {
@@ -71,11 +55,16 @@ public class CommuteService {
         }
 
         List<Project> projects = projectRepository.findByFreelanceId(freelanceId);
-        List<ProjectCommuteDto> results = new ArrayList<>();
+        List<String> destinations = projects.stream()
+            .map(project -> buildClientAddress(project.getClient()))
+            .toList();
+        Map<String, CommuteCache.Route> routes = resolveRoutes(origin, destinations, travelMode);
 
-        for (Project project : projects) {
+        List<ProjectCommuteDto> results = new ArrayList<>();
+        for (int i = 0; i < projects.size(); i++) {
+            Project project = projects.get(i);
             ProjectDto projectDto = projectMapper.toDto(project);
-            String destination = buildClientAddress(project.getClient());
+            String destination = destinations.get(i);
 
             if (destination.isBlank()) {
                 results.add(ProjectCommuteDto.builder()
@@ -85,9 +74,9 @@ public class CommuteService {
                 continue;
             }
 
-            CommuteInfoDto commuteInfo = fetchCommuteInfo(
+            CommuteInfoDto commuteInfo = buildCommuteInfo(
                 project.getId(), projectDto.getRole(), projectDto.getClientName(),
-                origin, destination, travelMode);
+                origin, destination, travelMode, routes.get(destination), freelance, project.getClient());
             results.add(ProjectCommuteDto.builder()
                 .project(projectDto)
                 .commute(commuteInfo)
@@ -117,89 +106,75 @@ public class CommuteService {
 
         String origin = buildAddress(freelance.getAddress(), freelance.getCity());
         String destination = buildClientAddress(project.getClient());
+        String clientName = project.getClient() != null ? project.getClient().getCompanyName() : null;
 
         if (origin.isBlank() || destination.isBlank()) {
-            return CommuteInfoDto.builder()
-                .projectId(projectId)
-                .projectRole(project.getRole())
-                .clientName(project.getClient() != null ? project.getClient().getCompanyName() : null)
-                .origin(origin)
-                .destination(destination)
-                .travelMode(travelMode)
-                .build();
+            return buildCommuteInfo(projectId, project.getRole(), clientName, origin, destination, travelMode,
+                null, null, null);
         }
 
-        return fetchCommuteInfo(projectId, project.getRole(),
-            project.getClient() != null ? project.getClient().getCompanyName() : null,
-            origin, destination, travelMode);
+        CommuteCache.Route route = resolveRoutes(origin, List.of(destination), travelMode).get(destination);
+        return buildCommuteInfo(projectId, project.getRole(), clientName, origin, destination, travelMode,
+            route, freelance, project.getClient());
     }
 
-    private CommuteInfoDto fetchCommuteInfo(Long projectId, String projectRole, String clientName,
-                                            String origin, String destination, TravelMode travelMode) {
-        if (googleMapsApiKey == null || googleMapsApiKey.isBlank()) {
+    /**
+     * The routes from {@code origin} to the destinations, keyed by destination: from the cache, and
+     * for the others from one batched Distance Matrix call whose results are cached.
+     */
+    private Map<String, CommuteCache.Route> resolveRoutes(String origin, List<String> destinations,
+                                                          TravelMode travelMode) {
+        Map<String, CommuteCache.Route> routes = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String destination : destinations) {
+            if (destination.isBlank() || routes.containsKey(destination) || missing.contains(destination)) {
+                continue;
+            }
+            commuteCache.get(CommuteCache.Key.of(origin, destination, travelMode))
+                .ifPresentOrElse(route -> routes.put(destination, route), () -> missing.add(destination));
+        }
+        if (missing.isEmpty()) {
+            return routes;
+        }
+        if (!distanceMatrixClient.isConfigured()) {
             log.warn("Google Maps API key is not configured, returning empty commute info");
-            return CommuteInfoDto.builder()
-                .projectId(projectId)
-                .projectRole(projectRole)
-                .clientName(clientName)
-                .origin(origin)
-                .destination(destination)
-                .travelMode(travelMode)
-                .build();
+            return routes;
         }
 
-        try {
-            String googleTravelMode = travelMode == TravelMode.DRIVING ? "driving" : "transit";
-
-            String url = UriComponentsBuilder.fromUriString(DISTANCE_MATRIX_URL)
-                .queryParam("origins", origin)
-                .queryParam("destinations", destination)
-                .queryParam("mode", googleTravelMode)
-                .queryParam("language", "fr")
-                .queryParam("key", googleMapsApiKey)
-                .toUriString();
-
-            JsonNode response = restTemplate.getForObject(url, JsonNode.class);
-
-            if (response != null && STATUS_OK.equals(response.path(STATUS_FIELD).asString())) {
-                JsonNode element = response.path("rows").path(0).path("elements").path(0);
-                String elementStatus = element.path(STATUS_FIELD).asString();
-
-                if (STATUS_OK.equals(elementStatus)) {
-                    return CommuteInfoDto.builder()
-                        .projectId(projectId)
-                        .projectRole(projectRole)
-                        .clientName(clientName)
-                        .origin(origin)
-                        .destination(destination)
-                        .travelMode(travelMode)
-                        .durationInSeconds(element.path("duration").path("value").asInt())
-                        .durationText(element.path("duration").path("text").asString())
-                        .distanceInMeters(element.path("distance").path("value").asInt())
-                        .distanceText(element.path("distance").path("text").asString())
-                        .build();
-                } else {
-                    log.warn("Distance Matrix API returned element status: {} for origin={}, destination={}",
-                        elementStatus, origin, destination);
-                }
-            } else {
-                log.warn("Distance Matrix API returned status: {}",
-                    response != null ? response.path(STATUS_FIELD).asString() : "null response");
-            }
-        } catch (RuntimeException e) {
-            // Any failure fetching commute data (HTTP, parsing, ...) degrades gracefully
-            // to commute info without duration rather than failing the whole request.
-            log.error("Error calling Google Maps Distance Matrix API", e);
-        }
+        Map<String, CommuteCache.Route> fetched = distanceMatrixClient.fetch(origin, missing, travelMode);
+        fetched.forEach((destination, route) ->
+            commuteCache.put(CommuteCache.Key.of(origin, destination, travelMode), route));
+        routes.putAll(fetched);
+        return routes;
+    }
 
-        return CommuteInfoDto.builder()
+    /**
+     * The commute DTO with the given route or, when there is none and both {@code freelance} and
+     * {@code client} are given, an estimated one.
+     */
+    private CommuteInfoDto buildCommuteInfo(Long projectId, String projectRole, String clientName,
+                                            String origin, String destination, TravelMode travelMode,
+                                            CommuteCache.Route route, Freelance freelance, Client client) {
+        boolean estimated = false;
+        if (route == null && freelance != null && client != null) {
+            route = commuteEstimator.estimate(freelance, client, travelMode).orElse(null);
+            estimated = route != null;
+        }
+        CommuteInfoDto.CommuteInfoDtoBuilder builder = CommuteInfoDto.builder()
             .projectId(projectId)
             .projectRole(projectRole)
             .clientName(clientName)
             .origin(origin)
             .destination(destination)
-            .travelMode(travelMode)
-            .build();
+            .travelMode(travelMode);
+        if (route != null) {
+            builder.durationInSeconds(route.durationInSeconds())
+                .durationText(route.durationText())
+                .distanceInMeters(route.distanceInMeters())
+                .distanceText(route.distanceText())
+                .estimated(estimated);
+        }
+        return builder.build();
     }
 
     private List<ProjectCommuteDto> buildResultsWithoutCommute(Long freelanceId) {
@@ -215,17 +190,7 @@ public class CommuteService {
     }
 
     private String buildAddress(String address, String city) {
-        StringBuilder sb = new StringBuilder();
-        if (address != null && !address.isBlank()) {
-            sb.append(address.trim());
-        }
-        if (city != null && !city.isBlank()) {
-            if (!sb.isEmpty()) {
-                sb.append(", ");
-            }
-            sb.append(city.trim());
-        }
-        return sb.toString();
+        return CommuteCache.formatAddress(address, city);
     }
 
     private String buildClientAddress(Client client) {
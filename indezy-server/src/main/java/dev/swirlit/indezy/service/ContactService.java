@@ -1,15 +1,17 @@
 package dev.swirlit.indezy.service;
 
+import dev.swirlit.indezy.constants.ErrorMessages;
 import dev.swirlit.indezy.dto.ContactDto;
+import dev.swirlit.indezy.dto.CursorPageDto;
 import dev.swirlit.indezy.exception.ResourceNotFoundException;
 import dev.swirlit.indezy.mapper.ContactMapper;
-import dev.swirlit.indezy.model.Contact;
 import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Contact;
 import dev.swirlit.indezy.model.Freelance;
-import dev.swirlit.indezy.repository.ContactRepository;
 import dev.swirlit.indezy.repository.ClientRepository;
+import dev.swirlit.indezy.repository.ContactRepository;
 import dev.swirlit.indezy.repository.FreelanceRepository;
-import dev.swirlit.indezy.constants.ErrorMessages;
+import dev.swirlit.indezy.util.CursorPagination;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,6 +29,8 @@ public class ContactService {
     private final ClientRepository clientRepository;
     private final FreelanceRepository freelanceRepository;
     private final ContactMapper contactMapper;
+    private final AggregateCounterService aggregateCounterService;
+    private final SearchIndex searchIndex;
 
     @Transactional(readOnly = true)
     public List<ContactDto> findAll() {
@@ -63,6 +67,33 @@ public class ContactService {
             .toList();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDto<ContactDto> scrollAll(String cursor, Integer limit) {
+        log.debug("Scrolling contacts after cursor: {}", cursor);
+        int pageSize = CursorPagination.resolveLimit(limit);
+        return CursorPagination.toPage(
+            contactRepository.findByIdLessThanOrderByIdDesc(CursorPagination.decode(cursor), CursorPagination.fetchLimit(pageSize)),
+            pageSize, contactMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ContactDto> scrollByFreelanceId(Long freelanceId, String cursor, Integer limit) {
+        log.debug("Scrolling contacts by freelance id: {} after cursor: {}", freelanceId, cursor);
+        int pageSize = CursorPagination.resolveLimit(limit);
+        return CursorPagination.toPage(
+            contactRepository.findByFreelanceIdAndIdLessThanOrderByIdDesc(freelanceId, CursorPagination.decode(cursor), CursorPagination.fetchLimit(pageSize)),
+            pageSize, contactMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ContactDto> scrollByClientId(Long clientId, String cursor, Integer limit) {
+        log.debug("Scrolling contacts by client id: {} after cursor: {}", clientId, cursor);
+        int pageSize = CursorPagination.resolveLimit(limit);
+        return CursorPagination.toPage(
+            contactRepository.findByClientIdAndIdLessThanOrderByIdDesc(clientId, CursorPagination.decode(cursor), CursorPagination.fetchLimit(pageSize)),
+            pageSize, contactMapper::toDto);
+    }
+
     public ContactDto create(ContactDto contactDto) {
         log.debug("Creating new contact: {} {}", contactDto.getFirstName(), contactDto.getLastName());
         
@@ -80,6 +111,8 @@ public class ContactService {
         contact.setClient(client);
         
         Contact savedContact = contactRepository.save(contact);
+        aggregateCounterService.recordContactChange(null, client.getId());
+        searchIndex.indexContact(savedContact);
         log.debug("Created contact with id: {}", savedContact.getId());
         
         return contactMapper.toDto(savedContact);
@@ -95,6 +128,7 @@ public class ContactService {
         if (!existingContact.getFreelance().getId().equals(contactDto.getFreelanceId())) {
             Freelance freelance = freelanceRepository.findById(contactDto.getFreelanceId())
                 .orElseThrow(() -> new ResourceNotFoundException("Freelance not found with id: " + contactDto.getFreelanceId()));
+            searchIndex.removeContact(existingContact.getFreelance().getId(), id);
             existingContact.setFreelance(freelance);
         }
 
@@ -102,11 +136,13 @@ public class ContactService {
         if (!existingContact.getClient().getId().equals(contactDto.getClientId())) {
             Client client = clientRepository.findById(contactDto.getClientId())
                 .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + contactDto.getClientId()));
+            aggregateCounterService.recordContactChange(existingContact.getClient().getId(), client.getId());
             existingContact.setClient(client);
         }
 
         contactMapper.updateEntity(contactDto, existingContact);
         Contact updatedContact = contactRepository.save(existingContact);
+        searchIndex.indexContact(updatedContact);
         
         log.info("Updated contact with id: {}", updatedContact.getId());
         return contactMapper.toDto(updatedContact);
@@ -119,6 +155,10 @@ public class ContactService {
             throw new ResourceNotFoundException(String.format(ErrorMessages.CONTACT_NOT_FOUND, id));
         }
 
+        contactRepository.findById(id).ifPresent(contact -> {
+            aggregateCounterService.recordContactChange(contact.getClient().getId(), null);
+            searchIndex.removeContact(contact.getFreelance().getId(), id);
+        });
         contactRepository.deleteById(id);
         log.info("Deleted contact with id: {}", id);
     }
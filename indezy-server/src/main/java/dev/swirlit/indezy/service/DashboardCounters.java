@@ -0,0 +1,265 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.enums.LostReason;
+import dev.swirlit.indezy.model.enums.ProjectStatus;
+import dev.swirlit.indezy.model.enums.StepStatus;
+import dev.swirlit.indezy.model.enums.WorkMode;
+import dev.swirlit.indezy.repository.DashboardAggregates;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The additive dashboard figures of a freelance as a flat map of named counters. The same
+ * counters are either built from the aggregate queries or patched by adding (or subtracting) the
+ * contribution of a single project or interview step, so a snapshot kept up to date with deltas
+ * always equals a rebuild. Zero counters are dropped, which keeps two equal states equal maps.
+ *
+ * <p>Keys: {@code projects}; {@code status.S} and {@code revenue.S} per project status;
+ * {@code workMode.W}; {@code lostReason.R} (lost projects only); {@code rate.sum},
+ * {@code rate.count} and {@code rateRange.i} for the daily rate; {@code source.<id>.S} and
+ * {@code middleman.<id>.S} for the funnels; {@code year.<y>.<field>} for the rate evolution;
+ * {@code step.T} per interview step status.
+ */
+final class DashboardCounters {
+
+    /** Lower bounds of the daily rate histogram buckets; the last bucket is open-ended. */
+    static final int[] RATE_RANGE_BOUNDS = {0, 300, 500, 700, 900};
+
+    private static final String PROJECTS = "projects";
+    private static final String SOURCE = "source.";
+    private static final String MIDDLEMAN = "middleman.";
+    private static final String YEAR = "year.";
+
+    private final Map<String, Long> values;
+
+    DashboardCounters(Map<String, Long> values) {
+        this.values = values;
+    }
+
+    static DashboardCounters empty() {
+        return new DashboardCounters(new HashMap<>());
+    }
+
+    /** Counters of the aggregate query rows, as {@link DashboardSnapshotService} reads them. */
+    static DashboardCounters of(Iterable<DashboardAggregates.StatusSlice> statusSlices,
+                                Iterable<DashboardAggregates.FunnelSlice> funnelSlices,
+                                Iterable<DashboardAggregates.RateYear> rateYears,
+                                Iterable<DashboardAggregates.StepSlice> stepSlices) {
+        DashboardCounters counters = empty();
+        for (DashboardAggregates.StatusSlice slice : statusSlices) {
+            long count = valueOf(slice.getProjectCount());
+            counters.add(PROJECTS, count);
+            counters.add("status." + slice.getStatus(), count);
+            counters.add("revenue." + slice.getStatus(), valueOf(slice.getRevenue()));
+            if (slice.getWorkMode() != null) {
+                counters.add("workMode." + slice.getWorkMode(), count);
+            }
+            if (slice.getStatus() == ProjectStatus.LOST && slice.getLostReason() != null) {
+                counters.add("lostReason." + slice.getLostReason(), count);
+            }
+            counters.add("rate.sum", valueOf(slice.getDailyRateSum()));
+            counters.add("rate.count", valueOf(slice.getDailyRateCount()));
+            counters.add("rateRange.0", valueOf(slice.getRateUnder300()));
+            counters.add("rateRange.1", valueOf(slice.getRate300To500()));
+            counters.add("rateRange.2", valueOf(slice.getRate500To700()));
+            counters.add("rateRange.3", valueOf(slice.getRate700To900()));
+            counters.add("rateRange.4", valueOf(slice.getRateFrom900()));
+        }
+        for (DashboardAggregates.FunnelSlice slice : funnelSlices) {
+            long count = valueOf(slice.getProjectCount());
+            if (slice.getSourceId() != null) {
+                counters.add(SOURCE + slice.getSourceId() + "." + slice.getStatus(), count);
+            }
+            if (slice.getMiddlemanId() != null) {
+                counters.add(MIDDLEMAN + slice.getMiddlemanId() + "." + slice.getStatus(), count);
+            }
+        }
+        for (DashboardAggregates.RateYear year : rateYears) {
+            String prefix = YEAR + year.getStartYear() + ".";
+            counters.add(prefix + "projects", valueOf(year.getProjectCount()));
+            counters.add(prefix + "askedSum", valueOf(year.getAskedRateSum()));
+            counters.add(prefix + "askedCount", valueOf(year.getAskedRateCount()));
+            counters.add(prefix + "rateSum", valueOf(year.getDailyRateSum()));
+            counters.add(prefix + "rateCount", valueOf(year.getDailyRateCount()));
+        }
+        for (DashboardAggregates.StepSlice slice : stepSlices) {
+            counters.add("step." + slice.getStatus(), valueOf(slice.getStepCount()));
+        }
+        return counters;
+    }
+
+    /** Adds ({@code sign = 1}) or removes ({@code sign = -1}) the contribution of one project. */
+    void addProject(ProjectFacts project, int sign) {
+        add(PROJECTS, sign);
+        add("status." + project.status(), sign);
+        add("revenue." + project.status(), sign * project.revenue());
+        if (project.workMode() != null) {
+            add("workMode." + project.workMode(), sign);
+        }
+        if (project.status() == ProjectStatus.LOST && project.lostReason() != null) {
+            add("lostReason." + project.lostReason(), sign);
+        }
+        if (project.dailyRate() != null) {
+            add("rate.sum", sign * (long) project.dailyRate());
+            add("rate.count", sign);
+            int range = rateRange(project.dailyRate());
+            if (range >= 0) {
+                add("rateRange." + range, sign);
+            }
+        }
+        if (project.sourceId() != null) {
+            add(SOURCE + project.sourceId() + "." + project.status(), sign);
+        }
+        if (project.middlemanId() != null) {
+            add(MIDDLEMAN + project.middlemanId() + "." + project.status(), sign);
+        }
+        if (project.startDate() != null) {
+            String prefix = YEAR + project.startDate().getYear() + ".";
+            add(prefix + "projects", sign);
+            if (project.askedDailyRate() != null) {
+                add(prefix + "askedSum", sign * (long) project.askedDailyRate());
+                add(prefix + "askedCount", sign);
+            }
+            if (project.dailyRate() != null) {
+                add(prefix + "rateSum", sign * (long) project.dailyRate());
+                add(prefix + "rateCount", sign);
+            }
+        }
+    }
+
+    void addSteps(StepStatus status, long delta) {
+        add("step." + status, delta);
+    }
+
+    void add(String key, long delta) {
+        if (delta != 0) {
+            values.merge(key, delta, (current, added) -> current + added == 0 ? null : current + added);
+        }
+    }
+
+    long get(String key) {
+        return values.getOrDefault(key, 0L);
+    }
+
+    long projects() {
+        return get(PROJECTS);
+    }
+
+    long count(Enum<?> value) {
+        return get(prefixOf(value) + value.name());
+    }
+
+    long revenue(ProjectStatus status) {
+        return get("revenue." + status);
+    }
+
+    long rateRange(int index) {
+        return get("rateRange." + index);
+    }
+
+    /** Project counts per status for each source id. */
+    Map<Long, Map<ProjectStatus, Long>> bySource() {
+        return byStatus(SOURCE);
+    }
+
+    /** Project counts per status for each middleman (ESN) id. */
+    Map<Long, Map<ProjectStatus, Long>> byMiddleman() {
+        return byStatus(MIDDLEMAN);
+    }
+
+    /** Start year to {@code [projects, askedSum, askedCount, rateSum, rateCount]}, oldest first. */
+    Map<Integer, long[]> byYear() {
+        Map<Integer, long[]> years = new TreeMap<>();
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            if (!entry.getKey().startsWith(YEAR)) {
+                continue;
+            }
+            String[] parts = entry.getKey().split("\\.");
+            int field = switch (parts[2]) {
+                case "projects" -> 0;
+                case "askedSum" -> 1;
+                case "askedCount" -> 2;
+                case "rateSum" -> 3;
+                default -> 4;
+            };
+            years.computeIfAbsent(Integer.valueOf(parts[1]), k -> new long[5])[field] = entry.getValue();
+        }
+        return years;
+    }
+
+    /** The counters themselves, as stored in the snapshot. */
+    Map<String, Long> asMap() {
+        return values;
+    }
+
+    /** Index of the histogram bucket of a daily rate, or -1 for a negative rate. */
+    static int rateRange(int dailyRate) {
+        for (int i = RATE_RANGE_BOUNDS.length - 1; i >= 0; i--) {
+            if (dailyRate >= RATE_RANGE_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Map<Long, Map<ProjectStatus, Long>> byStatus(String prefix) {
+        Map<Long, Map<ProjectStatus, Long>> grouped = new HashMap<>();
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                continue;
+            }
+            String[] parts = entry.getKey().split("\\.");
+            grouped.computeIfAbsent(Long.valueOf(parts[1]), k -> new EnumMap<>(ProjectStatus.class))
+                .put(ProjectStatus.valueOf(parts[2]), entry.getValue());
+        }
+        return grouped;
+    }
+
+    private static String prefixOf(Enum<?> value) {
+        if (value instanceof ProjectStatus) {
+            return "status.";
+        }
+        if (value instanceof WorkMode) {
+            return "workMode.";
+        }
+        if (value instanceof LostReason) {
+            return "lostReason.";
+        }
+        return "step.";
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    /**
+     * The fields of a project the counters depend on, captured before a mutation so its old
+     * contribution can be removed once the new one is known. Also read by
+     * {@link AggregateCounterService} for the per-client, per-source and per-freelance counters.
+     */
+    record ProjectFacts(Long freelanceId, ProjectStatus status, WorkMode workMode, LostReason lostReason,
+                        Integer dailyRate, Integer askedDailyRate, long revenue, Long clientId, Long sourceId,
+                        Long middlemanId, LocalDate startDate) {
+
+        static ProjectFacts of(Project project) {
+            Integer revenue = project.getTotalRevenue();
+            return new ProjectFacts(
+                project.getFreelance() != null ? project.getFreelance().getId() : null,
+                project.getStatus(),
+                project.getWorkMode(),
+                project.getLostReason(),
+                project.getDailyRate(),
+                project.getAskedDailyRate(),
+                revenue != null ? revenue : 0L,
+                project.getClient() != null ? project.getClient().getId() : null,
+                project.getSource() != null ? project.getSource().getId() : null,
+                project.getMiddleman() != null ? project.getMiddleman().getId() : null,
+                project.getStartDate());
+        }
+    }
+}
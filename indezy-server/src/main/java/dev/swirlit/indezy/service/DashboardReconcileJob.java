@@ -0,0 +1,63 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.dto.JobDto;
+import dev.swirlit.indezy.model.enums.JobType;
+import dev.swirlit.indezy.repository.DashboardSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Runs the dashboard snapshot reconciliation of {@link DashboardSnapshotService} as a
+ * {@link JobType#DASHBOARD_RECONCILE} background job, submitted on
+ * {@code indezy.dashboard.reconcile-cron}. Snapshots are reconciled in freelance id order,
+ * {@value #CHUNK_SIZE} at a time, and the last freelance id reconciled is the checkpoint, so a run
+ * interrupted by a restart resumes where it stopped instead of starting over.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardReconcileJob implements JobHandler {
+
+    static final int CHUNK_SIZE = 50;
+
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final DashboardSnapshotRepository snapshotRepository;
+    private final JobService jobService;
+
+    @Scheduled(cron = "${indezy.dashboard.reconcile-cron:0 30 3 * * *}")
+    public JobDto submit() {
+        return jobService.submit(JobType.DASHBOARD_RECONCILE, null);
+    }
+
+    @Override
+    public JobType jobType() {
+        return JobType.DASHBOARD_RECONCILE;
+    }
+
+    @Override
+    public String run(JobContext context) {
+        long afterFreelanceId = context.getCheckpoint() != null ? Long.parseLong(context.getCheckpoint()) : 0L;
+        long total = snapshotRepository.count();
+        long done = snapshotRepository.countByFreelanceIdLessThanEqual(afterFreelanceId);
+        DashboardSnapshotService.ReconciliationReport report = new DashboardSnapshotService.ReconciliationReport(0, 0, 0);
+        List<Long> chunk;
+        while (!(chunk = snapshotRepository.findFreelanceIdsAfter(afterFreelanceId, Limit.of(CHUNK_SIZE))).isEmpty()) {
+            context.throwIfCancelled();
+            report = report.plus(dashboardSnapshotService.reconcile(chunk));
+            afterFreelanceId = chunk.getLast();
+            done += chunk.size();
+            context.processed(chunk.size());
+            context.checkpoint(Long.toString(afterFreelanceId));
+            // Removed snapshots shrink the total as the run goes.
+            context.progress(total > 0 ? (int) Math.min(99, done * 100 / total) : 0, "reconciling");
+        }
+        log.info("Reconciled {} dashboard snapshots: {} drifted, {} removed", report.checked(), report.drifted(),
+            report.removed());
+        return String.format("%d checked, %d drifted, %d removed", report.checked(), report.drifted(), report.removed());
+    }
+}
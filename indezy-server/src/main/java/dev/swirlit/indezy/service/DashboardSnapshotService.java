@@ -0,0 +1,271 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.DashboardSnapshot;
+import dev.swirlit.indezy.model.InterviewStep;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.enums.StepStatus;
+import dev.swirlit.indezy.repository.DashboardAggregates;
+import dev.swirlit.indezy.repository.DashboardSnapshotRepository;
+import dev.swirlit.indezy.repository.FreelanceRepository;
+import dev.swirlit.indezy.repository.InterviewStepRepository;
+import dev.swirlit.indezy.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the per-freelance {@link DashboardSnapshot} in step with the projects and interview
+ * steps. {@link ProjectService} and {@link InterviewStepService} report every mutation here, in
+ * their own transaction, and the matching delta is applied to the locked snapshot row; the
+ * dashboard then reads the snapshot instead of aggregating the pipeline. A snapshot is built from
+ * the aggregate queries on the first dashboard read, and writes that bypass the services (bulk
+ * import, cascading client or source deletes) drop it so the next read rebuilds it.
+ *
+ * <p>{@link #reconcile()} rebuilds every snapshot, replaces the stored counters and logs each
+ * snapshot that had drifted; {@link DashboardReconcileJob} runs it periodically as a background job.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardSnapshotService {
+
+    /** Drifted counters listed in the reconciliation warning, per snapshot. */
+    private static final int MAX_LOGGED_DRIFTS = 10;
+
+    private final DashboardSnapshotRepository snapshotRepository;
+    private final ProjectRepository projectRepository;
+    private final InterviewStepRepository interviewStepRepository;
+    private final FreelanceRepository freelanceRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /** Outcome of a reconciliation run. */
+    public record ReconciliationReport(int checked, int drifted, int removed) {
+
+        ReconciliationReport plus(ReconciliationReport other) {
+            return new ReconciliationReport(checked + other.checked, drifted + other.drifted, removed + other.removed);
+        }
+    }
+
+    /**
+     * Counters of the whole pipeline of a freelance, read from its snapshot; the snapshot is
+     * built and stored on the first read, under a lock on the freelance row. Runs in the caller's
+     * (read-write) transaction.
+     */
+    DashboardCounters getCounters(Long freelanceId) {
+        Optional<DashboardSnapshot> snapshot = snapshotRepository.findByFreelanceId(freelanceId);
+        if (snapshot.isPresent()) {
+            return new DashboardCounters(new HashMap<>(snapshot.get().getCounters()));
+        }
+        // Concurrent first reads queue on the freelance row, and the later ones find the snapshot
+        // stored by the first instead of inserting a duplicate.
+        boolean exists = freelanceRepository.findForUpdateById(freelanceId).isPresent();
+        if (exists) {
+            snapshot = snapshotRepository.findByFreelanceId(freelanceId);
+            if (snapshot.isPresent()) {
+                return new DashboardCounters(new HashMap<>(snapshot.get().getCounters()));
+            }
+        }
+        DashboardCounters counters = computeCounters(freelanceId, null, null);
+        if (exists) {
+            DashboardSnapshot created = new DashboardSnapshot();
+            created.setFreelanceId(freelanceId);
+            created.setCounters(new HashMap<>(counters.asMap()));
+            created.setRebuiltAt(LocalDateTime.now());
+            snapshotRepository.save(created);
+            log.debug("Built dashboard snapshot for freelance: {}", freelanceId);
+        }
+        return counters;
+    }
+
+    /**
+     * Counters computed by the aggregate queries, restricted to projects starting between
+     * {@code from} and {@code to} when set. Never stored.
+     */
+    DashboardCounters computeCounters(Long freelanceId, LocalDate from, LocalDate to) {
+        List<DashboardAggregates.StatusSlice> statusSlices = projectRepository.aggregateDashboardByStatus(freelanceId, from, to);
+        if (statusSlices.isEmpty()) {
+            return DashboardCounters.empty();
+        }
+        return DashboardCounters.of(
+            statusSlices,
+            projectRepository.aggregateDashboardFunnels(freelanceId, from, to),
+            projectRepository.aggregateDailyRateByStartYear(freelanceId, from, to),
+            interviewStepRepository.aggregateDashboardSteps(freelanceId, from, to));
+    }
+
+    /**
+     * Replaces the contribution of a project: {@code before} is what it counted for prior to the
+     * mutation ({@code null} for a new project), {@code after} what it counts for now
+     * ({@code null} once removed). Runs in the caller's transaction.
+     */
+    void recordProjectChange(DashboardCounters.ProjectFacts before, DashboardCounters.ProjectFacts after) {
+        if (before != null && after != null && before.equals(after)) {
+            return;
+        }
+        if (before != null) {
+            apply(before.freelanceId(), counters -> counters.addProject(before, -1));
+        }
+        if (after != null) {
+            apply(after.freelanceId(), counters -> counters.addProject(after, 1));
+        }
+    }
+
+    /** Removes a project about to be deleted, together with the interview steps cascading with it. */
+    void recordProjectRemoval(Long projectId) {
+        projectRepository.findById(projectId).ifPresent(project -> {
+            DashboardCounters.ProjectFacts facts = DashboardCounters.ProjectFacts.of(project);
+            List<DashboardAggregates.StepSlice> steps = interviewStepRepository.countByProjectIdGroupByStatus(projectId);
+            apply(facts.freelanceId(), counters -> {
+                counters.addProject(facts, -1);
+                for (DashboardAggregates.StepSlice slice : steps) {
+                    counters.addSteps(slice.getStatus(), -slice.getStepCount());
+                }
+            });
+        });
+    }
+
+    /**
+     * Moves an interview step from {@code before} to its current status; {@code before} is
+     * {@code null} for a new step. Runs in the caller's transaction.
+     */
+    void recordStepChange(InterviewStep step, StepStatus before) {
+        if (step.getStatus() == before) {
+            return;
+        }
+        apply(freelanceIdOf(step), counters -> {
+            if (before != null) {
+                counters.addSteps(before, -1);
+            }
+            if (step.getStatus() != null) {
+                counters.addSteps(step.getStatus(), 1);
+            }
+        });
+    }
+
+    /** Removes an interview step about to be deleted. */
+    void recordStepRemoval(Long stepId) {
+        interviewStepRepository.findById(stepId).ifPresent(step ->
+            apply(freelanceIdOf(step), counters -> counters.addSteps(step.getStatus(), -1)));
+    }
+
+    /**
+     * Drops the snapshot of a freelance after a change that bypassed the deltas; the next
+     * dashboard read rebuilds it.
+     */
+    @Transactional
+    public void invalidate(Long freelanceId) {
+        if (freelanceId == null) {
+            return;
+        }
+        snapshotRepository.findByFreelanceId(freelanceId).ifPresent(snapshot -> {
+            snapshotRepository.delete(snapshot);
+            log.debug("Invalidated dashboard snapshot for freelance: {}", freelanceId);
+        });
+    }
+
+    /**
+     * Rebuilds every snapshot from the aggregate queries, each in its own transaction, and
+     * replaces the stored counters. Snapshots that differed from the rebuild are logged as drift;
+     * snapshots of deleted freelances are removed.
+     */
+    public ReconciliationReport reconcile() {
+        ReconciliationReport report = reconcile(snapshotRepository.findAllFreelanceIds());
+        log.info("Reconciled {} dashboard snapshots: {} drifted, {} removed", report.checked(), report.drifted(),
+            report.removed());
+        return report;
+    }
+
+    /** Reconciles the snapshots of the given freelances, each in its own transaction. */
+    ReconciliationReport reconcile(List<Long> freelanceIds) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int checked = 0;
+        int drifted = 0;
+        int removed = 0;
+        for (Long freelanceId : freelanceIds) {
+            try {
+                Reconciliation outcome = transaction.execute(status -> reconcile(freelanceId));
+                checked++;
+                if (outcome == Reconciliation.DRIFTED) {
+                    drifted++;
+                } else if (outcome == Reconciliation.REMOVED) {
+                    removed++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Dashboard snapshot reconciliation failed for freelance {}", freelanceId, e);
+            }
+        }
+        return new ReconciliationReport(checked, drifted, removed);
+    }
+
+    private Reconciliation reconcile(Long freelanceId) {
+        Optional<DashboardSnapshot> found = snapshotRepository.findForUpdateByFreelanceId(freelanceId);
+        if (found.isEmpty()) {
+            return Reconciliation.IN_SYNC;
+        }
+        DashboardSnapshot snapshot = found.get();
+        if (!freelanceRepository.existsById(freelanceId)) {
+            snapshotRepository.delete(snapshot);
+            return Reconciliation.REMOVED;
+        }
+
+        Map<String, Long> rebuilt = computeCounters(freelanceId, null, null).asMap();
+        Map<String, Long> stored = snapshot.getCounters();
+        Set<String> drifts = new TreeSet<>();
+        Set<String> keys = new HashSet<>(stored.keySet());
+        keys.addAll(rebuilt.keySet());
+        for (String key : keys) {
+            long storedValue = stored.getOrDefault(key, 0L);
+            long rebuiltValue = rebuilt.getOrDefault(key, 0L);
+            if (storedValue != rebuiltValue) {
+                drifts.add(key + "=" + storedValue + "->" + rebuiltValue);
+            }
+        }
+
+        snapshot.setRebuiltAt(LocalDateTime.now());
+        if (drifts.isEmpty()) {
+            return Reconciliation.IN_SYNC;
+        }
+        log.warn("Dashboard snapshot of freelance {} drifted on {} counters: {}", freelanceId, drifts.size(),
+            drifts.stream().limit(MAX_LOGGED_DRIFTS).toList());
+        stored.clear();
+        stored.putAll(rebuilt);
+        return Reconciliation.DRIFTED;
+    }
+
+    private void apply(Long freelanceId, Consumer<DashboardCounters> delta) {
+        if (freelanceId == null) {
+            return;
+        }
+        // No snapshot yet: the next dashboard read builds it with this change included.
+        snapshotRepository.findForUpdateByFreelanceId(freelanceId)
+            .ifPresent(snapshot -> delta.accept(new DashboardCounters(snapshot.getCounters())));
+    }
+
+    private static Long freelanceIdOf(InterviewStep step) {
+        Project project = step.getProject();
+        if (project == null || project.getFreelance() == null) {
+            return null;
+        }
+        return project.getFreelance().getId();
+    }
+
+    private enum Reconciliation {
+        IN_SYNC,
+        DRIFTED,
+        REMOVED
+    }
+}
@@ -1,11 +1,15 @@
 package dev.swirlit.indezy.service;
 
+import dev.swirlit.indezy.constants.ErrorMessages;
 import dev.swirlit.indezy.dto.DashboardStatsDto;
-import dev.swirlit.indezy.model.Project;
 import dev.swirlit.indezy.model.enums.LostReason;
 import dev.swirlit.indezy.model.enums.ProjectStatus;
+import dev.swirlit.indezy.model.enums.StepStatus;
 import dev.swirlit.indezy.model.enums.WorkMode;
+import dev.swirlit.indezy.repository.ClientRepository;
+import dev.swirlit.indezy.repository.DashboardAggregates;
 import dev.swirlit.indezy.repository.ProjectRepository;
+import dev.swirlit.indezy.repository.SourceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,127 +20,153 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 import java.util.TreeMap;
 
 /**
  * Builds the aggregated dashboard statistics (counts, revenue, rate distribution, source ROI,
  * rate evolution, bench time) for a freelance. Kept separate from {@link ProjectService} so the
- * read-only analytics concern stays cohesive and independent of project CRUD.
+ * analytics concern stays cohesive and independent of project CRUD.
+ *
+ * <p>The additive figures come from {@link DashboardCounters}: for the whole pipeline they are
+ * read from the freelance's snapshot, which {@link DashboardSnapshotService} keeps up to date on
+ * every mutation, so a dashboard view is a single-row read whatever the size of the pipeline.
+ * A period-bounded view computes the same counters with a few aggregate queries (see
+ * {@link DashboardAggregates}). Bench time, mission-end reminders and stale opportunities depend
+ * on dates and on today, so they are always queried. The whole-pipeline view is additionally
+ * kept in {@link FreelanceViewCache}.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DashboardStatsService {
 
+    private static final String[] RATE_RANGE_LABELS = {"0-300", "300-500", "500-700", "700-900", "900+"};
+
+    /** Funnel stages in pipeline order; LOST is not a stage. */
+    private static final ProjectStatus[] FUNNEL_STAGES = {
+        ProjectStatus.IDENTIFIED, ProjectStatus.APPLIED, ProjectStatus.INTERVIEW,
+        ProjectStatus.OFFER, ProjectStatus.WON
+    };
+
     private final ProjectRepository projectRepository;
+    private final SourceRepository sourceRepository;
+    private final ClientRepository clientRepository;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final FreelanceViewCache viewCache;
 
-    @Transactional(readOnly = true)
+    // Read-write: the first read of a freelance stores its snapshot.
+    @Transactional
     public DashboardStatsDto getDashboardStats(Long freelanceId) {
-        log.debug("Getting dashboard stats for freelance: {}", freelanceId);
-
-        Long totalProjects = projectRepository.countByFreelanceId(freelanceId);
-        Double averageDailyRate = projectRepository.findAverageDailyRateByFreelanceId(freelanceId);
-        Long wonProjects = projectRepository.countWonByFreelanceId(freelanceId);
-        Long lostProjects = projectRepository.countLostByFreelanceId(freelanceId);
-        Long activeProjects = projectRepository.countActiveByFreelanceId(freelanceId);
+        return getDashboardStats(freelanceId, null, null, null);
+    }
 
-        // Projects by status
-        Map<String, Long> projectsByStatus = new LinkedHashMap<>();
-        for (ProjectStatus status : ProjectStatus.values()) {
-            projectsByStatus.put(status.name(), 0L);
-        }
-        for (Object[] row : projectRepository.countByFreelanceIdGroupByStatus(freelanceId)) {
-            ProjectStatus status = (ProjectStatus) row[0];
-            Long count = (Long) row[1];
-            projectsByStatus.put(status.name(), count);
+    /**
+     * Dashboard statistics restricted to projects starting within a period, given either as a
+     * {@code year} or as inclusive {@code from}/{@code to} dates (each optional). With no bounds
+     * every project counts and the figures come from the snapshot. Mission-end reminders and
+     * stale opportunities are about today, so they ignore the period.
+     */
+    @Transactional
+    public DashboardStatsDto getDashboardStats(Long freelanceId, LocalDate from, LocalDate to, Integer year) {
+        log.debug("Getting dashboard stats for freelance: {} (from={}, to={}, year={})", freelanceId, from, to, year);
+        if (year != null) {
+            if (from != null || to != null) {
+                throw new IllegalArgumentException(ErrorMessages.DASHBOARD_PERIOD_CONFLICT);
+            }
+            from = LocalDate.of(year, 1, 1);
+            to = LocalDate.of(year, 12, 31);
         }
-
-        // Projects by work mode
-        Map<String, Long> projectsByWorkMode = new LinkedHashMap<>();
-        for (WorkMode mode : WorkMode.values()) {
-            projectsByWorkMode.put(mode.name(), 0L);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_DATE_RANGE);
         }
-        for (Object[] row : projectRepository.countByFreelanceIdGroupByWorkMode(freelanceId)) {
-            WorkMode mode = (WorkMode) row[0];
-            Long count = (Long) row[1];
-            projectsByWorkMode.put(mode.name(), count);
+        if (from == null && to == null) {
+            return viewCache.get(FreelanceViewCache.View.DASHBOARD, freelanceId,
+                () -> buildDashboardStats(freelanceId, null, null));
         }
+        return buildDashboardStats(freelanceId, from, to);
+    }
+
+    private DashboardStatsDto buildDashboardStats(Long freelanceId, LocalDate from, LocalDate to) {
+        boolean bounded = from != null || to != null;
 
-        // Daily rate ranges
-        List<Project> projects = projectRepository.findByFreelanceId(freelanceId);
+        DashboardCounters counters = bounded
+            ? dashboardSnapshotService.computeCounters(freelanceId, from, to)
+            : dashboardSnapshotService.getCounters(freelanceId);
+        List<DashboardAggregates.SignedMission> missions = projectRepository.findSignedMissions(freelanceId, from, to);
+        List<DashboardAggregates.SignedMission> currentMissions = bounded
+            ? projectRepository.findSignedMissions(freelanceId, null, null)
+            : missions;
 
-        // Lost-reason breakdown (only lost opportunities that carry a reason)
-        Map<String, Long> lostReasonsBreakdown = new LinkedHashMap<>();
-        for (LostReason reason : LostReason.values()) {
-            lostReasonsBreakdown.put(reason.name(), 0L);
+        Map<ProjectStatus, Long> countByStatus = new EnumMap<>(ProjectStatus.class);
+        double totalRevenue = 0;
+        // Forecast revenue: revenue weighted by the win probability of its status
+        double forecastRevenue = 0;
+        for (ProjectStatus status : ProjectStatus.values()) {
+            countByStatus.put(status, counters.count(status));
+            long revenue = counters.revenue(status);
+            totalRevenue += revenue;
+            forecastRevenue += revenue * status.getWinProbability();
         }
-        projects.stream()
-            .filter(p -> ProjectStatus.LOST.equals(p.getStatus()) && p.getLostReason() != null)
-            .forEach(p -> lostReasonsBreakdown.merge(p.getLostReason().name(), 1L, Long::sum));
-        int[][] ranges = {{0, 300}, {300, 500}, {500, 700}, {700, 900}, {900, Integer.MAX_VALUE}};
-        String[] rangeLabels = {"0-300", "300-500", "500-700", "700-900", "900+"};
+
         List<DashboardStatsDto.DailyRateRange> dailyRateRanges = new ArrayList<>();
-        for (int i = 0; i < ranges.length; i++) {
-            int min = ranges[i][0];
-            int max = ranges[i][1];
-            long count = projects.stream()
-                .filter(p -> p.getDailyRate() != null && p.getDailyRate() >= min && p.getDailyRate() < max)
-                .count();
+        for (int i = 0; i < RATE_RANGE_LABELS.length; i++) {
             dailyRateRanges.add(DashboardStatsDto.DailyRateRange.builder()
-                .label(rangeLabels[i])
-                .count(count)
+                .label(RATE_RANGE_LABELS[i])
+                .count(counters.rateRange(i))
                 .build());
         }
 
-        // Total estimated revenue
-        double totalRevenue = projects.stream()
-            .filter(p -> p.getTotalRevenue() != null)
-            .mapToDouble(Project::getTotalRevenue)
-            .sum();
-
-        // Forecast revenue: total revenue weighted by each opportunity's win probability
-        double forecastRevenue = projects.stream()
-            .filter(p -> p.getForecastRevenue() != null)
-            .mapToDouble(Project::getForecastRevenue)
-            .sum();
+        long totalProjects = counters.projects();
+        long wonProjects = countByStatus.get(ProjectStatus.WON);
+        long lostProjects = countByStatus.get(ProjectStatus.LOST);
+        long dailyRateCount = counters.get("rate.count");
+        double averageDailyRate = dailyRateCount == 0 ? 0 : (double) counters.get("rate.sum") / dailyRateCount;
 
-        List<DashboardStatsDto.SourceRoi> sourceRoi = buildSourceRoiRanking(projects);
-        List<DashboardStatsDto.DailyRateEvolution> dailyRateEvolution = buildDailyRateEvolution(projects);
+        Map<Long, Map<ProjectStatus, Long>> bySource = counters.bySource();
+        Map<Long, Map<ProjectStatus, Long>> byMiddleman = counters.byMiddleman();
+        Map<Long, String> sourceNames = new HashMap<>();
+        if (!bySource.isEmpty()) {
+            sourceRepository.findAllById(bySource.keySet()).forEach(source -> sourceNames.put(source.getId(), source.getName()));
+        }
+        Map<Long, String> middlemanNames = new HashMap<>();
+        if (!byMiddleman.isEmpty()) {
+            clientRepository.findAllById(byMiddleman.keySet()).forEach(client -> middlemanNames.put(client.getId(), client.getCompanyName()));
+        }
 
         // Bench time: idle days between consecutive signed missions and their estimated cost
-        double resolvedAverageRate = averageDailyRate != null ? averageDailyRate : 0;
-        long[] bench = buildBenchStats(projects);
+        long[] bench = buildBenchStats(missions);
 
         return DashboardStatsDto.builder()
-            .totalProjects(totalProjects != null ? totalProjects : 0)
-            .averageDailyRate(averageDailyRate != null ? averageDailyRate : 0)
+            .periodStart(from)
+            .periodEnd(to)
+            .totalProjects(totalProjects)
+            .averageDailyRate(averageDailyRate)
             .totalEstimatedRevenue(totalRevenue)
             .forecastRevenue(forecastRevenue)
-            .activeProjects(activeProjects != null ? activeProjects : 0)
-            .wonProjects(wonProjects != null ? wonProjects : 0)
-            .lostProjects(lostProjects != null ? lostProjects : 0)
+            .activeProjects(totalProjects - wonProjects - lostProjects)
+            .wonProjects(wonProjects)
+            .lostProjects(lostProjects)
             .totalBenchDays(bench[0])
             .benchPeriods(bench[1])
-            .estimatedBenchCost(bench[0] * resolvedAverageRate)
-            .projectsByStatus(projectsByStatus)
-            .projectsByWorkMode(projectsByWorkMode)
-            .lostReasonsBreakdown(lostReasonsBreakdown)
+            .estimatedBenchCost(bench[0] * averageDailyRate)
+            .projectsByStatus(countsOf(ProjectStatus.values(), counters))
+            .projectsByWorkMode(countsOf(WorkMode.values(), counters))
+            .lostReasonsBreakdown(countsOf(LostReason.values(), counters))
+            .interviewStepsByStatus(countsOf(StepStatus.values(), counters))
             .dailyRateRanges(dailyRateRanges)
-            .sourceRoi(sourceRoi)
-            .dailyRateEvolution(dailyRateEvolution)
-            .conversionFunnel(buildConversionFunnel(projects))
-            .funnelBySource(buildFunnelBreakdown(projects,
-                p -> p.getSource() != null ? p.getSource().getName() : null))
-            .funnelByClientType(buildFunnelBreakdown(projects,
-                p -> p.getMiddleman() != null ? "INTERMEDIARY" : "DIRECT"))
-            .funnelByEsn(buildFunnelBreakdown(projects,
-                p -> p.getMiddleman() != null ? p.getMiddleman().getCompanyName() : null))
-            .missionsEndingSoon(buildMissionsEndingSoon(projects, LocalDate.now()))
-            .staleOpportunities(buildStaleOpportunities(projects, LocalDateTime.now()))
+            .sourceRoi(buildSourceRoiRanking(groupByName(bySource, sourceNames)))
+            .dailyRateEvolution(buildDailyRateEvolution(counters.byYear()))
+            .conversionFunnel(buildConversionFunnel(countByStatus))
+            .funnelBySource(buildFunnelBreakdown(groupByName(bySource, sourceNames)))
+            .funnelByClientType(buildFunnelBreakdown(groupByClientType(countByStatus, byMiddleman)))
+            .funnelByEsn(buildFunnelBreakdown(groupByName(byMiddleman, middlemanNames)))
+            .missionsEndingSoon(buildMissionsEndingSoon(currentMissions, LocalDate.now()))
+            .staleOpportunities(buildStaleOpportunities(freelanceId, LocalDateTime.now()))
             .build();
     }
 
@@ -146,29 +176,20 @@ public class DashboardStatsService {
     /**
      * Lists active (in-pipeline, i.e. neither WON nor LOST) opportunities whose last update is at
      * least {@link #STALE_THRESHOLD_DAYS} days old, so they can be followed up on or archived
-     * before going cold. Most stale first.
+     * before going cold. Most stale first; the threshold is applied in the query.
      */
-    private List<DashboardStatsDto.StaleOpportunity> buildStaleOpportunities(List<Project> projects, LocalDateTime now) {
+    private List<DashboardStatsDto.StaleOpportunity> buildStaleOpportunities(Long freelanceId, LocalDateTime now) {
         List<DashboardStatsDto.StaleOpportunity> stale = new ArrayList<>();
-        for (Project project : projects) {
-            ProjectStatus status = project.getStatus();
-            if (status == null || status == ProjectStatus.WON || status == ProjectStatus.LOST
-                || project.getUpdatedAt() == null) {
-                continue;
-            }
-            long daysSinceActivity = ChronoUnit.DAYS.between(project.getUpdatedAt(), now);
-            if (daysSinceActivity < STALE_THRESHOLD_DAYS) {
-                continue;
-            }
+        for (DashboardAggregates.StaleOpportunity opportunity
+                : projectRepository.findStaleOpportunities(freelanceId, now.minusDays(STALE_THRESHOLD_DAYS))) {
             stale.add(DashboardStatsDto.StaleOpportunity.builder()
-                .projectId(project.getId())
-                .role(project.getRole())
-                .clientName(project.getClient() != null ? project.getClient().getCompanyName() : null)
-                .status(status.name())
-                .daysSinceActivity(daysSinceActivity)
+                .projectId(opportunity.getProjectId())
+                .role(opportunity.getRole())
+                .clientName(opportunity.getClientName())
+                .status(opportunity.getStatus().name())
+                .daysSinceActivity(ChronoUnit.DAYS.between(opportunity.getUpdatedAt(), now))
                 .build());
         }
-        stale.sort(Comparator.comparingLong(DashboardStatsDto.StaleOpportunity::getDaysSinceActivity).reversed());
         return stale;
     }
 
@@ -180,23 +201,20 @@ public class DashboardStatsService {
      * between today and {@link #ENDING_SOON_WEEKS} weeks out, so the freelance can restart
      * prospection before the bench. Already-ended missions are excluded; soonest first.
      */
-    private List<DashboardStatsDto.MissionEndingSoon> buildMissionsEndingSoon(List<Project> projects, LocalDate today) {
+    private List<DashboardStatsDto.MissionEndingSoon> buildMissionsEndingSoon(
+            List<DashboardAggregates.SignedMission> missions, LocalDate today) {
         long threshold = ENDING_SOON_WEEKS * 7L;
         List<DashboardStatsDto.MissionEndingSoon> ending = new ArrayList<>();
-        for (Project project : projects) {
-            if (!ProjectStatus.WON.equals(project.getStatus())
-                || project.getStartDate() == null || project.getDurationInMonths() == null) {
-                continue;
-            }
-            LocalDate endDate = project.getStartDate().plusMonths(project.getDurationInMonths());
+        for (DashboardAggregates.SignedMission mission : missions) {
+            LocalDate endDate = mission.getStartDate().plusMonths(mission.getDurationInMonths());
             long daysUntilEnd = ChronoUnit.DAYS.between(today, endDate);
             if (daysUntilEnd < 0 || daysUntilEnd > threshold) {
                 continue;
             }
             ending.add(DashboardStatsDto.MissionEndingSoon.builder()
-                .projectId(project.getId())
-                .role(project.getRole())
-                .clientName(project.getClient() != null ? project.getClient().getCompanyName() : null)
+                .projectId(mission.getProjectId())
+                .role(mission.getRole())
+                .clientName(mission.getClientName())
                 .endDate(endDate)
                 .daysUntilEnd(daysUntilEnd)
                 .build());
@@ -206,23 +224,12 @@ public class DashboardStatsService {
     }
 
     /**
-     * Splits opportunities into groups by the given classifier and builds a conversion funnel for
-     * each, so drop-off can be compared across sources, client types or ESNs. Opportunities the
-     * classifier maps to {@code null} (e.g. no source/ESN) are skipped; groups are ordered by name.
+     * Builds a conversion funnel for each group of opportunities, so drop-off can be compared
+     * across sources, client types or ESNs. Groups arrive ordered by name.
      */
-    private List<DashboardStatsDto.FunnelBreakdown> buildFunnelBreakdown(
-            List<Project> projects, Function<Project, String> classifier) {
-        Map<String, List<Project>> grouped = new TreeMap<>();
-        for (Project project : projects) {
-            String group = classifier.apply(project);
-            if (group == null) {
-                continue;
-            }
-            grouped.computeIfAbsent(group, k -> new ArrayList<>()).add(project);
-        }
-
+    private List<DashboardStatsDto.FunnelBreakdown> buildFunnelBreakdown(Map<String, Map<ProjectStatus, Long>> grouped) {
         List<DashboardStatsDto.FunnelBreakdown> breakdowns = new ArrayList<>();
-        for (Map.Entry<String, List<Project>> entry : grouped.entrySet()) {
+        for (Map.Entry<String, Map<ProjectStatus, Long>> entry : grouped.entrySet()) {
             breakdowns.add(DashboardStatsDto.FunnelBreakdown.builder()
                 .group(entry.getKey())
                 .stages(buildConversionFunnel(entry.getValue()))
@@ -232,35 +239,70 @@ public class DashboardStatsService {
     }
 
     /**
-     * Builds the pipeline conversion funnel from the current status of each opportunity. Lost
-     * opportunities are excluded (their drop stage is not tracked). Because statuses are ordered,
-     * an opportunity at a later stage has passed every earlier one, so each stage counts every
-     * opportunity at or beyond it; the conversion rate is relative to the first stage.
+     * Merges per-id status counts into per-name counts ordered by name, so two sources or ESNs
+     * sharing a name form one group. Ids whose entity no longer exists are skipped.
      */
-    private List<DashboardStatsDto.ConversionFunnelStage> buildConversionFunnel(List<Project> projects) {
-        ProjectStatus[] stages = {
-            ProjectStatus.IDENTIFIED, ProjectStatus.APPLIED, ProjectStatus.INTERVIEW,
-            ProjectStatus.OFFER, ProjectStatus.WON
-        };
-        long[] reached = new long[stages.length];
-        for (Project project : projects) {
-            ProjectStatus status = project.getStatus();
-            if (status == null || status == ProjectStatus.LOST) {
+    private static Map<String, Map<ProjectStatus, Long>> groupByName(Map<Long, Map<ProjectStatus, Long>> byId,
+                                                                     Map<Long, String> names) {
+        Map<String, Map<ProjectStatus, Long>> grouped = new TreeMap<>();
+        for (Map.Entry<Long, Map<ProjectStatus, Long>> entry : byId.entrySet()) {
+            String name = names.get(entry.getKey());
+            if (name == null) {
                 continue;
             }
-            for (int i = 0; i < stages.length; i++) {
-                if (status.ordinal() >= stages[i].ordinal()) {
-                    reached[i]++;
+            Map<ProjectStatus, Long> counts = grouped.computeIfAbsent(name, k -> new EnumMap<>(ProjectStatus.class));
+            entry.getValue().forEach((status, count) -> counts.merge(status, count, Long::sum));
+        }
+        return grouped;
+    }
+
+    /**
+     * Splits the status counts between opportunities through an ESN and direct ones (all the
+     * others); a group without any opportunity is left out.
+     */
+    private static Map<String, Map<ProjectStatus, Long>> groupByClientType(Map<ProjectStatus, Long> countByStatus,
+                                                                           Map<Long, Map<ProjectStatus, Long>> byMiddleman) {
+        Map<ProjectStatus, Long> intermediary = new EnumMap<>(ProjectStatus.class);
+        byMiddleman.values().forEach(counts -> counts.forEach((status, count) -> intermediary.merge(status, count, Long::sum)));
+        Map<ProjectStatus, Long> direct = new EnumMap<>(ProjectStatus.class);
+        countByStatus.forEach((status, count) -> direct.put(status, count - intermediary.getOrDefault(status, 0L)));
+
+        Map<String, Map<ProjectStatus, Long>> grouped = new TreeMap<>();
+        if (direct.values().stream().anyMatch(count -> count > 0)) {
+            grouped.put("DIRECT", direct);
+        }
+        if (!intermediary.isEmpty()) {
+            grouped.put("INTERMEDIARY", intermediary);
+        }
+        return grouped;
+    }
+
+    /**
+     * Builds the pipeline conversion funnel from the number of opportunities per current status.
+     * Lost opportunities are excluded (their drop stage is not tracked). Because statuses are
+     * ordered, an opportunity at a later stage has passed every earlier one, so each stage counts
+     * every opportunity at or beyond it; the conversion rate is relative to the first stage.
+     */
+    private List<DashboardStatsDto.ConversionFunnelStage> buildConversionFunnel(Map<ProjectStatus, Long> countByStatus) {
+        long[] reached = new long[FUNNEL_STAGES.length];
+        for (Map.Entry<ProjectStatus, Long> entry : countByStatus.entrySet()) {
+            ProjectStatus status = entry.getKey();
+            if (status == ProjectStatus.LOST) {
+                continue;
+            }
+            for (int i = 0; i < FUNNEL_STAGES.length; i++) {
+                if (status.ordinal() >= FUNNEL_STAGES[i].ordinal()) {
+                    reached[i] += entry.getValue();
                 }
             }
         }
 
         long base = reached[0];
         List<DashboardStatsDto.ConversionFunnelStage> funnel = new ArrayList<>();
-        for (int i = 0; i < stages.length; i++) {
+        for (int i = 0; i < FUNNEL_STAGES.length; i++) {
             double rate = base == 0 ? 0 : Math.round(reached[i] * 1000.0 / base) / 10.0;
             funnel.add(DashboardStatsDto.ConversionFunnelStage.builder()
-                .stage(stages[i].name())
+                .stage(FUNNEL_STAGES[i].name())
                 .count(reached[i])
                 .conversionRate(rate)
                 .build());
@@ -272,55 +314,32 @@ public class DashboardStatsService {
      * Average asked vs obtained (agreed) daily rate per year of start date, ordered
      * chronologically, so a freelance can see how negotiated rates trend over time.
      */
-    private List<DashboardStatsDto.DailyRateEvolution> buildDailyRateEvolution(List<Project> projects) {
-        // Per year: [askedSum, askedCount, obtainedSum, obtainedCount, projectCount].
-        Map<Integer, long[]> byYear = new TreeMap<>();
-        for (Project project : projects) {
-            if (project.getStartDate() == null) {
-                continue;
-            }
-            long[] acc = byYear.computeIfAbsent(project.getStartDate().getYear(), k -> new long[5]);
-            if (project.getAskedDailyRate() != null) {
-                acc[0] += project.getAskedDailyRate();
-                acc[1]++;
-            }
-            if (project.getDailyRate() != null) {
-                acc[2] += project.getDailyRate();
-                acc[3]++;
-            }
-            acc[4]++;
-        }
-
+    private List<DashboardStatsDto.DailyRateEvolution> buildDailyRateEvolution(Map<Integer, long[]> years) {
         List<DashboardStatsDto.DailyRateEvolution> evolution = new ArrayList<>();
-        for (Map.Entry<Integer, long[]> entry : byYear.entrySet()) {
-            long[] acc = entry.getValue();
+        for (Map.Entry<Integer, long[]> year : years.entrySet()) {
+            // [projects, askedSum, askedCount, rateSum, rateCount]
+            long[] totals = year.getValue();
             evolution.add(DashboardStatsDto.DailyRateEvolution.builder()
-                .period(String.valueOf(entry.getKey()))
-                .averageAskedRate(acc[1] == 0 ? 0 : Math.round((double) acc[0] / acc[1]))
-                .averageObtainedRate(acc[3] == 0 ? 0 : Math.round((double) acc[2] / acc[3]))
-                .projectCount(acc[4])
+                .period(String.valueOf(year.getKey()))
+                .averageAskedRate(totals[2] == 0 ? 0 : Math.round((double) totals[1] / totals[2]))
+                .averageObtainedRate(totals[4] == 0 ? 0 : Math.round((double) totals[3] / totals[4]))
+                .projectCount(totals[0])
                 .build());
         }
         return evolution;
     }
 
     /**
-     * Computes idle ("bench") time between consecutive signed missions: missions are the WON
-     * projects that carry a start date and duration, ordered chronologically. A gap is counted
-     * only when a mission starts after the latest end seen so far, so overlapping or nested
-     * missions never produce negative bench. Returns {@code [totalBenchDays, benchPeriods]}.
+     * Computes idle ("bench") time between consecutive signed missions, given in chronological
+     * order. A gap is counted only when a mission starts after the latest end seen so far, so
+     * overlapping or nested missions never produce negative bench. Returns
+     * {@code [totalBenchDays, benchPeriods]}.
      */
-    private long[] buildBenchStats(List<Project> projects) {
-        List<Project> missions = projects.stream()
-            .filter(p -> ProjectStatus.WON.equals(p.getStatus())
-                && p.getStartDate() != null && p.getDurationInMonths() != null)
-            .sorted(Comparator.comparing(Project::getStartDate))
-            .toList();
-
+    private long[] buildBenchStats(List<DashboardAggregates.SignedMission> missions) {
         long totalBenchDays = 0;
         long benchPeriods = 0;
         LocalDate previousEnd = null;
-        for (Project mission : missions) {
+        for (DashboardAggregates.SignedMission mission : missions) {
             LocalDate start = mission.getStartDate();
             LocalDate end = start.plusMonths(mission.getDurationInMonths());
             if (previousEnd != null && start.isAfter(previousEnd)) {
@@ -338,23 +357,11 @@ public class DashboardStatsService {
      * Ranks each opportunity source by how many of its opportunities turned into signed
      * (WON) contracts. Sorted by signed contracts, then conversion rate, then name.
      */
-    private List<DashboardStatsDto.SourceRoi> buildSourceRoiRanking(List<Project> projects) {
-        Map<String, long[]> totalsBySource = new LinkedHashMap<>();
-        for (Project project : projects) {
-            if (project.getSource() == null || project.getSource().getName() == null) {
-                continue;
-            }
-            long[] counts = totalsBySource.computeIfAbsent(project.getSource().getName(), k -> new long[2]);
-            counts[0]++;
-            if (ProjectStatus.WON.equals(project.getStatus())) {
-                counts[1]++;
-            }
-        }
-
-        return totalsBySource.entrySet().stream()
+    private List<DashboardStatsDto.SourceRoi> buildSourceRoiRanking(Map<String, Map<ProjectStatus, Long>> bySource) {
+        return bySource.entrySet().stream()
             .map(entry -> {
-                long total = entry.getValue()[0];
-                long won = entry.getValue()[1];
+                long total = entry.getValue().values().stream().mapToLong(Long::longValue).sum();
+                long won = entry.getValue().getOrDefault(ProjectStatus.WON, 0L);
                 double rate = total == 0 ? 0 : Math.round(won * 1000.0 / total) / 10.0;
                 return DashboardStatsDto.SourceRoi.builder()
                     .sourceName(entry.getKey())
@@ -368,4 +375,13 @@ public class DashboardStatsService {
                 .thenComparing(DashboardStatsDto.SourceRoi::getSourceName))
             .toList();
     }
+
+    /** One entry per enum constant, in declaration order, with its counter value. */
+    private static Map<String, Long> countsOf(Enum<?>[] values, DashboardCounters counters) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Enum<?> value : values) {
+            counts.put(value.name(), counters.count(value));
+        }
+        return counts;
+    }
 }
@@ -0,0 +1,155 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.LoginAttempt;
+import dev.swirlit.indezy.repository.LoginAttemptRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Login attempt store shared by all replicas through the {@code login_attempts} table. Failures are
+ * first counted in memory and written every {@code flush-interval-ms} as one atomic increment per
+ * account, so a burst of attempts against one account costs one write per interval instead of one
+ * per attempt; reads add the unflushed failures of this replica to the stored count. Pending
+ * failures are also flushed as soon as {@code max-entries} accounts are pending. Expired rows are
+ * deleted by {@link #deleteExpired()}.
+ */
+@Component
+@ConditionalOnProperty(name = "indezy.security.login-attempts.store", havingValue = "database")
+@Slf4j
+public class DatabaseLoginAttemptStore implements LoginAttemptStore {
+
+    private final LoginAttemptRepository loginAttemptRepository;
+    private final TransactionTemplate transaction;
+    private final Clock clock;
+    private final int maxPending;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+    public DatabaseLoginAttemptStore(LoginAttemptRepository loginAttemptRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${indezy.security.login-attempts.max-entries:100000}") int maxPending) {
+        this.loginAttemptRepository = loginAttemptRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.clock = Clock.systemUTC();
+        this.maxPending = maxPending;
+    }
+
+    @Override
+    public Attempt get(String key, Instant now) {
+        String digest = digest(key);
+        Attempt stored = loginAttemptRepository.findByAttemptKey(digest)
+            .map(row -> new Attempt(row.getFailures(), row.getWindowEnd().toInstant(ZoneOffset.UTC)))
+            .filter(attempt -> !now.isAfter(attempt.windowEnd()))
+            .orElse(null);
+        Pending unflushed = pending.get(digest);
+        if (unflushed == null) {
+            return stored;
+        }
+        if (stored == null) {
+            return new Attempt(unflushed.failures(), unflushed.windowStart().plus(unflushed.window()));
+        }
+        return new Attempt(stored.count() + unflushed.failures(), stored.windowEnd());
+    }
+
+    @Override
+    public void recordFailure(String key, Instant now, Duration window) {
+        pending.merge(digest(key), new Pending(1, now, window),
+            (existing, added) -> new Pending(existing.failures() + 1, existing.windowStart(), existing.window()));
+        if (pending.size() >= maxPending) {
+            flush();
+        }
+    }
+
+    @Override
+    public void clear(String key) {
+        String digest = digest(key);
+        pending.remove(digest);
+        transaction.executeWithoutResult(status -> loginAttemptRepository.deleteByAttemptKey(digest));
+    }
+
+    /** Writes the failures counted since the last flush, one statement per account. */
+    @Scheduled(fixedDelayString = "${indezy.security.login-attempts.flush-interval-ms:1000}")
+    @PreDestroy
+    public void flush() {
+        for (String digest : List.copyOf(pending.keySet())) {
+            Pending failures = pending.remove(digest);
+            if (failures == null) {
+                continue;
+            }
+            try {
+                write(digest, failures);
+            } catch (RuntimeException e) {
+                log.warn("Could not store failed login attempts; retrying on the next flush", e);
+                pending.merge(digest, failures, Pending::plus);
+            }
+        }
+    }
+
+    /** Deletes the rows whose lockout window has ended. */
+    @Scheduled(cron = "${indezy.security.login-attempts.sweep-cron:0 */10 * * * *}")
+    public void deleteExpired() {
+        Integer deleted = transaction.execute(status ->
+            loginAttemptRepository.deleteExpired(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC)));
+        log.debug("Deleted {} expired login attempt rows", deleted);
+    }
+
+    private void write(String digest, Pending failures) {
+        LocalDateTime windowStart = LocalDateTime.ofInstant(failures.windowStart(), ZoneOffset.UTC);
+        LocalDateTime windowEnd = windowStart.plus(failures.window());
+        Integer updated = transaction.execute(status ->
+            loginAttemptRepository.addFailures(digest, failures.failures(), windowStart, windowEnd));
+        if (updated != null && updated > 0) {
+            return;
+        }
+        try {
+            transaction.executeWithoutResult(status -> {
+                LoginAttempt created = new LoginAttempt();
+                created.setAttemptKey(digest);
+                created.setFailures(failures.failures());
+                created.setWindowEnd(windowEnd);
+                loginAttemptRepository.saveAndFlush(created);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another replica inserted the row first.
+            transaction.execute(status ->
+                loginAttemptRepository.addFailures(digest, failures.failures(), windowStart, windowEnd));
+        }
+    }
+
+    private static String digest(String key) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /** Failures of one account not written yet; the window starts at the first of them. */
+    private record Pending(int failures, Instant windowStart, Duration window) {
+
+        private Pending plus(Pending other) {
+            Instant start = windowStart.isBefore(other.windowStart) ? windowStart : other.windowStart;
+            return new Pending(failures + other.failures, start, window);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.enums.TravelMode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import tools.jackson.databind.JsonNode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client of the Google Maps Distance Matrix API. {@link #fetch} deduplicates the destinations,
+ * packs them into requests of up to {@code indezy.commute.distance-matrix.batch-size} destinations
+ * (25, the API limit) and sends the requests concurrently on virtual threads over one pooled JDK
+ * HTTP client. At most {@code max-concurrent-requests} requests are in flight across all callers,
+ * and a call gives up on the requests still pending after {@code deadline}. Each request is bounded
+ * by {@code connect-timeout} and {@code read-timeout}.
+ *
+ * <p>A {@link CircuitBreaker} opens after {@code failure-threshold} failed requests in a row
+ * (errors, timeouts, abandoned requests, non-OK statuses) and then rejects every request for
+ * {@code open-duration} before letting one trial through, so callers fall back to cached and
+ * estimated commutes at once instead of waiting on a failing upstream.
+ *
+ * <p>Requests are published as {@code commute.upstream.calls} tagged by {@code outcome}, the
+ * requests abandoned at the deadline as {@code commute.upstream.deadline.exceeded}, the requests
+ * not sent as {@code commute.upstream.rejected} tagged by {@code reason} ({@code circuit-open} or
+ * {@code bulkhead-full}), and the breaker as {@code commute.upstream.circuit.state} and
+ * {@code commute.upstream.circuit.transitions}, both tagged by {@code state}.
+ */
+@Service
+@Slf4j
+public class DistanceMatrixClient implements MeterBinder {
+
+    static final String DISTANCE_MATRIX_URL = "https://maps.googleapis.com/maps/api/distancematrix/json";
+    private static final String STATUS_FIELD = "status";
+    private static final String STATUS_OK = "OK";
+
+    private final RestTemplate restTemplate;
+    private final String url;
+    private final String apiKey;
+    private final int batchSize;
+    private final int maxConcurrentRequests;
+    private final Duration deadline;
+    private final Semaphore permits;
+    private final CircuitBreaker circuitBreaker;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder upstreamFailures = new LongAdder();
+    private final LongAdder deadlineExceeded = new LongAdder();
+    private final LongAdder rejectedByCircuit = new LongAdder();
+    private final LongAdder rejectedByBulkhead = new LongAdder();
+
+    @Autowired
+    public DistanceMatrixClient(@Value("${indezy.commute.distance-matrix.url:" + DISTANCE_MATRIX_URL + "}") String url,
+                                @Value("${google.maps.api-key:}") String apiKey,
+                                @Value("${indezy.commute.distance-matrix.batch-size:25}") int batchSize,
+                                @Value("${indezy.commute.distance-matrix.max-concurrent-requests:8}") int maxConcurrentRequests,
+                                @Value("${indezy.commute.distance-matrix.connect-timeout:2s}") Duration connectTimeout,
+                                @Value("${indezy.commute.distance-matrix.read-timeout:3s}") Duration readTimeout,
+                                @Value("${indezy.commute.distance-matrix.deadline:5s}") Duration deadline,
+                                @Value("${indezy.commute.distance-matrix.failure-threshold:5}") int failureThreshold,
+                                @Value("${indezy.commute.distance-matrix.open-duration:30s}") Duration openDuration) {
+        this(pooledRestTemplate(connectTimeout, readTimeout), url, apiKey, batchSize, maxConcurrentRequests, deadline,
+            new CircuitBreaker("distance-matrix", failureThreshold, openDuration, Clock.systemUTC()));
+    }
+
+    DistanceMatrixClient(RestTemplate restTemplate, String url, String apiKey,
+                         int batchSize, int maxConcurrentRequests, Duration deadline, CircuitBreaker circuitBreaker) {
+        if (batchSize < 1 || batchSize > 25 || maxConcurrentRequests < 1 || deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("Invalid Distance Matrix client settings");
+        }
+        this.restTemplate = restTemplate;
+        this.url = url;
+        this.apiKey = apiKey;
+        this.batchSize = batchSize;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.deadline = deadline;
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /** Whether an API key is configured; without one no request is sent. */
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    /**
+     * The routes from {@code origin} to each destination, keyed by destination. Destinations the
+     * API could not route, and those of requests that failed, missed the deadline or were rejected
+     * by the circuit breaker or the bulkhead, are absent.
+     */
+    public Map<String, CommuteCache.Route> fetch(String origin, Collection<String> destinations, TravelMode travelMode) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(destinations));
+        distinct.removeIf(String::isBlank);
+        if (distinct.isEmpty() || !isConfigured()) {
+            return Map.of();
+        }
+
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        List<Future<Map<String, CommuteCache.Route>>> requests = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += batchSize) {
+            List<String> batch = distinct.subList(from, Math.min(from + batchSize, distinct.size()));
+            requests.add(executor.submit(() -> fetchBatch(origin, batch, travelMode, deadlineNanos)));
+        }
+
+        Map<String, CommuteCache.Route> routes = new HashMap<>();
+        for (Future<Map<String, CommuteCache.Route>> request : requests) {
+            try {
+                routes.putAll(request.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                request.cancel(true);
+                deadlineExceeded.increment();
+                log.warn("Distance Matrix request missed the {} deadline", deadline);
+            } catch (ExecutionException e) {
+                // Any failure (HTTP, parsing, ...) degrades to commutes without duration.
+                log.error("Error calling Google Maps Distance Matrix API", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                requests.forEach(pending -> pending.cancel(true));
+                break;
+            }
+        }
+        return routes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("commute.upstream.calls", upstreamCalls, calls -> calls.sum() - upstreamFailures.sum())
+            .tags("outcome", "success").register(registry);
+        FunctionCounter.builder("commute.upstream.calls", upstreamFailures, LongAdder::sum)
+            .tags("outcome", "failure").register(registry);
+        FunctionCounter.builder("commute.upstream.deadline.exceeded", deadlineExceeded, LongAdder::sum)
+            .register(registry);
+        Gauge.builder("commute.upstream.in.flight", permits, p -> maxConcurrentRequests - p.availablePermits())
+            .register(registry);
+        FunctionCounter.builder("commute.upstream.rejected", rejectedByCircuit, LongAdder::sum)
+            .tags("reason", "circuit-open").register(registry);
+        FunctionCounter.builder("commute.upstream.rejected", rejectedByBulkhead, LongAdder::sum)
+            .tags("reason", "bulkhead-full").register(registry);
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            String tag = state.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("commute.upstream.circuit.state", circuitBreaker, breaker -> breaker.state() == state ? 1 : 0)
+                .tags("state", tag).register(registry);
+            FunctionCounter.builder("commute.upstream.circuit.transitions", circuitBreaker,
+                    breaker -> breaker.transitionsTo(state))
+                .tags("state", tag).register(registry);
+        }
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Map<String, CommuteCache.Route> fetchBatch(String origin, List<String> batch, TravelMode travelMode,
+                                                       long deadlineNanos) throws InterruptedException {
+        if (!permits.tryAcquire(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+            rejectedByBulkhead.increment();
+            log.warn("No Distance Matrix request slot before the {} deadline", deadline);
+            return Map.of();
+        }
+        try {
+            CircuitBreaker.Permit circuitPermit = circuitBreaker.tryAcquire();
+            if (circuitPermit == null) {
+                rejectedByCircuit.increment();
+                return Map.of();
+            }
+            try (circuitPermit) {
+                URI uri = UriComponentsBuilder.fromUriString(url)
+                    .queryParam("origins", origin)
+                    .queryParam("destinations", String.join("|", batch))
+                    .queryParam("mode", travelMode == TravelMode.DRIVING ? "driving" : "transit")
+                    .queryParam("language", "fr")
+                    .queryParam("key", apiKey)
+                    .encode()
+                    .build()
+                    .toUri();
+
+                upstreamCalls.increment();
+                JsonNode response;
+                try {
+                    response = restTemplate.getForObject(uri, JsonNode.class);
+                } catch (RuntimeException e) {
+                    upstreamFailures.increment();
+                    circuitPermit.onFailure();
+                    throw e;
+                }
+                if (response == null || !STATUS_OK.equals(response.path(STATUS_FIELD).asString())) {
+                    circuitPermit.onFailure();
+                    log.warn("Distance Matrix API returned status: {}",
+                        response != null ? response.path(STATUS_FIELD).asString() : "null response");
+                    return Map.of();
+                }
+                circuitPermit.onSuccess();
+                return parse(response, origin, batch);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Map<String, CommuteCache.Route> parse(JsonNode response, String origin, List<String> batch) {
+        // One row for the single origin, with one element per destination in request order.
+        JsonNode elements = response.path("rows").path(0).path("elements");
+        Map<String, CommuteCache.Route> routes = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            JsonNode element = elements.path(i);
+            String elementStatus = element.path(STATUS_FIELD).asString();
+            if (STATUS_OK.equals(elementStatus)) {
+                routes.put(batch.get(i), new CommuteCache.Route(
+                    element.path("duration").path("value").asInt(),
+                    element.path("duration").path("text").asString(),
+                    element.path("distance").path("value").asInt(),
+                    element.path("distance").path("text").asString()));
+            } else {
+                log.warn("Distance Matrix API returned element status: {} for origin={}, destination={}",
+                    elementStatus, origin, batch.get(i));
+            }
+        }
+        return routes;
+    }
+
+    private static RestTemplate pooledRestTemplate(Duration connectTimeout, Duration readTimeout) {
+        // The JDK client keeps connections alive and reuses them across requests.
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(connectTimeout)
+            .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return new RestTemplate(requestFactory);
+    }
+}
@@ -23,6 +23,11 @@ public class FreelanceService {
     private final FreelanceRepository freelanceRepository;
     private final FreelanceMapper freelanceMapper;
     private final PasswordEncoder passwordEncoder;
+    private final FreelanceViewCache viewCache;
+    private final CommuteCache commuteCache;
+    private final CommutePrecomputeService commutePrecomputeService;
+    private final SearchIndex searchIndex;
+    private final SkillTagService skillTagService;
 
     @Transactional(readOnly = true)
     public List<FreelanceDto> findAll() {
@@ -83,8 +88,18 @@ public class FreelanceService {
             throw new IllegalArgumentException("Email already exists: " + freelanceDto.getEmail());
         }
 
+        String previousAddress = CommuteCache.formatAddress(existingFreelance.getAddress(), existingFreelance.getCity());
         freelanceMapper.updateEntity(freelanceDto, existingFreelance);
+        boolean addressChanged = !previousAddress.equals(
+            CommuteCache.formatAddress(existingFreelance.getAddress(), existingFreelance.getCity()));
+        if (addressChanged) {
+            existingFreelance.clearLocation();
+        }
         Freelance updatedFreelance = freelanceRepository.save(existingFreelance);
+        if (addressChanged) {
+            commuteCache.evictAddress(previousAddress);
+            commutePrecomputeService.refresh(updatedFreelance.getId());
+        }
         
         log.info("Updated freelance with id: {}", updatedFreelance.getId());
         return freelanceMapper.toDto(updatedFreelance);
@@ -98,6 +113,9 @@ public class FreelanceService {
         }
 
         freelanceRepository.deleteById(id);
+        viewCache.invalidateAll(id);
+        searchIndex.invalidate(id);
+        skillTagService.invalidate(id);
         log.info("Deleted freelance with id: {}", id);
     }
 
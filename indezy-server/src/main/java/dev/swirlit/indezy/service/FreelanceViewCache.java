@@ -0,0 +1,291 @@
+package dev.swirlit.indezy.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of the read-mostly views the web UI reloads on every navigation
+ * (Kanban board, dashboard, client and source facets), keyed by freelance id. Each view keeps at
+ * most {@code max-entries} freelances, least recently read evicted first, and an entry is fresh
+ * for {@code ttl}. During the following {@code stale-ttl} an expired entry is still served while
+ * one background refresh reloads it (stale-while-revalidate); a zero {@code stale-ttl} reloads
+ * expired entries synchronously instead.
+ *
+ * <p>The mutating services invalidate the views they affect. Invalidation happens immediately and
+ * again after the surrounding transaction commits, and a load started before an invalidation of
+ * its view is returned to its caller but not stored, so a reader racing a writer never caches the
+ * pre-commit state. Cached values are shared between callers and must not be modified.
+ *
+ * <p>Hits, stale hits, misses, refreshes, evictions, expirations and invalidations are counted per
+ * view and published as {@code cache.*} meters tagged {@code cache=freelance.<view>}.
+ */
+@Service
+@Slf4j
+public class FreelanceViewCache implements MeterBinder {
+
+    /** A cached view of one freelance's data. */
+    public enum View {
+        KANBAN,
+        DASHBOARD,
+        CLIENT_CITIES,
+        CLIENT_DOMAINS,
+        SOURCE_TYPES
+    }
+
+    /** Counters of one view since startup, and its current size. */
+    public record Stats(long hits, long staleHits, long misses, long refreshes, long evictions,
+                        long expirations, long invalidations, int size) {
+    }
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long staleTtlNanos;
+    private final LongSupplier clock;
+    private final TransactionTemplate refreshTransaction;
+    private final ExecutorService refreshExecutor;
+    private final Map<View, Region> regions = new EnumMap<>(View.class);
+
+    @Autowired
+    public FreelanceViewCache(@Value("${indezy.view-cache.enabled:true}") boolean enabled,
+                              @Value("${indezy.view-cache.max-entries:500}") int maxEntries,
+                              @Value("${indezy.view-cache.ttl:60s}") Duration ttl,
+                              @Value("${indezy.view-cache.stale-ttl:5m}") Duration staleTtl,
+                              @Value("${indezy.view-cache.refresh-threads:2}") int refreshThreads,
+                              PlatformTransactionManager transactionManager) {
+        this(enabled, maxEntries, ttl, staleTtl, refreshThreads, transactionManager, System::nanoTime);
+    }
+
+    FreelanceViewCache(boolean enabled, int maxEntries, Duration ttl, Duration staleTtl, int refreshThreads,
+                       PlatformTransactionManager transactionManager, LongSupplier clock) {
+        if (maxEntries < 1 || refreshThreads < 1 || ttl.isNegative() || staleTtl.isNegative()) {
+            throw new IllegalArgumentException("Invalid view cache settings");
+        }
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.staleTtlNanos = staleTtl.toNanos();
+        this.clock = clock;
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        AtomicInteger threads = new AtomicInteger();
+        this.refreshExecutor = Executors.newFixedThreadPool(refreshThreads, task -> {
+            Thread thread = new Thread(task, "view-cache-refresh-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (View view : View.values()) {
+            regions.put(view, new Region());
+        }
+    }
+
+    /**
+     * The cached view of a freelance, loaded with {@code loader} on a miss. The loader runs in the
+     * caller's transaction, or in a new one for a background refresh.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(View view, Long freelanceId, Supplier<T> loader) {
+        if (!enabled || freelanceId == null) {
+            return loader.get();
+        }
+        Region region = regions.get(view);
+        Entry stale = null;
+        long generation;
+        synchronized (region) {
+            Entry entry = region.entries.get(freelanceId);
+            if (entry != null) {
+                long age = clock.getAsLong() - entry.loadedAt;
+                if (age < ttlNanos) {
+                    region.hits++;
+                    return (T) entry.value;
+                }
+                if (age < ttlNanos + staleTtlNanos) {
+                    region.staleHits++;
+                    if (entry.refreshing) {
+                        return (T) entry.value;
+                    }
+                    entry.refreshing = true;
+                    stale = entry;
+                } else {
+                    region.entries.remove(freelanceId);
+                    region.expirations++;
+                }
+            }
+            if (stale == null) {
+                region.misses++;
+            }
+            generation = region.generation;
+        }
+
+        if (stale != null) {
+            scheduleRefresh(view, freelanceId, loader, stale, generation);
+            return (T) stale.value;
+        }
+        T value = loader.get();
+        store(region, freelanceId, value, generation);
+        return value;
+    }
+
+    /**
+     * Drops the given views of a freelance, now and again once the current transaction (if any)
+     * has committed.
+     */
+    public void invalidate(Long freelanceId, View... views) {
+        if (!enabled || freelanceId == null) {
+            return;
+        }
+        invalidateNow(freelanceId, views);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(freelanceId, views);
+                }
+            });
+        }
+    }
+
+    /** Drops every view of a freelance. */
+    public void invalidateAll(Long freelanceId) {
+        invalidate(freelanceId, View.values());
+    }
+
+    public Stats stats(View view) {
+        Region region = regions.get(view);
+        synchronized (region) {
+            return new Stats(region.hits, region.staleHits, region.misses, region.refreshes, region.evictions,
+                region.expirations, region.invalidations, region.entries.size());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (View view : View.values()) {
+            String name = "freelance." + view.name().toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("cache.gets", this, cache -> cache.stats(view).hits())
+                .tags("cache", name, "result", "hit").register(registry);
+            FunctionCounter.builder("cache.gets", this, cache -> cache.stats(view).staleHits())
+                .tags("cache", name, "result", "stale").register(registry);
+            FunctionCounter.builder("cache.gets", this, cache -> cache.stats(view).misses())
+                .tags("cache", name, "result", "miss").register(registry);
+            FunctionCounter.builder("cache.refreshes", this, cache -> cache.stats(view).refreshes())
+                .tags("cache", name).register(registry);
+            FunctionCounter.builder("cache.evictions", this, cache -> cache.stats(view).evictions())
+                .tags("cache", name).register(registry);
+            FunctionCounter.builder("cache.expirations", this, cache -> cache.stats(view).expirations())
+                .tags("cache", name).register(registry);
+            FunctionCounter.builder("cache.invalidations", this, cache -> cache.stats(view).invalidations())
+                .tags("cache", name).register(registry);
+            Gauge.builder("cache.size", this, cache -> cache.stats(view).size())
+                .tags("cache", name).register(registry);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void scheduleRefresh(View view, Long freelanceId, Supplier<?> loader, Entry stale, long generation) {
+        Region region = regions.get(view);
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Object value = refreshTransaction.execute(status -> loader.get());
+                    store(region, freelanceId, value, generation);
+                    synchronized (region) {
+                        region.refreshes++;
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Refreshing the {} view of freelance {} failed", view, freelanceId, e);
+                } finally {
+                    synchronized (region) {
+                        stale.refreshing = false;
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            synchronized (region) {
+                stale.refreshing = false;
+            }
+        }
+    }
+
+    private void store(Region region, Long freelanceId, Object value, long generation) {
+        synchronized (region) {
+            // An invalidation since the load started: the value may predate the change.
+            if (region.generation == generation) {
+                region.entries.put(freelanceId, new Entry(value, clock.getAsLong()));
+            }
+        }
+    }
+
+    private void invalidateNow(Long freelanceId, View... views) {
+        for (View view : views) {
+            Region region = regions.get(view);
+            synchronized (region) {
+                region.generation++;
+                if (region.entries.remove(freelanceId) != null) {
+                    region.invalidations++;
+                }
+            }
+        }
+    }
+
+    /** The entries and counters of one view; guarded by its own monitor. */
+    private final class Region {
+
+        private final Map<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        private long generation;
+        private long hits;
+        private long staleHits;
+        private long misses;
+        private long refreshes;
+        private long evictions;
+        private long expirations;
+        private long invalidations;
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long loadedAt;
+        private boolean refreshing;
+
+        private Entry(Object value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.repository.ClientRepository;
+import dev.swirlit.indezy.repository.FreelanceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import tools.jackson.databind.JsonNode;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Looks up the coordinates of client and freelance addresses once, in the background, for
+ * {@link CommuteEstimator}. Every {@code interval-ms}, up to {@code batch-size} clients and
+ * freelances whose address is not geocoded yet are looked up with the Google Geocoding API when
+ * {@code google.maps.api-key} is set, and with OpenStreetMap Nominatim otherwise, at most one
+ * request per {@code min-interval}. Runs take minutes at that pace, so they happen on a thread of
+ * their own rather than on the shared scheduler thread, one at a time. Disabled by default, since
+ * without a key the addresses are sent to the public Nominatim service. An address change clears
+ * the coordinates, so the new address is picked up by the next run. An address the provider cannot
+ * find is recorded without coordinates and not retried; a failed request is retried by the next
+ * run. New coordinates queue the freelance for {@link CommutePrecomputeService}, so its commute
+ * estimates are recomputed.
+ */
+@Service
+@Slf4j
+public class GeocodingService {
+
+    static final String GOOGLE_GEOCODING_URL = "https://maps.googleapis.com/maps/api/geocode/json";
+    static final String NOMINATIM_URL = "https://nominatim.openstreetmap.org/search";
+
+    /** Coordinates in decimal degrees. */
+    private record Location(double latitude, double longitude) {
+    }
+
+    private final ClientRepository clientRepository;
+    private final FreelanceRepository freelanceRepository;
+    private final CommutePrecomputeService commutePrecomputeService;
+    private final TransactionTemplate transaction;
+    private final RestTemplate restTemplate;
+    private final boolean enabled;
+    private final String googleApiKey;
+    private final String nominatimUrl;
+    private final int batchSize;
+    private final Duration minInterval;
+    private final Executor runner;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private long lastRequestNanos;
+
+    @Autowired
+    public GeocodingService(ClientRepository clientRepository,
+                            FreelanceRepository freelanceRepository,
+                            CommutePrecomputeService commutePrecomputeService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${indezy.commute.geocoding.enabled:false}") boolean enabled,
+                            @Value("${google.maps.api-key:}") String googleApiKey,
+                            @Value("${indezy.commute.geocoding.nominatim-url:" + NOMINATIM_URL + "}") String nominatimUrl,
+                            @Value("${indezy.commute.geocoding.batch-size:50}") int batchSize,
+                            @Value("${indezy.commute.geocoding.min-interval:1s}") Duration minInterval) {
+        this(clientRepository, freelanceRepository, commutePrecomputeService, transactionManager, new RestTemplate(),
+            enabled, googleApiKey, nominatimUrl, batchSize, minInterval, runner());
+    }
+
+    GeocodingService(ClientRepository clientRepository, FreelanceRepository freelanceRepository,
+                     CommutePrecomputeService commutePrecomputeService,
+                     PlatformTransactionManager transactionManager, RestTemplate restTemplate,
+                     boolean enabled, String googleApiKey, String nominatimUrl, int batchSize, Duration minInterval,
+                     Executor runner) {
+        this.clientRepository = clientRepository;
+        this.freelanceRepository = freelanceRepository;
+        this.commutePrecomputeService = commutePrecomputeService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.restTemplate = restTemplate;
+        this.enabled = enabled;
+        this.googleApiKey = googleApiKey;
+        this.nominatimUrl = nominatimUrl;
+        this.batchSize = batchSize;
+        this.minInterval = minInterval;
+        this.runner = runner;
+    }
+
+    /** Starts a run on the geocoding thread, unless the previous one is still going. */
+    @Scheduled(fixedDelayString = "${indezy.commute.geocoding.interval-ms:60000}")
+    public void schedule() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            runner.execute(() -> {
+                try {
+                    geocodePending();
+                } catch (RuntimeException e) {
+                    log.warn("Geocoding run failed", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+        }
+    }
+
+    /** Geocodes the next batch of pending clients and freelances; returns how many were stored. */
+    int geocodePending() {
+        if (!enabled) {
+            return 0;
+        }
+        int stored = 0;
+        for (Freelance freelance : freelanceRepository.findPendingGeocoding(Limit.of(batchSize))) {
+            stored += geocode(freelance.getId(), freelance.getVersion(),
+                CommuteCache.formatAddress(freelance.getAddress(), freelance.getCity()), freelanceRepository::updateLocation,
+                freelance.getId());
+        }
+        for (Client client : clientRepository.findPendingGeocoding(Limit.of(batchSize))) {
+            stored += geocode(client.getId(), client.getVersion(),
+                CommuteCache.formatAddress(client.getAddress(), client.getCity()), clientRepository::updateLocation,
+                client.getFreelance().getId());
+        }
+        if (stored > 0) {
+            log.info("Geocoded {} client and freelance addresses", stored);
+        }
+        return stored;
+    }
+
+    /** Looks up and stores one address; new coordinates refresh the precomputed commutes of the freelance. */
+    private int geocode(Long id, Long version, String address, LocationUpdate update, Long freelanceId) {
+        Location location;
+        try {
+            location = address.isBlank() ? null : lookup(address).orElse(null);
+        } catch (RuntimeException e) {
+            log.warn("Geocoding failed, will retry: {}", e.getMessage());
+            return 0;
+        }
+        Double latitude = location != null ? location.latitude() : null;
+        Double longitude = location != null ? location.longitude() : null;
+        int stored = transaction.execute(status -> update.apply(id, version, latitude, longitude, address));
+        if (stored > 0 && location != null) {
+            commutePrecomputeService.refresh(freelanceId);
+        }
+        return stored;
+    }
+
+    /** The location of an address, or empty if the provider does not know it; throws if the request failed. */
+    private Optional<Location> lookup(String address) {
+        throttle();
+        return googleApiKey != null && !googleApiKey.isBlank() ? google(address) : nominatim(address);
+    }
+
+    private Optional<Location> google(String address) {
+        URI uri = UriComponentsBuilder.fromUriString(GOOGLE_GEOCODING_URL)
+            .queryParam("address", address)
+            .queryParam("key", googleApiKey)
+            .encode()
+            .build()
+            .toUri();
+        JsonNode response = restTemplate.getForObject(uri, JsonNode.class);
+        String status = response != null ? response.path("status").asString() : "null response";
+        if ("ZERO_RESULTS".equals(status)) {
+            return Optional.empty();
+        }
+        if (!"OK".equals(status)) {
+            throw new IllegalStateException("Geocoding API returned status: " + status);
+        }
+        JsonNode location = response.path("results").path(0).path("geometry").path("location");
+        return Optional.of(new Location(location.path("lat").asDouble(), location.path("lng").asDouble()));
+    }
+
+    private Optional<Location> nominatim(String address) {
+        URI uri = UriComponentsBuilder.fromUriString(nominatimUrl)
+            .queryParam("q", address)
+            .queryParam("format", "jsonv2")
+            .queryParam("limit", 1)
+            .encode()
+            .build()
+            .toUri();
+        // The Nominatim usage policy requires an identifying User-Agent.
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.USER_AGENT, "indezy-server");
+        JsonNode response = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), JsonNode.class)
+            .getBody();
+        if (response == null || response.isEmpty()) {
+            return Optional.empty();
+        }
+        JsonNode place = response.path(0);
+        return Optional.of(new Location(place.path("lat").asDouble(), place.path("lon").asDouble()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (runner instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ExecutorService runner() {
+        return Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "geocoding");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void throttle() {
+        long wait = lastRequestNanos + minInterval.toNanos() - System.nanoTime();
+        if (lastRequestNanos != 0 && wait > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(wait));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to geocode", e);
+            }
+        }
+        lastRequestNanos = System.nanoTime();
+    }
+
+    @FunctionalInterface
+    private interface LocationUpdate {
+        int apply(Long id, Long version, Double latitude, Double longitude, String geocodedAddress);
+    }
+}
@@ -0,0 +1,84 @@
+package dev.swirlit.indezy.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, self-expiring login attempt store of a single instance. Entries are kept in the order
+ * their window started; as every window has the same length, that is also the order in which they
+ * expire, so each call first drops the expired entries at the head (amortized constant time).
+ * Beyond {@code max-entries} the oldest window is evicted, so a credential-stuffing run over many
+ * distinct accounts cannot grow the heap without limit.
+ */
+@Component
+@ConditionalOnProperty(name = "indezy.security.login-attempts.store", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private final int maxEntries;
+    private long evictions;
+
+    private final Map<String, Attempt> attempts = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Attempt> eldest) {
+            if (size() <= maxEntries) {
+                return false;
+            }
+            if (evictions++ == 0) {
+                log.warn("Login attempt store is full ({} accounts); evicting the oldest lockout windows", maxEntries);
+            }
+            return true;
+        }
+    };
+
+    public InMemoryLoginAttemptStore(@Value("${indezy.security.login-attempts.max-entries:100000}") int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Login attempt store needs at least one entry");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public synchronized Attempt get(String key, Instant now) {
+        sweep(now);
+        return attempts.get(key);
+    }
+
+    @Override
+    public synchronized void recordFailure(String key, Instant now, Duration window) {
+        sweep(now);
+        Attempt existing = attempts.get(key);
+        // Re-putting an existing key keeps its position, i.e. the start of its window.
+        attempts.put(key, existing == null
+            ? new Attempt(1, now.plus(window))
+            : new Attempt(existing.count() + 1, existing.windowEnd()));
+    }
+
+    @Override
+    public synchronized void clear(String key) {
+        attempts.remove(key);
+    }
+
+    synchronized int size() {
+        return attempts.size();
+    }
+
+    synchronized long evictions() {
+        return evictions;
+    }
+
+    private void sweep(Instant now) {
+        Iterator<Attempt> iterator = attempts.values().iterator();
+        while (iterator.hasNext() && now.isAfter(iterator.next().windowEnd())) {
+            iterator.remove();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package dev.swirlit.indezy.service;
 
+import dev.swirlit.indezy.dto.CursorPageDto;
 import dev.swirlit.indezy.dto.InterviewStepDto;
 import dev.swirlit.indezy.dto.StepTransitionDto;
 import dev.swirlit.indezy.exception.ResourceNotFoundException;
@@ -9,6 +10,7 @@ import dev.swirlit.indezy.model.Project;
 import dev.swirlit.indezy.model.enums.StepStatus;
 import dev.swirlit.indezy.repository.InterviewStepRepository;
 import dev.swirlit.indezy.repository.ProjectRepository;
+import dev.swirlit.indezy.util.CursorPagination;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -28,6 +30,9 @@ public class InterviewStepService {
     private final InterviewStepRepository interviewStepRepository;
     private final ProjectRepository projectRepository;
     private final InterviewStepMapper interviewStepMapper;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final AggregateCounterService aggregateCounterService;
+    private final FreelanceViewCache viewCache;
 
     @Transactional(readOnly = true)
     public List<InterviewStepDto> findAll() {
@@ -73,6 +78,39 @@ public class InterviewStepService {
             .toList();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDto<InterviewStepDto> scrollAll(String cursor, Integer limit) {
+        log.debug("Scrolling interview steps after cursor: {}", cursor);
+        int pageSize = CursorPagination.resolveLimit(limit);
+        return CursorPagination.toPage(
+            interviewStepRepository.findByIdLessThanOrderByIdDesc(CursorPagination.decode(cursor), CursorPagination.fetchLimit(pageSize)),
+            pageSize, interviewStepMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<InterviewStepDto> scrollByProjectId(Long projectId, String cursor, Integer limit) {
+        log.debug("Scrolling interview steps by project id: {} after cursor: {}", projectId, cursor);
+        int pageSize = CursorPagination.resolveLimit(limit);
+        return CursorPagination.toPage(
+            interviewStepRepository.findByProjectIdAndIdLessThanOrderByIdDesc(projectId, CursorPagination.decode(cursor), CursorPagination.fetchLimit(pageSize)),
+            pageSize, interviewStepMapper::toDto);
+    }
+
+    /** Keyset page of a freelance's steps; a null status returns steps of every status. */
+    @Transactional(readOnly = true)
+    public CursorPageDto<InterviewStepDto> scrollByFreelanceIdAndStatus(Long freelanceId, StepStatus status,
+                                                                       String cursor, Integer limit) {
+        log.debug("Scrolling interview steps by freelance id: {} and status: {} after cursor: {}", freelanceId, status, cursor);
+        int pageSize = CursorPagination.resolveLimit(limit);
+        long afterId = CursorPagination.decode(cursor);
+        List<InterviewStep> rows = status != null
+            ? interviewStepRepository.findByProjectFreelanceIdAndStatusAndIdLessThanOrderByIdDesc(
+                freelanceId, status, afterId, CursorPagination.fetchLimit(pageSize))
+            : interviewStepRepository.findByProjectFreelanceIdAndIdLessThanOrderByIdDesc(
+                freelanceId, afterId, CursorPagination.fetchLimit(pageSize));
+        return CursorPagination.toPage(rows, pageSize, interviewStepMapper::toDto);
+    }
+
     public InterviewStepDto create(InterviewStepDto interviewStepDto) {
         log.debug("Creating new interview step for project: {}", interviewStepDto.getProjectId());
         
@@ -84,6 +122,7 @@ public class InterviewStepService {
         interviewStep.setProject(project);
         
         InterviewStep savedInterviewStep = interviewStepRepository.save(interviewStep);
+        recordStepChange(savedInterviewStep, null);
         
         log.info("Created interview step with id: {}", savedInterviewStep.getId());
         return interviewStepMapper.toDto(savedInterviewStep);
@@ -94,9 +133,11 @@ public class InterviewStepService {
         
         InterviewStep existingInterviewStep = interviewStepRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(String.format(STEP_NOT_FOUND_MSG, id)));
+        StepStatus previousStatus = existingInterviewStep.getStatus();
 
         interviewStepMapper.updateEntity(interviewStepDto, existingInterviewStep);
         InterviewStep updatedInterviewStep = interviewStepRepository.save(existingInterviewStep);
+        recordStepChange(updatedInterviewStep, previousStatus);
         
         log.info("Updated interview step with id: {}", updatedInterviewStep.getId());
         return interviewStepMapper.toDto(updatedInterviewStep);
@@ -109,6 +150,9 @@ public class InterviewStepService {
             throw new ResourceNotFoundException(String.format(STEP_NOT_FOUND_MSG, id));
         }
 
+        dashboardSnapshotService.recordStepRemoval(id);
+        aggregateCounterService.recordStepRemoval(id);
+        interviewStepRepository.findById(id).ifPresent(this::invalidateViews);
         interviewStepRepository.deleteById(id);
         log.info("Deleted interview step with id: {}", id);
     }
@@ -118,9 +162,11 @@ public class InterviewStepService {
         
         InterviewStep interviewStep = interviewStepRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(String.format(STEP_NOT_FOUND_MSG, id)));
+        StepStatus previousStatus = interviewStep.getStatus();
 
         interviewStep.setStatus(status);
         InterviewStep updatedInterviewStep = interviewStepRepository.save(interviewStep);
+        recordStepChange(updatedInterviewStep, previousStatus);
         
         log.info("Updated interview step status with id: {} to status: {}", id, status);
         return interviewStepMapper.toDto(updatedInterviewStep);
@@ -131,10 +177,12 @@ public class InterviewStepService {
         
         InterviewStep interviewStep = interviewStepRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(String.format(STEP_NOT_FOUND_MSG, id)));
+        StepStatus previousStatus = interviewStep.getStatus();
 
         interviewStep.setDate(date);
         interviewStep.setStatus(StepStatus.PLANNED);
         InterviewStep updatedInterviewStep = interviewStepRepository.save(interviewStep);
+        recordStepChange(updatedInterviewStep, previousStatus);
         
         log.info("Scheduled interview step with id: {} for date: {}", id, date);
         return interviewStepMapper.toDto(updatedInterviewStep);
@@ -174,8 +222,10 @@ public class InterviewStepService {
                     transitionDto.getFromStepTitle(), transitionDto.getProjectId())));
 
         // Mark the previous step as validated
+        StepStatus fromPreviousStatus = fromStep.getStatus();
         fromStep.setStatus(StepStatus.VALIDATED);
         interviewStepRepository.save(fromStep);
+        recordStepChange(fromStep, fromPreviousStatus);
 
         // Find or create the next step
         InterviewStep toStep = currentSteps.stream()
@@ -183,6 +233,7 @@ public class InterviewStepService {
             .findFirst()
             .orElse(null);
 
+        StepStatus toPreviousStatus = toStep != null ? toStep.getStatus() : null;
         if (toStep == null) {
             // Create new step if it doesn't exist
             Project project = projectRepository.findById(transitionDto.getProjectId())
@@ -205,8 +256,25 @@ public class InterviewStepService {
         }
 
         InterviewStep savedStep = interviewStepRepository.save(toStep);
+        recordStepChange(savedStep, toPreviousStatus);
         log.info("Transitioned project {} to step: {}", transitionDto.getProjectId(), transitionDto.getToStepTitle());
 
         return interviewStepMapper.toDto(savedStep);
     }
+
+    /** Reports a step change to the dashboard snapshot, the project step counters and the view cache. */
+    private void recordStepChange(InterviewStep step, StepStatus previousStatus) {
+        dashboardSnapshotService.recordStepChange(step, previousStatus);
+        if (step.getProject() != null) {
+            aggregateCounterService.recordStepChange(step.getProject().getId(), previousStatus, step.getStatus());
+        }
+        invalidateViews(step);
+    }
+
+    private void invalidateViews(InterviewStep step) {
+        if (step.getProject() != null && step.getProject().getFreelance() != null) {
+            viewCache.invalidate(step.getProject().getFreelance().getId(),
+                FreelanceViewCache.View.KANBAN, FreelanceViewCache.View.DASHBOARD);
+        }
+    }
 }
@@ -0,0 +1,125 @@
+package dev.swirlit.indezy.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * What a {@link JobHandler} sees of its running job. Progress, processed items and checkpoint are
+ * kept in memory and stored at most once per {@code reportInterval}, so a handler can report after
+ * every item without a write per item; storing also refreshes the heartbeat and picks up
+ * cancellation requests made on another instance.
+ */
+public final class JobContext {
+
+    private final Long jobId;
+    private final Long ownerId;
+    private final int attempt;
+    private final Clock clock;
+    private final Duration reportInterval;
+    private final Predicate<JobContext> store;
+
+    private volatile int progress;
+    private volatile String step;
+    private final AtomicLong processedItems;
+    private volatile String checkpoint;
+    private volatile boolean cancelled;
+    private Instant lastStored;
+
+    /**
+     * {@code store} writes the reported state and returns false once the job's cancellation was
+     * requested.
+     */
+    JobContext(Long jobId, Long ownerId, int attempt, String checkpoint, long processedItems,
+               Clock clock, Duration reportInterval, Predicate<JobContext> store) {
+        this.jobId = jobId;
+        this.ownerId = ownerId;
+        this.attempt = attempt;
+        this.checkpoint = checkpoint;
+        this.processedItems = new AtomicLong(processedItems);
+        this.clock = clock;
+        this.reportInterval = reportInterval;
+        this.store = store;
+        this.lastStored = clock.instant();
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    /** The freelance the job works for, null for application jobs. */
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    /** 1 for the first run, more when the job is resumed. */
+    public int getAttempt() {
+        return attempt;
+    }
+
+    /** The last checkpoint reported, or stored by an interrupted run; null when starting from scratch. */
+    public String getCheckpoint() {
+        return checkpoint;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    public long getProcessedItems() {
+        return processedItems.get();
+    }
+
+    public void progress(int percent, String step) {
+        this.progress = Math.clamp(percent, 0, 100);
+        this.step = step;
+        storeIfDue();
+    }
+
+    public void processed(long items) {
+        processedItems.addAndGet(items);
+        storeIfDue();
+    }
+
+    /** Records that the work up to {@code checkpoint} is done and need not be redone by a resumed run. */
+    public void checkpoint(String checkpoint) {
+        this.checkpoint = checkpoint;
+        storeIfDue();
+    }
+
+    public boolean isCancelled() {
+        if (!cancelled) {
+            storeIfDue();
+        }
+        return cancelled;
+    }
+
+    public void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException("Job " + jobId + " cancelled");
+        }
+    }
+
+    /** Cancellation requested on this instance. */
+    void cancel() {
+        cancelled = true;
+    }
+
+    private synchronized void storeIfDue() {
+        Instant now = clock.instant();
+        if (Duration.between(lastStored, now).compareTo(reportInterval) < 0) {
+            return;
+        }
+        lastStored = now;
+        if (!store.test(this)) {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.enums.JobType;
+
+/**
+ * The work behind one {@link JobType}, run by {@link JobService} on its worker pool. A run can be
+ * interrupted at any point by a restart and started again with the last stored
+ * {@link JobContext#getCheckpoint() checkpoint}, so everything done before the checkpoint must be
+ * safe to skip and everything after it safe to redo.
+ */
+public interface JobHandler {
+
+    JobType jobType();
+
+    /** Jobs of this type running at once across all owners, within the worker pool size. */
+    default int maxConcurrency() {
+        return 1;
+    }
+
+    /** Checks, on the submitting thread, that a job can be submitted for {@code ownerId}. */
+    default void validate(Long ownerId) {
+    }
+
+    /**
+     * Does the work, reporting progress and checkpoints through {@code context}, and returns the
+     * result stored on the job. Should call {@link JobContext#throwIfCancelled()} between steps.
+     */
+    String run(JobContext context) throws Exception;
+}
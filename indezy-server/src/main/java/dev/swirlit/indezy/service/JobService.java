@@ -0,0 +1,396 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.constants.ErrorMessages;
+import dev.swirlit.indezy.dto.JobDto;
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.model.BackgroundJob;
+import dev.swirlit.indezy.model.enums.JobStatus;
+import dev.swirlit.indezy.model.enums.JobType;
+import dev.swirlit.indezy.repository.BackgroundJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs heavy work (exports, recomputations) on a pool of {@code indezy.jobs.workers} threads,
+ * away from the request threads, with state persisted in the {@code background_jobs} table.
+ *
+ * <p>{@link #submit(JobType, Long)} stores a queued job and returns at once; a type runs at most
+ * once per owner at a time, so submitting again returns the active job. Queued jobs are claimed
+ * oldest first, within the pool size and the {@link JobHandler#maxConcurrency()} of their type, so
+ * one kind of job cannot take every worker; the database pool keeps connections for the requests
+ * as long as the worker pool is smaller than it. Jobs are claimed on submission, when a job
+ * finishes and every {@code poll-interval-ms}.
+ *
+ * <p>The poll also refreshes the heartbeat of the jobs running here and recovers the running jobs
+ * whose heartbeat is older than {@code stale-after} (their instance died): they are queued again
+ * and resume from their last checkpoint, up to {@code max-attempts} runs. Jobs interrupted by a
+ * graceful shutdown are queued again at once. Cancelling a queued job is immediate; a running job
+ * stops at the next {@link JobContext#throwIfCancelled()} of its handler.
+ */
+@Service
+@Slf4j
+public class JobService {
+
+    /** Jobs listed per owner, most recent first. */
+    static final int MAX_LISTED_JOBS = 50;
+
+    /** Queued jobs read per claim attempt; more than one in case another instance claims the first. */
+    private static final int CLAIM_CANDIDATES = 5;
+    private static final int MAX_TEXT_LENGTH = 1024;
+    private static final Set<JobStatus> ACTIVE = Set.of(JobStatus.QUEUED, JobStatus.RUNNING);
+    private static final Set<JobStatus> FINISHED = Set.of(JobStatus.COMPLETED, JobStatus.FAILED, JobStatus.CANCELLED);
+
+    private final BackgroundJobRepository jobRepository;
+    private final TransactionTemplate transaction;
+    // Looked up on first use: handlers submit jobs themselves, so they depend on this service.
+    private final ObjectProvider<JobHandler> handlerProvider;
+    private final Executor workers;
+    private final Semaphore workerPermits;
+    private final Clock clock;
+    private final Duration reportInterval;
+    private final Duration staleAfter;
+    private final int maxAttempts;
+    private final Duration retention;
+
+    private final Map<Long, JobContext> running = new ConcurrentHashMap<>();
+    private final Object dispatchLock = new Object();
+    private volatile Map<JobType, Registration> registrations;
+    private volatile boolean shuttingDown;
+
+    @Autowired
+    public JobService(BackgroundJobRepository jobRepository,
+                      PlatformTransactionManager transactionManager,
+                      ObjectProvider<JobHandler> handlerProvider,
+                      @Value("${indezy.jobs.workers:2}") int workers,
+                      @Value("${indezy.jobs.report-interval:1s}") Duration reportInterval,
+                      @Value("${indezy.jobs.stale-after:2m}") Duration staleAfter,
+                      @Value("${indezy.jobs.max-attempts:3}") int maxAttempts,
+                      @Value("${indezy.jobs.retention:7d}") Duration retention) {
+        this(jobRepository, transactionManager, handlerProvider, workers, workerPool(workers), Clock.systemDefaultZone(),
+            reportInterval, staleAfter, maxAttempts, retention);
+    }
+
+    JobService(BackgroundJobRepository jobRepository, PlatformTransactionManager transactionManager,
+               ObjectProvider<JobHandler> handlerProvider, int workers, Executor executor, Clock clock,
+               Duration reportInterval, Duration staleAfter, int maxAttempts, Duration retention) {
+        if (workers < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Invalid background job settings");
+        }
+        this.jobRepository = jobRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.handlerProvider = handlerProvider;
+        this.workers = executor;
+        this.workerPermits = new Semaphore(workers);
+        this.clock = clock;
+        this.reportInterval = reportInterval;
+        this.staleAfter = staleAfter;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+    }
+
+    /** Queues a job, or returns the job of the same type and owner already queued or running. */
+    public JobDto submit(JobType type, Long ownerId) {
+        Registration registration = registrations().get(type);
+        if (registration == null) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.JOB_TYPE_NOT_SUBMITTABLE, type));
+        }
+        registration.handler().validate(ownerId);
+        BackgroundJob job;
+        synchronized (this) {
+            Optional<BackgroundJob> active = jobRepository.findFirstByTypeAndOwnerIdAndStatusIn(type, ownerId, ACTIVE);
+            if (active.isPresent()) {
+                return toDto(active.get());
+            }
+            BackgroundJob created = new BackgroundJob();
+            created.setType(type);
+            created.setOwnerId(ownerId);
+            created.setStatus(JobStatus.QUEUED);
+            job = jobRepository.save(created);
+        }
+        log.info("Queued {} job {} for owner {}", type, job.getId(), ownerId);
+        dispatch();
+        return getJob(ownerId, job.getId());
+    }
+
+    /** Submits a job on behalf of a user, for the types the REST API accepts. */
+    public JobDto submitForUser(JobType type, Long ownerId) {
+        if (!type.isUserSubmittable()) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.JOB_TYPE_NOT_SUBMITTABLE, type));
+        }
+        return submit(type, ownerId);
+    }
+
+    public JobDto getJob(Long ownerId, Long jobId) {
+        return findJob(ownerId, jobId)
+            .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.JOB_NOT_FOUND, jobId)));
+    }
+
+    public Optional<JobDto> findJob(Long ownerId, Long jobId) {
+        return jobRepository.findByIdAndOwnerId(jobId, ownerId).map(this::toDto);
+    }
+
+    public List<JobDto> getJobs(Long ownerId) {
+        return jobRepository.findByOwnerIdOrderByIdDesc(ownerId, Limit.of(MAX_LISTED_JOBS)).stream()
+            .map(this::toDto)
+            .toList();
+    }
+
+    /**
+     * Cancels a queued job at once, or asks a running one to stop; throws
+     * {@link IllegalArgumentException} for a finished job.
+     */
+    public JobDto cancel(Long ownerId, Long jobId) {
+        JobDto job = getJob(ownerId, jobId);
+        if (!job.getStatus().isActive()) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.JOB_ALREADY_FINISHED, jobId));
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        transaction.executeWithoutResult(status -> {
+            if (jobRepository.cancelQueued(jobId, JobStatus.QUEUED, JobStatus.CANCELLED, now) == 0) {
+                jobRepository.requestCancel(jobId, JobStatus.RUNNING);
+            }
+        });
+        JobContext context = running.get(jobId);
+        if (context != null) {
+            context.cancel();
+        }
+        log.info("Cancellation requested for job {}", jobId);
+        return getJob(ownerId, jobId);
+    }
+
+    /**
+     * Refreshes the heartbeat of the jobs running here, recovers the jobs of instances that
+     * stopped, then claims queued jobs for the free workers.
+     */
+    @Scheduled(fixedDelayString = "${indezy.jobs.poll-interval-ms:5000}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (!running.isEmpty()) {
+            transaction.execute(status -> jobRepository.heartbeat(Set.copyOf(running.keySet()), JobStatus.RUNNING, now));
+        }
+        LocalDateTime staleBefore = now.minus(staleAfter);
+        int[] recovered = transaction.execute(status -> new int[] {
+            jobRepository.cancelStale(JobStatus.RUNNING, JobStatus.CANCELLED, staleBefore, now),
+            jobRepository.failStale(JobStatus.RUNNING, JobStatus.FAILED, staleBefore, maxAttempts,
+                "Interrupted " + maxAttempts + " times", now),
+            jobRepository.requeueStale(JobStatus.RUNNING, JobStatus.QUEUED, staleBefore)
+        });
+        if (recovered != null && recovered[0] + recovered[1] + recovered[2] > 0) {
+            log.warn("Recovered stale background jobs: {} cancelled, {} failed, {} queued again",
+                recovered[0], recovered[1], recovered[2]);
+        }
+        dispatch();
+    }
+
+    /** Deletes the jobs finished for longer than {@code retention}. */
+    @Scheduled(cron = "${indezy.jobs.purge-cron:0 45 4 * * *}")
+    public int purgeFinished() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(retention);
+        Integer deleted = transaction.execute(status -> jobRepository.deleteFinishedBefore(FINISHED, cutoff));
+        log.debug("Deleted {} finished background jobs", deleted);
+        return deleted != null ? deleted : 0;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        shuttingDown = true;
+        // Taken first: interrupted runs leave the running map as they stop.
+        Set<Long> interrupted = Set.copyOf(running.keySet());
+        if (workers instanceof ExecutorService executor) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!interrupted.isEmpty()) {
+            Integer released = transaction.execute(status ->
+                jobRepository.release(interrupted, JobStatus.RUNNING, JobStatus.QUEUED));
+            log.info("Queued {} interrupted background jobs again", released);
+        }
+    }
+
+    /** Claims queued jobs while a worker and a slot of their type are free. */
+    void dispatch() {
+        if (shuttingDown) {
+            return;
+        }
+        synchronized (dispatchLock) {
+            for (Registration registration : registrations().values()) {
+                while (workerPermits.tryAcquire()) {
+                    if (!registration.permits().tryAcquire()) {
+                        workerPermits.release();
+                        break;
+                    }
+                    BackgroundJob job = claimNext(registration.handler().jobType());
+                    if (job == null) {
+                        registration.permits().release();
+                        workerPermits.release();
+                        break;
+                    }
+                    start(registration, job);
+                }
+            }
+        }
+    }
+
+    private BackgroundJob claimNext(JobType type) {
+        for (Long id : jobRepository.findQueuedIds(type, JobStatus.QUEUED, Limit.of(CLAIM_CANDIDATES))) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            Integer claimed = transaction.execute(status -> jobRepository.claim(id, JobStatus.QUEUED, JobStatus.RUNNING, now));
+            if (claimed != null && claimed > 0) {
+                return jobRepository.findById(id).orElse(null);
+            }
+        }
+        return null;
+    }
+
+    private void start(Registration registration, BackgroundJob job) {
+        // Without checkpoint a resumed job starts over, and so does its count of processed items.
+        long processedItems = job.getCheckpoint() != null ? job.getProcessedItems() : 0;
+        JobContext context = new JobContext(job.getId(), job.getOwnerId(), job.getAttempts(), job.getCheckpoint(),
+            processedItems, clock, reportInterval, this::store);
+        running.put(job.getId(), context);
+        try {
+            workers.execute(() -> {
+                try {
+                    run(registration.handler(), context);
+                } finally {
+                    running.remove(context.getJobId());
+                    registration.permits().release();
+                    workerPermits.release();
+                    dispatch();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down: the job is queued again by shutdown() or, failing that, by the stale-job recovery.
+            log.debug("Job {} not started: {}", job.getId(), e.getMessage());
+            running.remove(job.getId());
+            registration.permits().release();
+            workerPermits.release();
+        }
+    }
+
+    private void run(JobHandler handler, JobContext context) {
+        Long jobId = context.getJobId();
+        log.info("Running {} job {} (attempt {}, checkpoint {})", handler.jobType(), jobId, context.getAttempt(),
+            context.getCheckpoint());
+        long start = System.nanoTime();
+        try {
+            String result = handler.run(context);
+            finish(context, JobStatus.COMPLETED, 100, null, result, null);
+            log.info("Completed {} job {} in {} ms", handler.jobType(), jobId,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (CancellationException e) {
+            finish(context, JobStatus.CANCELLED, context.getProgress(), context.getStep(), null, null);
+            log.info("Cancelled {} job {}", handler.jobType(), jobId);
+        } catch (Exception e) {
+            if (shuttingDown) {
+                // Interrupted by the shutdown rather than failed: left running for shutdown() to queue again.
+                return;
+            }
+            log.error("{} job {} failed", handler.jobType(), jobId, e);
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            finish(context, JobStatus.FAILED, context.getProgress(), context.getStep(), null, error);
+        }
+    }
+
+    /** Writes the state reported by a running job; false once its cancellation was requested. */
+    private boolean store(JobContext context) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Integer updated = transaction.execute(status -> jobRepository.reportProgress(context.getJobId(),
+            JobStatus.RUNNING, context.getProgress(), truncate(context.getStep()), context.getProcessedItems(),
+            context.getCheckpoint(), now));
+        return updated != null && updated > 0;
+    }
+
+    private void finish(JobContext context, JobStatus status, int progress, String step, String result, String error) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        transaction.execute(tx -> jobRepository.finish(context.getJobId(), JobStatus.RUNNING, status, progress,
+            truncate(step), context.getProcessedItems(), truncate(result), truncate(error), now));
+    }
+
+    private Map<JobType, Registration> registrations() {
+        Map<JobType, Registration> current = registrations;
+        if (current == null) {
+            synchronized (this) {
+                current = registrations;
+                if (current == null) {
+                    current = new EnumMap<>(JobType.class);
+                    for (JobHandler handler : handlerProvider.orderedStream().toList()) {
+                        if (handler.maxConcurrency() < 1) {
+                            throw new IllegalArgumentException("Invalid concurrency for " + handler.jobType() + " jobs");
+                        }
+                        current.put(handler.jobType(), new Registration(handler, new Semaphore(handler.maxConcurrency())));
+                    }
+                    registrations = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private JobDto toDto(BackgroundJob job) {
+        return JobDto.builder()
+            .id(job.getId())
+            .type(job.getType())
+            .status(job.getStatus())
+            .progress(job.getProgress())
+            .currentStep(job.getCurrentStep())
+            .processedItems(job.getProcessedItems())
+            .result(job.getResult())
+            .error(job.getError())
+            .attempts(job.getAttempts())
+            .cancelRequested(job.isCancelRequested())
+            .createdAt(job.getCreatedAt())
+            .startedAt(job.getStartedAt())
+            .completedAt(job.getCompletedAt())
+            .build();
+    }
+
+    private static String truncate(String text) {
+        return text != null && text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+    }
+
+    private static ExecutorService workerPool(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Invalid background job settings");
+        }
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "job-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private record Registration(JobHandler handler, Semaphore permits) {
+    }
+}
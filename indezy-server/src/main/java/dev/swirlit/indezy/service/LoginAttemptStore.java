@@ -0,0 +1,26 @@
+package dev.swirlit.indezy.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Where {@link LoginAttemptService} keeps failed login counts, keyed by normalized account key.
+ * The in-memory store serves a single instance; the database store shares the counts between
+ * replicas. Selected with {@code indezy.security.login-attempts.store} ({@code memory} or
+ * {@code database}).
+ */
+public interface LoginAttemptStore {
+
+    /** The failures of a key in its lockout window, or {@code null} when none or the window has expired. */
+    Attempt get(String key, Instant now);
+
+    /** Records one failure, starting a window of length {@code window} when none is active. */
+    void recordFailure(String key, Instant now, Duration window);
+
+    /** Forgets the failures of a key. */
+    void clear(String key);
+
+    /** Failures counted in a lockout window ending at {@code windowEnd}. */
+    record Attempt(int count, Instant windowEnd) {
+    }
+}
@@ -0,0 +1,260 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.constants.ErrorMessages;
+import dev.swirlit.indezy.dto.ProjectAttachmentDto;
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.ProjectAttachment;
+import dev.swirlit.indezy.repository.ProjectAttachmentRepository;
+import dev.swirlit.indezy.repository.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Files attached to a project (job description PDFs, contracts, technical test briefs). Contents
+ * go to the content-addressed {@link AttachmentStore}, so the same job description uploaded for
+ * several projects found on different boards is stored once; uploading it twice to the same
+ * project returns the existing attachment. The URL of each attachment is kept in the project's
+ * {@code documents}, which lists it next to the documents entered by hand. An upload is written to
+ * the store outside any transaction, so a slow client does not hold a database connection.
+ *
+ * <p>Deleting an attachment, or its project, leaves its blob in place: {@link #sweepUnreferenced()}
+ * deletes the blobs no attachment uses any more once they are older than {@code orphan-grace}.
+ */
+@Service
+@Slf4j
+@Transactional
+public class ProjectAttachmentService {
+
+    /** Types the browser may display inline; any other attachment is always downloaded. */
+    static final Set<String> PREVIEWABLE_TYPES = Set.of(
+        "application/pdf", "image/png", "image/jpeg", "image/gif", "image/webp", "text/plain");
+
+    private static final String URL_FORMAT = "/api/projects/%d/attachments/%d/content";
+    private static final String DEFAULT_FILE_NAME = "attachment";
+    private static final int MAX_FILE_NAME_LENGTH = 255;
+
+    private final ProjectAttachmentRepository attachmentRepository;
+    private final ProjectRepository projectRepository;
+    private final AttachmentStore store;
+    private final TransactionTemplate transaction;
+    private final DataSize maxSize;
+    private final Duration orphanGrace;
+    private final Clock clock;
+
+    @Autowired
+    public ProjectAttachmentService(ProjectAttachmentRepository attachmentRepository,
+                                    ProjectRepository projectRepository,
+                                    AttachmentStore store,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${indezy.attachments.max-size:25MB}") DataSize maxSize,
+                                    @Value("${indezy.attachments.orphan-grace:1h}") Duration orphanGrace) {
+        this(attachmentRepository, projectRepository, store, transactionManager, maxSize, orphanGrace,
+            Clock.systemDefaultZone());
+    }
+
+    ProjectAttachmentService(ProjectAttachmentRepository attachmentRepository, ProjectRepository projectRepository,
+                             AttachmentStore store, PlatformTransactionManager transactionManager, DataSize maxSize,
+                             Duration orphanGrace, Clock clock) {
+        this.attachmentRepository = attachmentRepository;
+        this.projectRepository = projectRepository;
+        this.store = store;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.maxSize = maxSize;
+        this.orphanGrace = orphanGrace;
+        this.clock = clock;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectAttachmentDto> getAttachments(Long projectId) {
+        log.debug("Getting attachments for project: {}", projectId);
+        return attachmentRepository.findByProjectIdOrderByCreatedAtDesc(projectId)
+            .stream()
+            .map(this::toDto)
+            .toList();
+    }
+
+    /**
+     * Stores the file, then attaches it in a transaction of its own. A project deleted meanwhile
+     * leaves the blob to {@link #sweepUnreferenced()}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProjectAttachmentDto addAttachment(Long projectId, MultipartFile file) throws IOException {
+        log.debug("Adding attachment {} to project: {}", file.getOriginalFilename(), projectId);
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.PROJECT_NOT_FOUND, projectId));
+        }
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.FILE_EMPTY, file.getOriginalFilename()));
+        }
+        if (file.getSize() > maxSize.toBytes()) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.FILE_SIZE_EXCEEDED, maxSize.toMegabytes()));
+        }
+
+        AttachmentStore.StoredBlob blob;
+        try (InputStream content = file.getInputStream()) {
+            blob = store.store(content);
+        }
+        String fileName = fileName(file.getOriginalFilename());
+        String contentType = contentType(file.getContentType());
+        return transaction.execute(status -> addStoredAttachment(projectId, fileName, contentType, blob));
+    }
+
+    /**
+     * Attaches content already in the store, such as a completed resumable upload; like
+     * {@link #addAttachment}, returns the existing attachment of the same content instead of
+     * adding it again.
+     */
+    public ProjectAttachmentDto addStoredAttachment(Long projectId, String fileName, String contentType,
+                                                    AttachmentStore.StoredBlob blob) {
+        Project project = projectRepository.findById(projectId)
+            .orElseThrow(() -> new ResourceNotFoundException(
+                String.format(ErrorMessages.PROJECT_NOT_FOUND, projectId)));
+        return attach(project, fileName, contentType, blob);
+    }
+
+    private ProjectAttachmentDto attach(Project project, String fileName, String contentType, AttachmentStore.StoredBlob blob) {
+        Long projectId = project.getId();
+        Optional<ProjectAttachment> existing = attachmentRepository.findFirstByProjectIdAndSha256(projectId, blob.sha256());
+        if (existing.isPresent()) {
+            log.info("Attachment {} of project {} uploaded again", existing.get().getId(), projectId);
+            return toDto(existing.get());
+        }
+
+        ProjectAttachment attachment = new ProjectAttachment();
+        attachment.setProject(project);
+        attachment.setFileName(fileName);
+        attachment.setContentType(contentType);
+        attachment.setSizeInBytes(blob.size());
+        attachment.setSha256(blob.sha256());
+        ProjectAttachment saved = attachmentRepository.save(attachment);
+
+        List<String> documents = project.getDocuments();
+        documents.add(url(saved));
+        project.setDocuments(documents);
+
+        log.info("Added attachment {} ({} bytes{}) to project {}", saved.getId(), blob.size(),
+            blob.deduplicated() ? ", content already stored" : "", projectId);
+        return toDto(saved);
+    }
+
+    public void deleteAttachment(Long projectId, Long attachmentId) {
+        log.debug("Deleting attachment {} from project {}", attachmentId, projectId);
+        ProjectAttachment attachment = find(projectId, attachmentId);
+        Project project = attachment.getProject();
+        List<String> documents = project.getDocuments();
+        documents.remove(url(attachment));
+        project.setDocuments(documents);
+        attachmentRepository.delete(attachment);
+        log.info("Deleted attachment {} from project {}", attachmentId, projectId);
+    }
+
+    /** The stored file of an attachment, to be served by the controller. */
+    @Transactional(readOnly = true)
+    public Content getContent(Long projectId, Long attachmentId) {
+        ProjectAttachment attachment = find(projectId, attachmentId);
+        Path path = store.path(attachment.getSha256());
+        if (!Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.FILE_NOT_FOUND, attachment.getFileName()));
+        }
+        return new Content(path, attachment.getFileName(), attachment.getContentType(), attachment.getSizeInBytes(),
+            attachment.getSha256());
+    }
+
+    /** Deletes the blobs no attachment uses any more, and the leftovers of interrupted uploads. */
+    @Scheduled(cron = "${indezy.attachments.sweep-cron:0 0 5 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int sweepUnreferenced() {
+        try {
+            int deleted = store.sweep(attachmentRepository::existsBySha256, clock.instant().minus(orphanGrace));
+            if (deleted > 0) {
+                log.info("Deleted {} unreferenced attachment blobs", deleted);
+            }
+            return deleted;
+        } catch (IOException e) {
+            log.warn("Could not sweep attachment blobs: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private ProjectAttachment find(Long projectId, Long attachmentId) {
+        return attachmentRepository.findByIdAndProjectId(attachmentId, projectId)
+            .orElseThrow(() -> new ResourceNotFoundException(
+                String.format(ErrorMessages.PROJECT_ATTACHMENT_NOT_FOUND, attachmentId)));
+    }
+
+    /** A client-given file name without its directories, or a default one. */
+    static String fileName(String originalFilename) {
+        String name = StringUtils.getFilename(StringUtils.cleanPath(originalFilename != null ? originalFilename : ""));
+        if (!StringUtils.hasText(name)) {
+            return DEFAULT_FILE_NAME;
+        }
+        return name.length() > MAX_FILE_NAME_LENGTH ? name.substring(name.length() - MAX_FILE_NAME_LENGTH) : name;
+    }
+
+    /** A client-given content type, normalized, or {@code application/octet-stream}. */
+    static String contentType(String declared) {
+        if (!StringUtils.hasText(declared)) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+        try {
+            return MediaType.parseMediaType(declared).toString();
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+    }
+
+    private static String url(ProjectAttachment attachment) {
+        return String.format(URL_FORMAT, attachment.getProject().getId(), attachment.getId());
+    }
+
+    private ProjectAttachmentDto toDto(ProjectAttachment attachment) {
+        return ProjectAttachmentDto.builder()
+            .id(attachment.getId())
+            .projectId(attachment.getProject() != null ? attachment.getProject().getId() : null)
+            .fileName(attachment.getFileName())
+            .contentType(attachment.getContentType())
+            .sizeInBytes(attachment.getSizeInBytes())
+            .sha256(attachment.getSha256())
+            .url(attachment.getProject() != null ? url(attachment) : null)
+            .createdAt(attachment.getCreatedAt())
+            .build();
+    }
+
+    /** An attachment's stored file, with what its response needs. */
+    public record Content(Path path, String fileName, String contentType, long sizeInBytes, String sha256) {
+
+        /** Strong ETag: the digest names the content. */
+        public String etag() {
+            return "\"" + sha256 + "\"";
+        }
+
+        /** Whether the browser may show it inline rather than download it. */
+        public boolean previewable() {
+            MediaType type = MediaType.parseMediaType(contentType);
+            return PREVIEWABLE_TYPES.contains(type.getType() + "/" + type.getSubtype());
+        }
+    }
+}
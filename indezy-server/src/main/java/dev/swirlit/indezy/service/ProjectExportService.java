@@ -1,16 +1,17 @@
 package dev.swirlit.indezy.service;
 
-import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.repository.ProjectExportRow;
 import dev.swirlit.indezy.repository.ProjectRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 /**
  * Builds an accountant-friendly CSV summary of a freelance's projects, optionally limited to a
@@ -31,55 +32,65 @@ public class ProjectExportService {
     private static final String LINE_SEPARATOR = "\r\n";
 
     /**
-     * Builds a CSV summary of the freelance's projects. When {@code year} is non-null only projects
-     * starting in that year are included. Rows are ordered by start date then role, and a final
-     * Total row sums the estimated revenue.
+     * Writes a CSV summary of the freelance's projects to {@code writer}, one row at a time as they
+     * are read from the database cursor, so memory use does not grow with the number of projects.
+     * When {@code year} is non-null only projects starting in that year are included. Rows are
+     * ordered by start date then role, and a final Total row sums the estimated revenue. The
+     * writer is flushed but not closed.
      */
     @Transactional(readOnly = true)
-    public String buildYearlySummaryCsv(Long freelanceId, Integer year) {
-        log.debug("Building CSV summary for freelance {} and year {}", freelanceId, year);
-        List<Project> projects = projectRepository.findByFreelanceId(freelanceId).stream()
-            .filter(project -> year == null
-                || (project.getStartDate() != null && project.getStartDate().getYear() == year))
-            .sorted(Comparator
-                .comparing(Project::getStartDate, Comparator.nullsLast(Comparator.naturalOrder()))
-                .thenComparing(project -> project.getRole() == null ? "" : project.getRole()))
-            .toList();
-
-        StringBuilder csv = new StringBuilder();
-        csv.append(csvRow(HEADERS)).append(LINE_SEPARATOR);
+    public void writeYearlySummaryCsv(Long freelanceId, Integer year, Writer writer) throws IOException {
+        log.debug("Writing CSV summary for freelance {} and year {}", freelanceId, year);
+        LocalDate from = year != null ? LocalDate.of(year, 1, 1) : null;
+        LocalDate to = year != null ? LocalDate.of(year, 12, 31) : null;
 
+        writeRow(writer, HEADERS);
         long totalRevenue = 0;
-        for (Project project : projects) {
-            Integer revenue = project.getTotalRevenue();
-            if (revenue != null) {
-                totalRevenue += revenue;
+        try (Stream<ProjectExportRow> rows = projectRepository.streamExportRows(freelanceId, from, to)) {
+            Iterator<ProjectExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ProjectExportRow row = iterator.next();
+                Integer revenue = revenue(row);
+                if (revenue != null) {
+                    totalRevenue += revenue;
+                }
+                writeRow(writer,
+                    row.getRole(),
+                    row.getStatus() != null ? row.getStatus().name() : "",
+                    row.getClientName(),
+                    row.getSourceName(),
+                    row.getWorkMode() != null ? row.getWorkMode().name() : "",
+                    row.getStartDate() != null ? row.getStartDate().toString() : "",
+                    asText(row.getDurationInMonths()),
+                    asText(row.getDailyRate()),
+                    asText(row.getDaysPerYear()),
+                    asText(revenue));
             }
-            csv.append(csvRow(
-                project.getRole(),
-                project.getStatus() != null ? project.getStatus().name() : "",
-                project.getClient() != null ? project.getClient().getCompanyName() : "",
-                project.getSource() != null ? project.getSource().getName() : "",
-                project.getWorkMode() != null ? project.getWorkMode().name() : "",
-                project.getStartDate() != null ? project.getStartDate().toString() : "",
-                asText(project.getDurationInMonths()),
-                asText(project.getDailyRate()),
-                asText(project.getDaysPerYear()),
-                asText(revenue)
-            )).append(LINE_SEPARATOR);
         }
+        writeRow(writer, "Total", "", "", "", "", "", "", "", "", String.valueOf(totalRevenue));
+        writer.flush();
+    }
 
-        csv.append(csvRow("Total", "", "", "", "", "", "", "", "", String.valueOf(totalRevenue)))
-            .append(LINE_SEPARATOR);
-        return csv.toString();
+    /** Same formula as {@code Project.getTotalRevenue()}. */
+    private static Integer revenue(ProjectExportRow row) {
+        if (row.getDailyRate() != null && row.getDaysPerYear() != null && row.getDurationInMonths() != null) {
+            return row.getDailyRate() * row.getDaysPerYear() * row.getDurationInMonths() / 12;
+        }
+        return null;
     }
 
     private String asText(Integer value) {
         return value != null ? value.toString() : "";
     }
 
-    private String csvRow(String... fields) {
-        return Arrays.stream(fields).map(this::escape).collect(Collectors.joining(","));
+    private void writeRow(Writer writer, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(fields[i]));
+        }
+        writer.write(LINE_SEPARATOR);
     }
 
     /** Quotes a field when it contains a comma, quote or newline, doubling any embedded quotes. */
@@ -0,0 +1,623 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.constants.ErrorMessages;
+import dev.swirlit.indezy.dto.ImportReportDto;
+import dev.swirlit.indezy.dto.ProjectImportRow;
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Contact;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.Source;
+import dev.swirlit.indezy.model.enums.ProjectStatus;
+import dev.swirlit.indezy.model.enums.SourceType;
+import dev.swirlit.indezy.model.enums.WorkMode;
+import dev.swirlit.indezy.repository.ClientRepository;
+import dev.swirlit.indezy.repository.ContactRepository;
+import dev.swirlit.indezy.repository.FreelanceRepository;
+import dev.swirlit.indezy.repository.ProjectCopyWriter;
+import dev.swirlit.indezy.repository.SourceRepository;
+import dev.swirlit.indezy.util.CsvRecordReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streams a CSV or NDJSON file of opportunities into a freelance's pipeline. Rows are parsed one
+ * at a time and written in fixed-size batches, each in its own transaction, so a file of any size
+ * is imported with bounded memory and a failing batch does not undo the ones before it. Clients,
+ * middlemen, sources and contacts referenced by name go through a lookup cache that is filled
+ * with one query per batch for the names it has not seen yet; missing ones are created.
+ * Deliberately not {@code @Transactional}: the batches own the transaction boundaries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectImportService {
+
+    /** Accepted input formats, selected from the request content type. */
+    public enum Format {
+        CSV("text/csv"),
+        NDJSON("application/x-ndjson");
+
+        private final String mediaType;
+
+        Format(final String mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public static Format fromContentType(String contentType) {
+            if (contentType != null) {
+                String baseType = contentType.split(";", 2)[0].trim();
+                for (Format format : values()) {
+                    if (format.mediaType.equalsIgnoreCase(baseType)) {
+                        return format;
+                    }
+                }
+            }
+            throw new IllegalArgumentException(String.format(ErrorMessages.IMPORT_UNSUPPORTED_FORMAT, contentType));
+        }
+    }
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final String DEFAULT_CLIENT_CITY = "Unknown";
+    private static final List<String> REQUIRED_COLUMNS = List.of("role", "dailyRate", "client");
+
+    private final FreelanceRepository freelanceRepository;
+    private final ClientRepository clientRepository;
+    private final SourceRepository sourceRepository;
+    private final ContactRepository contactRepository;
+    private final ProjectCopyWriter projectCopyWriter;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final AggregateCounterService aggregateCounterService;
+    private final FreelanceViewCache viewCache;
+    private final SearchIndex searchIndex;
+    private final SkillTagService skillTagService;
+    private final PlatformTransactionManager transactionManager;
+    private final JsonMapper jsonMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${indezy.import.batch-size:500}")
+    private int batchSize;
+
+    /** Enabled on the PostgreSQL profiles; still checked against the live connection before use. */
+    @Value("${indezy.import.postgres-copy:false}")
+    private boolean postgresCopyEnabled;
+
+    public ImportReportDto importProjects(Long freelanceId, InputStream input, Format format) throws IOException {
+        log.debug("Importing {} projects for freelance: {}", format, freelanceId);
+        if (!freelanceRepository.existsById(freelanceId)) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.FREELANCE_NOT_FOUND, freelanceId));
+        }
+
+        ImportRun run = new ImportRun(freelanceId);
+        long start = System.nanoTime();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            RowReader rows = format == Format.CSV ? new CsvRows(new CsvRecordReader(reader)) : new NdjsonRows(reader);
+            List<PendingRow> batch = new ArrayList<>(batchSize);
+            RawRow raw;
+            while ((raw = rows.next()) != null) {
+                run.totalRows++;
+                if (raw.error() != null) {
+                    run.fail(raw.line(), raw.error());
+                    continue;
+                }
+                try {
+                    batch.add(validate(raw.line(), raw.row()));
+                } catch (IllegalArgumentException e) {
+                    run.fail(raw.line(), e.getMessage());
+                    continue;
+                }
+                if (batch.size() >= batchSize) {
+                    flushBatch(run, batch);
+                }
+            }
+            flushBatch(run, batch);
+        }
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        ImportReportDto report = ImportReportDto.builder()
+            .format(format.name())
+            .batchSize(batchSize)
+            .totalRows(run.totalRows)
+            .importedRows(run.importedRows)
+            .failedRows(run.failedRows)
+            .createdClients(run.createdClients)
+            .createdSources(run.createdSources)
+            .createdContacts(run.createdContacts)
+            .batches(run.batches)
+            .postgresCopy(run.copied)
+            .elapsedMillis(elapsedNanos / 1_000_000)
+            .rowsPerSecond(run.importedRows * 1_000_000_000L / elapsedNanos)
+            .errors(run.errors)
+            .errorsTruncated(run.errorsTruncated)
+            .build();
+        log.info("Imported {} of {} rows for freelance {} in {} ms ({} rows/s)",
+            run.importedRows, run.totalRows, freelanceId, report.getElapsedMillis(), report.getRowsPerSecond());
+        return report;
+    }
+
+    private void flushBatch(ImportRun run, List<PendingRow> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        run.batches++;
+        try {
+            BatchOutcome outcome = new TransactionTemplate(transactionManager).execute(status -> writeBatch(run, batch));
+            run.importedRows += outcome.imported();
+            run.createdClients += outcome.createdClients();
+            run.createdSources += outcome.createdSources();
+            run.createdContacts += outcome.createdContacts();
+            run.copied |= outcome.copied();
+            // Imported rows bypass the dashboard deltas.
+            dashboardSnapshotService.invalidate(run.freelanceId);
+            viewCache.invalidateAll(run.freelanceId);
+            searchIndex.invalidate(run.freelanceId);
+            // Imported projects are tagged when the index is rebuilt.
+            skillTagService.invalidate(run.freelanceId);
+        } catch (RuntimeException e) {
+            log.warn("Import batch {} for freelance {} failed", run.batches, run.freelanceId, e);
+            // Entries created by the rolled-back batch must not be reused.
+            run.lookups.clear();
+            String message = String.format(ErrorMessages.IMPORT_BATCH_FAILED, rootMessage(e));
+            batch.forEach(row -> run.fail(row.line(), message));
+        }
+        batch.clear();
+    }
+
+    private BatchOutcome writeBatch(ImportRun run, List<PendingRow> batch) {
+        Freelance freelance = entityManager.getReference(Freelance.class, run.freelanceId);
+        LookupCache lookups = run.lookups;
+        int createdClients = resolveClients(freelance, batch, lookups);
+        int createdSources = resolveSources(freelance, batch, lookups);
+        AggregateCounterService.Deltas counters = new AggregateCounterService.Deltas();
+        int createdContacts = resolveContacts(freelance, batch, lookups, counters);
+
+        List<Project> projects = new ArrayList<>(batch.size());
+        for (PendingRow row : batch) {
+            projects.add(toProject(row, freelance, lookups));
+        }
+        boolean copied = postgresCopyEnabled && copyProjects(projects);
+        if (!copied) {
+            projects.forEach(entityManager::persist);
+        }
+        entityManager.flush();
+        projects.forEach(project -> counters.addProject(DashboardCounters.ProjectFacts.of(project), 1));
+        aggregateCounterService.apply(counters);
+        return new BatchOutcome(projects.size(), createdClients, createdSources, createdContacts, copied);
+    }
+
+    private boolean copyProjects(List<Project> projects) {
+        // Clients and sources created by this batch must be visible to the COPY on the same connection.
+        entityManager.flush();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            if (!projectCopyWriter.supports(connection)) {
+                return false;
+            }
+            try {
+                projectCopyWriter.copy(connection, projects);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        });
+    }
+
+    private int resolveClients(Freelance freelance, List<PendingRow> batch, LookupCache lookups) {
+        Map<String, NewClient> missing = new LinkedHashMap<>();
+        for (PendingRow row : batch) {
+            ProjectImportRow raw = row.row();
+            addMissingClient(missing, lookups, raw.getClient(),
+                new NewClient(clean(raw.getClient()), row.clientCity(), row.clientIsFinal()));
+            if (clean(raw.getMiddleman()) != null) {
+                addMissingClient(missing, lookups, raw.getMiddleman(),
+                    new NewClient(clean(raw.getMiddleman()), DEFAULT_CLIENT_CITY, false));
+            }
+        }
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        for (Client client : clientRepository.findByFreelanceIdAndCompanyNameIgnoreCaseIn(freelance.getId(), List.copyOf(missing.keySet()))) {
+            lookups.clientIds.putIfAbsent(key(client.getCompanyName()), client.getId());
+            missing.remove(key(client.getCompanyName()));
+        }
+        for (Map.Entry<String, NewClient> entry : missing.entrySet()) {
+            Client client = new Client();
+            client.setCompanyName(entry.getValue().name());
+            client.setCity(entry.getValue().city());
+            client.setIsFinal(entry.getValue().isFinal());
+            client.setFreelance(freelance);
+            entityManager.persist(client);
+            lookups.clientIds.put(entry.getKey(), client.getId());
+        }
+        return missing.size();
+    }
+
+    private void addMissingClient(Map<String, NewClient> missing, LookupCache lookups, String name, NewClient client) {
+        String key = key(name);
+        if (!lookups.clientIds.containsKey(key)) {
+            missing.putIfAbsent(key, client);
+        }
+    }
+
+    private int resolveSources(Freelance freelance, List<PendingRow> batch, LookupCache lookups) {
+        Map<String, PendingRow> missing = new LinkedHashMap<>();
+        for (PendingRow row : batch) {
+            String name = clean(row.row().getSource());
+            if (name != null && !lookups.sourceIds.containsKey(key(name))) {
+                missing.putIfAbsent(key(name), row);
+            }
+        }
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        for (Source source : sourceRepository.findByFreelanceIdAndNameIgnoreCaseIn(freelance.getId(), List.copyOf(missing.keySet()))) {
+            lookups.sourceIds.putIfAbsent(key(source.getName()), source.getId());
+            missing.remove(key(source.getName()));
+        }
+        for (Map.Entry<String, PendingRow> entry : missing.entrySet()) {
+            Source source = new Source();
+            source.setName(clean(entry.getValue().row().getSource()));
+            source.setType(entry.getValue().sourceType());
+            source.setFreelance(freelance);
+            entityManager.persist(source);
+            lookups.sourceIds.put(entry.getKey(), source.getId());
+        }
+        return missing.size();
+    }
+
+    private int resolveContacts(Freelance freelance, List<PendingRow> batch, LookupCache lookups,
+                                AggregateCounterService.Deltas counters) {
+        Set<Long> unloadedClientIds = new HashSet<>();
+        for (PendingRow row : batch) {
+            if (row.hasContact()) {
+                Long clientId = lookups.clientIds.get(key(row.row().getClient()));
+                if (!lookups.contactsLoadedForClients.contains(clientId)) {
+                    unloadedClientIds.add(clientId);
+                }
+            }
+        }
+        if (!unloadedClientIds.isEmpty()) {
+            for (Contact contact : contactRepository.findByClientIdIn(unloadedClientIds)) {
+                lookups.contactKeys.add(contactKey(contact.getClient().getId(), contact.getEmail(),
+                    contact.getFirstName(), contact.getLastName()));
+            }
+            lookups.contactsLoadedForClients.addAll(unloadedClientIds);
+        }
+
+        int created = 0;
+        for (PendingRow row : batch) {
+            if (!row.hasContact()) {
+                continue;
+            }
+            ProjectImportRow raw = row.row();
+            Long clientId = lookups.clientIds.get(key(raw.getClient()));
+            String firstName = clean(raw.getContactFirstName());
+            String lastName = clean(raw.getContactLastName());
+            String email = clean(raw.getContactEmail());
+            if (lookups.contactKeys.add(contactKey(clientId, email, firstName, lastName))) {
+                Contact contact = new Contact();
+                contact.setFirstName(firstName);
+                contact.setLastName(lastName);
+                contact.setEmail(email);
+                contact.setPhone(clean(raw.getContactPhone()));
+                contact.setClient(entityManager.getReference(Client.class, clientId));
+                contact.setFreelance(freelance);
+                entityManager.persist(contact);
+                counters.addContact(clientId, 1);
+                created++;
+            }
+        }
+        return created;
+    }
+
+    private Project toProject(PendingRow row, Freelance freelance, LookupCache lookups) {
+        ProjectImportRow raw = row.row();
+        Project project = new Project();
+        project.setRole(clean(raw.getRole()));
+        project.setStatus(row.status());
+        project.setDescription(clean(raw.getDescription()));
+        project.setTechStack(clean(raw.getTechStack()));
+        project.setDailyRate(row.dailyRate());
+        project.setWorkMode(row.workMode());
+        project.setStartDate(row.startDate());
+        project.setDurationInMonths(row.durationInMonths());
+        project.setLink(clean(raw.getLink()));
+        project.setNotes(clean(raw.getNotes()));
+        project.setFreelance(freelance);
+        project.setClient(entityManager.getReference(Client.class, lookups.clientIds.get(key(raw.getClient()))));
+        if (clean(raw.getMiddleman()) != null) {
+            project.setMiddleman(entityManager.getReference(Client.class, lookups.clientIds.get(key(raw.getMiddleman()))));
+        }
+        if (clean(raw.getSource()) != null) {
+            project.setSource(entityManager.getReference(Source.class, lookups.sourceIds.get(key(raw.getSource()))));
+        }
+        return project;
+    }
+
+    /** Parses and checks the typed values of a row; any problem is reported as IllegalArgumentException. */
+    private PendingRow validate(long line, ProjectImportRow row) {
+        required(row.getRole(), "role");
+        required(row.getClient(), "client");
+        int dailyRate = parseInteger(required(row.getDailyRate(), "dailyRate"), "dailyRate");
+        if (dailyRate <= 0) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_DAILY_RATE);
+        }
+        boolean hasContact = clean(row.getContactFirstName()) != null || clean(row.getContactLastName()) != null
+            || clean(row.getContactEmail()) != null || clean(row.getContactPhone()) != null;
+        if (hasContact) {
+            required(row.getContactFirstName(), "contactFirstName");
+        }
+        String startDate = clean(row.getStartDate());
+        String duration = clean(row.getDurationInMonths());
+        String clientCity = clean(row.getClientCity());
+        String clientIsFinal = clean(row.getClientIsFinal());
+        return new PendingRow(
+            line,
+            row,
+            parseEnum(ProjectStatus.class, row.getStatus(), "status", ProjectStatus.IDENTIFIED),
+            dailyRate,
+            parseEnum(WorkMode.class, row.getWorkMode(), "workMode", null),
+            startDate != null ? parseDate(startDate, "startDate") : null,
+            duration != null ? parseInteger(duration, "durationInMonths") : null,
+            parseEnum(SourceType.class, row.getSourceType(), "sourceType", SourceType.JOB_BOARD),
+            clientCity != null ? clientCity : DEFAULT_CLIENT_CITY,
+            clientIsFinal != null ? parseBoolean(clientIsFinal, "clientIsFinal") : Boolean.TRUE,
+            hasContact);
+    }
+
+    private static String required(String value, String field) {
+        String cleaned = clean(value);
+        if (cleaned == null) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.IMPORT_REQUIRED_FIELD, field));
+        }
+        return cleaned;
+    }
+
+    private static int parseInteger(String value, String field) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.IMPORT_INVALID_FIELD, field, value));
+        }
+    }
+
+    private static LocalDate parseDate(String value, String field) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.IMPORT_INVALID_FIELD, field, value));
+        }
+    }
+
+    private static Boolean parseBoolean(String value, String field) {
+        if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+            return Boolean.valueOf(value);
+        }
+        throw new IllegalArgumentException(String.format(ErrorMessages.IMPORT_INVALID_FIELD, field, value));
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String field, E defaultValue) {
+        String cleaned = clean(value);
+        if (cleaned == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, cleaned.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.IMPORT_INVALID_FIELD, field, value));
+        }
+    }
+
+    /** Trims a value, mapping blank text to null. */
+    private static String clean(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Contacts are matched per client by e-mail, or by full name when they have none. */
+    private static String contactKey(Long clientId, String email, String firstName, String lastName) {
+        String identity = email != null && !email.isBlank()
+            ? email
+            : (firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "");
+        return clientId + "|" + identity.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String rootMessage(Throwable throwable) {
+        Throwable root = throwable;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    /** Streams raw rows out of the input; returns null at the end. */
+    private interface RowReader {
+        RawRow next() throws IOException;
+    }
+
+    /**
+     * First record is the header (a missing required column rejects the whole file); each following
+     * record is mapped onto the row by column name.
+     */
+    private final class CsvRows implements RowReader {
+
+        private final CsvRecordReader records;
+        private List<String> header;
+        private boolean broken;
+
+        CsvRows(CsvRecordReader records) {
+            this.records = records;
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            if (broken) {
+                return null;
+            }
+            if (header == null) {
+                readHeader();
+            }
+            List<String> fields;
+            try {
+                do {
+                    fields = records.readRecord();
+                } while (fields != null && fields.stream().allMatch(String::isBlank));
+            } catch (IllegalArgumentException e) {
+                // An unterminated quote leaves the rest of the stream unreadable.
+                broken = true;
+                return new RawRow(records.getRecordLine(), null, String.format(ErrorMessages.IMPORT_MALFORMED_ROW, e.getMessage()));
+            }
+            if (fields == null) {
+                return null;
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < Math.min(header.size(), fields.size()); i++) {
+                values.put(header.get(i), clean(fields.get(i)));
+            }
+            try {
+                return new RawRow(records.getRecordLine(), jsonMapper.convertValue(values, ProjectImportRow.class), null);
+            } catch (IllegalArgumentException | JacksonException e) {
+                return new RawRow(records.getRecordLine(), null, String.format(ErrorMessages.IMPORT_MALFORMED_ROW, e.getMessage()));
+            }
+        }
+
+        private void readHeader() throws IOException {
+            List<String> names = records.readRecord();
+            header = new ArrayList<>();
+            if (names != null) {
+                names.forEach(name -> header.add(name.trim()));
+            }
+            Set<String> absent = new LinkedHashSet<>(REQUIRED_COLUMNS);
+            header.forEach(absent::remove);
+            if (!absent.isEmpty()) {
+                throw new IllegalArgumentException(String.format(ErrorMessages.IMPORT_MISSING_COLUMNS, String.join(", ", absent)));
+            }
+        }
+    }
+
+    /** One JSON object per line; blank lines are skipped. */
+    private final class NdjsonRows implements RowReader {
+
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRows(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            try {
+                return new RawRow(line, jsonMapper.readValue(text, ProjectImportRow.class), null);
+            } catch (JacksonException e) {
+                return new RawRow(line, null, String.format(ErrorMessages.IMPORT_MALFORMED_ROW, e.getOriginalMessage()));
+            }
+        }
+    }
+
+    private record RawRow(long line, ProjectImportRow row, String error) {
+    }
+
+    private record PendingRow(long line, ProjectImportRow row, ProjectStatus status, int dailyRate, WorkMode workMode,
+                              LocalDate startDate, Integer durationInMonths, SourceType sourceType, String clientCity,
+                              Boolean clientIsFinal, boolean hasContact) {
+    }
+
+    private record NewClient(String name, String city, Boolean isFinal) {
+    }
+
+    private record BatchOutcome(int imported, int createdClients, int createdSources, int createdContacts, boolean copied) {
+    }
+
+    /** Names already resolved to ids for the freelance being imported. */
+    private static final class LookupCache {
+        private final Map<String, Long> clientIds = new HashMap<>();
+        private final Map<String, Long> sourceIds = new HashMap<>();
+        private final Set<String> contactKeys = new HashSet<>();
+        private final Set<Long> contactsLoadedForClients = new HashSet<>();
+
+        void clear() {
+            clientIds.clear();
+            sourceIds.clear();
+            contactKeys.clear();
+            contactsLoadedForClients.clear();
+        }
+    }
+
+    /** Mutable counters of one import call. */
+    private static final class ImportRun {
+        private final Long freelanceId;
+        private final LookupCache lookups = new LookupCache();
+        private final List<ImportReportDto.RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedRows;
+        private long failedRows;
+        private long createdClients;
+        private long createdSources;
+        private long createdContacts;
+        private int batches;
+        private boolean copied;
+        private boolean errorsTruncated;
+
+        ImportRun(Long freelanceId) {
+            this.freelanceId = freelanceId;
+        }
+
+        void fail(long line, String message) {
+            failedRows++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReportDto.RowError(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+}
@@ -26,6 +26,7 @@ public class ProjectNoteService {
 
     private final ProjectNoteRepository projectNoteRepository;
     private final ProjectRepository projectRepository;
+    private final SearchIndex searchIndex;
 
     @Transactional(readOnly = true)
     public List<ProjectNoteDto> getNotesForProject(Long projectId) {
@@ -46,6 +47,7 @@ public class ProjectNoteService {
         note.setContent(content);
         note.setProject(project);
         ProjectNote saved = projectNoteRepository.save(note);
+        searchIndex.indexNote(saved);
         log.info("Added note with id {} to project {}", saved.getId(), projectId);
         return toDto(saved);
     }
@@ -59,6 +61,9 @@ public class ProjectNoteService {
             throw new ResourceNotFoundException(String.format(ErrorMessages.PROJECT_NOTE_NOT_FOUND, noteId));
         }
         projectNoteRepository.delete(note);
+        if (note.getProject().getFreelance() != null) {
+            searchIndex.removeNote(note.getProject().getFreelance().getId(), noteId);
+        }
         log.info("Deleted note {} from project {}", noteId, projectId);
     }
 
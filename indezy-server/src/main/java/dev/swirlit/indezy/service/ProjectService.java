@@ -1,13 +1,13 @@
 package dev.swirlit.indezy.service;
 
 import dev.swirlit.indezy.constants.ErrorMessages;
+import dev.swirlit.indezy.dto.CursorPageDto;
 import dev.swirlit.indezy.dto.KanbanBoardDto;
 import dev.swirlit.indezy.dto.ProjectDto;
 import dev.swirlit.indezy.exception.ResourceNotFoundException;
 import dev.swirlit.indezy.mapper.ProjectMapper;
 import dev.swirlit.indezy.model.Client;
 import dev.swirlit.indezy.model.Freelance;
-import dev.swirlit.indezy.model.InterviewStep;
 import dev.swirlit.indezy.model.Project;
 import dev.swirlit.indezy.model.Source;
 import dev.swirlit.indezy.model.enums.LostReason;
@@ -15,17 +15,23 @@ import dev.swirlit.indezy.model.enums.ProjectStatus;
 import dev.swirlit.indezy.model.enums.WorkMode;
 import dev.swirlit.indezy.repository.ClientRepository;
 import dev.swirlit.indezy.repository.FreelanceRepository;
-import dev.swirlit.indezy.repository.InterviewStepRepository;
+import dev.swirlit.indezy.repository.KanbanCardView;
 import dev.swirlit.indezy.repository.ProjectRepository;
+import dev.swirlit.indezy.repository.ProjectSpecifications;
 import dev.swirlit.indezy.repository.SourceRepository;
+import dev.swirlit.indezy.util.CursorPagination;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -33,6 +39,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 @Service
@@ -45,8 +52,16 @@ public class ProjectService {
     private final FreelanceRepository freelanceRepository;
     private final ClientRepository clientRepository;
     private final SourceRepository sourceRepository;
-    private final InterviewStepRepository interviewStepRepository;
     private final ProjectMapper projectMapper;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final AggregateCounterService aggregateCounterService;
+    private final FreelanceViewCache viewCache;
+    private final CommutePrecomputeService commutePrecomputeService;
+    private final SearchIndex searchIndex;
+    private final SkillTagService skillTagService;
+
+    /** Upper bound on a search page, whatever size the client asks for. */
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
 
     private static final List<ProjectStatus> KANBAN_COLUMN_ORDER = Arrays.asList(
         ProjectStatus.IDENTIFIED,
@@ -91,6 +106,17 @@ public class ProjectService {
             .toList();
     }
 
+    /** The projects with the given ids, in increasing id order; unknown ids are skipped. */
+    @Transactional(readOnly = true)
+    public List<ProjectDto> findByIds(Collection<Long> ids) {
+        log.debug("Finding {} projects by id", ids.size());
+        return projectRepository.findAllById(ids)
+            .stream()
+            .sorted(Comparator.comparing(Project::getId))
+            .map(projectMapper::toDto)
+            .toList();
+    }
+
     @Transactional(readOnly = true)
     public List<ProjectDto> findByClientId(Long clientId) {
         log.debug("Finding projects by client id: {}", clientId);
@@ -100,48 +126,50 @@ public class ProjectService {
             .toList();
     }
 
+    /**
+     * Searches a freelance's projects with every filter, sort key and page limit applied in SQL.
+     * Null or blank filters are ignored; the requested sort is validated and made stable by id, and
+     * the page size is capped at {@link #MAX_SEARCH_PAGE_SIZE}.
+     */
     @Transactional(readOnly = true)
-    public List<ProjectDto> findByFreelanceIdAndFilters(Long freelanceId, Integer minRate, Integer maxRate, 
-                                                       WorkMode workMode, LocalDate startDateAfter, String techStack) {
+    public Page<ProjectDto> findByFreelanceIdAndFilters(Long freelanceId, Integer minRate, Integer maxRate,
+                                                        WorkMode workMode, LocalDate startDateAfter, String techStack,
+                                                        Pageable pageable) {
         log.debug("Finding projects by freelance id with filters: {}", freelanceId);
-        
-        List<Project> projects = projectRepository.findByFreelanceId(freelanceId);
-        
-        // Apply filters
-        if (minRate != null) {
-            projects = projects.stream()
-                .filter(p -> p.getDailyRate() != null && p.getDailyRate() >= minRate)
-                .toList();
-        }
-        
-        if (maxRate != null) {
-            projects = projects.stream()
-                .filter(p -> p.getDailyRate() != null && p.getDailyRate() <= maxRate)
-                .toList();
-        }
-        
-        if (workMode != null) {
-            projects = projects.stream()
-                .filter(p -> workMode.equals(p.getWorkMode()))
-                .toList();
-        }
-        
-        if (startDateAfter != null) {
-            projects = projects.stream()
-                .filter(p -> p.getStartDate() != null && p.getStartDate().isAfter(startDateAfter))
-                .toList();
-        }
-        
-        if (techStack != null && !techStack.trim().isEmpty()) {
-            projects = projects.stream()
-                .filter(p -> p.getTechStack() != null &&
-                           p.getTechStack().toLowerCase(Locale.ROOT).contains(techStack.toLowerCase(Locale.ROOT)))
-                .toList();
-        }
-        
-        return projects.stream()
-            .map(projectMapper::toDto)
-            .toList();
+        Pageable stablePageable = PageRequest.of(pageable.getPageNumber(),
+            Math.min(pageable.getPageSize(), MAX_SEARCH_PAGE_SIZE),
+            ProjectSpecifications.stableSort(pageable.getSort()));
+        return projectRepository.findAll(
+                ProjectSpecifications.search(freelanceId, minRate, maxRate, workMode, startDateAfter, techStack),
+                stablePageable)
+            .map(projectMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ProjectDto> scrollAll(String cursor, Integer limit) {
+        log.debug("Scrolling projects after cursor: {}", cursor);
+        int pageSize = CursorPagination.resolveLimit(limit);
+        return CursorPagination.toPage(
+            projectRepository.findByIdLessThanOrderByIdDesc(CursorPagination.decode(cursor), CursorPagination.fetchLimit(pageSize)),
+            pageSize, projectMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ProjectDto> scrollByFreelanceId(Long freelanceId, String cursor, Integer limit) {
+        log.debug("Scrolling projects by freelance id: {} after cursor: {}", freelanceId, cursor);
+        int pageSize = CursorPagination.resolveLimit(limit);
+        return CursorPagination.toPage(
+            projectRepository.findByFreelanceIdAndIdLessThanOrderByIdDesc(freelanceId, CursorPagination.decode(cursor), CursorPagination.fetchLimit(pageSize)),
+            pageSize, projectMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ProjectDto> scrollByClientId(Long clientId, String cursor, Integer limit) {
+        log.debug("Scrolling projects by client id: {} after cursor: {}", clientId, cursor);
+        int pageSize = CursorPagination.resolveLimit(limit);
+        return CursorPagination.toPage(
+            projectRepository.findByClientIdAndIdLessThanOrderByIdDesc(clientId, CursorPagination.decode(cursor), CursorPagination.fetchLimit(pageSize)),
+            pageSize, projectMapper::toDto);
     }
 
     public ProjectDto create(ProjectDto projectDto) {
@@ -180,6 +208,12 @@ public class ProjectService {
         }
         
         Project savedProject = projectRepository.save(project);
+        recordProjectChange(null, DashboardCounters.ProjectFacts.of(savedProject));
+        if (savedProject.getClient() != null && savedProject.getFreelance() != null) {
+            commutePrecomputeService.refresh(savedProject.getFreelance().getId());
+        }
+        searchIndex.indexProject(savedProject);
+        skillTagService.tagProject(savedProject);
         
         log.info("Created project with id: {}", savedProject.getId());
         return projectMapper.toDto(savedProject);
@@ -190,6 +224,7 @@ public class ProjectService {
         
         Project existingProject = projectRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.PROJECT_NOT_FOUND, id)));
+        DashboardCounters.ProjectFacts before = DashboardCounters.ProjectFacts.of(existingProject);
 
         projectMapper.updateEntity(projectDto, existingProject);
         
@@ -221,6 +256,13 @@ public class ProjectService {
         }
         
         Project updatedProject = projectRepository.save(existingProject);
+        DashboardCounters.ProjectFacts after = DashboardCounters.ProjectFacts.of(updatedProject);
+        recordProjectChange(before, after);
+        if (!Objects.equals(before.clientId(), after.clientId())) {
+            commutePrecomputeService.refresh(after.freelanceId());
+        }
+        searchIndex.indexProject(updatedProject);
+        skillTagService.tagProject(updatedProject);
         
         log.info("Updated project with id: {}", updatedProject.getId());
         return projectMapper.toDto(updatedProject);
@@ -233,6 +275,13 @@ public class ProjectService {
             throw new ResourceNotFoundException(String.format(ErrorMessages.PROJECT_NOT_FOUND, id));
         }
 
+        dashboardSnapshotService.recordProjectRemoval(id);
+        aggregateCounterService.recordProjectRemoval(id);
+        projectRepository.findById(id).ifPresent(project -> {
+            viewCache.invalidate(project.getFreelance().getId(), FreelanceViewCache.View.KANBAN, FreelanceViewCache.View.DASHBOARD);
+            searchIndex.removeProject(project.getFreelance().getId(), id);
+            skillTagService.removeProject(project.getFreelance().getId(), id);
+        });
         projectRepository.deleteById(id);
         log.info("Deleted project with id: {}", id);
     }
@@ -251,10 +300,12 @@ public class ProjectService {
         log.debug("Updating project status with id: {} to status: {}", id, status);
         Project project = projectRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.PROJECT_NOT_FOUND, id)));
+        DashboardCounters.ProjectFacts before = DashboardCounters.ProjectFacts.of(project);
         project.setStatus(status);
         // The lost reason only applies to lost opportunities; clear it otherwise.
         project.setLostReason(ProjectStatus.LOST.equals(status) ? lostReason : null);
         Project updatedProject = projectRepository.save(project);
+        recordProjectChange(before, DashboardCounters.ProjectFacts.of(updatedProject));
         log.info("Updated project status with id: {} to status: {}", id, status);
         return projectMapper.toDto(updatedProject);
     }
@@ -262,23 +313,25 @@ public class ProjectService {
     @Transactional(readOnly = true)
     public KanbanBoardDto getKanbanBoard(Long freelanceId) {
         log.debug("Getting kanban board for freelance: {}", freelanceId);
+        return viewCache.get(FreelanceViewCache.View.KANBAN, freelanceId, () -> buildKanbanBoard(freelanceId));
+    }
 
-        List<Project> projects = projectRepository.findByFreelanceId(freelanceId);
+    private KanbanBoardDto buildKanbanBoard(Long freelanceId) {
+        List<KanbanCardView> rows = projectRepository.findKanbanCardsByFreelanceId(freelanceId);
 
         Map<String, List<KanbanBoardDto.ProjectCardDto>> columns = new LinkedHashMap<>();
         for (ProjectStatus status : KANBAN_COLUMN_ORDER) {
             columns.put(status.name(), new ArrayList<>());
         }
 
-        Set<Long> duplicateIds = findPotentialDuplicateIds(projects);
+        Set<Long> duplicateIds = findPotentialDuplicateIds(rows);
 
-        for (Project project : projects) {
-            ProjectStatus status = project.getStatus() != null ? project.getStatus() : ProjectStatus.IDENTIFIED;
-            KanbanBoardDto.ProjectCardDto card = createProjectCard(project);
-            card.setIsPotentialDuplicate(duplicateIds.contains(project.getId()));
-            String statusKey = status.name();
-            if (columns.containsKey(statusKey)) {
-                columns.get(statusKey).add(card);
+        for (KanbanCardView row : rows) {
+            KanbanBoardDto.ProjectCardDto card = createProjectCard(row);
+            card.setIsPotentialDuplicate(duplicateIds.contains(row.getProjectId()));
+            List<KanbanBoardDto.ProjectCardDto> column = columns.get(card.getStatus());
+            if (column != null) {
+                column.add(card);
             }
         }
 
@@ -302,6 +355,8 @@ public class ProjectService {
             .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.PROJECT_NOT_FOUND, id)));
         project.setIsFavorite(!Boolean.TRUE.equals(project.getIsFavorite()));
         Project updatedProject = projectRepository.save(project);
+        // The dashboard lists stale opportunities by last update, so it changes too.
+        viewCache.invalidate(updatedProject.getFreelance().getId(), FreelanceViewCache.View.KANBAN, FreelanceViewCache.View.DASHBOARD);
         log.info("Toggled favorite flag for project with id: {} to: {}", id, updatedProject.getIsFavorite());
         return projectMapper.toDto(updatedProject);
     }
@@ -328,33 +383,43 @@ public class ProjectService {
             }
         }
         projectRepository.saveAll(toSave);
+        viewCache.invalidate(freelanceId, FreelanceViewCache.View.KANBAN, FreelanceViewCache.View.DASHBOARD);
         log.info("Reordered {} kanban cards for freelance: {}", toSave.size(), freelanceId);
     }
 
-    private KanbanBoardDto.ProjectCardDto createProjectCard(Project project) {
-        KanbanBoardDto.ProjectCardDto card = new KanbanBoardDto.ProjectCardDto();
-        card.setProjectId(project.getId());
-        card.setRole(project.getRole());
-        card.setStatus(project.getStatus() != null ? project.getStatus().name() : ProjectStatus.IDENTIFIED.name());
-        card.setClientName(project.getClient() != null ? project.getClient().getCompanyName() : null);
-        card.setDailyRate(project.getDailyRate());
-        card.setWorkMode(project.getWorkMode() != null ? project.getWorkMode().toString() : null);
-        card.setTechStack(project.getTechStack());
-        card.setSourceName(project.getSource() != null ? project.getSource().getName() : null);
-        card.setStartDate(project.getStartDate() != null ? project.getStartDate().toString() : null);
-        card.setDurationInMonths(project.getDurationInMonths());
-        card.setNotes(project.getNotes());
-        card.setPersonalRating(project.getPersonalRating());
-        card.setIsFavorite(project.getIsFavorite());
-        card.setBoardPosition(project.getBoardPosition());
-        card.setUpdatedAt(project.getUpdatedAt() != null ? project.getUpdatedAt().toString() : null);
-        card.setLostReason(project.getLostReason() != null ? project.getLostReason().name() : null);
-
-        List<InterviewStep> steps = interviewStepRepository.findByProjectId(project.getId());
-        card.setTotalSteps(steps.size());
-        card.setCompletedSteps((int) steps.stream().filter(InterviewStep::isCompleted).count());
-        card.setFailedSteps((int) steps.stream().filter(InterviewStep::isFailed).count());
+    /** Reports a project change to the dashboard snapshot, the aggregate counters and the view cache. */
+    private void recordProjectChange(DashboardCounters.ProjectFacts before, DashboardCounters.ProjectFacts after) {
+        dashboardSnapshotService.recordProjectChange(before, after);
+        aggregateCounterService.recordProjectChange(before, after);
+        if (before != null) {
+            viewCache.invalidate(before.freelanceId(), FreelanceViewCache.View.KANBAN, FreelanceViewCache.View.DASHBOARD);
+        }
+        if (after != null) {
+            viewCache.invalidate(after.freelanceId(), FreelanceViewCache.View.KANBAN, FreelanceViewCache.View.DASHBOARD);
+        }
+    }
 
+    private KanbanBoardDto.ProjectCardDto createProjectCard(KanbanCardView row) {
+        KanbanBoardDto.ProjectCardDto card = new KanbanBoardDto.ProjectCardDto();
+        card.setProjectId(row.getProjectId());
+        card.setRole(row.getRole());
+        card.setStatus(row.getStatus() != null ? row.getStatus() : ProjectStatus.IDENTIFIED.name());
+        card.setClientName(row.getClientName());
+        card.setDailyRate(row.getDailyRate());
+        card.setWorkMode(row.getWorkMode());
+        card.setTechStack(row.getTechStack());
+        card.setSourceName(row.getSourceName());
+        card.setStartDate(row.getStartDate() != null ? row.getStartDate().toString() : null);
+        card.setDurationInMonths(row.getDurationInMonths());
+        card.setNotes(row.getNotes());
+        card.setPersonalRating(row.getPersonalRating());
+        card.setIsFavorite(row.getIsFavorite());
+        card.setBoardPosition(row.getBoardPosition());
+        card.setUpdatedAt(row.getUpdatedAt() != null ? row.getUpdatedAt().toString() : null);
+        card.setLostReason(row.getLostReason());
+        card.setTotalSteps(row.getTotalSteps() != null ? row.getTotalSteps() : 0);
+        card.setCompletedSteps(row.getCompletedSteps() != null ? row.getCompletedSteps() : 0);
+        card.setFailedSteps(row.getFailedSteps() != null ? row.getFailedSteps() : 0);
         return card;
     }
 
@@ -363,14 +428,14 @@ public class ProjectService {
      * (case-insensitive), typically the same posting captured from several job boards.
      * Returns the ids of every project that shares its client+role with at least one other.
      */
-    private Set<Long> findPotentialDuplicateIds(List<Project> projects) {
+    private Set<Long> findPotentialDuplicateIds(List<KanbanCardView> rows) {
         Map<String, List<Long>> byClientAndRole = new HashMap<>();
-        for (Project project : projects) {
-            if (project.getClient() == null || project.getRole() == null) {
+        for (KanbanCardView row : rows) {
+            if (row.getClientId() == null || row.getRole() == null) {
                 continue;
             }
-            String key = project.getClient().getId() + "|" + project.getRole().trim().toLowerCase(Locale.ROOT);
-            byClientAndRole.computeIfAbsent(key, k -> new ArrayList<>()).add(project.getId());
+            String key = row.getClientId() + "|" + row.getRole().trim().toLowerCase(Locale.ROOT);
+            byClientAndRole.computeIfAbsent(key, k -> new ArrayList<>()).add(row.getProjectId());
         }
 
         Set<Long> duplicateIds = new HashSet<>();
@@ -0,0 +1,299 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.constants.ErrorMessages;
+import dev.swirlit.indezy.dto.ProjectAttachmentDto;
+import dev.swirlit.indezy.dto.ProjectUploadDto;
+import dev.swirlit.indezy.exception.ConflictException;
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.ProjectUpload;
+import dev.swirlit.indezy.repository.ProjectRepository;
+import dev.swirlit.indezy.repository.ProjectUploadRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resumable chunked uploads of project documents too large, or on too flaky a connection, for a
+ * single multipart request. The client declares the file (name, type, size and SHA-256), then
+ * sends it in chunks, each at the offset of the bytes received so far; after an interruption it
+ * reads that offset back and resumes there. A chunk cut short still counts the bytes written
+ * before the cut.
+ *
+ * <p>Chunks are written with positional {@link FileChannel} writes to the upload's file in
+ * {@link AttachmentStore}, forced to disk before their offset is recorded. Completing the upload
+ * checks the SHA-256 of the whole file, moves it into the store and attaches it to the project
+ * like {@link ProjectAttachmentService#addAttachment}, which lists it in {@code Project.documents}.
+ * A file whose digest differs is dropped with its upload. Uploads without a chunk for
+ * {@code indezy.attachments.uploads.expiry} are deleted.
+ *
+ * <p>Completing or cancelling first claims the upload with a conditional update, so a concurrent
+ * request for the same upload gets a {@link ConflictException}. A completion that fails after the
+ * move puts the file back and releases the claim, so it can be retried. An upload whose completion
+ * never ended, the instance having stopped, is deleted once expired.
+ */
+@Service
+@Slf4j
+public class ProjectUploadService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final ProjectUploadRepository uploadRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectAttachmentService attachmentService;
+    private final AttachmentStore store;
+    private final TransactionTemplate transaction;
+    private final DataSize maxSize;
+    private final DataSize maxChunkSize;
+    private final Duration expiry;
+    private final Clock clock;
+
+    @Autowired
+    public ProjectUploadService(ProjectUploadRepository uploadRepository,
+                                ProjectRepository projectRepository,
+                                ProjectAttachmentService attachmentService,
+                                AttachmentStore store,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${indezy.attachments.uploads.max-size:2GB}") DataSize maxSize,
+                                @Value("${indezy.attachments.uploads.max-chunk-size:8MB}") DataSize maxChunkSize,
+                                @Value("${indezy.attachments.uploads.expiry:24h}") Duration expiry) {
+        this(uploadRepository, projectRepository, attachmentService, store, transactionManager, maxSize, maxChunkSize,
+            expiry, Clock.systemDefaultZone());
+    }
+
+    ProjectUploadService(ProjectUploadRepository uploadRepository, ProjectRepository projectRepository,
+                         ProjectAttachmentService attachmentService, AttachmentStore store,
+                         PlatformTransactionManager transactionManager, DataSize maxSize, DataSize maxChunkSize,
+                         Duration expiry, Clock clock) {
+        this.uploadRepository = uploadRepository;
+        this.projectRepository = projectRepository;
+        this.attachmentService = attachmentService;
+        this.store = store;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.maxSize = maxSize;
+        this.maxChunkSize = maxChunkSize;
+        this.expiry = expiry;
+        this.clock = clock;
+    }
+
+    /** Starts an upload of the declared file; its first chunk goes at offset 0. */
+    public ProjectUploadDto createUpload(Long projectId, ProjectUploadDto request) {
+        log.debug("Creating upload of {} for project: {}", request.getFileName(), projectId);
+        Project project = projectRepository.findById(projectId)
+            .orElseThrow(() -> new ResourceNotFoundException(
+                String.format(ErrorMessages.PROJECT_NOT_FOUND, projectId)));
+        if (request.getSizeInBytes() > maxSize.toBytes()) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.FILE_SIZE_EXCEEDED, maxSize.toMegabytes()));
+        }
+
+        ProjectUpload upload = new ProjectUpload();
+        upload.setProject(project);
+        upload.setFileName(ProjectAttachmentService.fileName(request.getFileName()));
+        upload.setContentType(ProjectAttachmentService.contentType(request.getContentType()));
+        upload.setSizeInBytes(request.getSizeInBytes());
+        upload.setSha256(request.getSha256());
+        upload.setExpiresAt(LocalDateTime.now(clock).plus(expiry));
+        ProjectUpload saved = uploadRepository.save(upload);
+        log.info("Created upload {} of {} bytes for project {}", saved.getId(), saved.getSizeInBytes(), projectId);
+        return toDto(saved);
+    }
+
+    public ProjectUploadDto getUpload(Long projectId, Long uploadId) {
+        return toDto(find(projectId, uploadId));
+    }
+
+    /**
+     * Writes a chunk, read to its end, at {@code offset}, which must be the number of bytes
+     * received so far. Returns the upload with its new offset.
+     *
+     * <p>Two chunks sent at the same offset at once both get written, and only one recorded; if
+     * their bytes differ the file no longer matches its digest, which completion detects.
+     */
+    public ProjectUploadDto appendChunk(Long projectId, Long uploadId, long offset, InputStream chunk) throws IOException {
+        ProjectUpload upload = find(projectId, uploadId);
+        if (offset != upload.getReceivedBytes()) {
+            throw new IllegalArgumentException(
+                String.format(ErrorMessages.UPLOAD_OFFSET_MISMATCH, offset, upload.getReceivedBytes()));
+        }
+        long remaining = upload.getSizeInBytes() - offset;
+        long limit = Math.min(remaining, maxChunkSize.toBytes());
+
+        long written = 0;
+        try (ReadableByteChannel in = Channels.newChannel(chunk);
+             FileChannel file = FileChannel.open(store.uploadPath(uploadId),
+                 StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            try {
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    if (written + buffer.remaining() > limit) {
+                        throw new IllegalArgumentException(limit == remaining
+                            ? String.format(ErrorMessages.UPLOAD_SIZE_EXCEEDED, upload.getSizeInBytes())
+                            : String.format(ErrorMessages.UPLOAD_CHUNK_TOO_LARGE, maxChunkSize.toMegabytes()));
+                    }
+                    while (buffer.hasRemaining()) {
+                        written += file.write(buffer, offset + written);
+                    }
+                    buffer.clear();
+                }
+                file.force(false);
+            } catch (IOException e) {
+                // The connection dropped mid-chunk: keep what arrived, so the client resumes after it.
+                if (written > 0) {
+                    file.force(false);
+                    advance(upload, offset, written);
+                    log.debug("Upload {} interrupted after {} bytes of a chunk", uploadId, written);
+                }
+                throw e;
+            }
+        }
+        advance(upload, offset, written);
+        log.debug("Upload {} received {} bytes at offset {}", uploadId, written, offset);
+        return toDto(upload);
+    }
+
+    /**
+     * Checks that every byte was received and that the file has the declared SHA-256, then
+     * attaches it to the project. A file with another digest is deleted with its upload, and
+     * must be sent again.
+     */
+    public ProjectAttachmentDto completeUpload(Long projectId, Long uploadId) throws IOException {
+        ProjectUpload upload = find(projectId, uploadId);
+        if (upload.getReceivedBytes() != upload.getSizeInBytes()) {
+            throw new IllegalArgumentException(
+                String.format(ErrorMessages.UPLOAD_INCOMPLETE, upload.getReceivedBytes(), upload.getSizeInBytes()));
+        }
+        claim(upload);
+        AttachmentStore.StoredBlob blob;
+        try {
+            blob = store.store(store.uploadPath(uploadId), upload.getSha256());
+        } catch (IllegalArgumentException e) {
+            log.warn("Upload {} of project {} does not match its SHA-256, discarded", uploadId, projectId);
+            delete(upload);
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            release(upload);
+            throw e;
+        }
+        ProjectAttachmentDto attachment;
+        try {
+            attachment = transaction.execute(status -> {
+                ProjectAttachmentDto attached = attachmentService.addStoredAttachment(
+                    projectId, upload.getFileName(), upload.getContentType(), blob);
+                uploadRepository.deleteById(uploadId);
+                return attached;
+            });
+        } catch (RuntimeException e) {
+            try {
+                store.restore(blob, store.uploadPath(uploadId));
+            } catch (IOException restoreFailure) {
+                e.addSuppressed(restoreFailure);
+            }
+            release(upload);
+            throw e;
+        }
+        log.info("Completed upload {} into attachment {} of project {}", uploadId, attachment.getId(), projectId);
+        return attachment;
+    }
+
+    public void cancelUpload(Long projectId, Long uploadId) throws IOException {
+        log.debug("Cancelling upload {} of project {}", uploadId, projectId);
+        ProjectUpload upload = find(projectId, uploadId);
+        claim(upload);
+        delete(upload);
+    }
+
+    /**
+     * Deletes the uploads past their expiry, and the files of uploads deleted with their project.
+     * Returns the number of uploads deleted.
+     */
+    @Scheduled(cron = "${indezy.attachments.uploads.expiry-cron:0 */15 * * * *}")
+    public int expireAbandoned() {
+        List<ProjectUpload> expired = uploadRepository.findByExpiresAtBefore(LocalDateTime.now(clock));
+        int deleted = 0;
+        try {
+            for (ProjectUpload upload : expired) {
+                delete(upload);
+                deleted++;
+            }
+            store.sweepUploads(uploadRepository::existsById, clock.instant().minus(expiry));
+        } catch (IOException e) {
+            log.warn("Could not delete expired uploads: {}", e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} abandoned uploads", deleted);
+        }
+        return deleted;
+    }
+
+    private void advance(ProjectUpload upload, long offset, long written) {
+        LocalDateTime expiresAt = LocalDateTime.now(clock).plus(expiry);
+        Integer updated = transaction.execute(status ->
+            uploadRepository.advance(upload.getId(), offset, offset + written, expiresAt));
+        if (updated == null || updated == 0) {
+            ProjectUpload current = find(upload.getProject().getId(), upload.getId());
+            throw new IllegalArgumentException(
+                String.format(ErrorMessages.UPLOAD_OFFSET_MISMATCH, offset, current.getReceivedBytes()));
+        }
+        upload.setReceivedBytes(offset + written);
+        upload.setExpiresAt(expiresAt);
+    }
+
+    /** Claims the upload for this request, or throws when another one is completing or cancelling it. */
+    private void claim(ProjectUpload upload) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Integer claimed = transaction.execute(status -> uploadRepository.claim(upload.getId(), now));
+        if (claimed == null || claimed == 0) {
+            throw new ConflictException(String.format(ErrorMessages.UPLOAD_IN_PROGRESS, upload.getId()));
+        }
+    }
+
+    private void release(ProjectUpload upload) {
+        transaction.executeWithoutResult(status -> uploadRepository.release(upload.getId()));
+    }
+
+    private void delete(ProjectUpload upload) throws IOException {
+        uploadRepository.deleteById(upload.getId());
+        Files.deleteIfExists(store.uploadPath(upload.getId()));
+    }
+
+    /** The upload, unless it does not belong to the project or has expired. */
+    private ProjectUpload find(Long projectId, Long uploadId) {
+        return uploadRepository.findByIdAndProjectId(uploadId, projectId)
+            .filter(upload -> upload.getExpiresAt().isAfter(LocalDateTime.now(clock)))
+            .orElseThrow(() -> new ResourceNotFoundException(
+                String.format(ErrorMessages.PROJECT_UPLOAD_NOT_FOUND, uploadId)));
+    }
+
+    private ProjectUploadDto toDto(ProjectUpload upload) {
+        return ProjectUploadDto.builder()
+            .id(upload.getId())
+            .projectId(upload.getProject() != null ? upload.getProject().getId() : null)
+            .fileName(upload.getFileName())
+            .contentType(upload.getContentType())
+            .sizeInBytes(upload.getSizeInBytes())
+            .sha256(upload.getSha256())
+            .receivedBytes(upload.getReceivedBytes())
+            .maxChunkSize(maxChunkSize.toBytes())
+            .expiresAt(upload.getExpiresAt())
+            .build();
+    }
+}
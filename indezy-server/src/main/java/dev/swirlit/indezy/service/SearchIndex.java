@@ -0,0 +1,299 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.constants.ErrorMessages;
+import dev.swirlit.indezy.dto.SearchHitDto;
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Contact;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.ProjectNote;
+import dev.swirlit.indezy.model.enums.SearchDocumentType;
+import dev.swirlit.indezy.repository.ClientRepository;
+import dev.swirlit.indezy.repository.ContactRepository;
+import dev.swirlit.indezy.repository.ProjectNoteRepository;
+import dev.swirlit.indezy.repository.ProjectRepository;
+import dev.swirlit.indezy.repository.SearchTextRow;
+import dev.swirlit.indezy.util.InvertedIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over the projects (role, tech stack, description, notes and advantages),
+ * project notes, clients and contacts of a freelance, ranked with BM25 by an {@link InvertedIndex}.
+ * Role, company and contact names weigh three times as much as free text, the tech stack twice.
+ *
+ * <p>The index of a freelance is built from projection queries on its first search, and kept in
+ * memory for at most {@code indezy.search.max-indexes} freelances, least recently used evicted
+ * first. The mutating services report each change, applied once its transaction has committed to
+ * the index if it is loaded; changes the index cannot follow cheaply (client deletions cascading
+ * to projects, imports) drop it, to be rebuilt on the next search. Each instance keeps its own
+ * indexes, so another instance only sees its own writes once its index is rebuilt.
+ */
+@Service
+@Slf4j
+public class SearchIndex {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    public static final int MAX_QUERY_LENGTH = 200;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int KEYWORD_WEIGHT = 2;
+    private static final int TEXT_WEIGHT = 1;
+    private static final int EXCERPT_LENGTH = 120;
+
+    record Key(SearchDocumentType type, long id) {
+    }
+
+    record Document(Long projectId, String title) {
+    }
+
+    private final ProjectRepository projectRepository;
+    private final ProjectNoteRepository projectNoteRepository;
+    private final ClientRepository clientRepository;
+    private final ContactRepository contactRepository;
+    private final TransactionTemplate loadTransaction;
+    private final Map<Long, Slot> slots;
+
+    public SearchIndex(ProjectRepository projectRepository,
+                       ProjectNoteRepository projectNoteRepository,
+                       ClientRepository clientRepository,
+                       ContactRepository contactRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${indezy.search.max-indexes:200}") int maxIndexes) {
+        if (maxIndexes < 1) {
+            throw new IllegalArgumentException("Invalid search settings");
+        }
+        this.projectRepository = projectRepository;
+        this.projectNoteRepository = projectNoteRepository;
+        this.clientRepository = clientRepository;
+        this.contactRepository = contactRepository;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setReadOnly(true);
+        this.slots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Slot> eldest) {
+                return size() > maxIndexes;
+            }
+        };
+    }
+
+    /**
+     * The {@code limit} records of a freelance matching every word of the query, best first. A word
+     * ending in {@code *} matches the words starting with it.
+     */
+    public List<SearchHitDto> search(Long freelanceId, String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.SEARCH_QUERY_TOO_LONG, MAX_QUERY_LENGTH));
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        return index(freelanceId).search(query, size).stream()
+            .map(hit -> SearchHitDto.builder()
+                .type(hit.key().type())
+                .id(hit.key().id())
+                .projectId(hit.payload().projectId())
+                .title(hit.payload().title())
+                .score(hit.score())
+                .build())
+            .toList();
+    }
+
+    /** Indexes a created or updated project. */
+    public void indexProject(Project project) {
+        if (project.getFreelance() == null) {
+            return;
+        }
+        afterCommit(project.getFreelance().getId(), index -> put(index, SearchDocumentType.PROJECT, project.getId(),
+            project.getVersion(), project.getId(), project.getRole(), project.getTechStack(),
+            project.getDescription(), project.getNotes(), project.getAdvantages()));
+    }
+
+    /** Removes a deleted project and its notes. */
+    public void removeProject(Long freelanceId, Long projectId) {
+        afterCommit(freelanceId, index -> {
+            index.remove(new Key(SearchDocumentType.PROJECT, projectId));
+            index.removeIf((key, document) ->
+                key.type() == SearchDocumentType.PROJECT_NOTE && projectId.equals(document.projectId()));
+        });
+    }
+
+    public void indexNote(ProjectNote note) {
+        Project project = note.getProject();
+        if (project.getFreelance() == null) {
+            return;
+        }
+        afterCommit(project.getFreelance().getId(), index -> put(index, SearchDocumentType.PROJECT_NOTE, note.getId(),
+            note.getVersion(), project.getId(), null, null, note.getContent()));
+    }
+
+    public void removeNote(Long freelanceId, Long noteId) {
+        afterCommit(freelanceId, index -> index.remove(new Key(SearchDocumentType.PROJECT_NOTE, noteId)));
+    }
+
+    public void indexClient(Client client) {
+        afterCommit(client.getFreelance().getId(), index -> put(index, SearchDocumentType.CLIENT, client.getId(),
+            client.getVersion(), null, client.getCompanyName(), null));
+    }
+
+    public void indexContact(Contact contact) {
+        afterCommit(contact.getFreelance().getId(), index -> put(index, SearchDocumentType.CONTACT, contact.getId(),
+            contact.getVersion(), null, fullName(contact.getFirstName(), contact.getLastName()), null));
+    }
+
+    public void removeContact(Long freelanceId, Long contactId) {
+        afterCommit(freelanceId, index -> index.remove(new Key(SearchDocumentType.CONTACT, contactId)));
+    }
+
+    /**
+     * Drops the index of a freelance, now and again once the current transaction (if any) has
+     * committed; the next search rebuilds it.
+     */
+    public void invalidate(Long freelanceId) {
+        if (freelanceId == null) {
+            return;
+        }
+        drop(freelanceId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop(freelanceId);
+                }
+            });
+        }
+    }
+
+    /** Number of freelances whose index is in memory. */
+    public int size() {
+        synchronized (slots) {
+            return slots.size();
+        }
+    }
+
+    private void drop(Long freelanceId) {
+        synchronized (slots) {
+            slots.remove(freelanceId);
+        }
+    }
+
+    /**
+     * Applies a change to the index of a freelance once the current transaction (if any) has
+     * committed. An index not in memory is left alone: it is built from the committed data.
+     */
+    private void afterCommit(Long freelanceId, Consumer<InvertedIndex<Key, Document>> change) {
+        Runnable apply = () -> {
+            Slot slot;
+            synchronized (slots) {
+                slot = slots.get(freelanceId);
+            }
+            if (slot != null) {
+                slot.apply(change);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * The index of a freelance, loaded on first use. The slot is registered before the load, so
+     * changes committed while it runs wait for it and are applied on top.
+     */
+    private InvertedIndex<Key, Document> index(Long freelanceId) {
+        Slot slot;
+        synchronized (slots) {
+            slot = slots.computeIfAbsent(freelanceId, id -> new Slot());
+        }
+        synchronized (slot) {
+            if (slot.index == null) {
+                slot.index = load(freelanceId);
+            }
+            return slot.index;
+        }
+    }
+
+    private InvertedIndex<Key, Document> load(Long freelanceId) {
+        long start = System.nanoTime();
+        InvertedIndex<Key, Document> index = new InvertedIndex<>();
+        loadTransaction.executeWithoutResult(status -> {
+            try (Stream<SearchTextRow> projects = projectRepository.streamSearchText(freelanceId)) {
+                projects.forEach(row -> put(index, SearchDocumentType.PROJECT, row.getId(), row.getVersion(),
+                    row.getProjectId(), row.getTitle(), row.getKeywords(), row.getText(), row.getNotes(),
+                    row.getAdvantages()));
+            }
+            try (Stream<SearchTextRow> notes = projectNoteRepository.streamSearchText(freelanceId)) {
+                notes.forEach(row -> put(index, SearchDocumentType.PROJECT_NOTE, row.getId(), row.getVersion(),
+                    row.getProjectId(), null, null, row.getText()));
+            }
+            for (SearchTextRow row : clientRepository.findSearchTextByFreelanceId(freelanceId)) {
+                put(index, SearchDocumentType.CLIENT, row.getId(), row.getVersion(), null, row.getTitle(), null);
+            }
+            for (SearchTextRow row : contactRepository.findSearchTextByFreelanceId(freelanceId)) {
+                put(index, SearchDocumentType.CONTACT, row.getId(), row.getVersion(), null, row.getTitle(), null);
+            }
+        });
+        log.info("Built search index of freelance {}: {} documents in {} ms",
+            freelanceId, index.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    /**
+     * Indexes a record under its type and id. A record without a title, a note, is shown by the
+     * start of its text.
+     */
+    private static void put(InvertedIndex<Key, Document> index, SearchDocumentType type, Long id, Long version,
+                            Long projectId, String title, String keywords, String... texts) {
+        List<InvertedIndex.Field> fields = new ArrayList<>(texts.length + 2);
+        fields.add(new InvertedIndex.Field(title, TITLE_WEIGHT));
+        fields.add(new InvertedIndex.Field(keywords, KEYWORD_WEIGHT));
+        for (String text : texts) {
+            fields.add(new InvertedIndex.Field(text, TEXT_WEIGHT));
+        }
+        String shown = title != null ? title.strip() : excerpt(texts.length > 0 ? texts[0] : null);
+        index.put(new Key(type, id), new Document(projectId, shown), version != null ? version : 0, fields);
+    }
+
+    private static String excerpt(String text) {
+        if (text == null) {
+            return null;
+        }
+        String line = text.strip().replaceAll("\\s+", " ");
+        return line.length() <= EXCERPT_LENGTH ? line : line.substring(0, EXCERPT_LENGTH - 1) + "…";
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        return ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "")).strip();
+    }
+
+    /** The index of one freelance, null until loaded. Guarded by the slot's monitor. */
+    private static final class Slot {
+        private InvertedIndex<Key, Document> index;
+
+        synchronized void apply(Consumer<InvertedIndex<Key, Document>> change) {
+            if (index != null) {
+                change.accept(index);
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.constants.ErrorMessages;
+import dev.swirlit.indezy.dto.SkillMatchDto;
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.model.SkillTag;
+import dev.swirlit.indezy.repository.ActiveOpportunity;
+import dev.swirlit.indezy.repository.ProjectRepository;
+import dev.swirlit.indezy.repository.SkillTagRepository;
+import dev.swirlit.indezy.repository.UserRepository;
+import dev.swirlit.indezy.util.BitmapIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Ranks the active opportunities of a user by how well the skills of their profile cover the
+ * skill tags of each project. The profile is resolved to tag ids the way tech stacks are (see
+ * {@link SkillTagService}); a project's score is the share of its tags among them, so a project
+ * asking for Java and Kafka scores 0.5 for a Java-only profile, and projects without tags are
+ * not ranked. As elsewhere, a user's projects are those of the freelance with the same id.
+ *
+ * <p>The scores of all the projects of a user come from one pass over the postings of their tag
+ * index, and are kept until that index changes (a project saved, deleted or re-tagged, tags
+ * merged) or the profile resolves to other tags. Ranking is then a single pass over the active
+ * opportunities, keeping the best {@code limit} in a bounded heap.
+ */
+@Service
+@Slf4j
+public class SkillMatchService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    /** Best first; ties go to the project matching more skills, then to the most recent. */
+    private static final Comparator<Ranked> RANKING = Comparator.comparingDouble(Ranked::score)
+        .thenComparingInt(Ranked::matched)
+        .thenComparing(ranked -> ranked.opportunity().getProjectId())
+        .reversed();
+
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final SkillTagRepository tagRepository;
+    private final SkillTagService skillTagService;
+    private final Map<Long, Scores> scores;
+
+    public SkillMatchService(UserRepository userRepository,
+                             ProjectRepository projectRepository,
+                             SkillTagRepository tagRepository,
+                             SkillTagService skillTagService,
+                             @Value("${indezy.tags.max-indexes:200}") int maxIndexes) {
+        if (maxIndexes < 1) {
+            throw new IllegalArgumentException("Invalid skill tag settings");
+        }
+        this.userRepository = userRepository;
+        this.projectRepository = projectRepository;
+        this.tagRepository = tagRepository;
+        this.skillTagService = skillTagService;
+        // One score table per tag index at most.
+        this.scores = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Scores> eldest) {
+                return size() > maxIndexes;
+            }
+        };
+    }
+
+    /**
+     * The {@code limit} active opportunities of a user matching the most of their skills, best
+     * first, with the skills each one asks for that the user has and lacks.
+     */
+    public List<SkillMatchDto> findBestMatches(Long userId, Integer limit) {
+        log.debug("Finding the best skill matches of user: {}", userId);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.USER_NOT_FOUND, userId));
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        Set<Long> profile = new HashSet<>(skillTagService.resolveIds(userId, userRepository.findSkillsById(userId)).values());
+        if (profile.isEmpty()) {
+            return List.of();
+        }
+        Scores current = scores(userId, profile);
+
+        PriorityQueue<Ranked> best = new PriorityQueue<>(size + 1, RANKING.reversed());
+        for (ActiveOpportunity opportunity : projectRepository.findActiveOpportunities(userId)) {
+            Match match = current.matches().get(opportunity.getProjectId());
+            if (match == null) {
+                continue;
+            }
+            Ranked ranked = new Ranked(opportunity, match.score(), match.matched());
+            if (best.size() < size) {
+                best.add(ranked);
+            } else if (RANKING.compare(ranked, best.peek()) < 0) {
+                best.poll();
+                best.add(ranked);
+            }
+        }
+        if (best.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, String> names = new HashMap<>();
+        for (SkillTag tag : tagRepository.findByFreelanceIdOrderByName(userId)) {
+            names.put(tag.getId(), tag.getName());
+        }
+        return best.stream()
+            .sorted(RANKING)
+            .map(ranked -> toDto(ranked, current, profile, names))
+            .toList();
+    }
+
+    /**
+     * The scores of a user's projects against a profile, from the cache while neither the tag
+     * index nor the profile has changed since they were computed.
+     */
+    private Scores scores(Long userId, Set<Long> profile) {
+        BitmapIndex<Long> index = skillTagService.index(userId);
+        // Read before the pass: a change made during it makes the next call compute again.
+        long version = index.version();
+        Scores cached;
+        synchronized (scores) {
+            cached = scores.get(userId);
+        }
+        if (cached != null && cached.index() == index && cached.version() == version && cached.profile().equals(profile)) {
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        Map<Long, Match> matches = new HashMap<>();
+        index.overlap(profile, (projectId, tags, matched) -> {
+            if (matched > 0) {
+                matches.put(projectId, new Match((double) matched / tags, matched));
+            }
+        });
+        Scores computed = new Scores(index, version, profile, matches);
+        synchronized (scores) {
+            scores.put(userId, computed);
+        }
+        log.debug("Scored the projects of user {} against {} skills: {} matches in {} µs",
+            userId, profile.size(), matches.size(), (System.nanoTime() - start) / 1000);
+        return computed;
+    }
+
+    private static SkillMatchDto toDto(Ranked ranked, Scores scores, Set<Long> profile, Map<Long, String> names) {
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (Long tagId : scores.index().keys(ranked.opportunity().getProjectId())) {
+            String name = names.get(tagId);
+            if (name != null) {
+                (profile.contains(tagId) ? matched : missing).add(name);
+            }
+        }
+        matched.sort(String.CASE_INSENSITIVE_ORDER);
+        missing.sort(String.CASE_INSENSITIVE_ORDER);
+        return SkillMatchDto.builder()
+            .projectId(ranked.opportunity().getProjectId())
+            .role(ranked.opportunity().getRole())
+            .clientName(ranked.opportunity().getClientName())
+            .status(ranked.opportunity().getStatus())
+            .score(ranked.score())
+            .matchedSkills(matched)
+            .missingSkills(missing)
+            .build();
+    }
+
+    /** Scores of the projects matching at least one skill, and what they were computed from. */
+    private record Scores(BitmapIndex<Long> index, long version, Set<Long> profile, Map<Long, Match> matches) {
+    }
+
+    private record Match(double score, int matched) {
+    }
+
+    private record Ranked(ActiveOpportunity opportunity, double score, int matched) {
+    }
+}
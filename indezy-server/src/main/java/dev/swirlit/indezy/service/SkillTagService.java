@@ -0,0 +1,500 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.constants.ErrorMessages;
+import dev.swirlit.indezy.dto.SkillTagDto;
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.ProjectTag;
+import dev.swirlit.indezy.model.SkillTag;
+import dev.swirlit.indezy.model.SkillTagAlias;
+import dev.swirlit.indezy.repository.FreelanceRepository;
+import dev.swirlit.indezy.repository.ProjectRepository;
+import dev.swirlit.indezy.repository.ProjectTagRepository;
+import dev.swirlit.indezy.repository.SkillTagAliasRepository;
+import dev.swirlit.indezy.repository.SkillTagRepository;
+import dev.swirlit.indezy.util.BitmapIndex;
+import dev.swirlit.indezy.util.SkillTags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Skill tags of the projects of a freelance, derived from their tech stack whenever a project is
+ * saved (see {@link SkillTags} for the normalization). Imported projects and projects written
+ * before tags existed are tagged in bulk when the index of their freelance is built.
+ *
+ * <p>Tags are written in transactions of their own, after the project save has committed, so
+ * deriving them never fails the save. Two writers creating the same tag, or tagging the same
+ * project, race on a unique constraint; the loser rolls back and runs again, finding what the
+ * winner committed.
+ *
+ * <p>Tag queries run on an in-memory {@link BitmapIndex} of each freelance, from tag to the
+ * projects carrying it: all-of and any-of queries are bitmap intersections and unions. The index
+ * is built on the first query and kept for at most {@code indezy.tags.max-indexes} freelances,
+ * least recently used evicted first; changes are applied to it once their transaction commits.
+ *
+ * <p>Projects reference tags by id, so renaming a tag is a single row update. Renaming it to the
+ * name of another tag merges the two: one statement moves every project to the other tag. The old
+ * name is kept as an alias of the tag, so tech stacks still spelling it that way keep being tagged
+ * with it.
+ */
+@Service
+@Slf4j
+public class SkillTagService {
+
+    /** Runs of a tag write that lost a race on a unique constraint before giving up. */
+    private static final int MAX_TAG_WRITE_ATTEMPTS = 3;
+
+    private final SkillTagRepository tagRepository;
+    private final SkillTagAliasRepository aliasRepository;
+    private final ProjectTagRepository projectTagRepository;
+    private final ProjectRepository projectRepository;
+    private final FreelanceRepository freelanceRepository;
+    private final TransactionTemplate tagTransaction;
+    private final TransactionTemplate loadTransaction;
+    private final Map<Long, Slot> slots;
+
+    public SkillTagService(SkillTagRepository tagRepository,
+                           SkillTagAliasRepository aliasRepository,
+                           ProjectTagRepository projectTagRepository,
+                           ProjectRepository projectRepository,
+                           FreelanceRepository freelanceRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${indezy.tags.max-indexes:200}") int maxIndexes) {
+        if (maxIndexes < 1) {
+            throw new IllegalArgumentException("Invalid skill tag settings");
+        }
+        this.tagRepository = tagRepository;
+        this.aliasRepository = aliasRepository;
+        this.projectTagRepository = projectTagRepository;
+        this.projectRepository = projectRepository;
+        this.freelanceRepository = freelanceRepository;
+        this.tagTransaction = new TransactionTemplate(transactionManager);
+        this.tagTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setReadOnly(true);
+        this.slots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Slot> eldest) {
+                return size() > maxIndexes;
+            }
+        };
+    }
+
+    /** The tags of a freelance, the most used first, with the number of projects carrying each. */
+    public List<SkillTagDto> getTags(Long freelanceId) {
+        log.debug("Getting skill tags of freelance: {}", freelanceId);
+        BitmapIndex<Long> index = index(freelanceId);
+        return tagRepository.findByFreelanceIdOrderByName(freelanceId).stream()
+            .map(tag -> toDto(tag, index.count(tag.getId())))
+            .sorted(Comparator.comparing(SkillTagDto::getProjectCount).reversed())
+            .toList();
+    }
+
+    /**
+     * Ids of the projects of a freelance tagged with every skill of {@code all} and at least one
+     * of {@code any}, in increasing order. Skills are matched by name, spelling variants and
+     * aliases included; an empty list does not constrain the result.
+     */
+    public List<Long> findProjectIds(Long freelanceId, Collection<String> all, Collection<String> any) {
+        log.debug("Finding projects of freelance {} tagged with all of {} and any of {}", freelanceId, all, any);
+        Map<String, Long> required = resolveIds(freelanceId, all);
+        Map<String, Long> optional = resolveIds(freelanceId, any);
+        if (required.size() < keys(all).size() || (!keys(any).isEmpty() && optional.isEmpty())) {
+            return List.of();
+        }
+        long[] ids = index(freelanceId).query(new HashSet<>(required.values()), new HashSet<>(optional.values()));
+        List<Long> projectIds = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            projectIds.add(id);
+        }
+        return projectIds;
+    }
+
+    /**
+     * Sets the tags of a saved project to the skills of its tech stack, creating the tags it
+     * lacks, once the current transaction (if any) has committed. A failure is logged and leaves
+     * the project with its previous tags; the save itself is never affected.
+     */
+    public void tagProject(Project project) {
+        if (project.getFreelance() == null) {
+            return;
+        }
+        Long freelanceId = project.getFreelance().getId();
+        Long projectId = project.getId();
+        String techStack = project.getTechStack();
+        afterCommit(() -> {
+            try {
+                Set<Long> tagIds = writeTags(() -> replaceTags(freelanceId, projectId, techStack));
+                apply(freelanceId, index -> index.put(projectId, tagIds));
+            } catch (RuntimeException e) {
+                log.warn("Tagging failed for project {} of freelance {}", projectId, freelanceId, e);
+                drop(freelanceId);
+            }
+        });
+    }
+
+    /** Forgets a deleted project; its tags went with it. */
+    public void removeProject(Long freelanceId, Long projectId) {
+        afterCommit(freelanceId, index -> index.remove(projectId));
+    }
+
+    /**
+     * Tags the projects of a freelance that have a tech stack but no tags, returning how many were
+     * tagged. Runs in the caller's transaction.
+     */
+    int tagUntagged(Long freelanceId) {
+        Map<Long, Map<String, String>> skillsByProject = new LinkedHashMap<>();
+        Map<String, String> skills = new HashMap<>();
+        try (Stream<ProjectTagRepository.TechStackRow> rows = projectTagRepository.streamUntagged(freelanceId)) {
+            rows.forEach(row -> {
+                Map<String, String> parsed = SkillTags.parse(row.getTechStack());
+                if (!parsed.isEmpty()) {
+                    skillsByProject.put(row.getId(), parsed);
+                    parsed.forEach(skills::putIfAbsent);
+                }
+            });
+        }
+        if (skillsByProject.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, SkillTag> tags = resolve(freelanceId, skills, true);
+        List<ProjectTag> rows = new ArrayList<>();
+        skillsByProject.forEach((projectId, parsed) -> {
+            Set<Long> tagIds = new HashSet<>();
+            Project project = projectRepository.getReferenceById(projectId);
+            for (String key : parsed.keySet()) {
+                SkillTag tag = tags.get(key);
+                // Two spellings of one project's stack may resolve to the same tag.
+                if (tagIds.add(tag.getId())) {
+                    rows.add(projectTag(project, tag));
+                }
+            }
+        });
+        projectTagRepository.saveAll(rows);
+        log.info("Tagged {} projects of freelance {}", skillsByProject.size(), freelanceId);
+        return skillsByProject.size();
+    }
+
+    /**
+     * Renames a tag on every project at once. A name already taken by another tag of the
+     * freelance (as its name or one of its aliases) merges this tag into it. The former name
+     * becomes an alias.
+     */
+    @Transactional
+    public SkillTagDto renameTag(Long tagId, String name) {
+        log.debug("Renaming skill tag {} to {}", tagId, name);
+        SkillTag tag = tagRepository.findById(tagId)
+            .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.SKILL_TAG_NOT_FOUND, tagId)));
+        String display = SkillTags.displayName(name);
+        String key = SkillTags.normalize(display);
+        if (key.isEmpty() || display.length() > SkillTags.MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.SKILL_TAG_NAME_INVALID, SkillTags.MAX_NAME_LENGTH));
+        }
+        Long freelanceId = tag.getFreelance().getId();
+        SkillTag target = resolve(freelanceId, Map.of(key, display), false).get(key);
+
+        if (target == null || target.getId().equals(tag.getId())) {
+            if (!key.equals(tag.getNormalizedName())) {
+                aliasRepository.deleteByTagAndNormalizedName(tag, key);
+                aliasRepository.save(alias(tag, tag.getNormalizedName()));
+                tag.setNormalizedName(key);
+            }
+            tag.setName(display);
+            SkillTag saved = tagRepository.save(tag);
+            log.info("Renamed skill tag {} to {}", tagId, display);
+            return toDto(saved, projectTagRepository.countByTagId(tagId));
+        }
+
+        int moved = projectTagRepository.reassign(tag, target);
+        projectTagRepository.deleteByTag(tag);
+        aliasRepository.reassign(tag, target);
+        aliasRepository.save(alias(target, tag.getNormalizedName()));
+        tagRepository.delete(tag);
+        if (key.equals(target.getNormalizedName())) {
+            target.setName(display);
+        }
+        SkillTag saved = tagRepository.save(target);
+        Long targetId = target.getId();
+        afterCommit(freelanceId, index -> index.merge(tagId, targetId));
+        log.info("Merged skill tag {} into {} ({}), moving {} projects", tagId, targetId, display, moved);
+        return toDto(saved, projectTagRepository.countByTagId(targetId));
+    }
+
+    /**
+     * Drops the index of a freelance, now and again once the current transaction (if any) has
+     * committed; the next query rebuilds it.
+     */
+    public void invalidate(Long freelanceId) {
+        if (freelanceId == null) {
+            return;
+        }
+        drop(freelanceId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop(freelanceId);
+                }
+            });
+        }
+    }
+
+    /** Replaces the tags of a project by those of its tech stack; returns their ids. Runs in the caller's transaction. */
+    private Set<Long> replaceTags(Long freelanceId, Long projectId, String techStack) {
+        Map<String, String> skills = SkillTags.parse(techStack);
+        Set<Long> wanted = new HashSet<>();
+        Map<Long, SkillTag> tagsById = new HashMap<>();
+        for (SkillTag tag : resolve(freelanceId, skills, true).values()) {
+            wanted.add(tag.getId());
+            tagsById.put(tag.getId(), tag);
+        }
+
+        List<ProjectTag> stale = new ArrayList<>();
+        Set<Long> present = new HashSet<>();
+        for (ProjectTag projectTag : projectTagRepository.findByProjectId(projectId)) {
+            if (wanted.contains(projectTag.getTag().getId())) {
+                present.add(projectTag.getTag().getId());
+            } else {
+                stale.add(projectTag);
+            }
+        }
+        projectTagRepository.deleteAll(stale);
+        Project project = projectRepository.getReferenceById(projectId);
+        List<ProjectTag> added = new ArrayList<>();
+        for (Long tagId : wanted) {
+            if (!present.contains(tagId)) {
+                added.add(projectTag(project, tagsById.get(tagId)));
+            }
+        }
+        projectTagRepository.saveAll(added);
+        return wanted;
+    }
+
+    /**
+     * Runs a tag write in a new transaction, again when it lost a race on a unique constraint
+     * (the same tag created, or the same project tagged, concurrently): the next run reads what
+     * the winner committed.
+     */
+    private <T> T writeTags(Supplier<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return tagTransaction.execute(status -> write.get());
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_TAG_WRITE_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Skill tag write lost a race, running it again: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The tags of a freelance by key, among the given keys: through its aliases first, then by
+     * name. With {@code create}, the missing ones are created under the given display names.
+     */
+    private Map<String, SkillTag> resolve(Long freelanceId, Map<String, String> skills, boolean create) {
+        Map<String, SkillTag> tags = new HashMap<>();
+        if (skills.isEmpty()) {
+            return tags;
+        }
+        for (SkillTagAlias alias : aliasRepository.findWithTagByFreelanceIdAndNormalizedNameIn(freelanceId, skills.keySet())) {
+            tags.put(alias.getNormalizedName(), alias.getTag());
+        }
+        for (SkillTag tag : tagRepository.findByFreelanceIdAndNormalizedNameIn(freelanceId, skills.keySet())) {
+            tags.putIfAbsent(tag.getNormalizedName(), tag);
+        }
+        if (create && tags.size() < skills.size()) {
+            Freelance freelance = freelanceRepository.getReferenceById(freelanceId);
+            List<SkillTag> created = new ArrayList<>();
+            skills.forEach((key, display) -> {
+                if (!tags.containsKey(key)) {
+                    SkillTag tag = new SkillTag();
+                    tag.setFreelance(freelance);
+                    tag.setName(display);
+                    tag.setNormalizedName(key);
+                    created.add(tag);
+                }
+            });
+            for (SkillTag tag : tagRepository.saveAll(created)) {
+                tags.put(tag.getNormalizedName(), tag);
+            }
+        }
+        return tags;
+    }
+
+    /** Tag ids of a freelance by key, for the names that resolve to a tag; none are created. */
+    Map<String, Long> resolveIds(Long freelanceId, Collection<String> names) {
+        Map<String, String> skills = new HashMap<>();
+        for (String key : keys(names)) {
+            skills.put(key, key);
+        }
+        Map<String, Long> ids = new HashMap<>();
+        resolve(freelanceId, skills, false).forEach((key, tag) -> ids.put(key, tag.getId()));
+        return ids;
+    }
+
+    private static Set<String> keys(Collection<String> names) {
+        Set<String> keys = new HashSet<>();
+        if (names != null) {
+            for (String name : names) {
+                String key = SkillTags.normalize(name);
+                if (!key.isEmpty()) {
+                    keys.add(key);
+                }
+            }
+        }
+        return keys;
+    }
+
+    private void drop(Long freelanceId) {
+        synchronized (slots) {
+            slots.remove(freelanceId);
+        }
+    }
+
+    /**
+     * Applies a change to the index of a freelance once the current transaction (if any) has
+     * committed. An index not in memory is left alone: it is built from the committed data.
+     */
+    private void afterCommit(Long freelanceId, Consumer<BitmapIndex<Long>> change) {
+        afterCommit(() -> apply(freelanceId, change));
+    }
+
+    private void apply(Long freelanceId, Consumer<BitmapIndex<Long>> change) {
+        Slot slot;
+        synchronized (slots) {
+            slot = slots.get(freelanceId);
+        }
+        if (slot != null) {
+            slot.apply(change);
+        }
+    }
+
+    /** Runs once the current transaction (if any) has committed. */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * The index of a freelance, built on first use after tagging its untagged projects (in a
+     * transaction of their own, retried like any tag write). The slot
+     * is registered before the build, so changes committed while it runs wait for it and are
+     * applied on top. {@link SkillMatchService} scores projects against it.
+     */
+    BitmapIndex<Long> index(Long freelanceId) {
+        Slot slot;
+        synchronized (slots) {
+            slot = slots.computeIfAbsent(freelanceId, id -> new Slot());
+        }
+        synchronized (slot) {
+            if (slot.index == null) {
+                slot.index = load(freelanceId);
+            }
+            return slot.index;
+        }
+    }
+
+    private BitmapIndex<Long> load(Long freelanceId) {
+        long start = System.nanoTime();
+        BitmapIndex<Long> index = new BitmapIndex<>();
+        int[] projects = new int[1];
+        try {
+            writeTags(() -> tagUntagged(freelanceId));
+        } catch (RuntimeException e) {
+            // Served without those projects, and not kept: the next query builds it again.
+            log.warn("Tagging the untagged projects of freelance {} failed", freelanceId, e);
+            drop(freelanceId);
+        }
+        loadTransaction.executeWithoutResult(status -> {
+            try (Stream<ProjectTagRepository.Posting> postings = projectTagRepository.streamPostings(freelanceId)) {
+                List<Long> tagIds = new ArrayList<>();
+                long[] current = {-1};
+                postings.forEach(posting -> {
+                    if (posting.getProjectId() != current[0]) {
+                        if (current[0] != -1) {
+                            index.put(current[0], tagIds);
+                            projects[0]++;
+                        }
+                        current[0] = posting.getProjectId();
+                        tagIds.clear();
+                    }
+                    tagIds.add(posting.getTagId());
+                });
+                if (current[0] != -1) {
+                    index.put(current[0], tagIds);
+                    projects[0]++;
+                }
+            }
+        });
+        log.info("Built skill tag index of freelance {}: {} projects in {} ms",
+            freelanceId, projects[0], (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    private static ProjectTag projectTag(Project project, SkillTag tag) {
+        ProjectTag projectTag = new ProjectTag();
+        projectTag.setProject(project);
+        projectTag.setTag(tag);
+        return projectTag;
+    }
+
+    private static SkillTagAlias alias(SkillTag tag, String normalizedName) {
+        SkillTagAlias alias = new SkillTagAlias();
+        alias.setFreelance(tag.getFreelance());
+        alias.setTag(tag);
+        alias.setNormalizedName(normalizedName);
+        return alias;
+    }
+
+    private static SkillTagDto toDto(SkillTag tag, long projectCount) {
+        return SkillTagDto.builder()
+            .id(tag.getId())
+            .freelanceId(tag.getFreelance() != null ? tag.getFreelance().getId() : null)
+            .name(tag.getName())
+            .projectCount((int) projectCount)
+            .build();
+    }
+
+    /** The index of one freelance, null until built. Guarded by the slot's monitor. */
+    private static final class Slot {
+        private BitmapIndex<Long> index;
+
+        synchronized void apply(Consumer<BitmapIndex<Long>> change) {
+            if (index != null) {
+                change.accept(index);
+            }
+        }
+    }
+}
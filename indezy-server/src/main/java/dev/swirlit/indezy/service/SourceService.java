@@ -1,5 +1,6 @@
 package dev.swirlit.indezy.service;
 
+import dev.swirlit.indezy.dto.CursorPageDto;
 import dev.swirlit.indezy.dto.SourceDto;
 import dev.swirlit.indezy.exception.ResourceNotFoundException;
 import dev.swirlit.indezy.mapper.SourceMapper;
@@ -8,6 +9,7 @@ import dev.swirlit.indezy.model.Source;
 import dev.swirlit.indezy.model.enums.SourceType;
 import dev.swirlit.indezy.repository.FreelanceRepository;
 import dev.swirlit.indezy.repository.SourceRepository;
+import dev.swirlit.indezy.util.CursorPagination;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,9 @@ public class SourceService {
     private final SourceRepository sourceRepository;
     private final FreelanceRepository freelanceRepository;
     private final SourceMapper sourceMapper;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final AggregateCounterService aggregateCounterService;
+    private final FreelanceViewCache viewCache;
 
     @Transactional(readOnly = true)
     public List<SourceDto> findAll() {
@@ -42,6 +47,24 @@ public class SourceService {
         return sourceMapper.toDto(source);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDto<SourceDto> scrollAll(String cursor, Integer limit) {
+        log.debug("Scrolling sources after cursor: {}", cursor);
+        int pageSize = CursorPagination.resolveLimit(limit);
+        return CursorPagination.toPage(
+            sourceRepository.findByIdLessThanOrderByIdDesc(CursorPagination.decode(cursor), CursorPagination.fetchLimit(pageSize)),
+            pageSize, sourceMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<SourceDto> scrollByFreelanceId(Long freelanceId, String cursor, Integer limit) {
+        log.debug("Scrolling sources by freelance id: {} after cursor: {}", freelanceId, cursor);
+        int pageSize = CursorPagination.resolveLimit(limit);
+        return CursorPagination.toPage(
+            sourceRepository.findByFreelanceIdAndIdLessThanOrderByIdDesc(freelanceId, CursorPagination.decode(cursor), CursorPagination.fetchLimit(pageSize)),
+            pageSize, sourceMapper::toDto);
+    }
+
     public SourceDto create(SourceDto sourceDto) {
         log.debug("Creating new source: {}", sourceDto.getName());
         
@@ -54,6 +77,7 @@ public class SourceService {
         source.setFreelance(freelance);
         
         Source savedSource = sourceRepository.save(source);
+        viewCache.invalidate(freelance.getId(), FreelanceViewCache.View.SOURCE_TYPES);
         log.debug("Created source with id: {}", savedSource.getId());
         
         return sourceMapper.toDto(savedSource);
@@ -64,6 +88,8 @@ public class SourceService {
         
         Source existingSource = sourceRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Source not found with id: " + id));
+        // Its name shows on the Kanban cards and dashboard funnels of its (possibly previous) freelance.
+        viewCache.invalidateAll(existingSource.getFreelance().getId());
         
         // Validate freelance exists if changed
         if (!existingSource.getFreelance().getId().equals(sourceDto.getFreelanceId())) {
@@ -75,6 +101,7 @@ public class SourceService {
         sourceMapper.updateEntity(sourceDto, existingSource);
         
         Source updatedSource = sourceRepository.save(existingSource);
+        viewCache.invalidateAll(updatedSource.getFreelance().getId());
         log.debug("Updated source with id: {}", updatedSource.getId());
         
         return sourceMapper.toDto(updatedSource);
@@ -87,6 +114,12 @@ public class SourceService {
             .orElseThrow(() -> new ResourceNotFoundException("Source not found with id: " + id));
         
         sourceRepository.delete(source);
+        // The projects cascading with it bypass the dashboard deltas and the counter increments.
+        if (source.getFreelance() != null) {
+            dashboardSnapshotService.invalidate(source.getFreelance().getId());
+            aggregateCounterService.recount(source.getFreelance().getId());
+            viewCache.invalidateAll(source.getFreelance().getId());
+        }
         log.debug("Deleted source with id: {}", id);
     }
 
@@ -158,6 +191,7 @@ public class SourceService {
     @Transactional(readOnly = true)
     public List<SourceType> findDistinctTypesByFreelanceId(Long freelanceId) {
         log.debug("Finding distinct source types by freelance id: {}", freelanceId);
-        return sourceRepository.findDistinctTypesByFreelanceId(freelanceId);
+        return viewCache.get(FreelanceViewCache.View.SOURCE_TYPES, freelanceId,
+            () -> sourceRepository.findDistinctTypesByFreelanceId(freelanceId));
     }
 }
@@ -1,52 +1,267 @@
 package dev.swirlit.indezy.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import dev.swirlit.indezy.constants.ErrorMessages;
+import dev.swirlit.indezy.dto.CursorPageDto;
+import dev.swirlit.indezy.dto.DataExportDto;
+import dev.swirlit.indezy.dto.JobDto;
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.model.enums.JobStatus;
+import dev.swirlit.indezy.model.enums.JobType;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
 
-import java.nio.charset.StandardCharsets;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
- * Assembles a full GDPR (droit à la portabilité) export of a user's account: their profile plus
- * every project, client, contact and source they own, serialised as pretty-printed JSON. Reuses
- * the existing DTO-returning services so the export stays in sync with the rest of the API.
+ * Builds a full GDPR (droit à la portabilité) export of a user's account in the background: their
+ * profile plus every project, client, contact and source they own. Reuses the existing
+ * DTO-returning services so the export stays in sync with the rest of the API, and the
+ * application's JSON mapper so it reads like the API responses.
+ *
+ * <p>{@link #startExport(Long)} submits a {@link JobType#DATA_EXPORT} job to {@link JobService}
+ * and returns at once; a user has at most one export queued or running, and at most
+ * {@code indezy.export.workers} exports run at the same time. The job writes a ZIP file under
+ * {@code indezy.export.directory} with one entry per section: {@code profile.json} and one NDJSON
+ * file (one entity per line) per entity type, read page by page through the keyset pagination of
+ * each service, so memory use does not grow with the size of the account. A resumed job writes
+ * the archive again from the start. Finished files are deleted after {@code retention}.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
-public class UserDataExportService {
+public class UserDataExportService implements JobHandler {
+
+    /** Entities read per page, the keyset pagination maximum. */
+    static final int PAGE_SIZE = 200;
+
+    private static final List<String> SECTIONS = List.of("profile", "projects", "clients", "contacts", "sources");
+    private static final String ARCHIVE_SUFFIX = ".zip";
+    private static final String PARTIAL_SUFFIX = ".zip.part";
 
     private final UserService userService;
     private final ProjectService projectService;
     private final ClientService clientService;
     private final ContactService contactService;
     private final SourceService sourceService;
+    private final JobService jobService;
+    private final JsonMapper jsonMapper;
+    private final Path directory;
+    private final int maxConcurrentExports;
+    private final Duration retention;
+    private final Clock clock;
 
-    // Self-contained mapper (the app does not expose an ObjectMapper bean); modules add date support.
-    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    @Autowired
+    public UserDataExportService(UserService userService,
+                                 ProjectService projectService,
+                                 ClientService clientService,
+                                 ContactService contactService,
+                                 SourceService sourceService,
+                                 JobService jobService,
+                                 JsonMapper jsonMapper,
+                                 @Value("${indezy.export.directory:exports}") String directory,
+                                 @Value("${indezy.export.workers:1}") int workers,
+                                 @Value("${indezy.export.retention:24h}") Duration retention) {
+        this(userService, projectService, clientService, contactService, sourceService, jobService, jsonMapper,
+            Path.of(directory), workers, retention, Clock.systemDefaultZone());
+    }
+
+    UserDataExportService(UserService userService, ProjectService projectService, ClientService clientService,
+                          ContactService contactService, SourceService sourceService, JobService jobService,
+                          JsonMapper jsonMapper, Path directory, int workers, Duration retention, Clock clock) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Invalid data export settings");
+        }
+        this.userService = userService;
+        this.projectService = projectService;
+        this.clientService = clientService;
+        this.contactService = contactService;
+        this.sourceService = sourceService;
+        this.jobService = jobService;
+        this.jsonMapper = jsonMapper;
+        this.directory = directory;
+        this.maxConcurrentExports = workers;
+        this.retention = retention;
+        this.clock = clock;
+    }
 
-    @Transactional(readOnly = true)
-    public byte[] exportUserData(Long userId) {
-        log.debug("Exporting account data for user ID: {}", userId);
+    /** Queues an export of the user's data, or returns the one already queued or running. */
+    public DataExportDto startExport(Long userId) {
+        log.debug("Starting account data export for user ID: {}", userId);
+        return toDto(jobService.submit(JobType.DATA_EXPORT, userId));
+    }
 
-        Map<String, Object> export = new LinkedHashMap<>();
-        export.put("profile", userService.getUserProfile(userId));
-        export.put("projects", projectService.findByFreelanceId(userId));
-        export.put("clients", clientService.findByFreelanceId(userId));
-        export.put("contacts", contactService.findByFreelanceId(userId));
-        export.put("sources", sourceService.findByFreelanceId(userId));
+    public DataExportDto getExport(Long userId, Long exportId) {
+        return toDto(find(userId, exportId));
+    }
 
+    /**
+     * The archive of a completed export; throws {@link IllegalArgumentException} while it is not
+     * completed, and {@link ResourceNotFoundException} once it has expired.
+     */
+    public Path getExportFile(Long userId, Long exportId) {
+        JobDto job = find(userId, exportId);
+        if (job.getStatus() != JobStatus.COMPLETED) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.DATA_EXPORT_NOT_READY, exportId));
+        }
+        Path archive = archive(exportId);
+        if (!Files.isRegularFile(archive)) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.DATA_EXPORT_NOT_FOUND, exportId));
+        }
+        return archive;
+    }
+
+    @Override
+    public JobType jobType() {
+        return JobType.DATA_EXPORT;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return maxConcurrentExports;
+    }
+
+    /** Fails fast, on the request thread, for an unknown user. */
+    @Override
+    public void validate(Long userId) {
+        userService.getUserProfile(userId);
+    }
+
+    @Override
+    public String run(JobContext context) throws IOException {
+        Path partial = directory.resolve(context.getJobId() + PARTIAL_SUFFIX);
+        Path archive = archive(context.getJobId());
         try {
-            return objectMapper.writerWithDefaultPrettyPrinter()
-                .writeValueAsString(export)
-                .getBytes(StandardCharsets.UTF_8);
-        } catch (JsonProcessingException e) {
-            throw new IllegalStateException("Failed to serialize user data export", e);
+            Files.createDirectories(directory);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                writeArchive(context, out);
+            }
+            Files.move(partial, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException ignored) {
+                // Left for purgeExpired.
+            }
+            throw e;
+        }
+        long size = Files.size(archive);
+        log.info("Exported account data of user {} ({} records, {} bytes)", context.getOwnerId(),
+            context.getProcessedItems(), size);
+        return archive.getFileName().toString();
+    }
+
+    /** Deletes the archives older than {@code retention}, including those left by a previous run. */
+    @Scheduled(fixedDelayString = "${indezy.export.sweep-interval-ms:3600000}")
+    public int purgeExpired() {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        Instant cutoff = clock.instant().minus(retention);
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + ARCHIVE_SUFFIX + "*")) {
+            for (Path file : files) {
+                if (!Files.getLastModifiedTime(file).toInstant().isAfter(cutoff)) {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not purge expired data exports: {}", e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} expired data exports", deleted);
+        }
+        return deleted;
+    }
+
+    private void writeArchive(JobContext context, OutputStream out) throws IOException {
+        Long userId = context.getOwnerId();
+        ZipOutputStream zip = new ZipOutputStream(out);
+        section(context, 0);
+        zip.putNextEntry(new ZipEntry("profile.json"));
+        zip.write(jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(userService.getUserProfile(userId)));
+        zip.closeEntry();
+        context.processed(1);
+
+        section(context, 1);
+        writeSection(zip, "projects", cursor -> projectService.scrollByFreelanceId(userId, cursor, PAGE_SIZE), context);
+        section(context, 2);
+        writeSection(zip, "clients", cursor -> clientService.scrollByFreelanceId(userId, cursor, PAGE_SIZE), context);
+        section(context, 3);
+        writeSection(zip, "contacts", cursor -> contactService.scrollByFreelanceId(userId, cursor, PAGE_SIZE), context);
+        section(context, 4);
+        writeSection(zip, "sources", cursor -> sourceService.scrollByFreelanceId(userId, cursor, PAGE_SIZE), context);
+        zip.finish();
+    }
+
+    /** Writes every entity of one type as an NDJSON entry, one page (and one read transaction) at a time. */
+    private void writeSection(ZipOutputStream zip, String name, Function<String, CursorPageDto<?>> pages, JobContext context)
+        throws IOException {
+        zip.putNextEntry(new ZipEntry(name + ".ndjson"));
+        String cursor = null;
+        do {
+            context.throwIfCancelled();
+            CursorPageDto<?> page = pages.apply(cursor);
+            for (Object item : page.getItems()) {
+                zip.write(jsonMapper.writeValueAsBytes(item));
+                zip.write('\n');
+            }
+            context.processed(page.getItems().size());
+            cursor = page.isHasMore() ? page.getNextCursor() : null;
+        } while (cursor != null);
+        zip.closeEntry();
+    }
+
+    private static void section(JobContext context, int index) {
+        context.progress(index * 100 / SECTIONS.size(), SECTIONS.get(index));
+    }
+
+    private Path archive(Long exportId) {
+        return directory.resolve(exportId + ARCHIVE_SUFFIX);
+    }
+
+    private JobDto find(Long userId, Long exportId) {
+        return jobService.findJob(userId, exportId)
+            .filter(job -> job.getType() == JobType.DATA_EXPORT)
+            .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.DATA_EXPORT_NOT_FOUND, exportId)));
+    }
+
+    private DataExportDto toDto(JobDto job) {
+        Path archive = archive(job.getId());
+        Long sizeInBytes = null;
+        if (job.getStatus() == JobStatus.COMPLETED) {
+            try {
+                sizeInBytes = Files.size(archive);
+            } catch (IOException e) {
+                // Expired: getExportFile reports it.
+            }
         }
+        return DataExportDto.builder()
+            .id(job.getId())
+            .status(DataExportDto.Status.valueOf(job.getStatus().name()))
+            .progress(job.getProgress())
+            .currentSection(job.getStatus().isActive() ? job.getCurrentStep() : null)
+            .records(job.getProcessedItems())
+            .sizeInBytes(sizeInBytes)
+            .error(job.getError())
+            .createdAt(job.getCreatedAt())
+            .completedAt(job.getCompletedAt())
+            .build();
     }
 }
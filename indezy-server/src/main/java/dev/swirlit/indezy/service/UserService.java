@@ -13,12 +13,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -33,8 +28,6 @@ public class UserService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
 
-    private static final String UPLOAD_DIR = "uploads/avatars/";
-
     /**
      * Get user profile by ID
      */
@@ -59,38 +52,6 @@ public class UserService {
         return userMapper.toDto(savedUser);
     }
 
-    /**
-     * Upload user avatar
-     */
-    public String uploadAvatar(Long userId, MultipartFile file) throws IOException {
-        log.debug("Uploading avatar for user ID: {}", userId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException(String.format(ErrorMessages.USER_NOT_FOUND, userId)));
-
-        // Create upload directory if it doesn't exist
-        Path uploadPath = Paths.get(UPLOAD_DIR);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
-
-        // Generate unique filename
-        String originalFilename = file.getOriginalFilename();
-        String extension = originalFilename != null ? 
-            originalFilename.substring(originalFilename.lastIndexOf('.')) : ".jpg";
-        String filename = userId + "_" + UUID.randomUUID() + extension;
-        Path filePath = uploadPath.resolve(filename);
-
-        // Save file
-        Files.copy(file.getInputStream(), filePath);
-
-        // Update user avatar path
-        String avatarUrl = "/api/files/avatars/" + filename;
-        user.setAvatar(avatarUrl);
-        userRepository.save(user);
-
-        return avatarUrl;
-    }
-
     /**
      * Change user password
      */
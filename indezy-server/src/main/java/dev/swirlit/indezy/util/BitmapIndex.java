@@ -0,0 +1,220 @@
+package dev.swirlit.indezy.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory posting lists from keys to the documents (numbered by {@code long} ids) carrying them,
+ * one {@link BitSet} per key. Documents get dense positions in the order they are first added, so
+ * a bitmap takes one bit per document of the index rather than per id; AND and OR queries are
+ * word-wise intersections and unions of the bitmaps, and return the matching ids in increasing
+ * order. The positions of removed documents are not reused. Reads share a lock and writes are
+ * exclusive; each write increments the {@link #version()}, so data derived from the index can
+ * tell whether it is still current.
+ *
+ * @param <K> posting key
+ */
+public final class BitmapIndex<K> {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private final Map<K, BitSet> postings = new HashMap<>();
+    private long[] documents = new long[64];
+    private int size;
+    private long version;
+
+    /** Receives the overlap of one document with a set of keys, see {@link #overlap}. */
+    @FunctionalInterface
+    public interface OverlapConsumer {
+        void accept(long document, int keys, int matched);
+    }
+
+    /** Sets the keys of a document, replacing those it had. */
+    public void put(long document, Collection<K> keys) {
+        lock.writeLock().lock();
+        try {
+            Integer position = positions.get(document);
+            if (position == null) {
+                position = size++;
+                if (position == documents.length) {
+                    documents = Arrays.copyOf(documents, documents.length * 2);
+                }
+                documents[position] = document;
+                positions.put(document, position);
+            } else {
+                clear(position);
+            }
+            for (K key : keys) {
+                postings.computeIfAbsent(key, k -> new BitSet()).set(position);
+            }
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long document) {
+        lock.writeLock().lock();
+        try {
+            Integer position = positions.remove(document);
+            if (position != null) {
+                clear(position);
+                version++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Moves the documents of {@code from} to {@code into}, and drops {@code from}. */
+    public void merge(K from, K into) {
+        lock.writeLock().lock();
+        try {
+            BitSet source = postings.remove(from);
+            if (source != null) {
+                postings.computeIfAbsent(into, k -> new BitSet()).or(source);
+                version++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Number of changes made to the index so far. */
+    public long version() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The keys of a document, in no particular order; empty for an unknown document. */
+    public List<K> keys(long document) {
+        lock.readLock().lock();
+        try {
+            Integer position = positions.get(document);
+            List<K> keys = new ArrayList<>();
+            if (position != null) {
+                postings.forEach((key, bitmap) -> {
+                    if (bitmap.get(position)) {
+                        keys.add(key);
+                    }
+                });
+            }
+            return keys;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gives every document with at least one key the number of keys it has, and how many of them
+     * are among {@code keys}: a single pass over the postings, however many documents there are.
+     * The consumer runs under the read lock and must not write to the index.
+     */
+    public void overlap(Set<K> keys, OverlapConsumer consumer) {
+        lock.readLock().lock();
+        try {
+            int[] totals = new int[size];
+            int[] matches = new int[size];
+            postings.forEach((key, bitmap) -> {
+                boolean wanted = keys.contains(key);
+                for (int position = bitmap.nextSetBit(0); position >= 0; position = bitmap.nextSetBit(position + 1)) {
+                    totals[position]++;
+                    if (wanted) {
+                        matches[position]++;
+                    }
+                }
+            });
+            for (int position = 0; position < size; position++) {
+                if (totals[position] > 0) {
+                    consumer.accept(documents[position], totals[position], matches[position]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of documents carrying a key. */
+    public int count(K key) {
+        lock.readLock().lock();
+        try {
+            BitSet bitmap = postings.get(key);
+            return bitmap == null ? 0 : bitmap.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the documents carrying every key of {@code all} and at least one of {@code any}, in
+     * increasing order. An empty list does not constrain the result; with both empty, nothing
+     * matches.
+     */
+    public long[] query(Collection<K> all, Collection<K> any) {
+        lock.readLock().lock();
+        try {
+            BitSet result = null;
+            if (!all.isEmpty()) {
+                List<BitSet> required = new ArrayList<>(all.size());
+                for (K key : all) {
+                    BitSet bitmap = postings.get(key);
+                    if (bitmap == null) {
+                        return new long[0];
+                    }
+                    required.add(bitmap);
+                }
+                // Smallest first, so the intersection only shrinks from there.
+                required.sort(Comparator.comparingInt(BitSet::cardinality));
+                result = (BitSet) required.getFirst().clone();
+                for (int i = 1; i < required.size() && !result.isEmpty(); i++) {
+                    result.and(required.get(i));
+                }
+            }
+            if (!any.isEmpty()) {
+                BitSet union = new BitSet();
+                for (K key : any) {
+                    BitSet bitmap = postings.get(key);
+                    if (bitmap != null) {
+                        union.or(bitmap);
+                    }
+                }
+                if (result == null) {
+                    result = union;
+                } else {
+                    result.and(union);
+                }
+            }
+            if (result == null) {
+                return new long[0];
+            }
+            long[] ids = new long[result.cardinality()];
+            int i = 0;
+            for (int position = result.nextSetBit(0); position >= 0; position = result.nextSetBit(position + 1)) {
+                ids[i++] = documents[position];
+            }
+            Arrays.sort(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clear(int position) {
+        for (BitSet bitmap : postings.values()) {
+            bitmap.clear(position);
+        }
+    }
+}
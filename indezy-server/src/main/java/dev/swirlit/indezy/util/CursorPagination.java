@@ -0,0 +1,77 @@
+package dev.swirlit.indezy.util;
+
+import dev.swirlit.indezy.constants.ErrorMessages;
+import dev.swirlit.indezy.dto.CursorPageDto;
+import dev.swirlit.indezy.model.BaseEntity;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (cursor) pagination over entity ids, newest first. A page is read with
+ * {@code id < :afterId ORDER BY id DESC LIMIT :limit + 1}: the extra row only tells whether a
+ * further page exists, so the cost of a page does not depend on how deep the client scrolled.
+ * Cursors are opaque, URL-safe tokens wrapping the last id of the previous page.
+ */
+public final class CursorPagination {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private static final String TOKEN_PREFIX = "k1:";
+
+    private CursorPagination() {
+        // Utility class - prevent instantiation
+    }
+
+    /** Clamps the requested page size to {@code [1, MAX_LIMIT]}, defaulting to {@link #DEFAULT_LIMIT}. */
+    public static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /** Row limit to hand to the repository: one more than the page size to detect a next page. */
+    public static Limit fetchLimit(int limit) {
+        return Limit.of(limit + 1);
+    }
+
+    /** Decodes a cursor into the exclusive upper id bound; a missing cursor starts from the newest row. */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(TOKEN_PREFIX)) {
+                long id = Long.parseLong(decoded.substring(TOKEN_PREFIX.length()));
+                if (id > 0) {
+                    return id;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Falls through to the invalid-cursor error below (NumberFormatException included).
+        }
+        throw new IllegalArgumentException(String.format(ErrorMessages.INVALID_CURSOR, cursor));
+    }
+
+    public static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((TOKEN_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds the page from rows fetched with {@link #fetchLimit(int)}: drops the look-ahead row
+     * and derives the next cursor from the last row kept.
+     */
+    public static <E extends BaseEntity, D> CursorPageDto<D> toPage(List<E> rows, int limit, Function<E, D> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? encode(pageRows.get(pageRows.size() - 1).getId()) : null;
+        return new CursorPageDto<>(pageRows.stream().map(mapper).toList(), nextCursor, hasMore, limit);
+    }
+}
@@ -0,0 +1,121 @@
+package dev.swirlit.indezy.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes a file to an HTTP response without copying it through the heap. Handles conditional
+ * requests on the file's ETag ({@code If-None-Match} answered with 304, {@code If-Match} with 412)
+ * and a single byte range ({@code Range}, honored only while {@code If-Range} matches the ETag),
+ * answered with 206, or 416 when it starts past the end of the file. Several ranges are answered
+ * with the whole file.
+ *
+ * <p>When the container offers it (Tomcat's NIO connector does), the body is left to its sendfile
+ * support, which sends the file with {@link FileChannel#transferTo} straight to the socket once the
+ * handler returns: the bytes go from the page cache to the network without entering the JVM.
+ * Otherwise the file is transferred to the response stream with {@link FileChannel#transferTo}.
+ */
+public final class FileDownloads {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /** Below this size a plain write costs less than handing the file over (Tomcat's default servlet uses the same). */
+    static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private FileDownloads() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Answers the request with {@code file} of {@code size} bytes, whose content is identified by
+     * {@code etag}. Content type and disposition are left to the caller.
+     */
+    public static void serve(Path file, long size, String etag, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        HttpRange range = singleRange(request, etag);
+        if (range == null) {
+            transfer(file, 0, size, request, response);
+            return;
+        }
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(size);
+            end = range.getRangeEnd(size);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        transfer(file, start, end - start + 1, request, response);
+    }
+
+    /** The requested range, or null to send the whole file. */
+    private static HttpRange singleRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        // If-Range carries the ETag or a date; the file has no Last-Modified, so a date never matches.
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.getFirst() : null;
+        } catch (IllegalArgumentException e) {
+            // A malformed Range header is ignored.
+            return null;
+        }
+    }
+
+    private static void transfer(Path file, long start, long length, HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        response.setContentLengthLong(length);
+        if (length == 0 || HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) && length >= SENDFILE_MIN_SIZE) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long end = start + length;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, out);
+                if (sent <= 0) {
+                    throw new EOFException(file + " ended at byte " + position + " of " + end);
+                }
+                position += sent;
+            }
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package dev.swirlit.indezy.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index ranking documents with Okapi BM25. Each document is a set of weighted
+ * text fields under a key, with a payload returned in its hits. Text is folded to lowercase
+ * without accents ("Développeur" matches "developpeur") and split into runs of letters and digits,
+ * keeping a trailing {@code +} or {@code #} ("C++", "C#").
+ *
+ * <p>A query matches the documents containing all of its terms; a term ending in {@code *} matches
+ * every term starting with it. Scoring sums, over the query terms, the BM25 weight of each term in
+ * the document, with its occurrences counted {@code weight} times for a weighted field.
+ *
+ * <p>Postings are sorted arrays of internal document numbers. Replacing or removing a document only
+ * marks its number as deleted and leaves it in the postings, which are compacted once the deleted
+ * numbers outnumber the live ones. Document frequencies count the live documents of the postings
+ * when searching, so a document replaced many times scores as in a fresh index. Reads share a lock
+ * and writes are exclusive.
+ *
+ * @param <K> document key
+ * @param <D> payload of the hits
+ */
+public final class InvertedIndex<K, D> {
+
+    /** Text of a document and how many times each of its terms counts. */
+    public record Field(String text, int weight) {
+    }
+
+    public record Hit<K, D>(K key, D payload, double score) {
+    }
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+[+#]*");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+    private static final int MIN_DELETED_TO_COMPACT = 1024;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<K, Integer> docsByKey = new HashMap<>();
+    private Object[] keys = new Object[64];
+    private Object[] payloads = new Object[64];
+    private long[] versions = new long[64];
+    private int[] lengths = new int[64];
+    private BitSet live = new BitSet();
+    private int maxDoc;
+    private int liveDocs;
+    private long liveLength;
+
+    /**
+     * Adds a document, or replaces the one with the same key. A replacement older than the
+     * document indexed, by {@code version}, is ignored and {@code false} returned.
+     */
+    public boolean put(K key, D payload, long version, Collection<Field> fields) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (Field field : fields) {
+            for (String term : analyze(field.text())) {
+                frequencies.merge(term, field.weight(), Integer::sum);
+                length += field.weight();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = docsByKey.get(key);
+            if (previous != null) {
+                if (versions[previous] > version) {
+                    return false;
+                }
+                delete(previous);
+            }
+            int doc = maxDoc++;
+            if (doc == keys.length) {
+                int capacity = keys.length * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                payloads = Arrays.copyOf(payloads, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            keys[doc] = key;
+            payloads[doc] = payload;
+            versions[doc] = version;
+            lengths[doc] = length;
+            for (Map.Entry<String, Integer> term : frequencies.entrySet()) {
+                terms.computeIfAbsent(term.getKey(), t -> new Postings()).add(doc, term.getValue());
+            }
+            live.set(doc);
+            liveDocs++;
+            liveLength += length;
+            docsByKey.put(key, doc);
+            compactIfSparse();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(K key) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docsByKey.remove(key);
+            if (doc == null) {
+                return false;
+            }
+            delete(doc);
+            compactIfSparse();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Removes the documents matching {@code filter}, returning how many. */
+    @SuppressWarnings("unchecked")
+    public int removeIf(BiPredicate<K, D> filter) {
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            for (Iterator<Map.Entry<K, Integer>> it = docsByKey.entrySet().iterator(); it.hasNext(); ) {
+                int doc = it.next().getValue();
+                if (filter.test((K) keys[doc], (D) payloads[doc])) {
+                    it.remove();
+                    delete(doc);
+                    removed++;
+                }
+            }
+            compactIfSparse();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The {@code limit} best documents matching every term of the query, best first. */
+    @SuppressWarnings("unchecked")
+    public List<Hit<K, D>> search(String query, int limit) {
+        List<QueryTerm> queryTerms = parse(query);
+        if (queryTerms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<Postings>> matches = new ArrayList<>(queryTerms.size());
+            for (QueryTerm term : queryTerms) {
+                List<Postings> postings = postings(term);
+                if (postings.isEmpty()) {
+                    return List.of();
+                }
+                matches.add(postings);
+            }
+            // Rarest term first: the documents it misses are skipped for the others.
+            matches.sort(Comparator.comparingLong(InvertedIndex::postingCount));
+
+            double averageLength = liveDocs == 0 ? 1 : Math.max(1.0, (double) liveLength / liveDocs);
+            float[] scores = new float[maxDoc];
+            // Number of query terms matched so far by each document.
+            byte[] matched = new byte[maxDoc];
+            for (int i = 0; i < matches.size(); i++) {
+                for (Postings postings : matches.get(i)) {
+                    int df = liveCount(postings);
+                    double idf = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+                    for (int j = 0; j < postings.size; j++) {
+                        int doc = postings.docs[j];
+                        // A prefix expanding to several terms of the same document counts each of them.
+                        if (matched[doc] == i) {
+                            matched[doc] = (byte) (i + 1);
+                        } else if (matched[doc] != i + 1) {
+                            continue;
+                        }
+                        double tf = postings.freqs[j];
+                        double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                        scores[doc] += (float) (idf * tf * (K1 + 1) / (tf + norm));
+                    }
+                }
+            }
+
+            int all = matches.size();
+            PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1,
+                Comparator.<Integer>comparingDouble(doc -> scores[doc]).thenComparing(Comparator.reverseOrder()));
+            for (Postings postings : matches.getFirst()) {
+                for (int j = 0; j < postings.size; j++) {
+                    int doc = postings.docs[j];
+                    if (matched[doc] == all && live.get(doc)) {
+                        matched[doc] = 0;
+                        if (best.size() < limit) {
+                            best.add(doc);
+                        } else if (scores[doc] > scores[best.peek()]) {
+                            best.poll();
+                            best.add(doc);
+                        }
+                    }
+                }
+            }
+            List<Hit<K, D>> hits = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                int doc = best.poll();
+                hits.add(new Hit<>((K) keys[doc], (D) payloads[doc], scores[doc]));
+            }
+            return hits.reversed();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into index terms: lowercase, without accents or ligatures, and at most
+     * {@value #MAX_TERM_LENGTH} characters.
+     */
+    public static List<String> analyze(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT)
+            .replace("œ", "oe")
+            .replace("æ", "ae")
+            .replace("ß", "ss");
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(folded);
+        while (matcher.find()) {
+            if (matcher.end() - matcher.start() <= MAX_TERM_LENGTH) {
+                tokens.add(matcher.group());
+            }
+        }
+        return tokens;
+    }
+
+    private record QueryTerm(String text, boolean prefix) {
+    }
+
+    /** Query terms, the last term of a word ending in {@code *} being a prefix. */
+    private static List<QueryTerm> parse(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        List<QueryTerm> parsed = new ArrayList<>();
+        for (String word : query.trim().split("\\s+")) {
+            boolean prefix = word.endsWith("*");
+            List<String> tokens = analyze(prefix ? word.substring(0, word.length() - 1) : word);
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                QueryTerm term = new QueryTerm(token, prefix && i == tokens.size() - 1 && token.length() >= MIN_PREFIX_LENGTH);
+                if (!parsed.contains(term)) {
+                    parsed.add(term);
+                }
+            }
+        }
+        // The match counters of search() are bytes.
+        return parsed.size() > Byte.MAX_VALUE ? parsed.subList(0, Byte.MAX_VALUE) : parsed;
+    }
+
+    private List<Postings> postings(QueryTerm term) {
+        if (!term.prefix()) {
+            Postings postings = terms.get(term.text());
+            return postings == null ? List.of() : List.of(postings);
+        }
+        Collection<Postings> expansions = terms.subMap(term.text(), true, term.text() + Character.MAX_VALUE, false).values();
+        return expansions.stream().limit(MAX_PREFIX_EXPANSIONS).toList();
+    }
+
+    private static long postingCount(List<Postings> postings) {
+        long count = 0;
+        for (Postings p : postings) {
+            count += p.size;
+        }
+        return count;
+    }
+
+    /** Document frequency of a term, without the deleted documents still in its postings. */
+    private int liveCount(Postings postings) {
+        if (liveDocs == maxDoc) {
+            return postings.size;
+        }
+        int count = 0;
+        for (int j = 0; j < postings.size; j++) {
+            if (live.get(postings.docs[j])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void delete(int doc) {
+        live.clear(doc);
+        liveDocs--;
+        liveLength -= lengths[doc];
+        keys[doc] = null;
+        payloads[doc] = null;
+    }
+
+    /** Renumbers the live documents once the deleted ones outnumber them. */
+    private void compactIfSparse() {
+        int deleted = maxDoc - liveDocs;
+        if (deleted < MIN_DELETED_TO_COMPACT || deleted <= liveDocs) {
+            return;
+        }
+        int[] renumbered = new int[maxDoc];
+        int next = 0;
+        for (int doc = 0; doc < maxDoc; doc++) {
+            if (live.get(doc)) {
+                renumbered[doc] = next;
+                keys[next] = keys[doc];
+                payloads[next] = payloads[doc];
+                versions[next] = versions[doc];
+                lengths[next] = lengths[doc];
+                docsByKey.put(castKey(keys[next]), next);
+                next++;
+            } else {
+                renumbered[doc] = -1;
+            }
+        }
+        Arrays.fill(keys, next, maxDoc, null);
+        Arrays.fill(payloads, next, maxDoc, null);
+        terms.values().removeIf(postings -> postings.renumber(renumbered) == 0);
+        live = new BitSet(next);
+        live.set(0, next);
+        maxDoc = next;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K castKey(Object key) {
+        return (K) key;
+    }
+
+    /** Documents containing a term, in increasing order, with the weighted count of the term in each. */
+    private static final class Postings {
+        private int[] docs = new int[2];
+        private int[] freqs = new int[2];
+        private int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        /** Drops the deleted documents and renumbers the others, returning how many are left. */
+        int renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (docs.length > 2 * kept + 2) {
+                docs = Arrays.copyOf(docs, Math.max(2, kept));
+                freqs = Arrays.copyOf(freqs, Math.max(2, kept));
+            }
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package dev.swirlit.indezy.util;
+
+import java.security.Principal;
+import java.util.Date;
+
+/**
+ * The authenticated user of a verified JWT: its subject (the user's email), its {@code userId}
+ * claim and its expiration.
+ */
+public record JwtPrincipal(String username, Long userId, Date expiration) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
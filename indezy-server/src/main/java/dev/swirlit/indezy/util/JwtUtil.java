@@ -1,6 +1,8 @@
 package dev.swirlit.indezy.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -9,11 +11,23 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies the HS256 JWTs of the API. The signing key and the parser are built once and
+ * shared (both are immutable and thread-safe). {@link #verify(String)} parses a token once, and
+ * remembers the last {@code jwt.verified-cache-size} verified tokens by SHA-256 digest so that a
+ * token presented again skips the signature check until it expires.
+ */
 @Component
 @Slf4j
 public class JwtUtil {
@@ -24,9 +38,73 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.verified-cache-size:1024}")
+    private int verifiedCacheSize = 1024;
+
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+    private final LongAdder signatureVerifications = new LongAdder();
+
+    // Access order: the least recently presented token is dropped first.
+    private final Map<String, JwtPrincipal> verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JwtPrincipal> eldest) {
+            return size() > verifiedCacheSize;
+        }
+    };
+
     private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser().verifyWith(getSigningKey()).build();
+            parser = current;
+        }
+        return current;
+    }
+
+    /**
+     * The principal of a correctly signed, unexpired token, or empty if the token is invalid. The
+     * signature is only checked the first time a token is seen (while it stays in the cache).
+     */
+    public Optional<JwtPrincipal> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String digest = digest(token);
+        JwtPrincipal principal;
+        synchronized (verifiedTokens) {
+            principal = verifiedTokens.get(digest);
+        }
+        if (principal == null) {
+            try {
+                Claims claims = extractAllClaims(token);
+                principal = new JwtPrincipal(claims.getSubject(), claims.get("userId", Long.class), claims.getExpiration());
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Rejected invalid JWT: {}", e.getMessage());
+                return Optional.empty();
+            }
+            if (verifiedCacheSize > 0) {
+                synchronized (verifiedTokens) {
+                    verifiedTokens.put(digest, principal);
+                }
+            }
+        }
+        if (principal.getName() == null || principal.isExpired()) {
+            synchronized (verifiedTokens) {
+                verifiedTokens.remove(digest);
+            }
+            return Optional.empty();
+        }
+        return Optional.of(principal);
     }
 
     public String extractUsername(String token) {
@@ -43,17 +121,12 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        signatureVerifications.increment();
+        return getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
     public String generateToken(String username, Long userId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
@@ -71,12 +144,25 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        return verify(token).map(principal -> principal.getName().equals(username)).orElse(false);
     }
 
     public Long extractUserId(String token) {
         Claims claims = extractAllClaims(token);
         return claims.get("userId", Long.class);
     }
+
+    /** Tokens parsed and signature-checked since startup; cache hits are not counted. */
+    long signatureVerifications() {
+        return signatureVerifications.sum();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
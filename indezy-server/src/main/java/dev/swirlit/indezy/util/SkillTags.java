@@ -0,0 +1,89 @@
+package dev.swirlit.indezy.util;
+
+import java.text.Normalizer;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Turns the free-text tech stack of a project into skill tags. The stack is split on commas,
+ * semicolons, pipes and line breaks, and each skill normalized to a key: lowercase, without
+ * accents, with runs of spaces, underscores and hyphens collapsed to one space ("Spring-Boot" and
+ * "spring  boot" are the same tag). Common spellings of the same skill map to one key ("k8s" to
+ * "kubernetes", "ReactJS" to "react"); a freelance's own aliases, recorded when renaming tags, are
+ * resolved on top of these by {@code SkillTagService}.
+ */
+public final class SkillTags {
+
+    public static final int MAX_NAME_LENGTH = 100;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[,;|\\n\\r]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern BLANKS = Pattern.compile("[\\s_-]+");
+
+    /** Key of a common spelling, to the key and display name of the skill it spells. */
+    private static final Map<String, String[]> ALIASES = Map.ofEntries(
+        Map.entry("js", new String[]{"javascript", "JavaScript"}),
+        Map.entry("javascript", new String[]{"javascript", "JavaScript"}),
+        Map.entry("ts", new String[]{"typescript", "TypeScript"}),
+        Map.entry("typescript", new String[]{"typescript", "TypeScript"}),
+        Map.entry("k8s", new String[]{"kubernetes", "Kubernetes"}),
+        Map.entry("kubernetes", new String[]{"kubernetes", "Kubernetes"}),
+        Map.entry("postgres", new String[]{"postgresql", "PostgreSQL"}),
+        Map.entry("postgresql", new String[]{"postgresql", "PostgreSQL"}),
+        Map.entry("golang", new String[]{"go", "Go"}),
+        Map.entry("reactjs", new String[]{"react", "React"}),
+        Map.entry("react.js", new String[]{"react", "React"}),
+        Map.entry("nodejs", new String[]{"node.js", "Node.js"}),
+        Map.entry("node", new String[]{"node.js", "Node.js"}),
+        Map.entry("node.js", new String[]{"node.js", "Node.js"}),
+        Map.entry("vuejs", new String[]{"vue.js", "Vue.js"}),
+        Map.entry("vue", new String[]{"vue.js", "Vue.js"}),
+        Map.entry("vue.js", new String[]{"vue.js", "Vue.js"}),
+        Map.entry("springboot", new String[]{"spring boot", "Spring Boot"}),
+        Map.entry("spring boot", new String[]{"spring boot", "Spring Boot"}));
+
+    private SkillTags() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * The key of a skill name, common spellings resolved, or an empty string for a blank name.
+     */
+    public static String normalize(String name) {
+        String key = fold(name);
+        String[] alias = ALIASES.get(key);
+        return alias != null ? alias[0] : key;
+    }
+
+    /** The skills of a tech stack by key, each with the name to show for a new tag, in stack order. */
+    public static Map<String, String> parse(String techStack) {
+        Map<String, String> skills = new LinkedHashMap<>();
+        if (techStack == null || techStack.isBlank()) {
+            return skills;
+        }
+        for (String part : SEPARATORS.split(techStack)) {
+            String name = displayName(part);
+            String key = normalize(name);
+            if (!key.isEmpty() && name.length() <= MAX_NAME_LENGTH) {
+                skills.putIfAbsent(key, name);
+            }
+        }
+        return skills;
+    }
+
+    /** The name to show for a skill: its usual spelling if it has one, else as typed, spaces collapsed. */
+    public static String displayName(String name) {
+        String[] alias = ALIASES.get(fold(name));
+        return alias != null ? alias[1] : (name == null ? "" : name.strip().replaceAll("\\s+", " "));
+    }
+
+    private static String fold(String name) {
+        if (name == null) {
+            return "";
+        }
+        String unaccented = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return BLANKS.matcher(unaccented.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+}
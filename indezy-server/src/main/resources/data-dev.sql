@@ -16,16 +16,17 @@ DELETE FROM user_skills;
 DELETE FROM user_languages;
 DELETE FROM users;
 
--- Reset sequences
-ALTER SEQUENCE freelances_id_seq RESTART WITH 1;
-ALTER SEQUENCE clients_id_seq RESTART WITH 1;
-ALTER SEQUENCE contacts_id_seq RESTART WITH 1;
-ALTER SEQUENCE projects_id_seq RESTART WITH 1;
-ALTER SEQUENCE sources_id_seq RESTART WITH 1;
-ALTER SEQUENCE interview_steps_id_seq RESTART WITH 1;
-ALTER SEQUENCE users_id_seq RESTART WITH 1;
-ALTER SEQUENCE user_sessions_id_seq RESTART WITH 1;
-ALTER SEQUENCE user_security_questions_id_seq RESTART WITH 1;
+-- Reset id sequences past the seeded ids. The increment matches the pooled allocation size
+-- of 50 used by Hibernate (see BaseEntity), which checks it at startup.
+ALTER SEQUENCE freelances_id_seq INCREMENT BY 50 RESTART WITH 1000;
+ALTER SEQUENCE clients_id_seq INCREMENT BY 50 RESTART WITH 1000;
+ALTER SEQUENCE contacts_id_seq INCREMENT BY 50 RESTART WITH 1000;
+ALTER SEQUENCE projects_id_seq INCREMENT BY 50 RESTART WITH 1000;
+ALTER SEQUENCE sources_id_seq INCREMENT BY 50 RESTART WITH 1000;
+ALTER SEQUENCE interview_steps_id_seq INCREMENT BY 50 RESTART WITH 1000;
+ALTER SEQUENCE users_id_seq INCREMENT BY 50 RESTART WITH 1000;
+ALTER SEQUENCE user_sessions_id_seq INCREMENT BY 50 RESTART WITH 1000;
+ALTER SEQUENCE user_security_questions_id_seq INCREMENT BY 50 RESTART WITH 1000;
 
 -- Insert Freelances
 INSERT INTO freelances (id, first_name, last_name, email, phone, birth_date, address, city, status, notice_period_in_days, availability_date, reversion_rate, cv_file_path, password_hash, created_at, updated_at, version) VALUES
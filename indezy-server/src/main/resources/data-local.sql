@@ -11,7 +11,7 @@ DELETE FROM sources;
 DELETE FROM clients;
 DELETE FROM freelances;
 
--- H2 with identity columns handles sequences automatically
+-- Explicit ids do not advance the id sequences; they are moved past the seeded rows at the end
 
 -- Insert Freelances
 INSERT INTO freelances (id, first_name, last_name, email, phone, birth_date, address, city, status, notice_period_in_days, availability_date, reversion_rate, cv_file_path, password_hash, created_at, updated_at, version) VALUES
@@ -100,3 +100,11 @@ INSERT INTO interview_steps (id, title, date, status, notes, project_id, created
 (16, 'Audit sécurité initial', '2024-04-20 09:00:00', 'VALIDATED', 'Évaluation des besoins sécurité avec Nathalie Girard.', 6, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
 (17, 'Présentation solution technique', '2024-04-25 15:00:00', 'WAITING_FEEDBACK', 'Solution blockchain présentée. Attente validation comité.', 6, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
 (18, 'Entretien final', '2024-05-02 10:00:00', 'PLANNED', 'Entretien final avec la direction technique.', 6, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
+
+-- Move the id sequences past the seeded ids
+ALTER SEQUENCE freelances_id_seq RESTART WITH 1000;
+ALTER SEQUENCE sources_id_seq RESTART WITH 1000;
+ALTER SEQUENCE clients_id_seq RESTART WITH 1000;
+ALTER SEQUENCE contacts_id_seq RESTART WITH 1000;
+ALTER SEQUENCE projects_id_seq RESTART WITH 1000;
+ALTER SEQUENCE interview_steps_id_seq RESTART WITH 1000;
@@ -2,6 +2,7 @@ package dev.swirlit.indezy.controller;
 
 import tools.jackson.databind.ObjectMapper;
 import dev.swirlit.indezy.dto.ClientDto;
+import dev.swirlit.indezy.dto.CursorPageDto;
 import dev.swirlit.indezy.exception.ResourceNotFoundException;
 import dev.swirlit.indezy.service.ClientService;
 import org.junit.jupiter.api.BeforeEach;
@@ -221,4 +222,33 @@ class ClientControllerTest {
 
         verify(clientService).findByIdWithContacts(1L);
     }
+
+    @Test
+    void scrollClientsByFreelanceId_WithLimit_ShouldReturnCursorPage() throws Exception {
+        // Given
+        CursorPageDto<ClientDto> page = new CursorPageDto<>(List.of(testClientDto), "azE6MQ", true, 1);
+        when(clientService.scrollByFreelanceId(1L, null, 1)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/clients/by-freelance/1").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].companyName", is("Test Company")))
+                .andExpect(jsonPath("$.nextCursor", is("azE6MQ")))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+
+        verify(clientService).scrollByFreelanceId(1L, null, 1);
+        verify(clientService, never()).findByFreelanceId(anyLong());
+    }
+
+    @Test
+    void scrollClients_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(clientService.scrollAll("bogus", 10))
+                .thenThrow(new IllegalArgumentException("Invalid pagination cursor: bogus"));
+
+        // When & Then
+        mockMvc.perform(get("/clients").param("limit", "10").param("cursor", "bogus"))
+                .andExpect(status().isBadRequest());
+    }
 }
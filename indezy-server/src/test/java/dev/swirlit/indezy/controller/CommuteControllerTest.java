@@ -5,6 +5,7 @@ import dev.swirlit.indezy.dto.ProjectCommuteDto;
 import dev.swirlit.indezy.dto.ProjectDto;
 import dev.swirlit.indezy.exception.ResourceNotFoundException;
 import dev.swirlit.indezy.model.enums.TravelMode;
+import dev.swirlit.indezy.service.CommutePrecomputeService;
 import dev.swirlit.indezy.service.CommuteService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,6 +43,9 @@ class CommuteControllerTest {
     @MockitoBean
     private CommuteService commuteService;
 
+    @MockitoBean
+    private CommutePrecomputeService commutePrecomputeService;
+
     private ProjectCommuteDto testProjectCommuteDto;
     private CommuteInfoDto testCommuteInfoDto;
 
@@ -72,7 +76,7 @@ class CommuteControllerTest {
 
     @Test
     void getProjectsSortedByCommute_WithDefaultMode_ShouldReturnSortedProjects() throws Exception {
-        when(commuteService.getProjectsSortedByCommute(1L, TravelMode.DRIVING))
+        when(commutePrecomputeService.getProjectsSortedByCommute(1L, TravelMode.DRIVING))
                 .thenReturn(List.of(testProjectCommuteDto));
 
         mockMvc.perform(get("/commute/projects/1"))
@@ -86,7 +90,7 @@ class CommuteControllerTest {
 
     @Test
     void getProjectsSortedByCommute_WithTransitMode_ShouldPassModeThrough() throws Exception {
-        when(commuteService.getProjectsSortedByCommute(1L, TravelMode.TRANSIT))
+        when(commutePrecomputeService.getProjectsSortedByCommute(1L, TravelMode.TRANSIT))
                 .thenReturn(List.of());
 
         mockMvc.perform(get("/commute/projects/1").param("travelMode", "TRANSIT"))
@@ -98,7 +102,7 @@ class CommuteControllerTest {
 
     @Test
     void getProjectsSortedByCommute_WithUnknownFreelance_ShouldReturnNotFound() throws Exception {
-        when(commuteService.getProjectsSortedByCommute(99L, TravelMode.DRIVING))
+        when(commutePrecomputeService.getProjectsSortedByCommute(99L, TravelMode.DRIVING))
                 .thenThrow(new ResourceNotFoundException("Freelance not found: 99"));
 
         mockMvc.perform(get("/commute/projects/99"))
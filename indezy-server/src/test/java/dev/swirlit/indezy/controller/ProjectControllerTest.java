@@ -1,14 +1,22 @@
 package dev.swirlit.indezy.controller;
 
 import tools.jackson.databind.ObjectMapper;
+import dev.swirlit.indezy.dto.ImportReportDto;
 import dev.swirlit.indezy.dto.ProjectDto;
 import dev.swirlit.indezy.exception.ResourceNotFoundException;
 import dev.swirlit.indezy.model.enums.WorkMode;
+import dev.swirlit.indezy.service.ProjectImportService;
 import dev.swirlit.indezy.service.ProjectService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -22,6 +30,7 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.*;
@@ -46,6 +55,9 @@ class ProjectControllerTest {
     @MockitoBean
     private ProjectService projectService;
 
+    @MockitoBean
+    private ProjectImportService projectImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -176,8 +188,8 @@ class ProjectControllerTest {
     @WithMockUser
     void getProjectsByFreelanceIdWithFilters_ShouldApplyFilters() throws Exception {
         // Given
-        List<ProjectDto> projects = Arrays.asList(testProjectDto);
-        when(projectService.findByFreelanceIdAndFilters(eq(1L), eq(500), eq(700), eq(WorkMode.HYBRID), any(LocalDate.class), eq("Java")))
+        Page<ProjectDto> projects = new PageImpl<>(List.of(testProjectDto), PageRequest.of(0, 20), 41);
+        when(projectService.findByFreelanceIdAndFilters(eq(1L), eq(500), eq(700), eq(WorkMode.HYBRID), any(LocalDate.class), eq("Java"), any(Pageable.class)))
                 .thenReturn(projects);
 
         // When & Then
@@ -186,12 +198,19 @@ class ProjectControllerTest {
                         .param("maxRate", "700")
                         .param("workMode", "HYBRID")
                         .param("startDateAfter", "2024-01-01")
-                        .param("techStack", "Java"))
+                        .param("techStack", "Java")
+                        .param("sort", "dailyRate,desc")
+                        .param("sort", "startDate,asc"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(1)));
-
-        verify(projectService).findByFreelanceIdAndFilters(eq(1L), eq(500), eq(700), eq(WorkMode.HYBRID), any(LocalDate.class), eq("Java"));
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.page.totalElements", is(41)))
+                .andExpect(jsonPath("$.page.totalPages", is(3)));
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(projectService).findByFreelanceIdAndFilters(eq(1L), eq(500), eq(700), eq(WorkMode.HYBRID), any(LocalDate.class), eq("Java"), pageable.capture());
+        assertThat(pageable.getValue().getSort().getOrderFor("dailyRate").getDirection()).isEqualTo(Sort.Direction.DESC);
+        assertThat(pageable.getValue().getSort().getOrderFor("startDate").getDirection()).isEqualTo(Sort.Direction.ASC);
     }
 
     @Test
@@ -325,4 +344,43 @@ class ProjectControllerTest {
 
         verify(projectService).countByFreelanceId(1L);
     }
+
+    @Test
+    void importProjects_WithCsvBody_ShouldStreamBodyAndReturnReport() throws Exception {
+        // Given
+        ImportReportDto report = ImportReportDto.builder()
+                .format("CSV")
+                .totalRows(2)
+                .importedRows(1)
+                .failedRows(1)
+                .errors(List.of(new ImportReportDto.RowError(3, "Missing required field: role")))
+                .build();
+        when(projectImportService.importProjects(eq(1L), any(), eq(ProjectImportService.Format.CSV))).thenReturn(report);
+
+        // When & Then
+        mockMvc.perform(post("/projects/import/1")
+                .with(csrf())
+                .contentType("text/csv")
+                .content("role,dailyRate,client\nDeveloper,600,Acme\n,500,Acme\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRows", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)))
+                .andExpect(jsonPath("$.errors[0].message", is("Missing required field: role")));
+
+        verify(projectImportService).importProjects(eq(1L), any(), eq(ProjectImportService.Format.CSV));
+    }
+
+    @Test
+    void importProjects_WithMissingHeaderColumns_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(projectImportService.importProjects(eq(1L), any(), eq(ProjectImportService.Format.NDJSON)))
+                .thenThrow(new IllegalArgumentException("Import header is missing required columns: client"));
+
+        // When & Then
+        mockMvc.perform(post("/projects/import/1")
+                .with(csrf())
+                .contentType("application/x-ndjson")
+                .content("{\"role\":\"Developer\"}\n"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -42,4 +42,12 @@ class SecurityConfigStrictIntegrationTest {
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
     }
+
+    @Test
+    void avatarsArePublic() {
+        ResponseEntity<String> response = restTemplate.getForEntity(url("/files/avatars/1-0123456789abcdef.png?size=64"), String.class);
+
+        // Passed security: answered by the controller, which has no such avatar.
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
 }
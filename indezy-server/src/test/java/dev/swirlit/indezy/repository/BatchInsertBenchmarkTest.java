@@ -0,0 +1,96 @@
+package dev.swirlit.indezy.repository;
+
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.enums.EmploymentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts 10k clients twice: once with JDBC batching forced off (one round trip per row, which is
+ * what IDENTITY ids imposed) and once with the configured batch size on pooled sequence ids.
+ * Rows per second for both runs are logged; the assertions only check the round-trip reduction,
+ * which unlike wall-clock time is deterministic.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class BatchInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchInsertBenchmarkTest.class);
+
+    private static final int ROWS = 10_000;
+    private static final int FLUSH_EVERY = 50;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void insert10kClients_ShouldBatchStatementsWithPooledSequenceIds() {
+        Freelance freelance = new Freelance();
+        freelance.setFirstName("Bench");
+        freelance.setLastName("Mark");
+        freelance.setEmail("bench.mark@example.com");
+        freelance.setStatus(EmploymentStatus.FREELANCE);
+        Long freelanceId = testEntityManager.persistAndFlush(freelance).getId();
+
+        Run unbatched = insertClients(freelanceId, 1, "unbatched");
+        Run batched = insertClients(freelanceId, null, "batched");
+
+        log.info("Inserted {} clients: unbatched {} rows/s ({} statements), batched {} rows/s ({} statements)",
+            ROWS, unbatched.rowsPerSecond(), unbatched.statements(), batched.rowsPerSecond(), batched.statements());
+
+        assertThat(unbatched.statements()).isGreaterThanOrEqualTo(ROWS);
+        // One INSERT per batch of 50 plus one sequence call per 50 ids.
+        assertThat(batched.statements()).isLessThanOrEqualTo(2L * ROWS / FLUSH_EVERY + 2);
+    }
+
+    /** Inserts {@link #ROWS} clients with the given session batch size (null keeps the configured one). */
+    private Run insertClients(Long freelanceId, Integer jdbcBatchSize, String prefix) {
+        EntityManager entityManager = testEntityManager.getEntityManager();
+        Session session = entityManager.unwrap(Session.class);
+        Integer configuredBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(jdbcBatchSize);
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Freelance freelance = entityManager.getReference(Freelance.class, freelanceId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            Client client = new Client();
+            client.setCompanyName(prefix + " client " + i);
+            client.setCity("Paris");
+            client.setIsFinal(true);
+            client.setFreelance(freelance);
+            entityManager.persist(client);
+            if ((i + 1) % FLUSH_EVERY == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                freelance = entityManager.getReference(Freelance.class, freelanceId);
+            }
+        }
+        entityManager.flush();
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        session.setJdbcBatchSize(configuredBatchSize);
+
+        return new Run(ROWS * 1_000_000_000L / elapsedNanos, statistics.getPrepareStatementCount());
+    }
+
+    private record Run(long rowsPerSecond, long statements) {
+    }
+}
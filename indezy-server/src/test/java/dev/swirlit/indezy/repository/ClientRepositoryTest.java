@@ -282,4 +282,14 @@ class ClientRepositoryTest {
 
         assertThat(saved.getIsBlacklisted()).isFalse();
     }
+
+    @Test
+    void findSearchTextByFreelanceId_ShouldReadTheCompanyNameOnly() {
+        List<SearchTextRow> rows = clientRepository.findSearchTextByFreelanceId(testFreelance.getId());
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getId()).isEqualTo(testClient.getId());
+        assertThat(rows.get(0).getTitle()).isEqualTo("Test Company");
+        assertThat(rows.get(0).getText()).isNull();
+    }
 }
@@ -2,6 +2,7 @@ package dev.swirlit.indezy.repository;
 
 import dev.swirlit.indezy.model.*;
 import dev.swirlit.indezy.model.enums.EmploymentStatus;
+import dev.swirlit.indezy.model.enums.ProjectStatus;
 import dev.swirlit.indezy.model.enums.SourceType;
 import dev.swirlit.indezy.model.enums.WorkMode;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,11 +10,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -150,6 +156,63 @@ class ProjectRepositoryTest {
         assertThat(projects).isEmpty();
     }
 
+    @Test
+    void findAllWithSearchSpecification_WithMatchingFilters_ShouldReturnPageWithTotals() {
+        Page<Project> page = projectRepository.findAll(
+                ProjectSpecifications.search(testFreelance.getId(), 500, 700, WorkMode.REMOTE,
+                        LocalDate.now().minusDays(1), "spring boot"),
+                PageRequest.of(0, 10));
+
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getContent()).extracting(Project::getRole).containsExactly("Full Stack Developer");
+    }
+
+    @Test
+    void findAllWithSearchSpecification_WithLikeWildcardsInTechStack_ShouldMatchThemLiterally() {
+        persistProject("Data Engineer", 650, LocalDate.now());
+        Project underscored = projectRepository.findAll().stream()
+            .filter(project -> project.getRole().equals("Data Engineer")).findFirst().orElseThrow();
+        underscored.setTechStack("snake_case, 100% Python");
+        entityManager.persistAndFlush(underscored);
+
+        assertThat(projectRepository.findAll(ProjectSpecifications.search(testFreelance.getId(), null, null, null, null, "java%"),
+                PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(projectRepository.findAll(ProjectSpecifications.search(testFreelance.getId(), null, null, null, null, "a_a"),
+                PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(projectRepository.findAll(ProjectSpecifications.search(testFreelance.getId(), null, null, null, null, "e_c"),
+                PageRequest.of(0, 10)).getContent()).extracting(Project::getRole).containsExactly("Data Engineer");
+        assertThat(projectRepository.findAll(ProjectSpecifications.search(testFreelance.getId(), null, null, null, null, "100%"),
+                PageRequest.of(0, 10)).getContent()).extracting(Project::getRole).containsExactly("Data Engineer");
+    }
+
+    @Test
+    void findAllWithSearchSpecification_WithNonMatchingFilter_ShouldReturnEmptyPage() {
+        Page<Project> page = projectRepository.findAll(
+                ProjectSpecifications.search(testFreelance.getId(), null, null, WorkMode.ONSITE, null, null),
+                PageRequest.of(0, 10));
+
+        assertThat(page.getTotalElements()).isZero();
+        assertThat(page.getContent()).isEmpty();
+    }
+
+    @Test
+    void findAllWithSearchSpecification_ShouldSortOnSeveralKeysAndPage() {
+        persistProject("Backend Developer", 600, LocalDate.now().plusDays(10));
+        persistProject("Frontend Developer", 450, LocalDate.now().plusDays(5));
+        entityManager.clear();
+
+        Sort sort = ProjectSpecifications.stableSort(
+                Sort.by(Sort.Order.desc("dailyRate"), Sort.Order.asc("startDate")));
+        Page<Project> firstPage = projectRepository.findAll(
+                ProjectSpecifications.search(testFreelance.getId(), null, null, null, null, null),
+                PageRequest.of(0, 2, sort));
+
+        assertThat(firstPage.getTotalElements()).isEqualTo(3);
+        assertThat(firstPage.getTotalPages()).isEqualTo(2);
+        assertThat(firstPage.getContent()).extracting(Project::getRole)
+                .containsExactly("Full Stack Developer", "Backend Developer");
+    }
+
     @Test
     void findByIdWithSteps_WithExistingId_ShouldReturnProjectWithSteps() {
         Optional<Project> project = projectRepository.findByIdWithSteps(testProject.getId());
@@ -233,4 +296,62 @@ class ProjectRepositoryTest {
         assertThat(projects).hasSize(1);
         assertThat(projects.get(0).getRole()).isEqualTo("Full Stack Developer");
     }
+
+    @Test
+    void findByFreelanceIdAndIdLessThanOrderByIdDesc_ShouldWalkPagesWithoutOverlap() {
+        persistProject("Backend Developer", 600, LocalDate.now());
+        persistProject("Frontend Developer", 450, LocalDate.now());
+        entityManager.clear();
+
+        List<Project> firstPage = projectRepository.findByFreelanceIdAndIdLessThanOrderByIdDesc(
+            testFreelance.getId(), Long.MAX_VALUE, Limit.of(2));
+        List<Project> secondPage = projectRepository.findByFreelanceIdAndIdLessThanOrderByIdDesc(
+            testFreelance.getId(), firstPage.get(1).getId(), Limit.of(2));
+
+        assertThat(firstPage).extracting(Project::getRole).containsExactly("Frontend Developer", "Backend Developer");
+        assertThat(secondPage).extracting(Project::getRole).containsExactly("Full Stack Developer");
+    }
+
+    private void persistProject(String role, int dailyRate, LocalDate startDate) {
+        Project project = new Project();
+        project.setRole(role);
+        project.setDailyRate(dailyRate);
+        project.setStartDate(startDate);
+        project.setFreelance(entityManager.find(Freelance.class, testFreelance.getId()));
+        project.setClient(entityManager.find(Client.class, testClient.getId()));
+        entityManager.persistAndFlush(project);
+    }
+
+    @Test
+    void streamSearchText_ShouldReadTheSearchableColumns() {
+        try (Stream<SearchTextRow> rows = projectRepository.streamSearchText(testFreelance.getId())) {
+            List<SearchTextRow> list = rows.toList();
+
+            assertThat(list).hasSize(1);
+            assertThat(list.get(0).getProjectId()).isEqualTo(testProject.getId());
+            assertThat(list.get(0).getTitle()).isEqualTo("Full Stack Developer");
+            assertThat(list.get(0).getKeywords()).isEqualTo("Java, Spring Boot, Angular");
+            assertThat(list.get(0).getText()).isEqualTo("Test project description");
+            assertThat(list.get(0).getVersion()).isNotNull();
+        }
+    }
+
+    @Test
+    void findActiveOpportunities_ShouldSkipWonAndLostProjects() {
+        Project won = new Project();
+        won.setRole("Signed Developer");
+        won.setDailyRate(700);
+        won.setStatus(ProjectStatus.WON);
+        won.setFreelance(entityManager.find(Freelance.class, testFreelance.getId()));
+        won.setClient(entityManager.find(Client.class, testClient.getId()));
+        entityManager.persistAndFlush(won);
+
+        List<ActiveOpportunity> opportunities = projectRepository.findActiveOpportunities(testFreelance.getId());
+
+        assertThat(opportunities).hasSize(1);
+        assertThat(opportunities.get(0).getProjectId()).isEqualTo(testProject.getId());
+        assertThat(opportunities.get(0).getRole()).isEqualTo("Full Stack Developer");
+        assertThat(opportunities.get(0).getClientName()).isEqualTo("Test Client");
+        assertThat(opportunities.get(0).getStatus()).isEqualTo(ProjectStatus.IDENTIFIED);
+    }
 }
@@ -0,0 +1,218 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Contact;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.InterviewStep;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.Source;
+import dev.swirlit.indezy.model.enums.EmploymentStatus;
+import dev.swirlit.indezy.model.enums.ProjectStatus;
+import dev.swirlit.indezy.model.enums.SourceType;
+import dev.swirlit.indezy.model.enums.StepStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Applies project, interview-step and contact changes to the counters the way the mutating
+ * services do, and checks them against a recount.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AggregateCounterService.class)
+class AggregateCounterServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AggregateCounterService aggregateCounterService;
+
+    private Freelance freelance;
+    private Client acme;
+    private Client globex;
+    private Source source;
+
+    @BeforeEach
+    void setUp() {
+        freelance = new Freelance();
+        freelance.setFirstName("John");
+        freelance.setLastName("Doe");
+        freelance.setEmail("aggregate.counters@example.com");
+        freelance.setStatus(EmploymentStatus.FREELANCE);
+        freelance = entityManager.persist(freelance);
+
+        acme = client("Acme");
+        globex = client("Globex");
+
+        source = new Source();
+        source.setName("LinkedIn");
+        source.setType(SourceType.SOCIAL_MEDIA);
+        source.setFreelance(freelance);
+        source = entityManager.persist(source);
+        entityManager.flush();
+    }
+
+    @Test
+    void increments_ShouldKeepCountersEqualToRecount() {
+        // Projects created, moved to another client and source, and removed
+        Project kept = create(project(acme, 500));
+        Project moved = create(project(acme, 700));
+        Project removed = create(project(globex, 300));
+
+        DashboardCounters.ProjectFacts before = DashboardCounters.ProjectFacts.of(moved);
+        moved.setClient(globex);
+        moved.setSource(source);
+        moved.setDailyRate(750);
+        entityManager.flush();
+        aggregateCounterService.recordProjectChange(before, DashboardCounters.ProjectFacts.of(moved));
+
+        aggregateCounterService.recordProjectRemoval(removed.getId());
+        entityManager.remove(removed);
+
+        // Steps created, validated and removed
+        step(kept, StepStatus.PLANNED);
+        InterviewStep validated = step(kept, StepStatus.PLANNED);
+        validated.setStatus(StepStatus.VALIDATED);
+        entityManager.flush();
+        aggregateCounterService.recordStepChange(kept.getId(), StepStatus.PLANNED, StepStatus.VALIDATED);
+        InterviewStep failed = step(moved, StepStatus.FAILED);
+        aggregateCounterService.recordStepRemoval(failed.getId());
+        entityManager.remove(failed);
+
+        // Contacts created and moved
+        contact(acme);
+        Contact movedContact = contact(acme);
+        movedContact.setClient(globex);
+        entityManager.flush();
+        aggregateCounterService.recordContactChange(acme.getId(), globex.getId());
+
+        List<Long> maintained = counters();
+        assertThat(maintained).containsExactly(
+            2L, 1250L,          // freelance
+            1L, 500L, 1L,       // Acme
+            1L, 750L, 1L,       // Globex
+            1L, 750L,           // LinkedIn
+            2L, 1L, 0L,         // kept
+            0L, 0L, 0L);        // moved
+
+        aggregateCounterService.recount(List.of(freelance.getId()));
+        assertThat(counters()).isEqualTo(maintained);
+    }
+
+    @Test
+    void recount_ShouldBackfillRowsWrittenWithoutIncrements() {
+        Project project = project(acme, 600);
+        project.setSource(source);
+        entityManager.persist(project);
+        InterviewStep step = new InterviewStep();
+        step.setTitle("Technical interview");
+        step.setStatus(StepStatus.FAILED);
+        step.setProject(project);
+        entityManager.persist(step);
+        entityManager.persist(newContact(acme));
+        entityManager.flush();
+
+        aggregateCounterService.recount(List.of(freelance.getId()));
+
+        entityManager.clear();
+        Client reloaded = entityManager.find(Client.class, acme.getId());
+        assertThat(reloaded.getProjectCount()).isEqualTo(1L);
+        assertThat(reloaded.getAverageDailyRate()).isEqualTo(600.0);
+        assertThat(reloaded.getContactCount()).isEqualTo(1L);
+        assertThat(entityManager.find(Source.class, source.getId()).getProjectCount()).isEqualTo(1L);
+        assertThat(entityManager.find(Freelance.class, freelance.getId()).getDailyRateSum()).isEqualTo(600L);
+        Project reloadedProject = entityManager.find(Project.class, project.getId());
+        assertThat(reloadedProject.getStepCount()).isEqualTo(1L);
+        assertThat(reloadedProject.getFailedStepCount()).isEqualTo(1L);
+        assertThat(reloadedProject.getValidatedStepCount()).isZero();
+    }
+
+    /** The counters of the fixture rows, re-read from the database, in a fixed order. */
+    private List<Long> counters() {
+        entityManager.flush();
+        entityManager.clear();
+        Freelance f = entityManager.find(Freelance.class, freelance.getId());
+        Client a = entityManager.find(Client.class, acme.getId());
+        Client g = entityManager.find(Client.class, globex.getId());
+        Source s = entityManager.find(Source.class, source.getId());
+        List<Project> projects = entityManager.getEntityManager()
+            .createQuery("SELECT p FROM Project p WHERE p.freelance.id = :id ORDER BY p.id", Project.class)
+            .setParameter("id", freelance.getId())
+            .getResultList();
+        Project kept = projects.get(0);
+        Project moved = projects.get(1);
+        return List.of(
+            f.getProjectCount(), f.getDailyRateSum(),
+            a.getProjectCount(), a.getDailyRateSum(), a.getContactCount(),
+            g.getProjectCount(), g.getDailyRateSum(), g.getContactCount(),
+            s.getProjectCount(), s.getDailyRateSum(),
+            kept.getStepCount(), kept.getValidatedStepCount(), kept.getFailedStepCount(),
+            moved.getStepCount(), moved.getValidatedStepCount(), moved.getFailedStepCount());
+    }
+
+    private Client client(String name) {
+        Client created = new Client();
+        created.setCompanyName(name);
+        created.setCity("Paris");
+        created.setIsFinal(true);
+        created.setFreelance(freelance);
+        return entityManager.persist(created);
+    }
+
+    private Project project(Client client, int dailyRate) {
+        Project project = new Project();
+        project.setRole("Developer");
+        project.setStatus(ProjectStatus.APPLIED);
+        project.setDailyRate(dailyRate);
+        project.setFreelance(freelance);
+        project.setClient(client);
+        return project;
+    }
+
+    /** Persists a project and records it, as {@link ProjectService#create} does. */
+    private Project create(Project project) {
+        entityManager.persist(project);
+        entityManager.flush();
+        aggregateCounterService.recordProjectChange(null, DashboardCounters.ProjectFacts.of(project));
+        return project;
+    }
+
+    /** Persists a step and records it, as {@link InterviewStepService#create} does. */
+    private InterviewStep step(Project project, StepStatus status) {
+        InterviewStep step = new InterviewStep();
+        step.setTitle("Step " + status);
+        step.setStatus(status);
+        step.setProject(project);
+        entityManager.persist(step);
+        entityManager.flush();
+        aggregateCounterService.recordStepChange(project.getId(), null, status);
+        return step;
+    }
+
+    /** Persists a contact and records it, as {@link ContactService#create} does. */
+    private Contact contact(Client client) {
+        Contact contact = entityManager.persist(newContact(client));
+        entityManager.flush();
+        aggregateCounterService.recordContactChange(null, client.getId());
+        return contact;
+    }
+
+    private Contact newContact(Client client) {
+        Contact contact = new Contact();
+        contact.setFirstName("Jane");
+        contact.setLastName("Smith");
+        contact.setClient(client);
+        contact.setFreelance(freelance);
+        return contact;
+    }
+}
@@ -0,0 +1,54 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.enums.JobStatus;
+import dev.swirlit.indezy.model.enums.JobType;
+import dev.swirlit.indezy.repository.BackgroundJobRepository;
+import dev.swirlit.indezy.repository.FreelanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AggregateRecountJobTest {
+
+    @Mock
+    private AggregateCounterService aggregateCounterService;
+    @Mock
+    private FreelanceRepository freelanceRepository;
+    @Mock
+    private BackgroundJobRepository jobRepository;
+    @Mock
+    private JobService jobService;
+
+    private AggregateRecountJob aggregateRecountJob;
+
+    @BeforeEach
+    void setUp() {
+        aggregateRecountJob = new AggregateRecountJob(aggregateCounterService, freelanceRepository, jobRepository, jobService);
+    }
+
+    @Test
+    void backfill_WhenNoRecountEverCompleted_ShouldSubmitTheJob() {
+        when(jobRepository.existsByTypeAndStatus(JobType.COUNTER_RECOUNT, JobStatus.COMPLETED)).thenReturn(false);
+
+        aggregateRecountJob.backfill();
+
+        verify(jobService).submit(JobType.COUNTER_RECOUNT, null);
+    }
+
+    @Test
+    void backfill_AfterACompletedRecount_ShouldNotSubmitAnything() {
+        when(jobRepository.existsByTypeAndStatus(JobType.COUNTER_RECOUNT, JobStatus.COMPLETED)).thenReturn(true);
+
+        aggregateRecountJob.backfill();
+
+        verify(jobService, never()).submit(any(), any());
+    }
+}
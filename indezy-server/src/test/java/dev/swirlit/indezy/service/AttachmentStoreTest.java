@@ -0,0 +1,142 @@
+package dev.swirlit.indezy.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AttachmentStoreTest {
+
+    /** SHA-256 of "job description". */
+    private static final String JD_SHA256 = "2c472cb7f4d7e83f751cf5f17952703f690a0286cc18c8532a471a7b19b3b199";
+
+    @TempDir
+    private Path directory;
+
+    private AttachmentStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new AttachmentStore(directory);
+    }
+
+    @Test
+    void store_ShouldKeepTheContentUnderItsDigest() throws IOException {
+        AttachmentStore.StoredBlob blob = store.store(content("job description"));
+
+        assertThat(blob.sha256()).isEqualTo(JD_SHA256);
+        assertThat(blob.size()).isEqualTo(15);
+        assertThat(blob.deduplicated()).isFalse();
+        Path path = store.path(blob.sha256());
+        assertThat(directory.relativize(path)).hasToString("sha256/2c/47/" + JD_SHA256);
+        assertThat(Files.readString(path)).isEqualTo("job description");
+    }
+
+    @Test
+    void store_WhenTheContentIsAlreadyStored_ShouldKeepASingleBlob() throws IOException {
+        AttachmentStore.StoredBlob first = store.store(content("job description"));
+        AttachmentStore.StoredBlob again = store.store(content("job description"));
+        AttachmentStore.StoredBlob other = store.store(content("contract"));
+
+        assertThat(again.sha256()).isEqualTo(first.sha256());
+        assertThat(again.deduplicated()).isTrue();
+        assertThat(other.sha256()).isNotEqualTo(first.sha256());
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(2);
+        }
+    }
+
+    @Test
+    void sweep_ShouldDeleteOnlyOldUnreferencedBlobs() throws IOException {
+        Instant now = Instant.now();
+        String referenced = store.store(content("referenced")).sha256();
+        String orphan = store.store(content("orphan")).sha256();
+        String recent = store.store(content("recent orphan")).sha256();
+        age(store.path(referenced), now.minus(Duration.ofDays(1)));
+        age(store.path(orphan), now.minus(Duration.ofDays(1)));
+
+        int deleted = store.sweep(Set.of(referenced)::contains, now.minus(Duration.ofHours(1)));
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(store.path(orphan)).doesNotExist();
+        assertThat(store.path(referenced)).exists();
+        assertThat(store.path(recent)).exists();
+    }
+
+    @Test
+    void store_WhenTheContentIsAlreadyStored_ShouldKeepItsBlobOutOfTheNextSweep() throws IOException {
+        Instant now = Instant.now();
+        String sha256 = store.store(content("job description")).sha256();
+        age(store.path(sha256), now.minus(Duration.ofDays(1)));
+
+        store.store(content("job description"));
+
+        assertThat(store.sweep(digest -> false, now.minus(Duration.ofHours(1)))).isZero();
+        assertThat(store.path(sha256)).exists();
+    }
+
+    @Test
+    void storeFile_ShouldMoveAFileWithTheExpectedDigestInPlace() throws IOException {
+        Path upload = Files.writeString(store.uploadPath(7L), "job description");
+
+        AttachmentStore.StoredBlob blob = store.store(upload, JD_SHA256);
+
+        assertThat(blob.size()).isEqualTo(15);
+        assertThat(Files.readString(store.path(JD_SHA256))).isEqualTo("job description");
+        assertThat(upload).doesNotExist();
+    }
+
+    @Test
+    void storeFile_WhenTheDigestDiffers_ShouldLeaveTheFileAlone() throws IOException {
+        Path upload = Files.writeString(store.uploadPath(7L), "job descriptiom");
+
+        assertThatThrownBy(() -> store.store(upload, JD_SHA256)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(upload).exists();
+        assertThat(store.path(JD_SHA256)).doesNotExist();
+    }
+
+    @Test
+    void sweepUploads_ShouldDeleteOnlyOldFilesOfInactiveUploads() throws IOException {
+        Instant now = Instant.now();
+        Path active = Files.writeString(store.uploadPath(1L), "active");
+        Path abandoned = Files.writeString(store.uploadPath(2L), "abandoned");
+        Path recent = Files.writeString(store.uploadPath(3L), "recent");
+        age(active, now.minus(Duration.ofDays(2)));
+        age(abandoned, now.minus(Duration.ofDays(2)));
+
+        int deleted = store.sweepUploads(Set.of(1L)::contains, now.minus(Duration.ofDays(1)));
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(abandoned).doesNotExist();
+        assertThat(active).exists();
+        assertThat(recent).exists();
+    }
+
+    @Test
+    void path_ShouldRejectAnythingButAHexDigest() {
+        assertThat(store.path(JD_SHA256)).isNotNull();
+        assertThatThrownBy(() -> store.path("../../etc/passwd")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.path(JD_SHA256.toUpperCase())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ByteArrayInputStream content(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void age(Path path, Instant modified) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.from(modified));
+    }
+}
@@ -0,0 +1,163 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.model.User;
+import dev.swirlit.indezy.model.enums.JobType;
+import dev.swirlit.indezy.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvatarServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private JobService jobService;
+
+    @TempDir
+    private Path directory;
+
+    private AvatarService avatarService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        avatarService = new AvatarService(userRepository, jobService, directory, List.of(256, 32, 64), DataSize.ofMegabytes(1), 1000);
+        user = new User();
+        user.setId(1L);
+    }
+
+    @Test
+    void upload_ShouldStoreTheImageUnderItsDigestAndQueueItsThumbnails() throws IOException {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        String url = avatarService.upload(1L, image("photo.jpeg", "jpeg", 400, 300));
+
+        assertThat(url).matches("/api/files/avatars/1-[0-9a-f]{16}\\.jpg");
+        assertThat(user.getAvatar()).isEqualTo(url);
+        assertThat(directory.resolve(url.substring(AvatarService.URL_PREFIX.length()))).isRegularFile();
+        verify(userRepository).save(user);
+        verify(jobService).submit(JobType.AVATAR_VARIANTS, 1L);
+    }
+
+    @Test
+    void upload_ShouldDeleteThePreviousAvatarOfTheUserOnly() throws IOException {
+        Path previous = Files.createFile(directory.resolve("1-aaaaaaaaaaaaaaaa.png"));
+        Path previousThumbnail = Files.createFile(directory.resolve("1-aaaaaaaaaaaaaaaa-32.png"));
+        Path otherUser = Files.createFile(directory.resolve("12-aaaaaaaaaaaaaaaa.png"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        avatarService.upload(1L, image("photo.png", "png", 64, 64));
+
+        assertThat(previous).doesNotExist();
+        assertThat(previousThumbnail).doesNotExist();
+        assertThat(otherUser).exists();
+    }
+
+    @Test
+    void upload_WhenTheFileIsNotAnImage_ShouldRejectIt() throws IOException {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        MockMultipartFile text = new MockMultipartFile("file", "photo.png", "image/png", "not an image".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> avatarService.upload(1L, text)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(directory).isEmptyDirectory();
+        verify(userRepository, never()).save(any());
+        verify(jobService, never()).submit(any(), any());
+    }
+
+    @Test
+    void upload_WhenTheImageIsTooWide_ShouldRejectItWithoutDecodingIt() throws IOException {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> avatarService.upload(1L, image("banner.png", "png", 1001, 10)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    void run_ShouldGenerateSquareThumbnailsNeverLargerThanTheImage() throws Exception {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        String name = avatarService.upload(1L, image("photo.png", "png", 200, 120)).substring(AvatarService.URL_PREFIX.length());
+        String base = name.substring(0, name.length() - ".png".length());
+
+        String result = avatarService.run(context());
+
+        assertThat(result).isEqualTo(name);
+        assertThat(dimensions(directory.resolve(base + "-32.png"))).containsExactly(32, 32);
+        assertThat(dimensions(directory.resolve(base + "-64.png"))).containsExactly(64, 64);
+        assertThat(dimensions(directory.resolve(base + "-256.png"))).containsExactly(120, 120);
+    }
+
+    @Test
+    void resolve_ShouldServeTheSmallestThumbnailLargeEnoughOnceGenerated() throws Exception {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        String name = avatarService.upload(1L, image("photo.jpg", "jpeg", 300, 300)).substring(AvatarService.URL_PREFIX.length());
+
+        AvatarService.AvatarFile pending = avatarService.resolve(name, 48);
+        avatarService.run(context());
+        AvatarService.AvatarFile thumbnail = avatarService.resolve(name, 48);
+        AvatarService.AvatarFile largest = avatarService.resolve(name, 1000);
+
+        // Before its thumbnail exists, the original is served without long-lived caching; only the upload queued a job.
+        assertThat(pending.path()).isEqualTo(directory.resolve(name));
+        assertThat(pending.immutable()).isFalse();
+        verify(jobService).submit(JobType.AVATAR_VARIANTS, 1L);
+        assertThat(thumbnail.path().getFileName().toString()).endsWith("-64.jpg");
+        assertThat(thumbnail.contentType()).isEqualTo("image/jpeg");
+        assertThat(thumbnail.immutable()).isTrue();
+        assertThat(largest.path().getFileName().toString()).endsWith("-256.jpg");
+    }
+
+    @Test
+    void resolve_ShouldOnlyServeAvatarFileNames() {
+        assertThatThrownBy(() -> avatarService.resolve("../application.yml", null)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> avatarService.resolve("1-0123456789abcdef.png", 64)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static JobContext context() {
+        return new JobContext(7L, 1L, 1, null, 0, Clock.systemUTC(), Duration.ZERO, context -> true);
+    }
+
+    private static MockMultipartFile image(String fileName, String format, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            image.setRGB(x, height / 2, 0xff0000);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return new MockMultipartFile("file", fileName, "image/" + format, out.toByteArray());
+    }
+
+    private static List<Integer> dimensions(Path file) throws IOException {
+        BufferedImage image = ImageIO.read(file.toFile());
+        return Stream.of(image.getWidth(), image.getHeight()).toList();
+    }
+}
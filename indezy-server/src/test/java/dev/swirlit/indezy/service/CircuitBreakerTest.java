@@ -0,0 +1,129 @@
+package dev.swirlit.indezy.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    /** A clock the test can advance past the open duration. */
+    private static final class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2026-01-01T00:00:00Z");
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    private MutableClock clock;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        breaker = new CircuitBreaker("test", 3, Duration.ofSeconds(30), clock);
+    }
+
+    @Test
+    void onFailure_ShouldOpenOnlyAfterConsecutiveFailures() {
+        fail(2);
+        breaker.tryAcquire().onSuccess();
+        fail(2);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        fail(1);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isNull();
+        assertThat(breaker.transitionsTo(CircuitBreaker.State.OPEN)).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_AfterOpenDuration_ShouldLetOneTrialThrough() {
+        fail(3);
+        clock.instant = clock.instant.plusSeconds(30);
+
+        CircuitBreaker.Permit trial = breaker.tryAcquire();
+        assertThat(trial).isNotNull();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isNull();
+
+        trial.onSuccess();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isNotNull();
+        assertThat(breaker.transitionsTo(CircuitBreaker.State.CLOSED)).isEqualTo(1);
+    }
+
+    @Test
+    void onFailure_OfTheTrial_ShouldOpenAgainForAnotherOpenDuration() {
+        fail(3);
+        clock.instant = clock.instant.plusSeconds(30);
+        CircuitBreaker.Permit trial = breaker.tryAcquire();
+
+        trial.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        clock.instant = clock.instant.plusSeconds(29);
+        assertThat(breaker.tryAcquire()).isNull();
+        assertThat(breaker.transitionsTo(CircuitBreaker.State.OPEN)).isEqualTo(2);
+    }
+
+    @Test
+    void onSuccess_OfACallStartedBeforeTheBreakerOpened_ShouldNotCloseIt() {
+        CircuitBreaker.Permit slowCall = breaker.tryAcquire();
+        fail(3);
+        clock.instant = clock.instant.plusSeconds(30);
+        CircuitBreaker.Permit trial = breaker.tryAcquire();
+
+        slowCall.onSuccess();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isNull();
+        trial.onSuccess();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void close_OfATrialWithoutOutcome_ShouldLetTheNextTrialThrough() {
+        fail(3);
+        clock.instant = clock.instant.plusSeconds(30);
+
+        try (CircuitBreaker.Permit trial = breaker.tryAcquire()) {
+            assertThat(trial).isNotNull();
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        CircuitBreaker.Permit next = breaker.tryAcquire();
+        assertThat(next).isNotNull();
+        next.onSuccess();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            CircuitBreaker.Permit permit = breaker.tryAcquire();
+            assertThat(permit).isNotNull();
+            permit.onFailure();
+        }
+    }
+}
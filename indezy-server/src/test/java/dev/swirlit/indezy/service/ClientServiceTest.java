@@ -22,6 +22,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -39,6 +40,27 @@ class ClientServiceTest {
     @Mock
     private ClientMapper clientMapper;
 
+    @Mock
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    @Mock
+    private AggregateCounterService aggregateCounterService;
+
+    @Mock
+    private FreelanceViewCache viewCache;
+
+    @Mock
+    private CommuteCache commuteCache;
+
+    @Mock
+    private CommutePrecomputeService commutePrecomputeService;
+
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private SkillTagService skillTagService;
+
     @InjectMocks
     private ClientService clientService;
 
@@ -174,6 +196,31 @@ class ClientServiceTest {
         verify(clientRepository).findById(1L);
         verify(clientRepository).save(testClient);
         verify(clientMapper).toDto(testClient);
+        verify(commuteCache, never()).evictAddress(any());
+        verify(commutePrecomputeService, never()).refresh(any());
+    }
+
+    @Test
+    void update_WithNewAddress_ShouldForgetCommutesAndCoordinatesOfPreviousAddress() {
+        // Given
+        testClient.setLatitude(48.8566);
+        testClient.setLongitude(2.3522);
+        testClient.setGeocodedAddress("123 Test St, Test City");
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(testClient));
+        when(clientRepository.save(testClient)).thenReturn(testClient);
+        doAnswer(invocation -> {
+            testClient.setCity("Lyon");
+            return null;
+        }).when(clientMapper).updateEntity(testClientDto, testClient);
+
+        // When
+        clientService.update(1L, testClientDto);
+
+        // Then
+        verify(commuteCache).evictAddress("123 Test St, Test City");
+        verify(commutePrecomputeService).refresh(testClient.getFreelance().getId());
+        assertThat(testClient.getLatitude()).isNull();
+        assertThat(testClient.getGeocodedAddress()).isNull();
     }
 
     @Test
@@ -202,6 +249,9 @@ class ClientServiceTest {
         // Then
         verify(clientRepository).findById(1L);
         verify(clientRepository).delete(testClient);
+        verify(dashboardSnapshotService).invalidate(testFreelance.getId());
+        verify(aggregateCounterService).recount(testFreelance.getId());
+        verify(viewCache).invalidateAll(testFreelance.getId());
     }
 
     @Test
@@ -0,0 +1,127 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.enums.TravelMode;
+import dev.swirlit.indezy.repository.CommuteCacheEntryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exercises both cache levels over the real table with a clock the test advances. Runs without
+ * the test transaction, as the cache writes in its own transactions.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CommuteCacheTest {
+
+    private static final Duration TTL = Duration.ofDays(30);
+    private static final CommuteCache.Key ROUTE =
+        CommuteCache.Key.of("10 rue de la Paix, Paris", "1 avenue des Champs-Élysées, Paris", TravelMode.DRIVING);
+    private static final CommuteCache.Route RESULT = new CommuteCache.Route(1800, "30 min", 15000, "15 km");
+
+    /** A clock the test can advance to exercise the TTL. */
+    private static final class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2026-01-01T00:00:00Z");
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    @Autowired
+    private CommuteCacheEntryRepository commuteCacheEntryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MutableClock clock;
+    private CommuteCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        cache = newCache();
+    }
+
+    @AfterEach
+    void tearDown() {
+        commuteCacheEntryRepository.deleteAll();
+    }
+
+    @Test
+    void get_ShouldServeFromMemoryThenFromTableAfterRestart() {
+        assertThat(cache.get(ROUTE)).isEmpty();
+        cache.put(ROUTE, RESULT);
+
+        assertThat(cache.get(ROUTE)).contains(RESULT);
+        // A new instance (another replica, or after a restart) starts with an empty memory level.
+        CommuteCache restarted = newCache();
+        assertThat(restarted.get(CommuteCache.Key.of("10 Rue de la Paix,  Paris", "1 avenue des Champs-Élysées, Paris",
+            TravelMode.DRIVING))).contains(RESULT);
+        assertThat(restarted.get(ROUTE)).contains(RESULT);
+
+        assertThat(cache.counts()).containsExactly(1, 0, 1);
+        assertThat(restarted.counts()).containsExactly(1, 1, 0);
+        assertThat(commuteCacheEntryRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void get_AfterTtl_ShouldMissAndSweepShouldDeleteTheRow() {
+        cache.put(ROUTE, RESULT);
+        cache.put(CommuteCache.Key.of("Lyon", "Paris", TravelMode.TRANSIT), RESULT);
+
+        clock.instant = clock.instant.plus(TTL).plusSeconds(1);
+
+        assertThat(cache.get(ROUTE)).isEmpty();
+        cache.deleteExpired();
+        assertThat(commuteCacheEntryRepository.count()).isZero();
+    }
+
+    @Test
+    void evictAddress_ShouldDropRoutesFromAndToTheAddress() {
+        cache.put(ROUTE, RESULT);
+        CommuteCache.Key other = CommuteCache.Key.of("10 rue de la Paix, Paris", "Lyon", TravelMode.DRIVING);
+        cache.put(other, RESULT);
+        CommuteCache.Key unrelated = CommuteCache.Key.of("Bordeaux", "Lyon", TravelMode.DRIVING);
+        cache.put(unrelated, RESULT);
+
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(status -> cache.evictAddress("10 rue de la Paix, Paris"));
+
+        assertThat(cache.get(ROUTE)).isEmpty();
+        assertThat(cache.get(other)).isEmpty();
+        assertThat(cache.get(unrelated)).contains(RESULT);
+        assertThat(commuteCacheEntryRepository.count()).isEqualTo(1);
+    }
+
+    private CommuteCache newCache() {
+        return new CommuteCache(commuteCacheEntryRepository, transactionManager, TTL, 100, clock);
+    }
+}
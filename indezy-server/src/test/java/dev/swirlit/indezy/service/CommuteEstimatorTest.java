@@ -0,0 +1,59 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.enums.TravelMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CommuteEstimatorTest {
+
+    private final CommuteEstimator estimator = new CommuteEstimator(1.3, 40, 20, Duration.ofMinutes(10));
+
+    private Freelance freelance;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        // Paris, Opéra
+        freelance = new Freelance();
+        freelance.setLatitude(48.8719);
+        freelance.setLongitude(2.3316);
+        // Lyon, Bellecour
+        client = new Client();
+        client.setLatitude(45.7578);
+        client.setLongitude(4.8320);
+    }
+
+    @Test
+    void greatCircleMeters_ParisToLyon_ShouldBeAbout394Km() {
+        assertThat(CommuteEstimator.greatCircleMeters(48.8719, 2.3316, 45.7578, 4.8320))
+            .isCloseTo(394_000, within(1_000.0));
+    }
+
+    @Test
+    void estimate_ShouldApplyDetourAndSpeedOfTravelMode() {
+        CommuteCache.Route driving = estimator.estimate(freelance, client, TravelMode.DRIVING).orElseThrow();
+        CommuteCache.Route transit = estimator.estimate(freelance, client, TravelMode.TRANSIT).orElseThrow();
+
+        assertThat(driving.distanceInMeters()).isEqualTo(transit.distanceInMeters());
+        assertThat(driving.distanceText()).isEqualTo("~512 km");
+        // 512 km at 40 km/h; at 20 km/h plus 10 minutes.
+        assertThat(driving.durationInSeconds()).isCloseTo(46_100, within(100));
+        assertThat(transit.durationInSeconds()).isCloseTo(driving.durationInSeconds() * 2 + 600, within(1));
+        assertThat(driving.durationText()).isEqualTo("~12 h 49 min");
+    }
+
+    @Test
+    void estimate_WithoutCoordinates_ShouldBeEmpty() {
+        client.setLatitude(null);
+
+        assertThat(estimator.estimate(freelance, client, TravelMode.DRIVING)).isEmpty();
+        assertThat(estimator.estimate(freelance, null, TravelMode.DRIVING)).isEmpty();
+    }
+}
@@ -0,0 +1,245 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.dto.CommuteInfoDto;
+import dev.swirlit.indezy.dto.ProjectCommuteDto;
+import dev.swirlit.indezy.dto.ProjectDto;
+import dev.swirlit.indezy.mapper.ProjectMapper;
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.enums.EmploymentStatus;
+import dev.swirlit.indezy.model.enums.ProjectStatus;
+import dev.swirlit.indezy.model.enums.TravelMode;
+import dev.swirlit.indezy.repository.ClientRepository;
+import dev.swirlit.indezy.repository.FreelanceRepository;
+import dev.swirlit.indezy.repository.ProjectCommuteRepository;
+import dev.swirlit.indezy.repository.ProjectRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Precomputes into and reads from the real {@code project_commutes} table, with the live commute
+ * computation stubbed and the worker pool replaced by the calling thread. Runs without the test
+ * transaction, as the service writes in its own transactions.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CommutePrecomputeServiceTest {
+
+    @Autowired
+    private FreelanceRepository freelanceRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectCommuteRepository projectCommuteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CommuteService commuteService = mock(CommuteService.class);
+    private final ProjectMapper projectMapper = mock(ProjectMapper.class);
+
+    private CommutePrecomputeService service;
+    private Freelance freelance;
+    private Client versailles;
+    private Project far;
+    private Project near;
+    private Project unroutable;
+
+    @BeforeEach
+    void setUp() {
+        freelance = new Freelance();
+        freelance.setFirstName("John");
+        freelance.setLastName("Doe");
+        freelance.setEmail("commute.precompute@example.com");
+        freelance.setStatus(EmploymentStatus.FREELANCE);
+        freelance.setAddress("10 rue de la Paix");
+        freelance.setCity("Paris");
+        freelance = freelanceRepository.save(freelance);
+        Client lyon = client("5 place Bellecour", "Lyon");
+        versailles = client("1 place d'Armes", "Versailles");
+        Client island = client(null, "Île-de-Sein");
+        far = project(lyon);
+        near = project(versailles);
+        unroutable = project(island);
+
+        when(projectMapper.toDto(any(Project.class))).thenAnswer(invocation -> {
+            ProjectDto dto = new ProjectDto();
+            dto.setId(invocation.<Project>getArgument(0).getId());
+            return dto;
+        });
+        when(commuteService.getProjectsSortedByCommute(eq(freelance.getId()), any())).thenAnswer(invocation ->
+            List.of(computed(near, 2400), computed(far, 16000), computed(unroutable, null)));
+        service = new CommutePrecomputeService(commuteService, freelanceRepository, projectRepository,
+            projectCommuteRepository, projectMapper, transactionManager, true, Duration.ofMinutes(10),
+            Runnable::run, Clock.systemUTC());
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectCommuteRepository.deleteAll();
+        projectRepository.deleteAll();
+        clientRepository.deleteAll();
+        freelanceRepository.deleteAll();
+    }
+
+    @Test
+    void getProjectsSortedByCommute_ShouldReadPrecomputedRowsSortedInSql() {
+        service.precompute(freelance.getId());
+        verify(commuteService, times(TravelMode.values().length)).getProjectsSortedByCommute(eq(freelance.getId()), any());
+
+        List<ProjectCommuteDto> results = service.getProjectsSortedByCommute(freelance.getId(), TravelMode.TRANSIT);
+
+        assertThat(results).extracting(r -> r.getProject().getId())
+            .containsExactly(near.getId(), far.getId(), unroutable.getId());
+        assertThat(results.get(0).getCommute().getDurationInSeconds()).isEqualTo(2400);
+        assertThat(results.get(0).getCommute().getDestination()).isEqualTo("1 place d'Armes, Versailles");
+        assertThat(results.get(2).getCommute().getDurationInSeconds()).isNull();
+        assertThat(projectCommuteRepository.count()).isEqualTo(3L * TravelMode.values().length);
+        // Up to date: reading did not recompute anything.
+        verify(commuteService, times(TravelMode.values().length)).getProjectsSortedByCommute(eq(freelance.getId()), any());
+    }
+
+    @Test
+    void getProjectsSortedByCommute_WhenNotComputedYet_ShouldQueueTheFreelance() {
+        List<ProjectCommuteDto> results = service.getProjectsSortedByCommute(freelance.getId(), TravelMode.DRIVING);
+
+        assertThat(results).hasSize(3);
+        assertThat(results).allSatisfy(result -> assertThat(result.getCommute()).isNull());
+        // The queued recomputation ran on the calling thread.
+        assertThat(projectCommuteRepository.count()).isEqualTo(3L * TravelMode.values().length);
+    }
+
+    @Test
+    void getProjectsSortedByCommute_WhenClientMoved_ShouldQueueTheFreelance() {
+        service.precompute(freelance.getId());
+        versailles.setCity("Saint-Germain-en-Laye");
+        clientRepository.save(versailles);
+
+        service.getProjectsSortedByCommute(freelance.getId(), TravelMode.DRIVING);
+
+        verify(commuteService, times(2 * TravelMode.values().length))
+            .getProjectsSortedByCommute(eq(freelance.getId()), any());
+    }
+
+    @Test
+    void getProjectsSortedByCommute_WhenFreelanceHasNoAddress_ShouldNotQueueItOnEveryRead() {
+        freelance.setAddress(null);
+        freelance.setCity(null);
+        freelance = freelanceRepository.save(freelance);
+        when(commuteService.getProjectsSortedByCommute(eq(freelance.getId()), any())).thenAnswer(invocation ->
+            List.of(new ProjectCommuteDto(dto(near), null), new ProjectCommuteDto(dto(far), null),
+                new ProjectCommuteDto(dto(unroutable), null)));
+        service.precompute(freelance.getId());
+
+        List<ProjectCommuteDto> results = service.getProjectsSortedByCommute(freelance.getId(), TravelMode.DRIVING);
+        service.getProjectsSortedByCommute(freelance.getId(), TravelMode.DRIVING);
+
+        assertThat(results).hasSize(3);
+        assertThat(results).allSatisfy(result -> assertThat(result.getCommute()).isNull());
+        // Stored without a commute but up to date: neither read queued a recomputation.
+        verify(commuteService, times(TravelMode.values().length)).getProjectsSortedByCommute(eq(freelance.getId()), any());
+    }
+
+    @Test
+    void refresh_DuringARunOfTheFreelance_ShouldRepeatTheRunAfterItInsteadOfInParallel() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        AtomicBoolean changed = new AtomicBoolean();
+        when(commuteService.getProjectsSortedByCommute(eq(freelance.getId()), any())).thenAnswer(invocation -> {
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            if (changed.compareAndSet(false, true)) {
+                // The pool runs on the calling thread, so a parallel run would start right here.
+                service.refresh(freelance.getId());
+            }
+            running.decrementAndGet();
+            return List.of(computed(near, 2400), computed(far, 16000), computed(unroutable, null));
+        });
+
+        service.refresh(freelance.getId());
+
+        assertThat(mostRunning).hasValue(1);
+        verify(commuteService, times(2 * TravelMode.values().length))
+            .getProjectsSortedByCommute(eq(freelance.getId()), any());
+        assertThat(projectCommuteRepository.count()).isEqualTo(3L * TravelMode.values().length);
+    }
+
+    @Test
+    void getProjectsSortedByCommute_WhenDisabled_ShouldComputeOnRead() {
+        CommutePrecomputeService disabled = new CommutePrecomputeService(commuteService, freelanceRepository,
+            projectRepository, projectCommuteRepository, projectMapper, transactionManager, false,
+            Duration.ofMinutes(10), Runnable::run, Clock.systemUTC());
+
+        disabled.getProjectsSortedByCommute(freelance.getId(), TravelMode.DRIVING);
+        disabled.refresh(freelance.getId());
+
+        verify(commuteService).getProjectsSortedByCommute(freelance.getId(), TravelMode.DRIVING);
+        assertThat(projectCommuteRepository.count()).isZero();
+    }
+
+    /** A computed commute to the client of the project; a null duration stands for a route the API did not find. */
+    private ProjectCommuteDto computed(Project project, Integer durationInSeconds) {
+        Client client = clientRepository.findById(project.getClient().getId()).orElseThrow();
+        CommuteInfoDto commute = CommuteInfoDto.builder()
+            .projectId(project.getId())
+            .origin("10 rue de la Paix, Paris")
+            .destination(CommuteCache.formatAddress(client.getAddress(), client.getCity()))
+            .durationInSeconds(durationInSeconds)
+            .durationText(durationInSeconds != null ? durationInSeconds / 60 + " min" : null)
+            .build();
+        return new ProjectCommuteDto(dto(project), commute);
+    }
+
+    private static ProjectDto dto(Project project) {
+        ProjectDto dto = new ProjectDto();
+        dto.setId(project.getId());
+        return dto;
+    }
+
+    private Client client(String address, String city) {
+        Client client = new Client();
+        client.setCompanyName(city + " Corp");
+        client.setAddress(address);
+        client.setCity(city);
+        client.setIsFinal(true);
+        client.setFreelance(freelance);
+        return clientRepository.save(client);
+    }
+
+    private Project project(Client client) {
+        Project project = new Project();
+        project.setRole("Developer");
+        project.setStatus(ProjectStatus.APPLIED);
+        project.setDailyRate(500);
+        project.setFreelance(freelance);
+        project.setClient(client);
+        return projectRepository.save(project);
+    }
+}
@@ -14,20 +14,27 @@ import dev.swirlit.indezy.repository.ProjectRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +49,9 @@ class CommuteServiceTest {
     @Mock
     private ProjectMapper projectMapper;
 
+    @Mock
+    private CommuteCache commuteCache;
+
     @Mock
     private RestTemplate restTemplate;
 
@@ -55,7 +65,7 @@ class CommuteServiceTest {
     @BeforeEach
     void setUp() {
         // No API key configured by default: the service must degrade gracefully without calling Google.
-        commuteService = new CommuteService(freelanceRepository, projectRepository, projectMapper, restTemplate);
+        useApiKey("");
 
         testFreelance = new Freelance();
         testFreelance.setId(1L);
@@ -134,6 +144,44 @@ class CommuteServiceTest {
         assertThat(commute.getDestination()).isEqualTo("1 avenue des Champs-Élysées, Paris");
     }
 
+    @Test
+    void getProjectsSortedByCommute_WithoutApiKey_ShouldRankGeocodedProjectsByEstimate() {
+        testFreelance.setLatitude(48.8686);
+        testFreelance.setLongitude(2.3318);
+        testClient.setLatitude(48.8698);
+        testClient.setLongitude(2.3076);
+        Client lyonClient = new Client();
+        lyonClient.setAddress("5 place Bellecour");
+        lyonClient.setCity("Lyon");
+        lyonClient.setLatitude(45.7578);
+        lyonClient.setLongitude(4.8320);
+        Client notGeocodedClient = new Client();
+        notGeocodedClient.setCity("Nantes");
+
+        when(freelanceRepository.findById(1L)).thenReturn(Optional.of(testFreelance));
+        when(projectRepository.findByFreelanceId(1L))
+            .thenReturn(List.of(project(2L, lyonClient), project(3L, notGeocodedClient), testProject));
+        when(projectMapper.toDto(any(Project.class))).thenAnswer(invocation -> {
+            ProjectDto dto = new ProjectDto();
+            dto.setId(invocation.<Project>getArgument(0).getId());
+            return dto;
+        });
+
+        List<ProjectCommuteDto> results = commuteService.getProjectsSortedByCommute(1L, TravelMode.TRANSIT);
+
+        assertThat(results).extracting(r -> r.getProject().getId()).containsExactly(1L, 2L, 3L);
+        CommuteInfoDto nearby = results.get(0).getCommute();
+        assertThat(nearby.isEstimated()).isTrue();
+        // 1.8 km as the crow flies, 2.3 km with detours, at 20 km/h plus 10 minutes of walk and wait.
+        assertThat(nearby.getDistanceInMeters()).isBetween(2200, 2500);
+        assertThat(nearby.getDurationInSeconds()).isBetween(1000, 1100);
+        assertThat(nearby.getDurationText()).startsWith("~");
+        assertThat(results.get(1).getCommute().getDistanceText()).isEqualTo("~512 km");
+        assertThat(results.get(2).getCommute().getDurationInSeconds()).isNull();
+        assertThat(results.get(2).getCommute().isEstimated()).isFalse();
+        verifyNoInteractions(restTemplate);
+    }
+
     @Test
     void getProjectsSortedByCommute_ShouldSortProjectsWithoutCommuteLast() {
         Project projectWithoutClient = new Project();
@@ -157,6 +205,51 @@ class CommuteServiceTest {
         assertThat(results).extracting(r -> r.getProject().getId()).containsExactlyInAnyOrder(1L, 2L);
     }
 
+    @Test
+    void getProjectsSortedByCommute_ShouldFetchUncachedDestinationsOnceInOneRequest() {
+        useApiKey("test-key");
+        Client lyonClient = new Client();
+        lyonClient.setAddress("5 place Bellecour");
+        lyonClient.setCity("Lyon");
+        Client cachedClient = new Client();
+        cachedClient.setAddress("2 rue de Rivoli");
+        cachedClient.setCity("Paris");
+        Project sameClientProject = project(2L, testClient);
+        Project lyonProject = project(3L, lyonClient);
+        Project cachedProject = project(4L, cachedClient);
+
+        when(freelanceRepository.findById(1L)).thenReturn(Optional.of(testFreelance));
+        when(projectRepository.findByFreelanceId(1L))
+            .thenReturn(List.of(testProject, sameClientProject, lyonProject, cachedProject));
+        when(projectMapper.toDto(any(Project.class))).thenAnswer(invocation -> {
+            ProjectDto dto = new ProjectDto();
+            dto.setId(invocation.<Project>getArgument(0).getId());
+            return dto;
+        });
+        when(commuteCache.get(CommuteCache.Key.of("10 rue de la Paix, Paris", "2 rue de Rivoli, Paris", TravelMode.DRIVING)))
+            .thenReturn(Optional.of(new CommuteCache.Route(600, "10 min", 3000, "3 km")));
+        when(restTemplate.getForObject(any(URI.class), eq(JsonNode.class))).thenReturn(json("""
+            {
+              "status": "OK",
+              "rows": [{"elements": [
+                {"status": "OK", "duration": {"value": 1800, "text": "30 min"}, "distance": {"value": 15000, "text": "15 km"}},
+                {"status": "OK", "duration": {"value": 16000, "text": "4 h 27 min"}, "distance": {"value": 465000, "text": "465 km"}}
+              ]}]
+            }
+            """));
+
+        List<ProjectCommuteDto> results = commuteService.getProjectsSortedByCommute(1L, TravelMode.DRIVING);
+
+        assertThat(results).extracting(r -> r.getProject().getId()).containsExactly(4L, 1L, 2L, 3L);
+        assertThat(results).extracting(r -> r.getCommute().getDurationInSeconds())
+            .containsExactly(600, 1800, 1800, 16000);
+        ArgumentCaptor<URI> uri = ArgumentCaptor.forClass(URI.class);
+        verify(restTemplate).getForObject(uri.capture(), eq(JsonNode.class));
+        assertThat(uri.getValue().getQuery())
+            .contains("destinations=1 avenue des Champs-Élysées, Paris|5 place Bellecour, Lyon&");
+        verify(commuteCache, times(2)).put(any(), any());
+    }
+
     @Test
     void getCommuteForProject_WithUnknownFreelance_ShouldThrowResourceNotFoundException() {
         when(freelanceRepository.findById(99L)).thenReturn(Optional.empty());
@@ -216,10 +309,10 @@ class CommuteServiceTest {
 
     @Test
     void getCommuteForProject_WithApiKeyAndOkResponse_ShouldReturnDurationAndDistance() {
-        ReflectionTestUtils.setField(commuteService, "googleMapsApiKey", "test-key");
+        useApiKey("test-key");
         when(freelanceRepository.findById(1L)).thenReturn(Optional.of(testFreelance));
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
-        when(restTemplate.getForObject(anyString(), eq(JsonNode.class))).thenReturn(json("""
+        when(restTemplate.getForObject(any(URI.class), eq(JsonNode.class))).thenReturn(json("""
             {
               "status": "OK",
               "rows": [{"elements": [{
@@ -236,14 +329,32 @@ class CommuteServiceTest {
         assertThat(result.getDurationText()).isEqualTo("30 min");
         assertThat(result.getDistanceInMeters()).isEqualTo(15000);
         assertThat(result.getDistanceText()).isEqualTo("15 km");
+        verify(commuteCache).put(
+            CommuteCache.Key.of("10 rue de la Paix, Paris", "1 avenue des Champs-Élysées, Paris", TravelMode.DRIVING),
+            new CommuteCache.Route(1800, "30 min", 15000, "15 km"));
+    }
+
+    @Test
+    void getCommuteForProject_WhenRouteIsCached_ShouldNotCallApi() {
+        useApiKey("test-key");
+        when(freelanceRepository.findById(1L)).thenReturn(Optional.of(testFreelance));
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+        when(commuteCache.get(CommuteCache.Key.of("10 RUE de la Paix,  Paris", "1 avenue des Champs-Élysées, Paris", TravelMode.DRIVING)))
+            .thenReturn(Optional.of(new CommuteCache.Route(1200, "20 min", 9000, "9 km")));
+
+        CommuteInfoDto result = commuteService.getCommuteForProject(1L, 1L, TravelMode.DRIVING);
+
+        assertThat(result.getDurationInSeconds()).isEqualTo(1200);
+        assertThat(result.getDistanceText()).isEqualTo("9 km");
+        verifyNoInteractions(restTemplate);
     }
 
     @Test
     void getCommuteForProject_WithFailedElementStatus_ShouldReturnCommuteWithoutDuration() {
-        ReflectionTestUtils.setField(commuteService, "googleMapsApiKey", "test-key");
+        useApiKey("test-key");
         when(freelanceRepository.findById(1L)).thenReturn(Optional.of(testFreelance));
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
-        when(restTemplate.getForObject(anyString(), eq(JsonNode.class))).thenReturn(json("""
+        when(restTemplate.getForObject(any(URI.class), eq(JsonNode.class))).thenReturn(json("""
             {"status": "OK", "rows": [{"elements": [{"status": "NOT_FOUND"}]}]}
             """));
 
@@ -251,14 +362,15 @@ class CommuteServiceTest {
 
         assertThat(result.getDurationInSeconds()).isNull();
         assertThat(result.getTravelMode()).isEqualTo(TravelMode.TRANSIT);
+        verify(commuteCache, never()).put(any(), any());
     }
 
     @Test
     void getCommuteForProject_WithFailedApiStatus_ShouldReturnCommuteWithoutDuration() {
-        ReflectionTestUtils.setField(commuteService, "googleMapsApiKey", "test-key");
+        useApiKey("test-key");
         when(freelanceRepository.findById(1L)).thenReturn(Optional.of(testFreelance));
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
-        when(restTemplate.getForObject(anyString(), eq(JsonNode.class))).thenReturn(json("""
+        when(restTemplate.getForObject(any(URI.class), eq(JsonNode.class))).thenReturn(json("""
             {"status": "REQUEST_DENIED"}
             """));
 
@@ -269,10 +381,10 @@ class CommuteServiceTest {
 
     @Test
     void getCommuteForProject_WhenApiCallThrows_ShouldReturnCommuteWithoutDuration() {
-        ReflectionTestUtils.setField(commuteService, "googleMapsApiKey", "test-key");
+        useApiKey("test-key");
         when(freelanceRepository.findById(1L)).thenReturn(Optional.of(testFreelance));
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
-        when(restTemplate.getForObject(anyString(), eq(JsonNode.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(JsonNode.class)))
             .thenThrow(new RuntimeException("network error"));
 
         CommuteInfoDto result = commuteService.getCommuteForProject(1L, 1L, TravelMode.DRIVING);
@@ -280,6 +392,21 @@ class CommuteServiceTest {
         assertThat(result.getDurationInSeconds()).isNull();
     }
 
+    private static Project project(Long id, Client client) {
+        Project project = new Project();
+        project.setId(id);
+        project.setClient(client);
+        return project;
+    }
+
+    private void useApiKey(String apiKey) {
+        DistanceMatrixClient distanceMatrixClient = new DistanceMatrixClient(
+            restTemplate, DistanceMatrixClient.DISTANCE_MATRIX_URL, apiKey, 25, 4, Duration.ofSeconds(5),
+            new CircuitBreaker("distance-matrix", 5, Duration.ofSeconds(30), Clock.systemUTC()));
+        commuteService = new CommuteService(freelanceRepository, projectRepository, projectMapper,
+            commuteCache, distanceMatrixClient, new CommuteEstimator(1.3, 40, 20, Duration.ofMinutes(10)));
+    }
+
     private static JsonNode json(String content) {
         return new ObjectMapper().readTree(content);
     }
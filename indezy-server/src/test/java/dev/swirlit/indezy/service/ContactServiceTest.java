@@ -42,6 +42,12 @@ class ContactServiceTest {
     @Mock
     private ContactMapper contactMapper;
 
+    @Mock
+    private AggregateCounterService aggregateCounterService;
+
+    @Mock
+    private SearchIndex searchIndex;
+
     @InjectMocks
     private ContactService contactService;
 
@@ -149,6 +155,7 @@ class ContactServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getFirstName()).isEqualTo("Jane");
         verify(contactRepository).save(any(Contact.class));
+        verify(aggregateCounterService).recordContactChange(null, testClient.getId());
     }
 
     @Test
@@ -205,6 +212,7 @@ class ContactServiceTest {
 
         assertThat(testContact.getFreelance()).isEqualTo(otherFreelance);
         assertThat(testContact.getClient()).isEqualTo(otherClient);
+        verify(aggregateCounterService).recordContactChange(testClient.getId(), otherClient.getId());
     }
 
     @Test
@@ -219,9 +227,11 @@ class ContactServiceTest {
     @Test
     void delete_WithExistingId_ShouldDeleteContact() {
         when(contactRepository.existsById(1L)).thenReturn(true);
+        when(contactRepository.findById(1L)).thenReturn(Optional.of(testContact));
 
         contactService.delete(1L);
 
+        verify(aggregateCounterService).recordContactChange(testClient.getId(), null);
         verify(contactRepository).deleteById(1L);
     }
 
@@ -0,0 +1,217 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.DashboardSnapshot;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.InterviewStep;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.Source;
+import dev.swirlit.indezy.model.enums.EmploymentStatus;
+import dev.swirlit.indezy.model.enums.LostReason;
+import dev.swirlit.indezy.model.enums.ProjectStatus;
+import dev.swirlit.indezy.model.enums.SourceType;
+import dev.swirlit.indezy.model.enums.StepStatus;
+import dev.swirlit.indezy.model.enums.WorkMode;
+import dev.swirlit.indezy.repository.DashboardSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Applies project and interview-step deltas to a stored snapshot the way the mutating services
+ * do, and checks the result against a rebuild from the aggregate queries.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(DashboardSnapshotService.class)
+class DashboardSnapshotServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    @Autowired
+    private DashboardSnapshotRepository snapshotRepository;
+
+    private Freelance freelance;
+    private Client client;
+    private Client esn;
+    private Source source;
+
+    @BeforeEach
+    void setUp() {
+        freelance = new Freelance();
+        freelance.setFirstName("John");
+        freelance.setLastName("Doe");
+        freelance.setEmail("dashboard.snapshot@example.com");
+        freelance.setStatus(EmploymentStatus.FREELANCE);
+        freelance = entityManager.persist(freelance);
+
+        client = client("Acme", true);
+        esn = client("Talent Partners", false);
+
+        source = new Source();
+        source.setName("LinkedIn");
+        source.setType(SourceType.SOCIAL_MEDIA);
+        source.setFreelance(freelance);
+        source = entityManager.persist(source);
+        entityManager.flush();
+    }
+
+    @Test
+    void deltas_ShouldKeepSnapshotEqualToRebuild() {
+        // Given a stored snapshot with one project
+        Project kept = project(ProjectStatus.APPLIED, 450);
+        create(kept);
+        dashboardSnapshotService.getCounters(freelance.getId());
+        entityManager.flush();
+
+        // When projects and steps change through the deltas
+        Project added = project(ProjectStatus.IDENTIFIED, 650);
+        added.setSource(source);
+        added.setMiddleman(esn);
+        added.setWorkMode(WorkMode.REMOTE);
+        added.setAskedDailyRate(700);
+        added.setStartDate(LocalDate.of(2024, 3, 1));
+        added.setDurationInMonths(6);
+        added.setDaysPerYear(218);
+        create(added);
+
+        DashboardCounters.ProjectFacts before = DashboardCounters.ProjectFacts.of(kept);
+        kept.setStatus(ProjectStatus.LOST);
+        kept.setLostReason(LostReason.RATE_TOO_LOW);
+        kept.setDailyRate(950);
+        kept.setSource(source);
+        entityManager.flush();
+        dashboardSnapshotService.recordProjectChange(before, DashboardCounters.ProjectFacts.of(kept));
+
+        InterviewStep first = step(added, StepStatus.PLANNED);
+        InterviewStep second = step(added, StepStatus.TO_PLAN);
+        second.setStatus(StepStatus.VALIDATED);
+        entityManager.flush();
+        dashboardSnapshotService.recordStepChange(second, StepStatus.TO_PLAN);
+
+        Project removed = project(ProjectStatus.OFFER, 300);
+        create(removed);
+        InterviewStep removedStep = step(removed, StepStatus.FAILED);
+        dashboardSnapshotService.recordProjectRemoval(removed.getId());
+        // The step goes with its project, like the cascade of a project delete
+        entityManager.remove(removedStep);
+        entityManager.remove(removed);
+        dashboardSnapshotService.recordStepRemoval(first.getId());
+        entityManager.remove(first);
+        entityManager.flush();
+
+        // Then the snapshot holds exactly what a rebuild computes
+        Map<String, Long> rebuilt = dashboardSnapshotService.computeCounters(freelance.getId(), null, null).asMap();
+        assertThat(rebuilt)
+            .containsEntry("projects", 2L)
+            .containsEntry("step.VALIDATED", 1L)
+            .doesNotContainKey("step.FAILED");
+        assertThat(storedCounters()).containsExactlyInAnyOrderEntriesOf(rebuilt);
+    }
+
+    @Test
+    void reconcile_ShouldReportAndRepairDrift() {
+        create(project(ProjectStatus.APPLIED, 500));
+        dashboardSnapshotService.getCounters(freelance.getId());
+
+        // A project written without its delta
+        entityManager.persist(project(ProjectStatus.WON, 700));
+        entityManager.flush();
+
+        DashboardSnapshotService.ReconciliationReport report = dashboardSnapshotService.reconcile();
+
+        assertThat(report.checked()).isEqualTo(1);
+        assertThat(report.drifted()).isEqualTo(1);
+        assertThat(storedCounters())
+            .containsEntry("projects", 2L)
+            .containsEntry("status.WON", 1L);
+        assertThat(dashboardSnapshotService.reconcile().drifted()).isZero();
+    }
+
+    @Test
+    void reconcile_ShouldRemoveSnapshotsOfDeletedFreelances() {
+        DashboardSnapshot orphan = new DashboardSnapshot();
+        orphan.setFreelanceId(freelance.getId() + 1000);
+        orphan.setCounters(new HashMap<>(Map.of("projects", 3L)));
+        entityManager.persist(orphan);
+        entityManager.flush();
+
+        DashboardSnapshotService.ReconciliationReport report = dashboardSnapshotService.reconcile();
+
+        assertThat(report.removed()).isEqualTo(1);
+        assertThat(snapshotRepository.findByFreelanceId(orphan.getFreelanceId())).isEmpty();
+    }
+
+    @Test
+    void invalidate_ShouldDropSnapshotUntilNextRead() {
+        create(project(ProjectStatus.APPLIED, 500));
+        dashboardSnapshotService.getCounters(freelance.getId());
+        entityManager.flush();
+
+        dashboardSnapshotService.invalidate(freelance.getId());
+        entityManager.flush();
+        assertThat(snapshotRepository.findByFreelanceId(freelance.getId())).isEmpty();
+
+        assertThat(dashboardSnapshotService.getCounters(freelance.getId()).projects()).isEqualTo(1);
+        entityManager.flush();
+        assertThat(snapshotRepository.findByFreelanceId(freelance.getId())).isPresent();
+    }
+
+    private Map<String, Long> storedCounters() {
+        entityManager.flush();
+        entityManager.clear();
+        return snapshotRepository.findByFreelanceId(freelance.getId()).orElseThrow().getCounters();
+    }
+
+    private Client client(String name, boolean isFinal) {
+        Client created = new Client();
+        created.setCompanyName(name);
+        created.setCity("Paris");
+        created.setIsFinal(isFinal);
+        created.setFreelance(freelance);
+        return entityManager.persist(created);
+    }
+
+    private Project project(ProjectStatus status, int dailyRate) {
+        Project project = new Project();
+        project.setRole("Opportunity " + status);
+        project.setStatus(status);
+        project.setDailyRate(dailyRate);
+        project.setFreelance(freelance);
+        project.setClient(client);
+        return project;
+    }
+
+    /** Persists a project and records it, as {@link ProjectService#create} does. */
+    private void create(Project project) {
+        entityManager.persist(project);
+        entityManager.flush();
+        dashboardSnapshotService.recordProjectChange(null, DashboardCounters.ProjectFacts.of(project));
+    }
+
+    /** Persists a step and records it, as {@link InterviewStepService#create} does. */
+    private InterviewStep step(Project project, StepStatus status) {
+        InterviewStep step = new InterviewStep();
+        step.setTitle("Step " + status);
+        step.setStatus(status);
+        step.setProject(project);
+        entityManager.persist(step);
+        entityManager.flush();
+        dashboardSnapshotService.recordStepChange(step, null);
+        return step;
+    }
+}
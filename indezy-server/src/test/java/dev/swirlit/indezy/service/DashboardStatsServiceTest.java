@@ -3,117 +3,116 @@ package dev.swirlit.indezy.service;
 import dev.swirlit.indezy.dto.DashboardStatsDto;
 import dev.swirlit.indezy.model.Client;
 import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.InterviewStep;
 import dev.swirlit.indezy.model.Project;
 import dev.swirlit.indezy.model.Source;
 import dev.swirlit.indezy.model.enums.EmploymentStatus;
 import dev.swirlit.indezy.model.enums.LostReason;
 import dev.swirlit.indezy.model.enums.ProjectStatus;
+import dev.swirlit.indezy.model.enums.SourceType;
+import dev.swirlit.indezy.model.enums.StepStatus;
 import dev.swirlit.indezy.model.enums.WorkMode;
-import dev.swirlit.indezy.repository.ProjectRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
-@ExtendWith(MockitoExtension.class)
+/**
+ * Runs the dashboard aggregate queries against the test database, so both the SQL and the
+ * assembly of its grouped rows are covered. Each test reads the dashboard once, which builds the
+ * snapshot from the queries.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({DashboardStatsService.class, DashboardSnapshotService.class, FreelanceViewCache.class})
 class DashboardStatsServiceTest {
 
-    @Mock
-    private ProjectRepository projectRepository;
+    @Autowired
+    private TestEntityManager entityManager;
 
-    @InjectMocks
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
     private DashboardStatsService dashboardStatsService;
 
-    private Project testProject;
+    @Autowired
+    private DashboardSnapshotService dashboardSnapshotService;
+
     private Freelance testFreelance;
     private Client testClient;
 
     @BeforeEach
     void setUp() {
         testFreelance = new Freelance();
-        testFreelance.setId(1L);
         testFreelance.setFirstName("John");
         testFreelance.setLastName("Doe");
-        testFreelance.setEmail("john.doe@example.com");
+        testFreelance.setEmail("dashboard.stats@example.com");
         testFreelance.setStatus(EmploymentStatus.FREELANCE);
+        testFreelance = entityManager.persistAndFlush(testFreelance);
 
         testClient = new Client();
-        testClient.setId(1L);
         testClient.setCompanyName("Test Company");
         testClient.setCity("Paris");
         testClient.setIsFinal(true);
         testClient.setFreelance(testFreelance);
-
-        testProject = new Project();
-        testProject.setId(1L);
-        testProject.setRole("Full Stack Developer");
-        testProject.setDailyRate(600);
-        testProject.setWorkMode(WorkMode.HYBRID);
-        testProject.setStartDate(LocalDate.of(2024, 1, 15));
-        testProject.setDurationInMonths(6);
-        testProject.setDaysPerYear(220);
-        testProject.setFreelance(testFreelance);
-        testProject.setClient(testClient);
+        testClient = entityManager.persistAndFlush(testClient);
     }
 
     @Test
     void getDashboardStats_ShouldAggregateCountsRatesAndRanges() {
-        // Given
-        when(projectRepository.countByFreelanceId(1L)).thenReturn(2L);
-        when(projectRepository.findAverageDailyRateByFreelanceId(1L)).thenReturn(600.0);
-        when(projectRepository.countWonByFreelanceId(1L)).thenReturn(1L);
-        when(projectRepository.countLostByFreelanceId(1L)).thenReturn(0L);
-        when(projectRepository.countActiveByFreelanceId(1L)).thenReturn(1L);
-        when(projectRepository.countByFreelanceIdGroupByStatus(1L))
-                .thenReturn(List.<Object[]>of(new Object[]{ProjectStatus.WON, 1L}));
-        when(projectRepository.countByFreelanceIdGroupByWorkMode(1L))
-                .thenReturn(List.<Object[]>of(new Object[]{WorkMode.HYBRID, 2L}));
-        when(projectRepository.findByFreelanceId(1L)).thenReturn(List.of(testProject));
+        // Given a won 600/day project and an interview-stage 400/day one, both hybrid
+        Project won = project(ProjectStatus.WON);
+        won.setDailyRate(600);
+        won.setWorkMode(WorkMode.HYBRID);
+        Project interview = project(ProjectStatus.INTERVIEW);
+        interview.setDailyRate(400);
+        interview.setWorkMode(WorkMode.HYBRID);
+        persist(won, interview);
 
         // When
-        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(1L);
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(testFreelance.getId());
 
         // Then
         assertThat(stats.getTotalProjects()).isEqualTo(2L);
-        assertThat(stats.getAverageDailyRate()).isEqualTo(600.0);
+        assertThat(stats.getAverageDailyRate()).isEqualTo(500.0);
         assertThat(stats.getWonProjects()).isEqualTo(1L);
         assertThat(stats.getLostProjects()).isZero();
         assertThat(stats.getActiveProjects()).isEqualTo(1L);
-        assertThat(stats.getProjectsByStatus().get("WON")).isEqualTo(1L);
-        assertThat(stats.getProjectsByWorkMode().get("HYBRID")).isEqualTo(2L);
-        // testProject has dailyRate 600 -> falls in the 500-700 bucket
+        assertThat(stats.getProjectsByStatus()).containsEntry("WON", 1L).containsEntry("INTERVIEW", 1L).containsEntry("LOST", 0L);
+        assertThat(stats.getProjectsByWorkMode()).containsEntry("HYBRID", 2L).containsEntry("REMOTE", 0L);
         assertThat(stats.getDailyRateRanges())
-                .filteredOn(r -> r.getLabel().equals("500-700"))
-                .first()
-                .satisfies(r -> assertThat(r.getCount()).isEqualTo(1L));
+                .extracting(DashboardStatsDto.DailyRateRange::getLabel, DashboardStatsDto.DailyRateRange::getCount)
+                .containsExactly(
+                        tuple("0-300", 0L), tuple("300-500", 1L), tuple("500-700", 1L),
+                        tuple("700-900", 0L), tuple("900+", 0L));
+        assertThat(stats.getPeriodStart()).isNull();
+        assertThat(stats.getPeriodEnd()).isNull();
     }
 
     @Test
     void getDashboardStats_ShouldBreakDownLostReasons() {
-        // Given a lost project with a reason and a non-lost project
-        Project lost = new Project();
-        lost.setStatus(ProjectStatus.LOST);
+        // Given a lost project with a reason, and a live project that still carries an old reason
+        Project lost = project(ProjectStatus.LOST);
         lost.setLostReason(LostReason.RATE_TOO_LOW);
-        when(projectRepository.countByFreelanceId(1L)).thenReturn(2L);
-        when(projectRepository.findAverageDailyRateByFreelanceId(1L)).thenReturn(600.0);
-        when(projectRepository.countWonByFreelanceId(1L)).thenReturn(0L);
-        when(projectRepository.countLostByFreelanceId(1L)).thenReturn(1L);
-        when(projectRepository.countActiveByFreelanceId(1L)).thenReturn(1L);
-        when(projectRepository.countByFreelanceIdGroupByStatus(1L)).thenReturn(List.of());
-        when(projectRepository.countByFreelanceIdGroupByWorkMode(1L)).thenReturn(List.of());
-        when(projectRepository.findByFreelanceId(1L)).thenReturn(List.of(testProject, lost));
+        Project revived = project(ProjectStatus.OFFER);
+        revived.setLostReason(LostReason.NO_RESPONSE);
+        persist(project(ProjectStatus.IDENTIFIED), lost, revived);
 
         // When
-        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(1L);
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(testFreelance.getId());
 
         // Then only the lost project contributes to the breakdown
         assertThat(stats.getLostReasonsBreakdown())
@@ -124,35 +123,19 @@ class DashboardStatsServiceTest {
     @Test
     void getDashboardStats_ShouldRankSourcesBySignedContracts() {
         // Given LinkedIn with 1 won out of 2, and Malt with 1 won out of 1.
-        Source linkedin = new Source();
-        linkedin.setId(10L);
-        linkedin.setName("LinkedIn");
-        Source malt = new Source();
-        malt.setId(11L);
-        malt.setName("Malt");
-
-        Project linkedinWon = new Project();
+        Source linkedin = source("LinkedIn");
+        Source malt = source("Malt");
+
+        Project linkedinWon = project(ProjectStatus.WON);
         linkedinWon.setSource(linkedin);
-        linkedinWon.setStatus(ProjectStatus.WON);
-        Project linkedinLost = new Project();
+        Project linkedinLost = project(ProjectStatus.LOST);
         linkedinLost.setSource(linkedin);
-        linkedinLost.setStatus(ProjectStatus.LOST);
-        Project maltWon = new Project();
+        Project maltWon = project(ProjectStatus.WON);
         maltWon.setSource(malt);
-        maltWon.setStatus(ProjectStatus.WON);
-
-        when(projectRepository.countByFreelanceId(1L)).thenReturn(3L);
-        when(projectRepository.findAverageDailyRateByFreelanceId(1L)).thenReturn(600.0);
-        when(projectRepository.countWonByFreelanceId(1L)).thenReturn(2L);
-        when(projectRepository.countLostByFreelanceId(1L)).thenReturn(1L);
-        when(projectRepository.countActiveByFreelanceId(1L)).thenReturn(0L);
-        when(projectRepository.countByFreelanceIdGroupByStatus(1L)).thenReturn(List.of());
-        when(projectRepository.countByFreelanceIdGroupByWorkMode(1L)).thenReturn(List.of());
-        when(projectRepository.findByFreelanceId(1L))
-                .thenReturn(List.of(linkedinWon, linkedinLost, maltWon));
+        persist(linkedinWon, linkedinLost, maltWon);
 
         // When
-        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(1L);
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(testFreelance.getId());
 
         // Then both have one signed contract, but Malt's higher conversion rate ranks it first.
         List<DashboardStatsDto.SourceRoi> roi = stats.getSourceRoi();
@@ -169,29 +152,23 @@ class DashboardStatsServiceTest {
     @Test
     void getDashboardStats_ShouldBuildDailyRateEvolutionByYear() {
         // Given two 2024 projects (asked 600/700, obtained 620/680) and one 2025 project.
-        Project p2024a = new Project();
+        Project p2024a = project(ProjectStatus.APPLIED);
         p2024a.setStartDate(LocalDate.of(2024, 3, 1));
         p2024a.setAskedDailyRate(600);
         p2024a.setDailyRate(620);
-        Project p2024b = new Project();
+        Project p2024b = project(ProjectStatus.APPLIED);
         p2024b.setStartDate(LocalDate.of(2024, 9, 1));
         p2024b.setAskedDailyRate(700);
         p2024b.setDailyRate(680);
-        Project p2025 = new Project();
+        Project p2025 = project(ProjectStatus.APPLIED);
         p2025.setStartDate(LocalDate.of(2025, 1, 1));
         p2025.setDailyRate(750);
-
-        when(projectRepository.countByFreelanceId(1L)).thenReturn(3L);
-        when(projectRepository.findAverageDailyRateByFreelanceId(1L)).thenReturn(680.0);
-        when(projectRepository.countWonByFreelanceId(1L)).thenReturn(0L);
-        when(projectRepository.countLostByFreelanceId(1L)).thenReturn(0L);
-        when(projectRepository.countActiveByFreelanceId(1L)).thenReturn(3L);
-        when(projectRepository.countByFreelanceIdGroupByStatus(1L)).thenReturn(List.of());
-        when(projectRepository.countByFreelanceIdGroupByWorkMode(1L)).thenReturn(List.of());
-        when(projectRepository.findByFreelanceId(1L)).thenReturn(List.of(p2024a, p2024b, p2025));
+        // No start date: left out of the evolution.
+        Project undated = project(ProjectStatus.IDENTIFIED);
+        persist(p2024a, p2024b, p2025, undated);
 
         // When
-        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(1L);
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(testFreelance.getId());
 
         // Then years are ordered ascending with averaged rates; 2025 has no asked rate.
         List<DashboardStatsDto.DailyRateEvolution> evolution = stats.getDailyRateEvolution();
@@ -208,28 +185,21 @@ class DashboardStatsServiceTest {
     @Test
     void getDashboardStats_ShouldComputeForecastRevenueWeightedByStatus() {
         // Given a signed contract (120,000 at 100%) and an interview-stage one (66,000 at 50%).
-        Project won = new Project();
-        won.setStatus(ProjectStatus.WON);
+        Project won = project(ProjectStatus.WON);
         won.setDailyRate(500);
         won.setDaysPerYear(240);
         won.setDurationInMonths(12);
-        Project interview = new Project();
-        interview.setStatus(ProjectStatus.INTERVIEW);
+        Project interview = project(ProjectStatus.INTERVIEW);
         interview.setDailyRate(600);
         interview.setDaysPerYear(220);
         interview.setDurationInMonths(6);
-
-        when(projectRepository.countByFreelanceId(1L)).thenReturn(2L);
-        when(projectRepository.findAverageDailyRateByFreelanceId(1L)).thenReturn(550.0);
-        when(projectRepository.countWonByFreelanceId(1L)).thenReturn(1L);
-        when(projectRepository.countLostByFreelanceId(1L)).thenReturn(0L);
-        when(projectRepository.countActiveByFreelanceId(1L)).thenReturn(1L);
-        when(projectRepository.countByFreelanceIdGroupByStatus(1L)).thenReturn(List.of());
-        when(projectRepository.countByFreelanceIdGroupByWorkMode(1L)).thenReturn(List.of());
-        when(projectRepository.findByFreelanceId(1L)).thenReturn(List.of(won, interview));
+        // Unknown days per year: no revenue estimate.
+        Project unknown = project(ProjectStatus.OFFER);
+        unknown.setDurationInMonths(6);
+        persist(won, interview, unknown);
 
         // When
-        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(1L);
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(testFreelance.getId());
 
         // Then: 120,000 * 1.0 + 66,000 * 0.5 = 153,000, while total revenue stays unweighted.
         assertThat(stats.getForecastRevenue()).isEqualTo(153000.0);
@@ -240,36 +210,15 @@ class DashboardStatsServiceTest {
     void getDashboardStats_ShouldComputeBenchTimeBetweenSignedMissions() {
         // Given two signed missions: Jan-Apr 2024 (3 months) then Jun 2024 (1 month).
         // Bench = 2024-04-01 -> 2024-06-01 = 61 days. A third, overlapping mission adds none.
-        Project first = new Project();
-        first.setStatus(ProjectStatus.WON);
-        first.setStartDate(LocalDate.of(2024, 1, 1));
-        first.setDurationInMonths(3);
-        Project second = new Project();
-        second.setStatus(ProjectStatus.WON);
-        second.setStartDate(LocalDate.of(2024, 6, 1));
-        second.setDurationInMonths(1);
-        Project overlapping = new Project();
-        overlapping.setStatus(ProjectStatus.WON);
-        overlapping.setStartDate(LocalDate.of(2024, 6, 15));
-        overlapping.setDurationInMonths(2);
+        Project first = mission(ProjectStatus.WON, LocalDate.of(2024, 1, 1), 3);
+        Project second = mission(ProjectStatus.WON, LocalDate.of(2024, 6, 1), 1);
+        Project overlapping = mission(ProjectStatus.WON, LocalDate.of(2024, 6, 15), 2);
         // A non-signed project is ignored even though it has dates.
-        Project pending = new Project();
-        pending.setStatus(ProjectStatus.INTERVIEW);
-        pending.setStartDate(LocalDate.of(2025, 1, 1));
-        pending.setDurationInMonths(6);
-
-        when(projectRepository.countByFreelanceId(1L)).thenReturn(4L);
-        when(projectRepository.findAverageDailyRateByFreelanceId(1L)).thenReturn(500.0);
-        when(projectRepository.countWonByFreelanceId(1L)).thenReturn(3L);
-        when(projectRepository.countLostByFreelanceId(1L)).thenReturn(0L);
-        when(projectRepository.countActiveByFreelanceId(1L)).thenReturn(1L);
-        when(projectRepository.countByFreelanceIdGroupByStatus(1L)).thenReturn(List.of());
-        when(projectRepository.countByFreelanceIdGroupByWorkMode(1L)).thenReturn(List.of());
-        when(projectRepository.findByFreelanceId(1L))
-                .thenReturn(List.of(first, second, overlapping, pending));
+        Project pending = mission(ProjectStatus.INTERVIEW, LocalDate.of(2025, 1, 1), 6);
+        persist(first, second, overlapping, pending);
 
         // When
-        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(1L);
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(testFreelance.getId());
 
         // Then a single 61-day bench period, costed at the average daily rate.
         assertThat(stats.getTotalBenchDays()).isEqualTo(61L);
@@ -280,26 +229,18 @@ class DashboardStatsServiceTest {
     @Test
     void getDashboardStats_ShouldBuildPipelineConversionFunnel() {
         // Given 6 live opportunities spread across stages and 1 lost (excluded).
-        List<Project> projects = List.of(
-            projectWithStatus(ProjectStatus.IDENTIFIED),
-            projectWithStatus(ProjectStatus.IDENTIFIED),
-            projectWithStatus(ProjectStatus.APPLIED),
-            projectWithStatus(ProjectStatus.INTERVIEW),
-            projectWithStatus(ProjectStatus.OFFER),
-            projectWithStatus(ProjectStatus.WON),
-            projectWithStatus(ProjectStatus.LOST)
+        persist(
+            project(ProjectStatus.IDENTIFIED),
+            project(ProjectStatus.IDENTIFIED),
+            project(ProjectStatus.APPLIED),
+            project(ProjectStatus.INTERVIEW),
+            project(ProjectStatus.OFFER),
+            project(ProjectStatus.WON),
+            project(ProjectStatus.LOST)
         );
-        when(projectRepository.countByFreelanceId(1L)).thenReturn(7L);
-        when(projectRepository.findAverageDailyRateByFreelanceId(1L)).thenReturn(600.0);
-        when(projectRepository.countWonByFreelanceId(1L)).thenReturn(1L);
-        when(projectRepository.countLostByFreelanceId(1L)).thenReturn(1L);
-        when(projectRepository.countActiveByFreelanceId(1L)).thenReturn(5L);
-        when(projectRepository.countByFreelanceIdGroupByStatus(1L)).thenReturn(List.of());
-        when(projectRepository.countByFreelanceIdGroupByWorkMode(1L)).thenReturn(List.of());
-        when(projectRepository.findByFreelanceId(1L)).thenReturn(projects);
 
         // When
-        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(1L);
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(testFreelance.getId());
 
         // Then each stage counts opportunities at or beyond it; lost ones are not counted.
         List<DashboardStatsDto.ConversionFunnelStage> funnel = stats.getConversionFunnel();
@@ -312,49 +253,31 @@ class DashboardStatsServiceTest {
             .containsExactly(100.0, 66.7, 50.0, 33.3, 16.7);
     }
 
-    private Project projectWithStatus(ProjectStatus status) {
-        Project project = new Project();
-        project.setStatus(status);
-        return project;
-    }
-
     @Test
     void getDashboardStats_ShouldBreakDownFunnelBySourceClientTypeAndEsn() {
         // Given sources, an ESN, and four opportunities mixing direct and intermediated deals.
-        Source linkedin = new Source();
-        linkedin.setName("LinkedIn");
-        Source malt = new Source();
-        malt.setName("Malt");
+        Source linkedin = source("LinkedIn");
+        Source malt = source("Malt");
         Client esn = new Client();
         esn.setCompanyName("AcmeESN");
+        esn.setCity("Lyon");
         esn.setIsFinal(false);
+        esn.setFreelance(testFreelance);
+        entityManager.persist(esn);
 
-        Project linkedinWon = new Project();          // direct, LinkedIn, won
+        Project linkedinWon = project(ProjectStatus.WON);            // direct, LinkedIn, won
         linkedinWon.setSource(linkedin);
-        linkedinWon.setStatus(ProjectStatus.WON);
-        Project linkedinApplied = new Project();        // direct, LinkedIn, applied
+        Project linkedinApplied = project(ProjectStatus.APPLIED);    // direct, LinkedIn, applied
         linkedinApplied.setSource(linkedin);
-        linkedinApplied.setStatus(ProjectStatus.APPLIED);
-        Project maltViaEsn = new Project();             // intermediated, Malt, interview
+        Project maltViaEsn = project(ProjectStatus.INTERVIEW);       // intermediated, Malt, interview
         maltViaEsn.setSource(malt);
         maltViaEsn.setMiddleman(esn);
-        maltViaEsn.setStatus(ProjectStatus.INTERVIEW);
-        Project esnWonNoSource = new Project();          // intermediated, no source, won
+        Project esnWonNoSource = project(ProjectStatus.WON);         // intermediated, no source, won
         esnWonNoSource.setMiddleman(esn);
-        esnWonNoSource.setStatus(ProjectStatus.WON);
-
-        when(projectRepository.countByFreelanceId(1L)).thenReturn(4L);
-        when(projectRepository.findAverageDailyRateByFreelanceId(1L)).thenReturn(600.0);
-        when(projectRepository.countWonByFreelanceId(1L)).thenReturn(2L);
-        when(projectRepository.countLostByFreelanceId(1L)).thenReturn(0L);
-        when(projectRepository.countActiveByFreelanceId(1L)).thenReturn(2L);
-        when(projectRepository.countByFreelanceIdGroupByStatus(1L)).thenReturn(List.of());
-        when(projectRepository.countByFreelanceIdGroupByWorkMode(1L)).thenReturn(List.of());
-        when(projectRepository.findByFreelanceId(1L))
-            .thenReturn(List.of(linkedinWon, linkedinApplied, maltViaEsn, esnWonNoSource));
+        persist(linkedinWon, linkedinApplied, maltViaEsn, esnWonNoSource);
 
         // When
-        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(1L);
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(testFreelance.getId());
 
         // Then by source: groups ordered by name; the source-less project is skipped.
         assertThat(stats.getFunnelBySource())
@@ -385,32 +308,22 @@ class DashboardStatsServiceTest {
     void getDashboardStats_ShouldListSignedMissionsEndingSoon() {
         // Given signed missions ending in ~1 month (within the 6-week window) and others outside it.
         LocalDate today = LocalDate.now();
-        Project endingA = wonMission(1L, today.minusMonths(1), 2);   // ends ~+1 month
-        Project endingB = wonMission(2L, today, 1);                  // ends ~+1 month
-        Project farFuture = wonMission(3L, today, 6);                // ends ~+6 months, excluded
-        Project alreadyEnded = wonMission(4L, today.minusMonths(6), 2); // ended in the past, excluded
-        Project pending = wonMission(5L, today, 1);
-        pending.setStatus(ProjectStatus.INTERVIEW);                   // not signed, excluded
-        Project noDates = wonMission(6L, null, null);                 // missing dates, excluded
-
-        when(projectRepository.countByFreelanceId(1L)).thenReturn(6L);
-        when(projectRepository.findAverageDailyRateByFreelanceId(1L)).thenReturn(600.0);
-        when(projectRepository.countWonByFreelanceId(1L)).thenReturn(5L);
-        when(projectRepository.countLostByFreelanceId(1L)).thenReturn(0L);
-        when(projectRepository.countActiveByFreelanceId(1L)).thenReturn(1L);
-        when(projectRepository.countByFreelanceIdGroupByStatus(1L)).thenReturn(List.of());
-        when(projectRepository.countByFreelanceIdGroupByWorkMode(1L)).thenReturn(List.of());
-        when(projectRepository.findByFreelanceId(1L))
-            .thenReturn(List.of(endingA, endingB, farFuture, alreadyEnded, pending, noDates));
+        Project endingA = mission(ProjectStatus.WON, today.minusMonths(1), 2);       // ends ~+1 month
+        Project endingB = mission(ProjectStatus.WON, today, 1);                      // ends ~+1 month
+        Project farFuture = mission(ProjectStatus.WON, today, 6);                    // ends ~+6 months, excluded
+        Project alreadyEnded = mission(ProjectStatus.WON, today.minusMonths(6), 2);  // ended in the past, excluded
+        Project pending = mission(ProjectStatus.INTERVIEW, today, 1);                // not signed, excluded
+        Project noDates = mission(ProjectStatus.WON, null, null);                    // missing dates, excluded
+        persist(endingA, endingB, farFuture, alreadyEnded, pending, noDates);
 
         // When
-        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(1L);
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(testFreelance.getId());
 
         // Then only the two soon-ending signed missions appear, soonest first, with their details.
         List<DashboardStatsDto.MissionEndingSoon> ending = stats.getMissionsEndingSoon();
         assertThat(ending).hasSize(2)
             .extracting(DashboardStatsDto.MissionEndingSoon::getProjectId)
-            .containsExactlyInAnyOrder(1L, 2L);
+            .containsExactlyInAnyOrder(endingA.getId(), endingB.getId());
         assertThat(ending).extracting(DashboardStatsDto.MissionEndingSoon::getDaysUntilEnd).isSorted();
         assertThat(ending).allSatisfy(m -> {
             assertThat(m.getDaysUntilEnd()).isBetween(0L, 42L);
@@ -419,73 +332,131 @@ class DashboardStatsServiceTest {
         });
     }
 
-    private Project wonMission(Long id, LocalDate startDate, Integer durationInMonths) {
-        Project project = new Project();
-        project.setId(id);
-        project.setStatus(ProjectStatus.WON);
-        project.setRole("Mission " + id);
-        project.setStartDate(startDate);
-        project.setDurationInMonths(durationInMonths);
-        project.setClient(testClient);
-        return project;
-    }
-
     @Test
     void getDashboardStats_ShouldListStaleActiveOpportunities() {
         // Given active opportunities with varying idle times plus closed/fresh ones to exclude.
         LocalDateTime now = LocalDateTime.now();
-        Project veryStale = activeOpportunity(1L, ProjectStatus.APPLIED, now.minusDays(30));
-        Project mildlyStale = activeOpportunity(2L, ProjectStatus.INTERVIEW, now.minusDays(15));
-        Project fresh = activeOpportunity(3L, ProjectStatus.APPLIED, now.minusDays(3));   // too recent
-        Project wonStale = activeOpportunity(4L, ProjectStatus.WON, now.minusDays(40));   // closed, excluded
-        Project noActivity = activeOpportunity(5L, ProjectStatus.OFFER, null);            // no timestamp
-
-        when(projectRepository.countByFreelanceId(1L)).thenReturn(5L);
-        when(projectRepository.findAverageDailyRateByFreelanceId(1L)).thenReturn(600.0);
-        when(projectRepository.countWonByFreelanceId(1L)).thenReturn(1L);
-        when(projectRepository.countLostByFreelanceId(1L)).thenReturn(0L);
-        when(projectRepository.countActiveByFreelanceId(1L)).thenReturn(4L);
-        when(projectRepository.countByFreelanceIdGroupByStatus(1L)).thenReturn(List.of());
-        when(projectRepository.countByFreelanceIdGroupByWorkMode(1L)).thenReturn(List.of());
-        when(projectRepository.findByFreelanceId(1L))
-            .thenReturn(List.of(veryStale, mildlyStale, fresh, wonStale, noActivity));
+        Project veryStale = project(ProjectStatus.APPLIED);
+        Project mildlyStale = project(ProjectStatus.INTERVIEW);
+        Project fresh = project(ProjectStatus.APPLIED);       // too recent
+        Project wonStale = project(ProjectStatus.WON);        // closed, excluded
+        Project noActivity = project(ProjectStatus.OFFER);    // no timestamp
+        persist(veryStale, mildlyStale, fresh, wonStale, noActivity);
+        setUpdatedAt(veryStale, now.minusDays(30));
+        setUpdatedAt(mildlyStale, now.minusDays(15));
+        setUpdatedAt(fresh, now.minusDays(3));
+        setUpdatedAt(wonStale, now.minusDays(40));
+        setUpdatedAt(noActivity, null);
 
         // When
-        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(1L);
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(testFreelance.getId());
 
         // Then only stale active opportunities appear, most stale first, with their details.
         List<DashboardStatsDto.StaleOpportunity> stale = stats.getStaleOpportunities();
         assertThat(stale).extracting(DashboardStatsDto.StaleOpportunity::getProjectId)
-            .containsExactly(1L, 2L);
-        assertThat(stale.get(0).getDaysSinceActivity()).isGreaterThanOrEqualTo(stale.get(1).getDaysSinceActivity());
+            .containsExactly(veryStale.getId(), mildlyStale.getId());
+        assertThat(stale.get(0).getDaysSinceActivity()).isEqualTo(30L);
+        assertThat(stale.get(1).getDaysSinceActivity()).isEqualTo(15L);
         assertThat(stale.get(0).getStatus()).isEqualTo("APPLIED");
         assertThat(stale.get(0).getClientName()).isEqualTo("Test Company");
     }
 
-    private Project activeOpportunity(Long id, ProjectStatus status, LocalDateTime updatedAt) {
-        Project project = new Project();
-        project.setId(id);
-        project.setStatus(status);
-        project.setRole("Opportunity " + id);
-        project.setClient(testClient);
-        project.setUpdatedAt(updatedAt);
-        return project;
+    @Test
+    void getDashboardStats_WithYear_ShouldOnlyCountProjectsStartingThatYear() {
+        // Given projects starting in 2023 and 2024, and one without a start date
+        Project last2023 = mission(ProjectStatus.WON, LocalDate.of(2023, 12, 31), 1);
+        last2023.setDailyRate(400);
+        Project first2024 = mission(ProjectStatus.WON, LocalDate.of(2024, 1, 1), 2);
+        first2024.setDailyRate(600);
+        Project later2024 = mission(ProjectStatus.WON, LocalDate.of(2024, 6, 1), 1);
+        later2024.setDailyRate(800);
+        persist(last2023, first2024, later2024, project(ProjectStatus.IDENTIFIED));
+
+        // When
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(testFreelance.getId(), null, null, 2024);
+
+        // Then only the two 2024 missions count, and the bench between them is measured
+        assertThat(stats.getPeriodStart()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(stats.getPeriodEnd()).isEqualTo(LocalDate.of(2024, 12, 31));
+        assertThat(stats.getTotalProjects()).isEqualTo(2L);
+        assertThat(stats.getWonProjects()).isEqualTo(2L);
+        assertThat(stats.getAverageDailyRate()).isEqualTo(700.0);
+        assertThat(stats.getProjectsByStatus()).containsEntry("IDENTIFIED", 0L);
+        assertThat(stats.getDailyRateEvolution()).extracting(DashboardStatsDto.DailyRateEvolution::getPeriod)
+            .containsExactly("2024");
+        assertThat(stats.getTotalBenchDays()).isEqualTo(92L);
+        assertThat(stats.getBenchPeriods()).isEqualTo(1L);
     }
 
     @Test
-    void getDashboardStats_WithNoData_ShouldReturnZeroDefaults() {
+    void getDashboardStats_WithOpenEndedRange_ShouldApplyOnlyTheGivenBound() {
         // Given
-        when(projectRepository.countByFreelanceId(1L)).thenReturn(null);
-        when(projectRepository.findAverageDailyRateByFreelanceId(1L)).thenReturn(null);
-        when(projectRepository.countWonByFreelanceId(1L)).thenReturn(null);
-        when(projectRepository.countLostByFreelanceId(1L)).thenReturn(null);
-        when(projectRepository.countActiveByFreelanceId(1L)).thenReturn(null);
-        when(projectRepository.countByFreelanceIdGroupByStatus(1L)).thenReturn(List.of());
-        when(projectRepository.countByFreelanceIdGroupByWorkMode(1L)).thenReturn(List.of());
-        when(projectRepository.findByFreelanceId(1L)).thenReturn(List.of());
+        persist(
+            mission(ProjectStatus.APPLIED, LocalDate.of(2024, 3, 1), 6),
+            mission(ProjectStatus.APPLIED, LocalDate.of(2024, 9, 1), 6),
+            mission(ProjectStatus.APPLIED, LocalDate.of(2025, 2, 1), 6)
+        );
+
+        // When
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(
+            testFreelance.getId(), LocalDate.of(2024, 9, 1), null, null);
+
+        // Then the lower bound is inclusive and there is no upper bound
+        assertThat(stats.getTotalProjects()).isEqualTo(2L);
+        assertThat(stats.getPeriodStart()).isEqualTo(LocalDate.of(2024, 9, 1));
+        assertThat(stats.getPeriodEnd()).isNull();
+    }
 
+    @Test
+    void getDashboardStats_WithConflictingOrReversedPeriod_ShouldThrowIllegalArgumentException() {
+        Long freelanceId = testFreelance.getId();
+        LocalDate jan = LocalDate.of(2024, 1, 1);
+        LocalDate dec = LocalDate.of(2024, 12, 31);
+
+        assertThatThrownBy(() -> dashboardStatsService.getDashboardStats(freelanceId, jan, null, 2024))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> dashboardStatsService.getDashboardStats(freelanceId, dec, jan, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getDashboardStats_ShouldReadSnapshotWithSameStatementCountForSmallAndLargePipelines() {
+        Source source = source("LinkedIn");
+        persistPipeline(3, source);
+        dashboardStatsService.getDashboardStats(testFreelance.getId());
+        long smallPipelineStatements = countStatements();
+
+        dashboardSnapshotService.invalidate(testFreelance.getId());
+        persistPipeline(60, source);
+        dashboardStatsService.getDashboardStats(testFreelance.getId());
+        long largePipelineStatements = countStatements();
+
+        // Snapshot, signed missions, source names, ESN names and stale opportunities
+        assertThat(smallPipelineStatements).isEqualTo(5);
+        assertThat(largePipelineStatements).isEqualTo(smallPipelineStatements);
+    }
+
+    @Test
+    void getDashboardStats_ShouldCountInterviewStepsByStatus() {
+        Project project = project(ProjectStatus.INTERVIEW);
+        persist(project);
+        entityManager.persist(step(project, StepStatus.VALIDATED));
+        entityManager.persist(step(project, StepStatus.VALIDATED));
+        entityManager.persist(step(project, StepStatus.PLANNED));
+        entityManager.flush();
+
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(testFreelance.getId());
+
+        assertThat(stats.getInterviewStepsByStatus())
+            .containsEntry("VALIDATED", 2L)
+            .containsEntry("PLANNED", 1L)
+            .containsEntry("FAILED", 0L);
+    }
+
+    @Test
+    void getDashboardStats_WithNoData_ShouldReturnZeroDefaults() {
         // When
-        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(1L);
+        DashboardStatsDto stats = dashboardStatsService.getDashboardStats(testFreelance.getId());
 
         // Then
         assertThat(stats.getTotalProjects()).isZero();
@@ -505,4 +476,79 @@ class DashboardStatsServiceTest {
                 assertThat(stage.getConversionRate()).isZero();
             });
     }
+
+    /** Builds (without persisting) a 500/day project of the test freelance and client. */
+    private Project project(ProjectStatus status) {
+        Project project = new Project();
+        project.setRole("Opportunity " + status);
+        project.setStatus(status);
+        project.setDailyRate(500);
+        project.setFreelance(testFreelance);
+        project.setClient(testClient);
+        return project;
+    }
+
+    private Project mission(ProjectStatus status, LocalDate startDate, Integer durationInMonths) {
+        Project project = project(status);
+        project.setStartDate(startDate);
+        project.setDurationInMonths(durationInMonths);
+        return project;
+    }
+
+    private Source source(String name) {
+        Source source = new Source();
+        source.setName(name);
+        source.setType(SourceType.JOB_BOARD);
+        source.setFreelance(testFreelance);
+        return entityManager.persist(source);
+    }
+
+    private void persist(Project... projects) {
+        for (Project project : projects) {
+            entityManager.persist(project);
+        }
+        entityManager.flush();
+    }
+
+    /** Overrides the audited update timestamp, which is otherwise always "now" on persist. */
+    private void setUpdatedAt(Project project, LocalDateTime updatedAt) {
+        entityManager.getEntityManager()
+            .createQuery("UPDATE Project p SET p.updatedAt = :updatedAt WHERE p.id = :id")
+            .setParameter("updatedAt", updatedAt)
+            .setParameter("id", project.getId())
+            .executeUpdate();
+        entityManager.clear();
+    }
+
+    /** Persists projects across every status, with dates, sources and a middleman on some. */
+    private void persistPipeline(int count, Source source) {
+        ProjectStatus[] statuses = ProjectStatus.values();
+        for (int i = 0; i < count; i++) {
+            Project project = mission(statuses[i % statuses.length], LocalDate.of(2020 + i % 5, 1 + i % 12, 1), 1 + i % 6);
+            project.setSource(i % 2 == 0 ? source : null);
+            project.setMiddleman(i % 3 == 0 ? testClient : null);
+            entityManager.persist(project);
+        }
+        entityManager.flush();
+    }
+
+    private InterviewStep step(Project project, StepStatus status) {
+        InterviewStep step = new InterviewStep();
+        step.setTitle("Step " + status);
+        step.setStatus(status);
+        step.setProject(project);
+        return step;
+    }
+
+    /** Statements of one dashboard read, once pending writes (such as a new snapshot) are flushed. */
+    private long countStatements() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        dashboardStatsService.getDashboardStats(testFreelance.getId());
+
+        return statistics.getPrepareStatementCount();
+    }
 }
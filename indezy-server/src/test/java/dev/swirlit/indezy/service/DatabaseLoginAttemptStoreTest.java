@@ -0,0 +1,91 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.repository.LoginAttemptRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two store instances over the same table stand for two replicas. Runs without the test
+ * transaction, as the store writes in its own transactions.
+ */
+@DataJpaTest(properties = "indezy.security.login-attempts.store=database")
+@ActiveProfiles("test")
+@Import(DatabaseLoginAttemptStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatabaseLoginAttemptStoreTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+
+    @Autowired
+    private DatabaseLoginAttemptStore store;
+
+    @Autowired
+    private LoginAttemptRepository loginAttemptRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        loginAttemptRepository.deleteAll();
+    }
+
+    @Test
+    void failures_ShouldBeSharedBetweenReplicasAndWrittenOncePerFlush() {
+        DatabaseLoginAttemptStore otherReplica = new DatabaseLoginAttemptStore(loginAttemptRepository, transactionManager, 100);
+        Instant now = Instant.now();
+
+        for (int i = 0; i < 3; i++) {
+            store.recordFailure("shared@example.com", now, WINDOW);
+        }
+        // Unflushed failures are visible to this replica only
+        assertThat(store.get("shared@example.com", now).count()).isEqualTo(3);
+        assertThat(otherReplica.get("shared@example.com", now)).isNull();
+
+        store.flush();
+        otherReplica.recordFailure("shared@example.com", now, WINDOW);
+        otherReplica.recordFailure("shared@example.com", now, WINDOW);
+        otherReplica.flush();
+
+        assertThat(loginAttemptRepository.findAll()).singleElement()
+            .satisfies(row -> assertThat(row.getFailures()).isEqualTo(5));
+        assertThat(store.get("shared@example.com", now).count()).isEqualTo(5);
+
+        otherReplica.clear("shared@example.com");
+        assertThat(store.get("shared@example.com", now)).isNull();
+    }
+
+    @Test
+    void flush_AfterWindowEnded_ShouldStartANewWindow() {
+        Instant start = Instant.now().minus(WINDOW).minusSeconds(60);
+        for (int i = 0; i < 5; i++) {
+            store.recordFailure("expired@example.com", start, WINDOW);
+        }
+        store.recordFailure("forgotten@example.com", start, WINDOW);
+        store.flush();
+        Instant now = Instant.now();
+        assertThat(store.get("expired@example.com", now)).isNull();
+
+        store.recordFailure("expired@example.com", now, WINDOW);
+        store.flush();
+
+        LoginAttemptStore.Attempt attempt = store.get("expired@example.com", now);
+        assertThat(attempt.count()).isEqualTo(1);
+        assertThat(attempt.windowEnd()).isAfter(now);
+
+        store.deleteExpired();
+        assertThat(loginAttemptRepository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,61 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.enums.TravelMode;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fetches the routes of a 60-project portfolio from {@link DistanceMatrixStubServer} answering
+ * after 50 ms, once one destination per request and one request at a time (the former behavior of
+ * sort-by-commute) and once batched and concurrent. The wall-clock time of both runs is logged;
+ * the assertions check the number of requests sent, which is deterministic.
+ */
+class DistanceMatrixBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DistanceMatrixBenchmarkTest.class);
+
+    private static final int DESTINATIONS = 60;
+    private static final Duration LATENCY = Duration.ofMillis(50);
+
+    @Test
+    void fetch60Destinations_ShouldSend3RequestsWhenBatched() throws Exception {
+        Run sequential = run(1, 1);
+        Run batched = run(25, 8);
+
+        log.info("Fetched {} routes at {} latency: sequential {} ms ({} requests), batched {} ms ({} requests)",
+            DESTINATIONS, LATENCY, sequential.millis(), sequential.requests(), batched.millis(), batched.requests());
+
+        assertThat(sequential.requests()).isEqualTo(DESTINATIONS);
+        assertThat(batched.requests()).isEqualTo(3);
+    }
+
+    private Run run(int batchSize, int maxConcurrentRequests) throws Exception {
+        List<String> destinations = DistanceMatrixClientTest.destinations(DESTINATIONS);
+        try (DistanceMatrixStubServer stub = DistanceMatrixStubServer.start(LATENCY)) {
+            DistanceMatrixClient client = new DistanceMatrixClient(stub.url(), "bench-key", batchSize,
+                maxConcurrentRequests, Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(30), 5,
+                Duration.ofSeconds(30));
+            try {
+                long start = System.nanoTime();
+                Map<String, CommuteCache.Route> routes = client.fetch("10 rue de la Paix, Paris", destinations,
+                    TravelMode.DRIVING);
+                long millis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+                assertThat(routes).hasSize(DESTINATIONS);
+                return new Run(millis, stub.requests());
+            } finally {
+                client.shutdown();
+            }
+        }
+    }
+
+    private record Run(long millis, int requests) {
+    }
+}
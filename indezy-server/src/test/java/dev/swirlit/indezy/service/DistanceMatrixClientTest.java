@@ -0,0 +1,163 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.enums.TravelMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Runs the client against {@link DistanceMatrixStubServer} over real HTTP, with faults injected into the stub. */
+class DistanceMatrixClientTest {
+
+    private static final String ORIGIN = "10 rue de la Paix, Paris";
+
+    private DistanceMatrixStubServer stub;
+    private DistanceMatrixClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Test
+    void fetch_ShouldDeduplicateDestinationsAndPackThemIntoRequestsOf25() throws Exception {
+        stub = DistanceMatrixStubServer.start(Duration.ZERO);
+        client = client("test-key", 25, 8, Duration.ofSeconds(5));
+        List<String> destinations = new ArrayList<>(destinations(60));
+        destinations.addAll(destinations(10));
+        destinations.add(" ");
+
+        Map<String, CommuteCache.Route> routes = client.fetch(ORIGIN, destinations, TravelMode.DRIVING);
+
+        assertThat(stub.requests()).isEqualTo(3);
+        assertThat(routes).hasSize(60);
+        assertThat(routes.get("12 rue de Lyon, Paris")).isEqualTo(DistanceMatrixStubServer.routeTo("12 rue de Lyon, Paris"));
+    }
+
+    @Test
+    void fetch_ShouldCapConcurrentRequests() throws Exception {
+        stub = DistanceMatrixStubServer.start(Duration.ofMillis(50));
+        client = client("test-key", 1, 3, Duration.ofSeconds(5));
+
+        Map<String, CommuteCache.Route> routes = client.fetch(ORIGIN, destinations(12), TravelMode.TRANSIT);
+
+        assertThat(routes).hasSize(12);
+        assertThat(stub.requests()).isEqualTo(12);
+        assertThat(stub.maxInFlight()).isBetween(1, 3);
+    }
+
+    @Test
+    void fetch_WhenDeadlinePasses_ShouldReturnWithoutTheLateRoutes() throws Exception {
+        stub = DistanceMatrixStubServer.start(Duration.ofSeconds(2));
+        client = client("test-key", 25, 8, Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        Map<String, CommuteCache.Route> routes = client.fetch(ORIGIN, destinations(3), TravelMode.DRIVING);
+
+        assertThat(routes).isEmpty();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void fetch_WithoutApiKey_ShouldNotSendRequests() throws Exception {
+        stub = DistanceMatrixStubServer.start(Duration.ZERO);
+        client = client("", 25, 8, Duration.ofSeconds(5));
+
+        assertThat(client.fetch(ORIGIN, destinations(3), TravelMode.DRIVING)).isEmpty();
+        assertThat(stub.requests()).isZero();
+    }
+
+    @Test
+    void fetch_WhenUpstreamKeepsFailing_ShouldOpenTheCircuitAndStopCallingIt() throws Exception {
+        stub = DistanceMatrixStubServer.start(Duration.ZERO);
+        stub.failWith(503);
+        client = client("test-key", 25, 8, Duration.ofSeconds(5), Duration.ofMinutes(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        client.bindTo(registry);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(client.fetch(ORIGIN, destinations(3), TravelMode.DRIVING)).isEmpty();
+        }
+        assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        long start = System.nanoTime();
+        assertThat(client.fetch(ORIGIN, destinations(3), TravelMode.DRIVING)).isEmpty();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(100));
+        assertThat(stub.requests()).isEqualTo(3);
+        assertThat(registry.get("commute.upstream.rejected").tag("reason", "circuit-open").functionCounter().count())
+            .isEqualTo(1);
+        assertThat(registry.get("commute.upstream.circuit.transitions").tag("state", "open").functionCounter().count())
+            .isEqualTo(1);
+        assertThat(registry.get("commute.upstream.circuit.state").tag("state", "open").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void fetch_WhenUpstreamIsSlow_ShouldOpenTheCircuitAfterMissedDeadlines() throws Exception {
+        stub = DistanceMatrixStubServer.start(Duration.ofSeconds(2));
+        client = client("test-key", 25, 8, Duration.ofMillis(100), Duration.ofMinutes(1));
+
+        for (int i = 0; i < 3; i++) {
+            client.fetch(ORIGIN, destinations(3), TravelMode.DRIVING);
+        }
+        // The abandoned requests are reported by their cancelled threads.
+        await(() -> client.circuitState() == CircuitBreaker.State.OPEN);
+
+        int sent = stub.requests();
+        assertThat(client.fetch(ORIGIN, destinations(3), TravelMode.DRIVING)).isEmpty();
+        assertThat(stub.requests()).isEqualTo(sent);
+    }
+
+    @Test
+    void fetch_WhenUpstreamRecovers_ShouldCloseTheCircuitAfterOneTrialRequest() throws Exception {
+        stub = DistanceMatrixStubServer.start(Duration.ZERO);
+        stub.failWith(500);
+        client = client("test-key", 25, 8, Duration.ofSeconds(5), Duration.ofMillis(200));
+        for (int i = 0; i < 3; i++) {
+            client.fetch(ORIGIN, destinations(3), TravelMode.DRIVING);
+        }
+        assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        stub.failWith(0);
+        Thread.sleep(300);
+        Map<String, CommuteCache.Route> routes = client.fetch(ORIGIN, destinations(3), TravelMode.DRIVING);
+
+        assertThat(routes).hasSize(3);
+        assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(stub.requests()).isEqualTo(4);
+    }
+
+    private DistanceMatrixClient client(String apiKey, int batchSize, int maxConcurrentRequests, Duration deadline) {
+        return client(apiKey, batchSize, maxConcurrentRequests, deadline, Duration.ofMinutes(1));
+    }
+
+    private DistanceMatrixClient client(String apiKey, int batchSize, int maxConcurrentRequests, Duration deadline,
+                                        Duration openDuration) {
+        return new DistanceMatrixClient(stub.url(), apiKey, batchSize, maxConcurrentRequests, Duration.ofSeconds(1),
+            Duration.ofSeconds(1), deadline, 3, openDuration);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long end = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < end) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    static List<String> destinations(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> i + " rue de Lyon, Paris").toList();
+    }
+}
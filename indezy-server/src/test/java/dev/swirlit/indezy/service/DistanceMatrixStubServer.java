@@ -0,0 +1,137 @@
+package dev.swirlit.indezy.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local stand-in for the Distance Matrix API: answers every destination of a request with a
+ * route derived from the destination text, after a latency. Counts the requests and the highest
+ * number served at the same time. For fault injection, the latency can be changed and the stub
+ * told to answer with an HTTP error status.
+ *
+ * <p>Can also be started on its own to benchmark the application offline, with
+ * {@code indezy.commute.distance-matrix.url=http://localhost:<port>/maps/api/distancematrix/json}
+ * and any {@code google.maps.api-key}.
+ */
+@Slf4j
+class DistanceMatrixStubServer implements AutoCloseable {
+
+    static final String PATH = "/maps/api/distancematrix/json";
+
+    private final HttpServer server;
+    private volatile Duration latency;
+    private volatile int failureStatus;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    DistanceMatrixStubServer(int port, Duration latency) throws IOException {
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext(PATH, this::handle);
+        this.server.start();
+    }
+
+    static DistanceMatrixStubServer start(Duration latency) throws IOException {
+        return new DistanceMatrixStubServer(0, latency);
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort() + PATH;
+    }
+
+    int requests() {
+        return requests.get();
+    }
+
+    int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    void latency(Duration latency) {
+        this.latency = latency;
+    }
+
+    /** Answers every following request with the given HTTP status and no body; 0 to answer normally again. */
+    void failWith(int httpStatus) {
+        this.failureStatus = httpStatus;
+    }
+
+    /** The route the stub returns for a destination. */
+    static CommuteCache.Route routeTo(String destination) {
+        int minutes = 5 + Math.floorMod(destination.hashCode(), 115);
+        return new CommuteCache.Route(minutes * 60, minutes + " min", minutes * 900, (minutes * 900 / 1000) + " km");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(latency);
+            if (failureStatus != 0) {
+                exchange.sendResponseHeaders(failureStatus, -1);
+                return;
+            }
+            byte[] body = respond(destinations(exchange.getRequestURI().getRawQuery())).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private static List<String> destinations(String rawQuery) {
+        for (String param : rawQuery.split("&")) {
+            if (param.startsWith("destinations=")) {
+                String value = URLDecoder.decode(param.substring("destinations=".length()), StandardCharsets.UTF_8);
+                return List.of(value.split("\\|"));
+            }
+        }
+        return List.of();
+    }
+
+    private static String respond(List<String> destinations) {
+        List<String> elements = new ArrayList<>();
+        for (String destination : destinations) {
+            CommuteCache.Route route = routeTo(destination);
+            elements.add("""
+                {"status": "OK", "duration": {"value": %d, "text": "%s"}, "distance": {"value": %d, "text": "%s"}}"""
+                .formatted(route.durationInSeconds(), route.durationText(), route.distanceInMeters(), route.distanceText()));
+        }
+        return """
+            {"status": "OK", "rows": [{"elements": [%s]}]}""".formatted(String.join(",", elements));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        Duration latency = Duration.ofMillis(args.length > 1 ? Long.parseLong(args[1]) : 200);
+        DistanceMatrixStubServer stub = new DistanceMatrixStubServer(port, latency);
+        log.info("Distance Matrix stub listening on {} with {} latency", stub.url(), latency);
+        Thread.currentThread().join();
+    }
+}
@@ -35,6 +35,21 @@ class FreelanceServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private FreelanceViewCache viewCache;
+
+    @Mock
+    private CommuteCache commuteCache;
+
+    @Mock
+    private CommutePrecomputeService commutePrecomputeService;
+
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private SkillTagService skillTagService;
+
     @InjectMocks
     private FreelanceService freelanceService;
 
@@ -269,6 +284,7 @@ class FreelanceServiceTest {
         // Then
         verify(freelanceRepository).existsById(1L);
         verify(freelanceRepository).deleteById(1L);
+        verify(viewCache).invalidateAll(1L);
     }
 
     @Test
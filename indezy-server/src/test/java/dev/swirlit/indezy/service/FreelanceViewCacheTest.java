@@ -0,0 +1,140 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.service.FreelanceViewCache.View;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Drives the cache with a manual clock: hits, expiry, size eviction, invalidation racing a load
+ * and the background refresh of a stale entry.
+ */
+class FreelanceViewCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(60);
+    private static final Duration STALE_TTL = Duration.ofMinutes(5);
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private FreelanceViewCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = cache(true, 2, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void get_ShouldLoadOnceWhileFresh() {
+        assertThat(cache.get(View.KANBAN, 1L, this::load)).isEqualTo("load-1");
+        now.addAndGet(TTL.minusSeconds(1).toNanos());
+        assertThat(cache.get(View.KANBAN, 1L, this::load)).isEqualTo("load-1");
+
+        FreelanceViewCache.Stats stats = cache.stats(View.KANBAN);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.size()).isEqualTo(1);
+        assertThat(cache.stats(View.DASHBOARD).size()).isZero();
+    }
+
+    @Test
+    void get_AfterTtl_ShouldReload() {
+        cache.get(View.KANBAN, 1L, this::load);
+        now.addAndGet(TTL.toNanos());
+
+        assertThat(cache.get(View.KANBAN, 1L, this::load)).isEqualTo("load-2");
+        assertThat(cache.stats(View.KANBAN).expirations()).isEqualTo(1);
+    }
+
+    @Test
+    void get_OverMaxEntries_ShouldEvictLeastRecentlyRead() {
+        cache.get(View.KANBAN, 1L, this::load);
+        cache.get(View.KANBAN, 2L, this::load);
+        cache.get(View.KANBAN, 1L, this::load);
+        cache.get(View.KANBAN, 3L, this::load);
+
+        assertThat(cache.stats(View.KANBAN).evictions()).isEqualTo(1);
+        assertThat(cache.get(View.KANBAN, 1L, this::load)).isEqualTo("load-1");
+        assertThat(cache.get(View.KANBAN, 2L, this::load)).isEqualTo("load-4");
+    }
+
+    @Test
+    void invalidate_ShouldDropOnlyTheGivenViews() {
+        cache.get(View.KANBAN, 1L, this::load);
+        cache.get(View.DASHBOARD, 1L, this::load);
+
+        cache.invalidate(1L, View.KANBAN);
+
+        assertThat(cache.get(View.KANBAN, 1L, this::load)).isEqualTo("load-3");
+        assertThat(cache.get(View.DASHBOARD, 1L, this::load)).isEqualTo("load-2");
+        assertThat(cache.stats(View.KANBAN).invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_DuringLoad_ShouldNotStoreTheLoadedValue() {
+        Object loaded = cache.get(View.KANBAN, 1L, () -> {
+            cache.invalidate(1L, View.KANBAN);
+            return load();
+        });
+
+        assertThat(loaded).isEqualTo("load-1");
+        assertThat(cache.stats(View.KANBAN).size()).isZero();
+        assertThat(cache.get(View.KANBAN, 1L, this::load)).isEqualTo("load-2");
+    }
+
+    @Test
+    void get_WhenStale_ShouldServeStaleValueAndRefreshInBackground() throws InterruptedException {
+        cache.shutdown();
+        cache = cache(true, 2, STALE_TTL);
+        cache.get(View.DASHBOARD, 1L, this::load);
+        now.addAndGet(TTL.plusSeconds(1).toNanos());
+
+        assertThat(cache.get(View.DASHBOARD, 1L, this::load)).isEqualTo("load-1");
+        for (int i = 0; i < 200 && cache.stats(View.DASHBOARD).refreshes() == 0; i++) {
+            Thread.sleep(10);
+        }
+
+        assertThat(cache.get(View.DASHBOARD, 1L, this::load)).isEqualTo("load-2");
+        FreelanceViewCache.Stats stats = cache.stats(View.DASHBOARD);
+        assertThat(stats.staleHits()).isEqualTo(1);
+        assertThat(stats.refreshes()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void get_WhenDisabled_ShouldAlwaysLoad() {
+        cache.shutdown();
+        cache = cache(false, 2, Duration.ZERO);
+
+        cache.get(View.KANBAN, 1L, this::load);
+        assertThat(cache.get(View.KANBAN, 1L, this::load)).isEqualTo("load-2");
+        assertThat(cache.stats(View.KANBAN).misses()).isZero();
+    }
+
+    @Test
+    void constructor_WithInvalidSettings_ShouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> cache(true, 0, Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private FreelanceViewCache cache(boolean enabled, int maxEntries, Duration staleTtl) {
+        return new FreelanceViewCache(enabled, maxEntries, TTL, staleTtl, 1,
+            mock(PlatformTransactionManager.class), now::get);
+    }
+
+    private String load() {
+        return "load-" + loads.incrementAndGet();
+    }
+}
@@ -0,0 +1,180 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.enums.EmploymentStatus;
+import dev.swirlit.indezy.repository.ClientRepository;
+import dev.swirlit.indezy.repository.FreelanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** Geocodes pending rows of the real tables, with the providers' HTTP responses stubbed. */
+@DataJpaTest
+@ActiveProfiles("test")
+class GeocodingServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private FreelanceRepository freelanceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final CommutePrecomputeService commutePrecomputeService = mock(CommutePrecomputeService.class);
+
+    private Freelance freelance;
+    private Client lyon;
+    private Client unknown;
+
+    @BeforeEach
+    void setUp() {
+        freelance = new Freelance();
+        freelance.setFirstName("John");
+        freelance.setLastName("Doe");
+        freelance.setEmail("geocoding@example.com");
+        freelance.setStatus(EmploymentStatus.FREELANCE);
+        freelance.setAddress("10 rue de la Paix");
+        freelance.setCity("Paris");
+        freelance = entityManager.persist(freelance);
+        lyon = client("5 place Bellecour", "Lyon");
+        unknown = client(null, "Nowhere");
+        entityManager.flush();
+    }
+
+    @Test
+    void geocodePending_WithNominatim_ShouldStoreCoordinatesOnceAndRecordUnknownAddresses() {
+        nominatimAnswers("Paris", "[{\"lat\": \"48.8686\", \"lon\": \"2.3318\"}]");
+        nominatimAnswers("Lyon", "[{\"lat\": \"45.7578\", \"lon\": \"4.8320\"}]");
+        nominatimAnswers("Nowhere", "[]");
+        GeocodingService service = service("");
+
+        assertThat(service.geocodePending()).isEqualTo(3);
+        assertThat(service.geocodePending()).isZero();
+
+        entityManager.clear();
+        Freelance geocodedFreelance = freelanceRepository.findById(freelance.getId()).orElseThrow();
+        assertThat(geocodedFreelance.getLatitude()).isEqualTo(48.8686);
+        assertThat(geocodedFreelance.getGeocodedAddress()).isEqualTo("10 rue de la Paix, Paris");
+        assertThat(clientRepository.findById(lyon.getId()).orElseThrow().getLongitude()).isEqualTo(4.8320);
+        Client notFound = clientRepository.findById(unknown.getId()).orElseThrow();
+        assertThat(notFound.getLatitude()).isNull();
+        assertThat(notFound.getGeocodedAddress()).isEqualTo("Nowhere");
+        verify(restTemplate, times(3)).exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(JsonNode.class));
+        // Both the freelance and the Lyon client got coordinates; the unknown address did not.
+        verify(commutePrecomputeService, times(2)).refresh(freelance.getId());
+    }
+
+    @Test
+    void geocodePending_WithApiKey_ShouldUseGoogleGeocoding() {
+        when(restTemplate.getForObject(any(URI.class), eq(JsonNode.class))).thenReturn(json("""
+            {"status": "OK", "results": [{"geometry": {"location": {"lat": 45.7578, "lng": 4.832}}}]}
+            """));
+
+        assertThat(service("test-key").geocodePending()).isEqualTo(3);
+
+        entityManager.clear();
+        assertThat(clientRepository.findById(unknown.getId()).orElseThrow().getLatitude()).isEqualTo(45.7578);
+    }
+
+    @Test
+    void geocodePending_WhenRequestFails_ShouldRetryOnNextRun() {
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(JsonNode.class)))
+            .thenThrow(new RestClientException("connection refused"));
+
+        assertThat(service("").geocodePending()).isZero();
+
+        entityManager.clear();
+        assertThat(freelanceRepository.findPendingGeocoding(Limit.of(10))).hasSize(1);
+        assertThat(clientRepository.findById(lyon.getId()).orElseThrow().getGeocodedAddress()).isNull();
+    }
+
+    @Test
+    void geocodePending_WhenDisabled_ShouldDoNothing() {
+        List<Runnable> runs = new ArrayList<>();
+        GeocodingService service = new GeocodingService(clientRepository, freelanceRepository, commutePrecomputeService, transactionManager,
+            restTemplate, false, "", GeocodingService.NOMINATIM_URL, 50, Duration.ZERO, runs::add);
+
+        service.schedule();
+
+        assertThat(runs).isEmpty();
+        assertThat(service.geocodePending()).isZero();
+    }
+
+    @Test
+    void schedule_ShouldRunOnTheGeocodingThreadOneRunAtATime() {
+        nominatimAnswers("Lyon", "[{\"lat\": \"45.76\", \"lon\": \"4.84\"}]");
+        List<Runnable> runs = new ArrayList<>();
+        GeocodingService service = new GeocodingService(clientRepository, freelanceRepository, commutePrecomputeService, transactionManager,
+            restTemplate, true, "", GeocodingService.NOMINATIM_URL, 50, Duration.ZERO, runs::add);
+
+        service.schedule();
+        service.schedule();
+        assertThat(runs).hasSize(1);
+        verify(restTemplate, never()).exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(JsonNode.class));
+
+        runs.getFirst().run();
+        service.schedule();
+        assertThat(runs).hasSize(2);
+        entityManager.clear();
+        assertThat(clientRepository.findById(lyon.getId()).orElseThrow().getLatitude()).isEqualTo(45.76);
+    }
+
+    private GeocodingService service(String googleApiKey) {
+        return new GeocodingService(clientRepository, freelanceRepository, commutePrecomputeService, transactionManager,
+            restTemplate, true, googleApiKey, GeocodingService.NOMINATIM_URL, 50, Duration.ZERO, Runnable::run);
+    }
+
+    private void nominatimAnswers(String city, String body) {
+        when(restTemplate.exchange(argThat((URI uri) -> uri != null && uri.getQuery().contains(city)),
+            eq(HttpMethod.GET), any(HttpEntity.class), eq(JsonNode.class)))
+            .thenReturn(ResponseEntity.ok(json(body)));
+    }
+
+    private Client client(String address, String city) {
+        Client client = new Client();
+        client.setCompanyName(city + " Corp");
+        client.setAddress(address);
+        client.setCity(city);
+        client.setIsFinal(true);
+        client.setFreelance(freelance);
+        return entityManager.persist(client);
+    }
+
+    private static JsonNode json(String content) {
+        return new ObjectMapper().readTree(content);
+    }
+}
@@ -0,0 +1,88 @@
+package dev.swirlit.indezy.service;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryLoginAttemptStoreTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryLoginAttemptStoreTest.class);
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+
+    @Test
+    void recordFailure_ShouldCountWithinTheFirstWindow() {
+        InMemoryLoginAttemptStore store = new InMemoryLoginAttemptStore(10);
+
+        store.recordFailure("user@example.com", START, WINDOW);
+        store.recordFailure("user@example.com", START.plusSeconds(60), WINDOW);
+
+        assertThat(store.get("user@example.com", START.plusSeconds(120)))
+            .isEqualTo(new LoginAttemptStore.Attempt(2, START.plus(WINDOW)));
+    }
+
+    @Test
+    void get_ShouldSweepExpiredWindowsOfOtherAccounts() {
+        InMemoryLoginAttemptStore store = new InMemoryLoginAttemptStore(10);
+        store.recordFailure("first@example.com", START, WINDOW);
+        store.recordFailure("second@example.com", START.plusSeconds(600), WINDOW);
+
+        assertThat(store.get("second@example.com", START.plus(WINDOW).plusSeconds(1))).isNotNull();
+
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void recordFailure_BeyondMaxEntries_ShouldEvictTheOldestWindow() {
+        InMemoryLoginAttemptStore store = new InMemoryLoginAttemptStore(2);
+        store.recordFailure("first@example.com", START, WINDOW);
+        store.recordFailure("second@example.com", START.plusSeconds(1), WINDOW);
+        store.recordFailure("first@example.com", START.plusSeconds(2), WINDOW);
+
+        store.recordFailure("third@example.com", START.plusSeconds(3), WINDOW);
+
+        // A repeated failure does not move an account: its window is still the oldest.
+        assertThat(store.get("first@example.com", START.plusSeconds(4))).isNull();
+        assertThat(store.get("second@example.com", START.plusSeconds(4))).isNotNull();
+        assertThat(store.evictions()).isEqualTo(1);
+    }
+
+    /**
+     * Drives one million distinct accounts through the store, as a credential-stuffing run would.
+     * The entry count must stay at the cap; the retained heap is logged for reference only, as it
+     * depends on the JVM and the collector.
+     */
+    @Test
+    void recordFailure_With1MDistinctKeys_ShouldStayWithinTheMemoryCeiling() {
+        int maxEntries = 10_000;
+        int keys = 1_000_000;
+        InMemoryLoginAttemptStore store = new InMemoryLoginAttemptStore(maxEntries);
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        for (int i = 0; i < keys; i++) {
+            store.recordFailure("user" + i + "@example.com", START.plusMillis(i), WINDOW);
+            if (i % 100_000 == 0) {
+                assertThat(store.size()).isLessThanOrEqualTo(maxEntries);
+            }
+        }
+
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+        log.info("Tracked {} distinct accounts with a cap of {}: {} kept, {} evicted, retained heap ~{} KB",
+            keys, maxEntries, store.size(), store.evictions(), (heapAfter - heapBefore) / 1024);
+
+        assertThat(store.size()).isEqualTo(maxEntries);
+        assertThat(store.evictions()).isEqualTo(keys - maxEntries);
+        // The most recent accounts are the ones kept.
+        assertThat(store.get("user" + (keys - 1) + "@example.com", START.plusMillis(keys))).isNotNull();
+        assertThat(store.get("user0@example.com", START.plusMillis(keys))).isNull();
+    }
+}
@@ -42,6 +42,15 @@ class InterviewStepServiceTest {
     @Mock
     private InterviewStepMapper interviewStepMapper;
 
+    @Mock
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    @Mock
+    private AggregateCounterService aggregateCounterService;
+
+    @Mock
+    private FreelanceViewCache viewCache;
+
     @InjectMocks
     private InterviewStepService interviewStepService;
 
@@ -225,6 +234,8 @@ class InterviewStepServiceTest {
 
         // Then
         verify(interviewStepRepository).existsById(1L);
+        verify(dashboardSnapshotService).recordStepRemoval(1L);
+        verify(aggregateCounterService).recordStepRemoval(1L);
         verify(interviewStepRepository).deleteById(1L);
     }
 
@@ -256,6 +267,8 @@ class InterviewStepServiceTest {
         assertThat(testInterviewStep.getStatus()).isEqualTo(StepStatus.VALIDATED);
         verify(interviewStepRepository).findById(1L);
         verify(interviewStepRepository).save(testInterviewStep);
+        verify(dashboardSnapshotService).recordStepChange(testInterviewStep, StepStatus.PLANNED);
+        verify(aggregateCounterService).recordStepChange(testProject.getId(), StepStatus.PLANNED, StepStatus.VALIDATED);
         verify(interviewStepMapper).toDto(testInterviewStep);
     }
 
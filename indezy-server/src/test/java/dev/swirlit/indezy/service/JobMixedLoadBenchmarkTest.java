@@ -0,0 +1,175 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.model.enums.JobStatus;
+import dev.swirlit.indezy.model.enums.JobType;
+import dev.swirlit.indezy.repository.BackgroundJobRepository;
+import dev.swirlit.indezy.repository.FreelanceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends interactive reads to a pool of {@value #REQUEST_THREADS} "request" threads while
+ * {@value #HEAVY_TASKS} heavy tasks (a database read then {@code HEAVY_STEP} of work, eight times)
+ * run, once inline on the request threads (the former behavior of exports and recomputations) and
+ * once as background jobs on a pool of {@value #JOB_WORKERS} workers. The latencies of both runs
+ * are logged; the assertions check that the jobs never exceed their workers and that requests
+ * no longer wait behind heavy work.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobMixedLoadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JobMixedLoadBenchmarkTest.class);
+
+    private static final int REQUEST_THREADS = 4;
+    private static final int JOB_WORKERS = 2;
+    private static final int HEAVY_TASKS = 8;
+    private static final int HEAVY_STEPS = 8;
+    private static final Duration HEAVY_STEP = Duration.ofMillis(25);
+    private static final int REQUESTS = 40;
+    private static final Duration REQUEST_INTERVAL = Duration.ofMillis(10);
+
+    @Autowired
+    private BackgroundJobRepository jobRepository;
+
+    @Autowired
+    private FreelanceRepository freelanceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger heavyRunning = new AtomicInteger();
+    private final AtomicInteger maxHeavyRunning = new AtomicInteger();
+    private ExecutorService requestThreads;
+    private JobService jobService;
+
+    @AfterEach
+    void tearDown() {
+        if (jobService != null) {
+            jobService.shutdown();
+        }
+        requestThreads.shutdownNow();
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void interactiveRequests_ShouldNotWaitBehindHeavyJobs() throws Exception {
+        requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+
+        List<Future<?>> inlineTasks = new ArrayList<>();
+        for (int i = 0; i < HEAVY_TASKS; i++) {
+            inlineTasks.add(requestThreads.submit(() -> heavyWork(null)));
+        }
+        Latencies inline = sendRequests();
+        for (Future<?> task : inlineTasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+
+        maxHeavyRunning.set(0);
+        jobService = jobService();
+        List<Long> jobs = new ArrayList<>();
+        for (long owner = 1; owner <= HEAVY_TASKS; owner++) {
+            jobs.add(jobService.submit(JobType.DATA_EXPORT, owner).getId());
+        }
+        Latencies background = sendRequests();
+        awaitCompletion(jobs);
+
+        log.info("{} requests during {} heavy tasks: inline p50 {} ms, p95 {} ms, max {} ms; as jobs p50 {} ms, p95 {} ms, max {} ms",
+            REQUESTS, HEAVY_TASKS, inline.percentile(50), inline.percentile(95), inline.max(),
+            background.percentile(50), background.percentile(95), background.max());
+
+        assertThat(maxHeavyRunning.get()).isLessThanOrEqualTo(JOB_WORKERS);
+        assertThat(background.percentile(95)).isLessThan(inline.percentile(95));
+        // With jobs, no request waits for a whole heavy task to finish.
+        assertThat(background.percentile(95)).isLessThan(HEAVY_STEP.toMillis() * HEAVY_STEPS);
+    }
+
+    /** Reads a freelance count from a request thread every {@code REQUEST_INTERVAL}, timing queueing plus execution. */
+    private Latencies sendRequests() throws Exception {
+        List<Future<Long>> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            long submitted = System.nanoTime();
+            requests.add(requestThreads.submit(() -> {
+                freelanceRepository.count();
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted);
+            }));
+            Thread.sleep(REQUEST_INTERVAL.toMillis());
+        }
+        List<Long> millis = new ArrayList<>();
+        for (Future<Long> request : requests) {
+            millis.add(request.get(30, TimeUnit.SECONDS));
+        }
+        return new Latencies(millis.stream().sorted().toList());
+    }
+
+    private String heavyWork(JobContext context) throws InterruptedException {
+        int running = heavyRunning.incrementAndGet();
+        maxHeavyRunning.accumulateAndGet(running, Math::max);
+        try {
+            for (int step = 0; step < HEAVY_STEPS; step++) {
+                if (context != null) {
+                    context.throwIfCancelled();
+                    context.progress(step * 100 / HEAVY_STEPS, "step " + step);
+                }
+                freelanceRepository.count();
+                Thread.sleep(HEAVY_STEP.toMillis());
+            }
+            return "done";
+        } finally {
+            heavyRunning.decrementAndGet();
+        }
+    }
+
+    private JobService jobService() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("heavy", JobServiceTest.handler(JobType.DATA_EXPORT, JOB_WORKERS, this::heavyWork));
+        ExecutorService workers = Executors.newFixedThreadPool(JOB_WORKERS);
+        return new JobService(jobRepository, transactionManager, beans.getBeanProvider(JobHandler.class), JOB_WORKERS,
+            workers, Clock.systemDefaultZone(), Duration.ofSeconds(1), Duration.ofMinutes(2), 3, Duration.ofDays(7));
+    }
+
+    private void awaitCompletion(List<Long> jobs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        for (int i = 0; i < jobs.size(); i++) {
+            Long owner = (long) i + 1;
+            while (jobService.getJob(owner, jobs.get(i)).getStatus() != JobStatus.COMPLETED && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(jobService.getJob(owner, jobs.get(i)).getStatus()).isEqualTo(JobStatus.COMPLETED);
+        }
+    }
+
+    private record Latencies(List<Long> sortedMillis) {
+
+        long percentile(int percent) {
+            int index = (int) Math.ceil(percent / 100.0 * sortedMillis.size()) - 1;
+            return sortedMillis.get(Math.max(0, index));
+        }
+
+        long max() {
+            return sortedMillis.getLast();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.dto.JobDto;
+import dev.swirlit.indezy.model.BackgroundJob;
+import dev.swirlit.indezy.model.enums.JobStatus;
+import dev.swirlit.indezy.model.enums.JobType;
+import dev.swirlit.indezy.repository.BackgroundJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs jobs against the real {@code background_jobs} table, with test handlers and either the
+ * calling thread or a real pool as workers. Runs without the test transaction, as the service
+ * writes in its own transactions.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobServiceTest {
+
+    @Autowired
+    private BackgroundJobRepository jobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JobService jobService;
+    private ExecutorService pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void submit_ShouldRunTheJobAndStoreItsProgressAndResult() {
+        jobService = service(2, Runnable::run, handler(JobType.DATA_EXPORT, 1, context -> {
+            context.progress(50, "halfway");
+            context.processed(3);
+            return "archive.zip";
+        }));
+
+        JobDto job = jobService.submit(JobType.DATA_EXPORT, 1L);
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getProgress()).isEqualTo(100);
+        assertThat(job.getProcessedItems()).isEqualTo(3);
+        assertThat(job.getResult()).isEqualTo("archive.zip");
+        assertThat(job.getAttempts()).isEqualTo(1);
+        assertThat(job.getCompletedAt()).isNotNull();
+        assertThat(jobService.getJobs(1L)).extracting(JobDto::getId).containsExactly(job.getId());
+    }
+
+    @Test
+    void submit_WhenAJobOfTheSameTypeAndOwnerIsActive_ShouldReturnIt() {
+        // Workers that never run anything: the first job stays running, the next ones queued.
+        jobService = service(2, task -> { }, handler(JobType.DATA_EXPORT, 1, context -> "done"));
+
+        JobDto first = jobService.submit(JobType.DATA_EXPORT, 1L);
+        JobDto again = jobService.submit(JobType.DATA_EXPORT, 1L);
+        JobDto otherOwner = jobService.submit(JobType.DATA_EXPORT, 2L);
+
+        assertThat(first.getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(again.getId()).isEqualTo(first.getId());
+        assertThat(otherOwner.getId()).isNotEqualTo(first.getId());
+        assertThat(otherOwner.getStatus()).isEqualTo(JobStatus.QUEUED);
+    }
+
+    @Test
+    void dispatch_ShouldKeepEachTypeWithinItsConcurrency() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        pool = Executors.newFixedThreadPool(3);
+        jobService = service(3, pool,
+            handler(JobType.DATA_EXPORT, 1, context -> await(release)),
+            handler(JobType.DASHBOARD_RECONCILE, 1, context -> await(release)));
+
+        List<Long> exports = List.of(
+            jobService.submit(JobType.DATA_EXPORT, 1L).getId(),
+            jobService.submit(JobType.DATA_EXPORT, 2L).getId(),
+            jobService.submit(JobType.DATA_EXPORT, 3L).getId());
+        Long reconcile = jobService.submit(JobType.DASHBOARD_RECONCILE, null).getId();
+
+        // One export and the reconciliation run; the third worker stays free rather than run a second export.
+        awaitStatus(null, reconcile, JobStatus.RUNNING);
+        awaitStatus(1L, exports.get(0), JobStatus.RUNNING);
+        assertThat(status(2L, exports.get(1))).isEqualTo(JobStatus.QUEUED);
+        assertThat(status(3L, exports.get(2))).isEqualTo(JobStatus.QUEUED);
+
+        release.countDown();
+        awaitStatus(3L, exports.get(2), JobStatus.COMPLETED);
+        awaitStatus(2L, exports.get(1), JobStatus.COMPLETED);
+        awaitStatus(null, reconcile, JobStatus.COMPLETED);
+    }
+
+    @Test
+    void cancel_ShouldCancelAQueuedJobAtOnceAndStopARunningOneAtItsNextCheck() throws InterruptedException {
+        pool = Executors.newFixedThreadPool(1);
+        jobService = service(1, pool, handler(JobType.DATA_EXPORT, 1, context -> {
+            while (true) {
+                context.throwIfCancelled();
+                Thread.sleep(5);
+            }
+        }));
+        Long running = jobService.submit(JobType.DATA_EXPORT, 1L).getId();
+        Long queued = jobService.submit(JobType.DATA_EXPORT, 2L).getId();
+        awaitStatus(1L, running, JobStatus.RUNNING);
+
+        assertThat(jobService.cancel(2L, queued).getStatus()).isEqualTo(JobStatus.CANCELLED);
+        assertThat(jobService.cancel(1L, running).isCancelRequested()).isTrue();
+
+        awaitStatus(1L, running, JobStatus.CANCELLED);
+        assertThatThrownBy(() -> jobService.cancel(1L, running)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void run_WhenTheHandlerFails_ShouldStoreTheError() {
+        jobService = service(1, Runnable::run, handler(JobType.DATA_EXPORT, 1, context -> {
+            context.progress(40, "clients");
+            throw new IllegalStateException("database unavailable");
+        }));
+
+        JobDto job = jobService.submit(JobType.DATA_EXPORT, 1L);
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(job.getError()).isEqualTo("database unavailable");
+        assertThat(job.getProgress()).isEqualTo(40);
+        assertThat(job.getCurrentStep()).isEqualTo("clients");
+    }
+
+    @Test
+    void poll_ShouldResumeStaleJobsFromTheirCheckpointUpToMaxAttempts() {
+        AtomicReference<String> resumedFrom = new AtomicReference<>();
+        AtomicReference<Integer> attempt = new AtomicReference<>();
+        jobService = service(1, Runnable::run, handler(JobType.DASHBOARD_RECONCILE, 1, context -> {
+            resumedFrom.set(context.getCheckpoint());
+            attempt.set(context.getAttempt());
+            context.processed(10);
+            return "resumed";
+        }));
+        // Left running by an instance that stopped ten minutes ago, once after one run and once after three.
+        Long resumable = staleJob(1, "40", 40).getId();
+        Long exhausted = staleJob(3, "90", 90).getId();
+
+        jobService.poll();
+
+        assertThat(status(null, exhausted)).isEqualTo(JobStatus.FAILED);
+        JobDto resumed = jobService.getJob(null, resumable);
+        assertThat(resumed.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(resumed.getAttempts()).isEqualTo(2);
+        assertThat(resumed.getProcessedItems()).isEqualTo(50);
+        assertThat(resumedFrom.get()).isEqualTo("40");
+        assertThat(attempt.get()).isEqualTo(2);
+    }
+
+    @Test
+    void submitForUser_ShouldRejectApplicationJobTypes() {
+        jobService = service(1, Runnable::run, handler(JobType.DASHBOARD_RECONCILE, 1, context -> "done"));
+
+        assertThatThrownBy(() -> jobService.submitForUser(JobType.DASHBOARD_RECONCILE, 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(jobRepository.count()).isZero();
+    }
+
+    private JobService service(int workers, Executor executor, JobHandler... handlers) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        for (JobHandler handler : handlers) {
+            beans.addBean(handler.jobType().name(), handler);
+        }
+        return new JobService(jobRepository, transactionManager, beans.getBeanProvider(JobHandler.class), workers,
+            executor, Clock.systemDefaultZone(), Duration.ZERO, Duration.ofMinutes(2), 3, Duration.ofDays(7));
+    }
+
+    private BackgroundJob staleJob(int attempts, String checkpoint, long processedItems) {
+        BackgroundJob job = new BackgroundJob();
+        job.setType(JobType.DASHBOARD_RECONCILE);
+        job.setStatus(JobStatus.RUNNING);
+        job.setAttempts(attempts);
+        job.setCheckpoint(checkpoint);
+        job.setProcessedItems(processedItems);
+        job.setHeartbeatAt(LocalDateTime.now().minusMinutes(10));
+        return jobRepository.save(job);
+    }
+
+    private JobStatus status(Long ownerId, Long jobId) {
+        return jobService.getJob(ownerId, jobId).getStatus();
+    }
+
+    private void awaitStatus(Long ownerId, Long jobId, JobStatus expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (status(ownerId, jobId) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(status(ownerId, jobId)).isEqualTo(expected);
+    }
+
+    private static String await(CountDownLatch latch) throws InterruptedException {
+        latch.await(5, TimeUnit.SECONDS);
+        return "released";
+    }
+
+    static JobHandler handler(JobType type, int maxConcurrency, Body body) {
+        return new JobHandler() {
+            @Override
+            public JobType jobType() {
+                return type;
+            }
+
+            @Override
+            public int maxConcurrency() {
+                return maxConcurrency;
+            }
+
+            @Override
+            public String run(JobContext context) throws Exception {
+                return body.run(context);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface Body {
+        String run(JobContext context) throws Exception;
+    }
+}
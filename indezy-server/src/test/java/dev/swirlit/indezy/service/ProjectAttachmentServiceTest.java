@@ -0,0 +1,165 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.dto.ProjectAttachmentDto;
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.ProjectAttachment;
+import dev.swirlit.indezy.repository.ProjectAttachmentRepository;
+import dev.swirlit.indezy.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectAttachmentServiceTest {
+
+    @Mock
+    private ProjectAttachmentRepository attachmentRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private AttachmentStore store;
+    private ProjectAttachmentService service;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        store = new AttachmentStore(directory);
+        service = new ProjectAttachmentService(attachmentRepository, projectRepository, store, transactionManager,
+            DataSize.ofKilobytes(1), Duration.ofHours(1), Clock.systemDefaultZone());
+        project = new Project();
+        project.setId(1L);
+        project.setRole("Backend Dev");
+        project.setDocuments(List.of("Brief on the shared drive"));
+    }
+
+    @Test
+    void addAttachment_ShouldStoreTheFileAndListItInTheProjectDocuments() throws IOException {
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(attachmentRepository.findFirstByProjectIdAndSha256(eq(1L), anyString())).thenReturn(Optional.empty());
+        when(attachmentRepository.save(any(ProjectAttachment.class))).thenAnswer(invocation -> {
+            ProjectAttachment saved = invocation.getArgument(0);
+            saved.setId(10L);
+            return saved;
+        });
+
+        ProjectAttachmentDto attachment = service.addAttachment(1L, pdf("../../JD Java.pdf", "%PDF-1.7 job description"));
+
+        assertThat(attachment.getId()).isEqualTo(10L);
+        assertThat(attachment.getFileName()).isEqualTo("JD Java.pdf");
+        assertThat(attachment.getContentType()).isEqualTo("application/pdf");
+        assertThat(attachment.getSizeInBytes()).isEqualTo(24);
+        assertThat(attachment.getUrl()).isEqualTo("/api/projects/1/attachments/10/content");
+        assertThat(Files.readString(store.path(attachment.getSha256()))).isEqualTo("%PDF-1.7 job description");
+        assertThat(project.getDocuments()).containsExactly("Brief on the shared drive", "/api/projects/1/attachments/10/content");
+    }
+
+    @Test
+    void addAttachment_WhenTheSameFileIsAlreadyAttached_ShouldReturnIt() throws IOException {
+        ProjectAttachment existing = attachment(10L, store.store(pdf("jd.pdf", "%PDF same").getInputStream()).sha256());
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(attachmentRepository.findFirstByProjectIdAndSha256(1L, existing.getSha256())).thenReturn(Optional.of(existing));
+
+        ProjectAttachmentDto attachment = service.addAttachment(1L, pdf("jd (1).pdf", "%PDF same"));
+
+        assertThat(attachment.getId()).isEqualTo(10L);
+        verify(attachmentRepository, never()).save(any());
+        assertThat(project.getDocuments()).containsExactly("Brief on the shared drive");
+    }
+
+    @Test
+    void addAttachment_WhenTheFileIsTooLarge_ShouldRejectItBeforeStoringIt() {
+        when(projectRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> service.addAttachment(1L, pdf("big.pdf", "x".repeat(1025))))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    void addAttachment_WhenTheProjectDoesNotExist_ShouldRejectItBeforeStoringIt() {
+        when(projectRepository.existsById(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.addAttachment(1L, pdf("jd.pdf", "%PDF-1.7 job description")))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(directory).isEmptyDirectory();
+        verify(attachmentRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteAttachment_ShouldRemoveItFromTheProjectDocuments() {
+        ProjectAttachment attachment = attachment(10L, "a".repeat(64));
+        project.setDocuments(List.of("Brief on the shared drive", "/api/projects/1/attachments/10/content"));
+        when(attachmentRepository.findByIdAndProjectId(10L, 1L)).thenReturn(Optional.of(attachment));
+
+        service.deleteAttachment(1L, 10L);
+
+        verify(attachmentRepository).delete(attachment);
+        assertThat(project.getDocuments()).containsExactly("Brief on the shared drive");
+    }
+
+    @Test
+    void getContent_ShouldPointToTheBlobOfTheAttachment() throws IOException {
+        ProjectAttachment attachment = attachment(10L, store.store(pdf("jd.pdf", "%PDF").getInputStream()).sha256());
+        when(attachmentRepository.findByIdAndProjectId(10L, 1L)).thenReturn(Optional.of(attachment));
+
+        ProjectAttachmentService.Content content = service.getContent(1L, 10L);
+
+        assertThat(content.path()).isEqualTo(store.path(attachment.getSha256()));
+        assertThat(content.etag()).isEqualTo("\"" + attachment.getSha256() + "\"");
+        assertThat(content.previewable()).isTrue();
+    }
+
+    @Test
+    void getContent_WhenTheAttachmentBelongsToAnotherProject_ShouldThrow() {
+        when(attachmentRepository.findByIdAndProjectId(10L, 2L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.getContent(2L, 10L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private ProjectAttachment attachment(Long id, String sha256) {
+        ProjectAttachment attachment = new ProjectAttachment();
+        attachment.setId(id);
+        attachment.setProject(project);
+        attachment.setFileName("jd.pdf");
+        attachment.setContentType("application/pdf");
+        attachment.setSizeInBytes(4L);
+        attachment.setSha256(sha256);
+        return attachment;
+    }
+
+    private static MockMultipartFile pdf(String name, String content) {
+        return new MockMultipartFile("file", name, "application/pdf", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
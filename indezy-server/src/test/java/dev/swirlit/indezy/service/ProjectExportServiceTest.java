@@ -1,43 +1,64 @@
 package dev.swirlit.indezy.service;
 
 import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Freelance;
 import dev.swirlit.indezy.model.Project;
 import dev.swirlit.indezy.model.Source;
+import dev.swirlit.indezy.model.enums.EmploymentStatus;
 import dev.swirlit.indezy.model.enums.ProjectStatus;
+import dev.swirlit.indezy.model.enums.SourceType;
 import dev.swirlit.indezy.model.enums.WorkMode;
 import dev.swirlit.indezy.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.time.LocalDate;
-import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.when;
 
-@ExtendWith(MockitoExtension.class)
+/** Streams the summary from the real tables, so the year filter and the ordering run in SQL. */
+@DataJpaTest
+@ActiveProfiles("test")
 class ProjectExportServiceTest {
 
-    @Mock
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
     private ProjectRepository projectRepository;
 
-    @InjectMocks
     private ProjectExportService projectExportService;
+    private Freelance freelance;
+
+    @BeforeEach
+    void setUp() {
+        projectExportService = new ProjectExportService(projectRepository);
+        freelance = new Freelance();
+        freelance.setFirstName("John");
+        freelance.setLastName("Doe");
+        freelance.setEmail("export@example.com");
+        freelance.setStatus(EmploymentStatus.FREELANCE);
+        freelance = entityManager.persist(freelance);
+    }
 
     @Test
-    void buildYearlySummaryCsv_ShouldFilterByYearAndSumRevenue() {
-        // Given a 2025 project (revenue 600*220*6/12 = 66,000) and a 2024 project that must be excluded.
-        Project in2025 = project("Backend Dev", ProjectStatus.WON, "Acme", "Malt",
+    void writeYearlySummaryCsv_ShouldFilterByYearAndSumRevenue() throws IOException {
+        // Given a 2025 project (revenue 600*220*6/12 = 66,000) and projects on both sides of 2025 that must be excluded.
+        project("Backend Dev", ProjectStatus.WON, "Acme", "Malt",
             WorkMode.REMOTE, LocalDate.of(2025, 3, 1), 6, 600, 220);
-        Project in2024 = project("Old Mission", ProjectStatus.WON, "Globex", "LinkedIn",
-            WorkMode.ONSITE, LocalDate.of(2024, 1, 1), 12, 500, 240);
-        when(projectRepository.findByFreelanceId(1L)).thenReturn(List.of(in2025, in2024));
+        project("Old Mission", ProjectStatus.WON, "Globex", "LinkedIn",
+            WorkMode.ONSITE, LocalDate.of(2024, 12, 31), 12, 500, 240);
+        project("Next Mission", ProjectStatus.APPLIED, "Globex", null,
+            WorkMode.ONSITE, LocalDate.of(2026, 1, 1), 12, 500, 240);
 
         // When
-        String csv = projectExportService.buildYearlySummaryCsv(1L, 2025);
+        String csv = write(2025);
 
         // Then only the 2025 row plus header and totals are present.
         String[] lines = csv.split("\r\n");
@@ -50,43 +71,59 @@ class ProjectExportServiceTest {
     }
 
     @Test
-    void buildYearlySummaryCsv_WithoutYear_ShouldIncludeAllAndQuoteSpecialCharacters() {
-        // Given a project whose role contains a comma, requiring CSV quoting.
-        Project project = project("Lead, Platform", ProjectStatus.APPLIED, "Acme", null,
+    void writeYearlySummaryCsv_WithoutYear_ShouldIncludeAllInOrderAndQuoteSpecialCharacters() throws IOException {
+        // Given a project whose role contains a comma, requiring CSV quoting, and one without start date.
+        project("Unscheduled", ProjectStatus.IDENTIFIED, "Acme", null, null, null, null, 650, null);
+        project("Lead, Platform", ProjectStatus.APPLIED, "Acme", null,
             null, LocalDate.of(2025, 5, 1), null, 700, null);
-        when(projectRepository.findByFreelanceId(1L)).thenReturn(List.of(project));
+        project("Architect", ProjectStatus.WON, "Acme", null,
+            null, LocalDate.of(2025, 5, 1), 12, 800, 200);
 
         // When no year is given, all projects are exported.
-        String csv = projectExportService.buildYearlySummaryCsv(1L, null);
+        String csv = write(null);
 
-        // Then the comma-containing field is wrapped in quotes and empty fields stay blank.
+        // Then rows follow start date then role, undated last, and empty fields stay blank.
         String[] lines = csv.split("\r\n");
-        assertThat(lines).hasSize(3);
-        assertThat(lines[1]).isEqualTo("\"Lead, Platform\",APPLIED,Acme,,,2025-05-01,,700,,");
-        assertThat(lines[2]).isEqualTo("Total,,,,,,,,,0");
+        assertThat(lines).hasSize(5);
+        assertThat(lines[1]).isEqualTo("Architect,WON,Acme,,,2025-05-01,12,800,200,160000");
+        assertThat(lines[2]).isEqualTo("\"Lead, Platform\",APPLIED,Acme,,,2025-05-01,,700,,");
+        assertThat(lines[3]).isEqualTo("Unscheduled,IDENTIFIED,Acme,,,,,650,,");
+        assertThat(lines[4]).isEqualTo("Total,,,,,,,,,160000");
     }
 
-    private Project project(String role, ProjectStatus status, String clientName, String sourceName,
-                            WorkMode workMode, LocalDate startDate, Integer durationInMonths,
-                            Integer dailyRate, Integer daysPerYear) {
+    private String write(Integer year) throws IOException {
+        entityManager.flush();
+        entityManager.clear();
+        StringWriter writer = new StringWriter();
+        projectExportService.writeYearlySummaryCsv(freelance.getId(), year, writer);
+        return writer.toString();
+    }
+
+    private void project(String role, ProjectStatus status, String clientName, String sourceName,
+                         WorkMode workMode, LocalDate startDate, Integer durationInMonths,
+                         Integer dailyRate, Integer daysPerYear) {
         Project project = new Project();
         project.setRole(role);
         project.setStatus(status);
-        if (clientName != null) {
-            Client client = new Client();
-            client.setCompanyName(clientName);
-            project.setClient(client);
-        }
+        Client client = new Client();
+        client.setCompanyName(clientName);
+        client.setCity("Paris");
+        client.setIsFinal(true);
+        client.setFreelance(freelance);
+        project.setClient(entityManager.persist(client));
         if (sourceName != null) {
             Source source = new Source();
             source.setName(sourceName);
-            project.setSource(source);
+            source.setType(SourceType.JOB_BOARD);
+            source.setFreelance(freelance);
+            project.setSource(entityManager.persist(source));
         }
         project.setWorkMode(workMode);
         project.setStartDate(startDate);
         project.setDurationInMonths(durationInMonths);
         project.setDailyRate(dailyRate);
         project.setDaysPerYear(daysPerYear);
-        return project;
+        project.setFreelance(freelance);
+        entityManager.persist(project);
     }
 }
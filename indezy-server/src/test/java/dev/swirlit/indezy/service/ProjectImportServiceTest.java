@@ -0,0 +1,187 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.dto.ImportReportDto;
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Contact;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.Source;
+import dev.swirlit.indezy.model.enums.EmploymentStatus;
+import dev.swirlit.indezy.model.enums.ProjectStatus;
+import dev.swirlit.indezy.model.enums.WorkMode;
+import dev.swirlit.indezy.repository.ProjectCopyWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs bulk imports against the test database with a batch size of 2, so every file spans
+ * several batches and the lookup cache has to carry clients and sources across them.
+ */
+@DataJpaTest(properties = "indezy.import.batch-size=2")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@ActiveProfiles("test")
+@Import({ProjectImportService.class, ProjectCopyWriter.class, DashboardSnapshotService.class, AggregateCounterService.class,
+    FreelanceViewCache.class, SearchIndex.class, SkillTagService.class})
+class ProjectImportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProjectImportService projectImportService;
+
+    private Freelance freelance;
+
+    @BeforeEach
+    void setUp() {
+        freelance = new Freelance();
+        freelance.setFirstName("John");
+        freelance.setLastName("Doe");
+        freelance.setEmail("import@example.com");
+        freelance.setStatus(EmploymentStatus.FREELANCE);
+        freelance = entityManager.persistAndFlush(freelance);
+
+        Client existing = new Client();
+        existing.setCompanyName("Acme");
+        existing.setCity("Paris");
+        existing.setIsFinal(true);
+        existing.setFreelance(freelance);
+        entityManager.persistAndFlush(existing);
+    }
+
+    @Test
+    void importProjects_FromCsv_ShouldReuseAndCreateReferencedEntitiesOnce() throws IOException {
+        String csv = """
+            role,dailyRate,status,workMode,startDate,client,clientCity,middleman,source,contactFirstName,contactEmail
+            Backend Developer,600,interview,REMOTE,2024-03-01,ACME,,,LinkedIn,Alice,alice@acme.com
+            Frontend Developer,550,,,,Globex,Lyon,Talent Partners,linkedin,Alice,alice@acme.com
+            "Architect, Cloud",800,APPLIED,,,Globex,,Talent Partners,Malt,Bob,
+            """;
+
+        ImportReportDto report = projectImportService.importProjects(freelance.getId(), stream(csv), ProjectImportService.Format.CSV);
+
+        assertThat(report.getTotalRows()).isEqualTo(3);
+        assertThat(report.getImportedRows()).isEqualTo(3);
+        assertThat(report.getFailedRows()).isZero();
+        assertThat(report.getBatches()).isEqualTo(2);
+        assertThat(report.isPostgresCopy()).isFalse();
+        // Globex and Talent Partners are new, Acme is matched case-insensitively.
+        assertThat(report.getCreatedClients()).isEqualTo(2);
+        assertThat(report.getCreatedSources()).isEqualTo(2);
+        // Alice is created once for Acme, then again for Globex; Bob for Globex.
+        assertThat(report.getCreatedContacts()).isEqualTo(3);
+
+        List<Project> projects = query("SELECT p FROM Project p WHERE p.freelance.id = :id ORDER BY p.id", Project.class);
+        assertThat(projects).extracting(Project::getRole)
+            .containsExactly("Backend Developer", "Frontend Developer", "Architect, Cloud");
+        Project backend = projects.get(0);
+        assertThat(backend.getStatus()).isEqualTo(ProjectStatus.INTERVIEW);
+        assertThat(backend.getWorkMode()).isEqualTo(WorkMode.REMOTE);
+        assertThat(backend.getStartDate()).isEqualTo(LocalDate.of(2024, 3, 1));
+        assertThat(backend.getClient().getCompanyName()).isEqualTo("Acme");
+        assertThat(projects.get(1).getStatus()).isEqualTo(ProjectStatus.IDENTIFIED);
+        assertThat(projects.get(2).getMiddleman().getCompanyName()).isEqualTo("Talent Partners");
+        assertThat(projects.get(1).getSource().getId()).isEqualTo(backend.getSource().getId());
+
+        assertThat(query("SELECT c FROM Client c WHERE c.freelance.id = :id ORDER BY c.companyName", Client.class))
+            .extracting(Client::getCompanyName, Client::getProjectCount, Client::getDailyRateSum, Client::getContactCount)
+            .containsExactly(tuple("Acme", 1L, 600L, 1L), tuple("Globex", 2L, 1350L, 2L), tuple("Talent Partners", 0L, 0L, 0L));
+        assertThat(query("SELECT s FROM Source s WHERE s.freelance.id = :id ORDER BY s.name", Source.class))
+            .extracting(Source::getProjectCount, Source::getDailyRateSum)
+            .containsExactly(tuple(2L, 1150L), tuple(1L, 800L));
+        assertThat(query("SELECT c FROM Contact c WHERE c.freelance.id = :id", Contact.class)).hasSize(3);
+        assertThat(query("SELECT f FROM Freelance f WHERE f.id = :id", Freelance.class))
+            .extracting(Freelance::getProjectCount, Freelance::getDailyRateSum)
+            .containsExactly(tuple(3L, 1950L));
+    }
+
+    @Test
+    void importProjects_ShouldReportInvalidRowsWithLineNumbersAndKeepValidOnes() throws IOException {
+        String csv = """
+            role,dailyRate,client,startDate
+            Developer,600,Acme,
+            ,500,Acme,
+            Tester,abc,Acme,
+            Analyst,450,Acme,01/02/2024
+            Designer,400,Acme,2024-05-01
+            """;
+
+        ImportReportDto report = projectImportService.importProjects(freelance.getId(), stream(csv), ProjectImportService.Format.CSV);
+
+        assertThat(report.getTotalRows()).isEqualTo(5);
+        assertThat(report.getImportedRows()).isEqualTo(2);
+        assertThat(report.getFailedRows()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting(ImportReportDto.RowError::getLine).containsExactly(3L, 4L, 5L);
+        assertThat(report.getErrors()).extracting(ImportReportDto.RowError::getMessage).containsExactly(
+            "Missing required field: role",
+            "Invalid value for dailyRate: abc",
+            "Invalid value for startDate: 01/02/2024");
+        assertThat(report.getCreatedClients()).isZero();
+    }
+
+    @Test
+    void importProjects_FromNdjson_ShouldReportMalformedLines() throws IOException {
+        String ndjson = """
+            {"role":"Developer","dailyRate":600,"client":"Acme","source":"Malt","sourceType":"job_board"}
+
+            {"role":"Broken",
+            {"role":"Lead","dailyRate":"900","client":"Acme","clientIsFinal":"maybe"}
+            {"role":"Lead","dailyRate":"900","client":"Initech","unknownField":true}
+            """;
+
+        ImportReportDto report = projectImportService.importProjects(freelance.getId(), stream(ndjson), ProjectImportService.Format.NDJSON);
+
+        assertThat(report.getTotalRows()).isEqualTo(4);
+        assertThat(report.getImportedRows()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(ImportReportDto.RowError::getLine).containsExactly(3L, 4L);
+        assertThat(report.getErrors().get(0).getMessage()).startsWith("Malformed row");
+        assertThat(report.getErrors().get(1).getMessage()).isEqualTo("Invalid value for clientIsFinal: maybe");
+        assertThat(report.getCreatedClients()).isEqualTo(1);
+        assertThat(report.getCreatedSources()).isEqualTo(1);
+    }
+
+    @Test
+    void importProjects_WithMissingHeaderColumns_ShouldRejectFile() {
+        assertThatThrownBy(() -> projectImportService.importProjects(
+                freelance.getId(), stream("role,dailyRate\nDeveloper,600\n"), ProjectImportService.Format.CSV))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("client");
+    }
+
+    @Test
+    void formatFromContentType_ShouldIgnoreParametersAndRejectUnknownTypes() {
+        assertThat(ProjectImportService.Format.fromContentType("text/csv; charset=UTF-8")).isEqualTo(ProjectImportService.Format.CSV);
+        assertThat(ProjectImportService.Format.fromContentType("application/x-ndjson")).isEqualTo(ProjectImportService.Format.NDJSON);
+        assertThatThrownBy(() -> ProjectImportService.Format.fromContentType("application/xml"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private <T> List<T> query(String jpql, Class<T> type) {
+        entityManager.clear();
+        return entityManager.getEntityManager().createQuery(jpql, type)
+            .setParameter("id", freelance.getId())
+            .getResultList();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -31,6 +31,9 @@ class ProjectNoteServiceTest {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private SearchIndex searchIndex;
+
     @InjectMocks
     private ProjectNoteService projectNoteService;
 
@@ -0,0 +1,145 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.dto.KanbanBoardDto;
+import dev.swirlit.indezy.mapper.ProjectMapper;
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.InterviewStep;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.Source;
+import dev.swirlit.indezy.model.enums.EmploymentStatus;
+import dev.swirlit.indezy.model.enums.ProjectStatus;
+import dev.swirlit.indezy.model.enums.SourceType;
+import dev.swirlit.indezy.model.enums.StepStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the Kanban board is assembled with a constant number of SQL statements,
+ * whatever the number of cards and interview steps on the board.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({ProjectService.class, DashboardSnapshotService.class, AggregateCounterService.class, FreelanceViewCache.class,
+    SearchIndex.class, SkillTagService.class})
+class ProjectServiceKanbanQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @MockitoBean
+    private ProjectMapper projectMapper;
+
+    @MockitoBean
+    private CommutePrecomputeService commutePrecomputeService;
+
+    private Freelance freelance;
+    private Client client;
+    private Source source;
+
+    @BeforeEach
+    void setUp() {
+        freelance = new Freelance();
+        freelance.setFirstName("John");
+        freelance.setLastName("Doe");
+        freelance.setEmail("kanban.count@example.com");
+        freelance.setStatus(EmploymentStatus.FREELANCE);
+        freelance = entityManager.persistAndFlush(freelance);
+
+        client = new Client();
+        client.setCompanyName("Board Client");
+        client.setCity("Paris");
+        client.setIsFinal(true);
+        client.setFreelance(freelance);
+        client = entityManager.persistAndFlush(client);
+
+        source = new Source();
+        source.setName("Board Source");
+        source.setType(SourceType.JOB_BOARD);
+        source.setFreelance(freelance);
+        source = entityManager.persistAndFlush(source);
+    }
+
+    @Test
+    void getKanbanBoard_ShouldUseSameStatementCountForSmallAndLargeBoards() {
+        persistProjects(3);
+        long smallBoardStatements = countStatements(3);
+
+        persistProjects(40);
+        long largeBoardStatements = countStatements(43);
+
+        assertThat(smallBoardStatements).isEqualTo(1);
+        assertThat(largeBoardStatements).isEqualTo(smallBoardStatements);
+    }
+
+    @Test
+    void getKanbanBoard_ShouldAggregateStepCountsAndResolveNames() {
+        persistProjects(2);
+        entityManager.clear();
+
+        KanbanBoardDto board = projectService.getKanbanBoard(freelance.getId());
+
+        List<KanbanBoardDto.ProjectCardDto> cards = board.getColumns().get(ProjectStatus.INTERVIEW.name());
+        assertThat(cards).hasSize(2);
+        assertThat(cards).allSatisfy(card -> {
+            assertThat(card.getClientName()).isEqualTo("Board Client");
+            assertThat(card.getSourceName()).isEqualTo("Board Source");
+            assertThat(card.getTotalSteps()).isEqualTo(3);
+            assertThat(card.getCompletedSteps()).isEqualTo(1);
+            assertThat(card.getFailedSteps()).isEqualTo(1);
+        });
+    }
+
+    private long countStatements(int expectedCards) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        KanbanBoardDto board = projectService.getKanbanBoard(freelance.getId());
+
+        assertThat(board.getColumns().values().stream().mapToInt(List::size).sum()).isEqualTo(expectedCards);
+        return statistics.getPrepareStatementCount();
+    }
+
+    /** Persists projects that each carry one validated, one failed and one planned step. */
+    private void persistProjects(int count) {
+        for (int i = 0; i < count; i++) {
+            Project project = new Project();
+            project.setRole("Developer " + i);
+            project.setStatus(ProjectStatus.INTERVIEW);
+            project.setDailyRate(500 + i);
+            project.setFreelance(freelance);
+            project.setClient(client);
+            project.setSource(source);
+            entityManager.persist(project);
+
+            for (StepStatus status : List.of(StepStatus.VALIDATED, StepStatus.FAILED, StepStatus.PLANNED)) {
+                InterviewStep step = new InterviewStep();
+                step.setTitle(status.name());
+                step.setStatus(status);
+                step.setProject(project);
+                entityManager.persist(step);
+            }
+        }
+        entityManager.flush();
+    }
+}
@@ -6,31 +6,39 @@ import dev.swirlit.indezy.exception.ResourceNotFoundException;
 import dev.swirlit.indezy.mapper.ProjectMapper;
 import dev.swirlit.indezy.model.Client;
 import dev.swirlit.indezy.model.Freelance;
-import dev.swirlit.indezy.model.InterviewStep;
 import dev.swirlit.indezy.model.Project;
 import dev.swirlit.indezy.model.Source;
 import dev.swirlit.indezy.model.enums.EmploymentStatus;
 import dev.swirlit.indezy.model.enums.LostReason;
 import dev.swirlit.indezy.model.enums.ProjectStatus;
-import dev.swirlit.indezy.model.enums.StepStatus;
 import dev.swirlit.indezy.model.enums.WorkMode;
 import dev.swirlit.indezy.repository.ClientRepository;
 import dev.swirlit.indezy.repository.FreelanceRepository;
-import dev.swirlit.indezy.repository.InterviewStepRepository;
+import dev.swirlit.indezy.repository.KanbanCardView;
 import dev.swirlit.indezy.repository.ProjectRepository;
 import dev.swirlit.indezy.repository.SourceRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.*;
@@ -53,10 +61,25 @@ class ProjectServiceTest {
     private SourceRepository sourceRepository;
 
     @Mock
-    private InterviewStepRepository interviewStepRepository;
+    private ProjectMapper projectMapper;
 
     @Mock
-    private ProjectMapper projectMapper;
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    @Mock
+    private AggregateCounterService aggregateCounterService;
+
+    @Mock
+    private FreelanceViewCache viewCache;
+
+    @Mock
+    private CommutePrecomputeService commutePrecomputeService;
+
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private SkillTagService skillTagService;
 
     @InjectMocks
     private ProjectService projectService;
@@ -117,6 +140,10 @@ class ProjectServiceTest {
         testProjectDto.setPersonalRating(4);
         testProjectDto.setFreelanceId(1L);
         testProjectDto.setClientId(1L);
+
+        // The view cache loads on every read
+        lenient().when(viewCache.get(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
     }
 
     @Test
@@ -201,23 +228,48 @@ class ProjectServiceTest {
     }
 
     @Test
-    void findByFreelanceIdAndFilters_WithMinRate_ShouldFilterCorrectly() {
+    @SuppressWarnings("unchecked")
+    void findByFreelanceIdAndFilters_ShouldDelegateToSpecificationSearch() {
         // Given
-        Project lowRateProject = new Project();
-        lowRateProject.setDailyRate(400);
-        lowRateProject.setFreelance(testFreelance);
-        
-        List<Project> allProjects = Arrays.asList(testProject, lowRateProject);
-        when(projectRepository.findByFreelanceId(1L)).thenReturn(allProjects);
+        when(projectRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testProject), PageRequest.of(0, 10), 11));
         when(projectMapper.toDto(testProject)).thenReturn(testProjectDto);
 
         // When
-        List<ProjectDto> result = projectService.findByFreelanceIdAndFilters(1L, 500, null, null, null, null);
+        Page<ProjectDto> result = projectService.findByFreelanceIdAndFilters(
+                1L, 500, null, null, null, null, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "dailyRate")));
+
+        // Then the page metadata comes from the database and the sort gets an id tie-breaker.
+        assertThat(result.getContent()).containsExactly(testProjectDto);
+        assertThat(result.getTotalElements()).isEqualTo(11);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(projectRepository).findAll(any(Specification.class), pageable.capture());
+        assertThat(pageable.getValue().getSort().toList()).containsExactly(
+                Sort.Order.desc("dailyRate"), Sort.Order.asc("id"));
+        verify(projectRepository, never()).findByFreelanceId(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findByFreelanceIdAndFilters_ShouldCapPageSize() {
+        // Given
+        when(projectRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(Page.empty());
+
+        // When
+        projectService.findByFreelanceIdAndFilters(1L, null, null, null, null, null, PageRequest.of(0, 5000));
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getDailyRate()).isEqualTo(600);
-        verify(projectRepository).findByFreelanceId(1L);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(projectRepository).findAll(any(Specification.class), pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(ProjectService.MAX_SEARCH_PAGE_SIZE);
+    }
+
+    @Test
+    void findByFreelanceIdAndFilters_WithUnknownSortProperty_ShouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> projectService.findByFreelanceIdAndFilters(
+                1L, null, null, null, null, null, PageRequest.of(0, 10, Sort.by("freelance.password"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(projectRepository);
     }
 
     @Test
@@ -240,6 +292,8 @@ class ProjectServiceTest {
         verify(clientRepository).findById(1L);
         verify(projectRepository).save(testProject);
         verify(projectMapper).toDto(testProject);
+        verify(viewCache).invalidate(1L, FreelanceViewCache.View.KANBAN, FreelanceViewCache.View.DASHBOARD);
+        verify(commutePrecomputeService).refresh(1L);
     }
 
     @Test
@@ -285,6 +339,8 @@ class ProjectServiceTest {
 
         // Then
         verify(projectRepository).existsById(1L);
+        verify(dashboardSnapshotService).recordProjectRemoval(1L);
+        verify(aggregateCounterService).recordProjectRemoval(1L);
         verify(projectRepository).deleteById(1L);
     }
 
@@ -352,28 +408,6 @@ class ProjectServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
-    @Test
-    void findByFreelanceIdAndFilters_WithAllFilters_ShouldApplyEachFilter() {
-        // Given
-        Project nonMatching = new Project();
-        nonMatching.setDailyRate(800);
-        nonMatching.setWorkMode(WorkMode.REMOTE);
-        nonMatching.setStartDate(LocalDate.of(2023, 1, 1));
-        nonMatching.setTechStack("Python");
-        nonMatching.setFreelance(testFreelance);
-
-        when(projectRepository.findByFreelanceId(1L)).thenReturn(Arrays.asList(testProject, nonMatching));
-        when(projectMapper.toDto(testProject)).thenReturn(testProjectDto);
-
-        // When
-        List<ProjectDto> result = projectService.findByFreelanceIdAndFilters(
-                1L, 500, 700, WorkMode.HYBRID, LocalDate.of(2024, 1, 1), "java");
-
-        // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getWorkMode()).isEqualTo(WorkMode.HYBRID);
-    }
-
     @Test
     void create_WithMiddlemanAndSource_ShouldResolveAllRelationships() {
         // Given
@@ -492,6 +526,8 @@ class ProjectServiceTest {
         assertThat(testProject.getStatus()).isEqualTo(ProjectStatus.WON);
         assertThat(testProject.getLostReason()).isNull();
         verify(projectRepository).save(testProject);
+        verify(dashboardSnapshotService).recordProjectChange(any(), eq(DashboardCounters.ProjectFacts.of(testProject)));
+        verify(aggregateCounterService).recordProjectChange(any(), eq(DashboardCounters.ProjectFacts.of(testProject)));
     }
 
     @Test
@@ -547,14 +583,8 @@ class ProjectServiceTest {
         projectWithoutStatus.setRole("Backend Developer");
         projectWithoutStatus.setFreelance(testFreelance);
 
-        InterviewStep completedStep = new InterviewStep();
-        completedStep.setStatus(StepStatus.VALIDATED);
-        InterviewStep failedStep = new InterviewStep();
-        failedStep.setStatus(StepStatus.FAILED);
-
-        when(projectRepository.findByFreelanceId(1L)).thenReturn(Arrays.asList(testProject, projectWithoutStatus));
-        when(interviewStepRepository.findByProjectId(1L)).thenReturn(Arrays.asList(completedStep, failedStep));
-        when(interviewStepRepository.findByProjectId(2L)).thenReturn(List.of());
+        when(projectRepository.findKanbanCardsByFreelanceId(1L)).thenReturn(Arrays.asList(
+                kanbanRow(testProject, 2, 1, 1), kanbanRow(projectWithoutStatus, 0, 0, 0)));
 
         // When
         KanbanBoardDto board = projectService.getKanbanBoard(1L);
@@ -586,8 +616,8 @@ class ProjectServiceTest {
         favorite.setFreelance(testFreelance);
         favorite.setIsFavorite(true);
 
-        when(projectRepository.findByFreelanceId(1L)).thenReturn(Arrays.asList(testProject, favorite));
-        when(interviewStepRepository.findByProjectId(any())).thenReturn(List.of());
+        when(projectRepository.findKanbanCardsByFreelanceId(1L))
+                .thenReturn(Arrays.asList(kanbanRow(testProject), kanbanRow(favorite)));
 
         // When
         KanbanBoardDto board = projectService.getKanbanBoard(1L);
@@ -617,9 +647,8 @@ class ProjectServiceTest {
         noPosition.setStatus(ProjectStatus.APPLIED);
         noPosition.setFreelance(testFreelance);
 
-        when(projectRepository.findByFreelanceId(1L))
-                .thenReturn(Arrays.asList(testProject, first, noPosition));
-        when(interviewStepRepository.findByProjectId(any())).thenReturn(List.of());
+        when(projectRepository.findKanbanCardsByFreelanceId(1L))
+                .thenReturn(Arrays.asList(kanbanRow(testProject), kanbanRow(first), kanbanRow(noPosition)));
 
         // When
         KanbanBoardDto board = projectService.getKanbanBoard(1L);
@@ -678,8 +707,8 @@ class ProjectServiceTest {
         distinct.setFreelance(testFreelance);
         distinct.setClient(testClient);
 
-        when(projectRepository.findByFreelanceId(1L)).thenReturn(Arrays.asList(testProject, duplicate, distinct));
-        when(interviewStepRepository.findByProjectId(any())).thenReturn(List.of());
+        when(projectRepository.findKanbanCardsByFreelanceId(1L)).thenReturn(Arrays.asList(
+                kanbanRow(testProject), kanbanRow(duplicate), kanbanRow(distinct)));
 
         // When
         KanbanBoardDto board = projectService.getKanbanBoard(1L);
@@ -699,8 +728,7 @@ class ProjectServiceTest {
     void getKanbanBoard_WithUniqueRoles_ShouldFlagNoDuplicates() {
         // Given a single project, nothing can be a duplicate.
         testProject.setStatus(ProjectStatus.IDENTIFIED);
-        when(projectRepository.findByFreelanceId(1L)).thenReturn(List.of(testProject));
-        when(interviewStepRepository.findByProjectId(any())).thenReturn(List.of());
+        when(projectRepository.findKanbanCardsByFreelanceId(1L)).thenReturn(List.of(kanbanRow(testProject)));
 
         // When
         KanbanBoardDto board = projectService.getKanbanBoard(1L);
@@ -724,6 +752,7 @@ class ProjectServiceTest {
         // Then
         assertThat(testProject.getIsFavorite()).isTrue();
         verify(projectRepository).save(testProject);
+        verify(viewCache).invalidate(1L, FreelanceViewCache.View.KANBAN, FreelanceViewCache.View.DASHBOARD);
     }
 
     @Test
@@ -736,4 +765,25 @@ class ProjectServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class);
         verify(projectRepository, never()).save(any());
     }
+
+    private static KanbanCardView kanbanRow(Project project) {
+        return kanbanRow(project, 0, 0, 0);
+    }
+
+    /** Builds the Kanban projection the repository would return for the given project. */
+    private static KanbanCardView kanbanRow(Project project, int totalSteps, int completedSteps, int failedSteps) {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("projectId", project.getId());
+        columns.put("role", project.getRole());
+        columns.put("status", project.getStatus() != null ? project.getStatus().name() : null);
+        columns.put("clientId", project.getClient() != null ? project.getClient().getId() : null);
+        columns.put("clientName", project.getClient() != null ? project.getClient().getCompanyName() : null);
+        columns.put("dailyRate", project.getDailyRate());
+        columns.put("isFavorite", project.getIsFavorite());
+        columns.put("boardPosition", project.getBoardPosition());
+        columns.put("totalSteps", totalSteps);
+        columns.put("completedSteps", completedSteps);
+        columns.put("failedSteps", failedSteps);
+        return new SpelAwareProxyProjectionFactory().createProjection(KanbanCardView.class, columns);
+    }
 }
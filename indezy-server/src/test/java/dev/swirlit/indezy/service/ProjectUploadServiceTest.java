@@ -0,0 +1,292 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.dto.ProjectAttachmentDto;
+import dev.swirlit.indezy.dto.ProjectUploadDto;
+import dev.swirlit.indezy.exception.ConflictException;
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.ProjectUpload;
+import dev.swirlit.indezy.repository.ProjectRepository;
+import dev.swirlit.indezy.repository.ProjectUploadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectUploadServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-02T10:00:00Z");
+    private static final String CONTRACT = "%PDF-1.7 signed contract, forty pages";
+
+    @Mock
+    private ProjectUploadRepository uploadRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private ProjectAttachmentService attachmentService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private AttachmentStore store;
+    private ProjectUploadService service;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        store = new AttachmentStore(directory);
+        service = new ProjectUploadService(uploadRepository, projectRepository, attachmentService, store,
+            transactionManager, DataSize.ofKilobytes(1), DataSize.ofBytes(16), Duration.ofHours(24),
+            Clock.fixed(NOW, ZoneOffset.UTC));
+        project = new Project();
+        project.setId(1L);
+    }
+
+    @Test
+    void createUpload_ShouldRecordTheDeclaredFile() {
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(uploadRepository.save(any(ProjectUpload.class))).thenAnswer(invocation -> {
+            ProjectUpload saved = invocation.getArgument(0);
+            saved.setId(5L);
+            return saved;
+        });
+
+        ProjectUploadDto upload = service.createUpload(1L, ProjectUploadDto.builder()
+            .fileName("../Contrat Acme.pdf")
+            .contentType("application/pdf")
+            .sizeInBytes(37L)
+            .sha256(sha256(CONTRACT))
+            .build());
+
+        assertThat(upload.getId()).isEqualTo(5L);
+        assertThat(upload.getFileName()).isEqualTo("Contrat Acme.pdf");
+        assertThat(upload.getReceivedBytes()).isZero();
+        assertThat(upload.getMaxChunkSize()).isEqualTo(16);
+        assertThat(upload.getExpiresAt()).isEqualTo(LocalDateTime.of(2026, 3, 3, 10, 0));
+    }
+
+    @Test
+    void createUpload_WhenTheFileIsTooLarge_ShouldReject() {
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+
+        assertThatThrownBy(() -> service.createUpload(1L, ProjectUploadDto.builder()
+            .fileName("recording.mp4").sizeInBytes(1025L).sha256(sha256("")).build()))
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(uploadRepository, never()).save(any());
+    }
+
+    @Test
+    void appendChunkThenComplete_ShouldAssembleTheFileAndAttachIt() throws IOException {
+        ProjectUpload upload = upload(CONTRACT.length(), sha256(CONTRACT));
+        when(uploadRepository.findByIdAndProjectId(5L, 1L)).thenReturn(Optional.of(upload));
+        when(uploadRepository.advance(eq(5L), anyLong(), anyLong(), any())).thenReturn(1);
+        when(uploadRepository.claim(eq(5L), any())).thenReturn(1);
+        when(attachmentService.addStoredAttachment(eq(1L), eq("contract.pdf"), eq("application/pdf"), any()))
+            .thenReturn(ProjectAttachmentDto.builder().id(10L).build());
+
+        for (int offset = 0; offset < CONTRACT.length(); offset += 16) {
+            String chunk = CONTRACT.substring(offset, Math.min(offset + 16, CONTRACT.length()));
+            ProjectUploadDto progress = service.appendChunk(1L, 5L, offset, content(chunk));
+            assertThat(progress.getReceivedBytes()).isEqualTo(offset + chunk.length());
+        }
+        ProjectAttachmentDto attachment = service.completeUpload(1L, 5L);
+
+        ArgumentCaptor<AttachmentStore.StoredBlob> blob = ArgumentCaptor.forClass(AttachmentStore.StoredBlob.class);
+        verify(attachmentService).addStoredAttachment(eq(1L), eq("contract.pdf"), eq("application/pdf"), blob.capture());
+        assertThat(attachment.getId()).isEqualTo(10L);
+        assertThat(blob.getValue().sha256()).isEqualTo(sha256(CONTRACT));
+        assertThat(Files.readString(store.path(sha256(CONTRACT)))).isEqualTo(CONTRACT);
+        assertThat(store.uploadPath(5L)).doesNotExist();
+        verify(uploadRepository).deleteById(5L);
+    }
+
+    @Test
+    void appendChunk_WhenTheOffsetIsNotTheBytesReceived_ShouldReject() {
+        ProjectUpload upload = upload(CONTRACT.length(), sha256(CONTRACT));
+        upload.setReceivedBytes(16);
+        when(uploadRepository.findByIdAndProjectId(5L, 1L)).thenReturn(Optional.of(upload));
+
+        assertThatThrownBy(() -> service.appendChunk(1L, 5L, 0, content("%PDF-1.7 signed ")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("16");
+        verify(uploadRepository, never()).advance(anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void appendChunk_WhenTheChunkIsTooLargeOrPastTheDeclaredSize_ShouldReject() {
+        ProjectUpload upload = upload(20, sha256(CONTRACT));
+        when(uploadRepository.findByIdAndProjectId(5L, 1L)).thenReturn(Optional.of(upload));
+
+        assertThatThrownBy(() -> service.appendChunk(1L, 5L, 0, content("x".repeat(17))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("chunk size");
+        upload.setReceivedBytes(16);
+        assertThatThrownBy(() -> service.appendChunk(1L, 5L, 16, content("x".repeat(5))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("20 bytes declared");
+        verify(uploadRepository, never()).advance(anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void appendChunk_WhenTheConnectionDrops_ShouldKeepTheBytesReceived() {
+        ProjectUpload upload = upload(CONTRACT.length(), sha256(CONTRACT));
+        when(uploadRepository.findByIdAndProjectId(5L, 1L)).thenReturn(Optional.of(upload));
+        when(uploadRepository.advance(eq(5L), eq(0L), eq(9L), any())).thenReturn(1);
+        InputStream cut = new SequenceInputStream(content("%PDF-1.7 "), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        assertThatThrownBy(() -> service.appendChunk(1L, 5L, 0, cut)).isInstanceOf(IOException.class);
+
+        assertThat(upload.getReceivedBytes()).isEqualTo(9);
+    }
+
+    @Test
+    void completeUpload_WhenBytesAreMissing_ShouldReject() {
+        ProjectUpload upload = upload(CONTRACT.length(), sha256(CONTRACT));
+        upload.setReceivedBytes(16);
+        when(uploadRepository.findByIdAndProjectId(5L, 1L)).thenReturn(Optional.of(upload));
+
+        assertThatThrownBy(() -> service.completeUpload(1L, 5L)).isInstanceOf(IllegalArgumentException.class);
+        verify(attachmentService, never()).addStoredAttachment(any(), any(), any(), any());
+    }
+
+    @Test
+    void completeUpload_WhenTheChecksumDiffers_ShouldDiscardTheUpload() throws IOException {
+        ProjectUpload upload = upload(CONTRACT.length(), sha256("another contract"));
+        upload.setReceivedBytes(CONTRACT.length());
+        Files.writeString(store.uploadPath(5L), CONTRACT);
+        when(uploadRepository.findByIdAndProjectId(5L, 1L)).thenReturn(Optional.of(upload));
+        when(uploadRepository.claim(eq(5L), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> service.completeUpload(1L, 5L)).isInstanceOf(IllegalArgumentException.class);
+
+        verify(uploadRepository).deleteById(5L);
+        assertThat(store.uploadPath(5L)).doesNotExist();
+        verify(attachmentService, never()).addStoredAttachment(any(), any(), any(), any());
+    }
+
+    @Test
+    void completeUpload_WhenAnotherRequestIsCompletingIt_ShouldConflict() throws IOException {
+        ProjectUpload upload = upload(CONTRACT.length(), sha256(CONTRACT));
+        upload.setReceivedBytes(CONTRACT.length());
+        Files.writeString(store.uploadPath(5L), CONTRACT);
+        when(uploadRepository.findByIdAndProjectId(5L, 1L)).thenReturn(Optional.of(upload));
+        when(uploadRepository.claim(eq(5L), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> service.completeUpload(1L, 5L)).isInstanceOf(ConflictException.class);
+
+        assertThat(store.uploadPath(5L)).hasContent(CONTRACT);
+        verify(attachmentService, never()).addStoredAttachment(any(), any(), any(), any());
+        verify(uploadRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void completeUpload_WhenAttachingFails_ShouldKeepTheFileToCompleteAgain() throws IOException {
+        ProjectUpload upload = upload(CONTRACT.length(), sha256(CONTRACT));
+        upload.setReceivedBytes(CONTRACT.length());
+        Files.writeString(store.uploadPath(5L), CONTRACT);
+        when(uploadRepository.findByIdAndProjectId(5L, 1L)).thenReturn(Optional.of(upload));
+        when(uploadRepository.claim(eq(5L), any())).thenReturn(1);
+        when(attachmentService.addStoredAttachment(eq(1L), eq("contract.pdf"), eq("application/pdf"), any()))
+            .thenThrow(new IllegalStateException("Connection refused"))
+            .thenReturn(ProjectAttachmentDto.builder().id(10L).build());
+
+        assertThatThrownBy(() -> service.completeUpload(1L, 5L)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(store.uploadPath(5L)).hasContent(CONTRACT);
+        verify(uploadRepository).release(5L);
+        verify(uploadRepository, never()).deleteById(any());
+        assertThat(service.completeUpload(1L, 5L).getId()).isEqualTo(10L);
+        assertThat(store.uploadPath(5L)).doesNotExist();
+    }
+
+    @Test
+    void getUpload_WhenExpired_ShouldThrow() {
+        ProjectUpload upload = upload(CONTRACT.length(), sha256(CONTRACT));
+        upload.setExpiresAt(LocalDateTime.of(2026, 3, 2, 9, 59));
+        when(uploadRepository.findByIdAndProjectId(5L, 1L)).thenReturn(Optional.of(upload));
+
+        assertThatThrownBy(() -> service.getUpload(1L, 5L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void expireAbandoned_ShouldDeleteExpiredUploadsAndTheFilesOfDeletedOnes() throws IOException {
+        Path expired = Files.writeString(store.uploadPath(5L), "%PDF");
+        Path ofDeletedProject = Files.writeString(store.uploadPath(9L), "%PDF");
+        Files.setLastModifiedTime(ofDeletedProject, FileTime.from(NOW.minus(Duration.ofDays(2))));
+        when(uploadRepository.findByExpiresAtBefore(LocalDateTime.of(2026, 3, 2, 10, 0)))
+            .thenReturn(List.of(upload(CONTRACT.length(), sha256(CONTRACT))));
+        when(uploadRepository.existsById(9L)).thenReturn(false);
+
+        int deleted = service.expireAbandoned();
+
+        assertThat(deleted).isEqualTo(1);
+        verify(uploadRepository).deleteById(5L);
+        assertThat(expired).doesNotExist();
+        assertThat(ofDeletedProject).doesNotExist();
+    }
+
+    private ProjectUpload upload(long size, String sha256) {
+        ProjectUpload upload = new ProjectUpload();
+        upload.setId(5L);
+        upload.setProject(project);
+        upload.setFileName("contract.pdf");
+        upload.setContentType("application/pdf");
+        upload.setSizeInBytes(size);
+        upload.setSha256(sha256);
+        upload.setExpiresAt(LocalDateTime.of(2026, 3, 2, 12, 0));
+        return upload;
+    }
+
+    private static ByteArrayInputStream content(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(String text) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
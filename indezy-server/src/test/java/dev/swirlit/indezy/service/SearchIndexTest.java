@@ -0,0 +1,209 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.dto.SearchHitDto;
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.ProjectNote;
+import dev.swirlit.indezy.model.enums.SearchDocumentType;
+import dev.swirlit.indezy.repository.ClientRepository;
+import dev.swirlit.indezy.repository.ContactRepository;
+import dev.swirlit.indezy.repository.ProjectNoteRepository;
+import dev.swirlit.indezy.repository.ProjectRepository;
+import dev.swirlit.indezy.repository.SearchTextRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private ProjectNoteRepository projectNoteRepository;
+    @Mock
+    private ClientRepository clientRepository;
+    @Mock
+    private ContactRepository contactRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SearchIndex searchIndex;
+    private Freelance freelance;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new SearchIndex(projectRepository, projectNoteRepository, clientRepository, contactRepository,
+            transactionManager, 2);
+        freelance = new Freelance();
+        freelance.setId(1L);
+        lenient().when(projectRepository.streamSearchText(anyLong())).thenAnswer(invocation -> Stream.of(
+            new Row(10L, 0L, 10L, "Développeur Java", "Spring Boot, Kafka", "Migration of the billing platform", null, null),
+            new Row(11L, 0L, 11L, "Kotlin lead", "Kotlin, Java", null, null, "Full remote")));
+        lenient().when(projectNoteRepository.streamSearchText(anyLong())).thenAnswer(invocation -> Stream.of(
+            new Row(20L, 0L, 10L, null, null, "Call with Marie Dupont about the Kafka migration", null, null)));
+        lenient().when(clientRepository.findSearchTextByFreelanceId(anyLong())).thenReturn(List.of(
+            new Row(30L, 0L, null, "Acme Énergie", null, null, null, null)));
+        lenient().when(contactRepository.findSearchTextByFreelanceId(anyLong())).thenReturn(List.of(
+            new Row(40L, 0L, null, "Marie Dupont", null, null, null, null)));
+    }
+
+    @Test
+    void search_ShouldBuildTheIndexOnceAndRankNamesAboveText() {
+        List<SearchHitDto> dupont = searchIndex.search(1L, "dupont", null);
+        List<SearchHitDto> energy = searchIndex.search(1L, "energie", null);
+
+        assertThat(dupont).extracting(SearchHitDto::getType)
+            .containsExactly(SearchDocumentType.CONTACT, SearchDocumentType.PROJECT_NOTE);
+        assertThat(dupont.get(1).getProjectId()).isEqualTo(10L);
+        assertThat(dupont.get(1).getTitle()).isEqualTo("Call with Marie Dupont about the Kafka migration");
+        assertThat(energy).extracting(SearchHitDto::getId).containsExactly(30L);
+        verify(projectRepository, times(1)).streamSearchText(1L);
+    }
+
+    @Test
+    void search_ShouldMatchPrefixesAndEveryWord() {
+        assertThat(searchIndex.search(1L, "développeur kafka", null)).extracting(SearchHitDto::getId).containsExactly(10L);
+        assertThat(searchIndex.search(1L, "kot*", null)).extracting(SearchHitDto::getId).containsExactly(11L);
+        assertThat(searchIndex.search(1L, "java", 1)).extracting(SearchHitDto::getId).containsExactly(10L);
+        assertThat(searchIndex.search(1L, " ", null)).isEmpty();
+    }
+
+    @Test
+    void search_WhenTheQueryIsTooLong_ShouldReject() {
+        assertThatThrownBy(() -> searchIndex.search(1L, "java ".repeat(50), null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void indexProject_ShouldUpdateALoadedIndex() {
+        searchIndex.search(1L, "java", null);
+        Project project = new Project();
+        project.setId(12L);
+        project.setVersion(0L);
+        project.setFreelance(freelance);
+        project.setRole("Architecte Rust");
+
+        searchIndex.indexProject(project);
+        project.setRole("Architecte Go");
+        project.setVersion(1L);
+        searchIndex.indexProject(project);
+
+        assertThat(searchIndex.search(1L, "architecte", null)).extracting(SearchHitDto::getTitle)
+            .containsExactly("Architecte Go");
+        assertThat(searchIndex.search(1L, "rust", null)).isEmpty();
+    }
+
+    @Test
+    void removeProject_ShouldRemoveItsNotes() {
+        searchIndex.search(1L, "java", null);
+
+        searchIndex.removeProject(1L, 10L);
+
+        assertThat(searchIndex.search(1L, "kafka", null)).isEmpty();
+        assertThat(searchIndex.search(1L, "dupont", null)).extracting(SearchHitDto::getType)
+            .containsExactly(SearchDocumentType.CONTACT);
+    }
+
+    @Test
+    void indexNoteAndClient_WhenTheIndexIsNotLoaded_ShouldNotLoadIt() {
+        Project project = new Project();
+        project.setId(10L);
+        project.setFreelance(freelance);
+        ProjectNote note = new ProjectNote();
+        note.setId(21L);
+        note.setProject(project);
+        note.setContent("Signed");
+        Client client = new Client();
+        client.setId(31L);
+        client.setFreelance(freelance);
+
+        searchIndex.indexNote(note);
+        searchIndex.indexClient(client);
+        searchIndex.removeContact(1L, 40L);
+
+        verifyNoInteractions(projectRepository, projectNoteRepository, clientRepository, contactRepository);
+        assertThat(searchIndex.size()).isZero();
+    }
+
+    @Test
+    void invalidate_ShouldRebuildOnTheNextSearch() {
+        searchIndex.search(1L, "java", null);
+
+        searchIndex.invalidate(1L);
+        searchIndex.search(1L, "java", null);
+
+        verify(projectRepository, times(2)).streamSearchText(1L);
+    }
+
+    @Test
+    void search_ShouldKeepTheIndexesOfTheMostRecentFreelancesOnly() {
+        searchIndex.search(1L, "java", null);
+        searchIndex.search(2L, "java", null);
+        searchIndex.search(1L, "java", null);
+        searchIndex.search(3L, "java", null);
+        searchIndex.search(1L, "java", null);
+
+        assertThat(searchIndex.size()).isEqualTo(2);
+        verify(projectRepository, times(1)).streamSearchText(1L);
+    }
+
+    private record Row(Long id, Long version, Long projectId, String title, String keywords, String text,
+                       String notes, String advantages) implements SearchTextRow {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getVersion() {
+            return version;
+        }
+
+        @Override
+        public Long getProjectId() {
+            return projectId;
+        }
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        public String getKeywords() {
+            return keywords;
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String getNotes() {
+            return notes;
+        }
+
+        @Override
+        public String getAdvantages() {
+            return advantages;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.dto.SkillMatchDto;
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.model.SkillTag;
+import dev.swirlit.indezy.model.enums.ProjectStatus;
+import dev.swirlit.indezy.repository.ActiveOpportunity;
+import dev.swirlit.indezy.repository.ProjectRepository;
+import dev.swirlit.indezy.repository.SkillTagRepository;
+import dev.swirlit.indezy.repository.UserRepository;
+import dev.swirlit.indezy.util.BitmapIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SkillMatchServiceTest {
+
+    private static final long JAVA = 1L;
+    private static final long KAFKA = 2L;
+    private static final long ANGULAR = 3L;
+    private static final long AWS = 4L;
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private SkillTagRepository tagRepository;
+    @Mock
+    private SkillTagService skillTagService;
+
+    private SkillMatchService skillMatchService;
+    private BitmapIndex<Long> index;
+
+    @BeforeEach
+    void setUp() {
+        skillMatchService = new SkillMatchService(userRepository, projectRepository, tagRepository, skillTagService, 2);
+        index = spy(new BitmapIndex<>());
+        index.put(10L, List.of(JAVA, KAFKA));
+        index.put(11L, List.of(JAVA));
+        index.put(12L, List.of(ANGULAR));
+        index.put(13L, List.of(JAVA, KAFKA, AWS));
+        index.put(14L, List.of(JAVA));
+
+        lenient().when(userRepository.existsById(1L)).thenReturn(true);
+        lenient().when(userRepository.findSkillsById(1L)).thenReturn(List.of("Java", "Kafka", "Cobol"));
+        lenient().when(skillTagService.resolveIds(anyLong(), any())).thenReturn(Map.of("java", JAVA, "kafka", KAFKA));
+        lenient().when(skillTagService.index(1L)).thenReturn(index);
+        lenient().when(tagRepository.findByFreelanceIdOrderByName(1L)).thenReturn(List.of(
+            tag(AWS, "AWS"), tag(ANGULAR, "Angular"), tag(JAVA, "Java"), tag(KAFKA, "Kafka")));
+        // 14 is won, so not an opportunity any more.
+        lenient().when(projectRepository.findActiveOpportunities(1L)).thenReturn(List.of(
+            new Opportunity(10L, "Backend developer"), new Opportunity(11L, "Java developer"),
+            new Opportunity(12L, "Frontend developer"), new Opportunity(13L, "Cloud architect")));
+    }
+
+    @Test
+    void findBestMatches_ShouldRankBySkillCoverageThenMatchedSkills() {
+        List<SkillMatchDto> matches = skillMatchService.findBestMatches(1L, null);
+
+        assertThat(matches).extracting(SkillMatchDto::getProjectId).containsExactly(10L, 11L, 13L);
+        assertThat(matches.get(0).getScore()).isEqualTo(1.0);
+        assertThat(matches.get(2).getScore()).isCloseTo(2.0 / 3, within(1e-9));
+        assertThat(matches.get(2).getMatchedSkills()).containsExactly("Java", "Kafka");
+        assertThat(matches.get(2).getMissingSkills()).containsExactly("AWS");
+        assertThat(matches.get(2).getRole()).isEqualTo("Cloud architect");
+        assertThat(matches.get(2).getStatus()).isEqualTo(ProjectStatus.APPLIED);
+    }
+
+    @Test
+    void findBestMatches_ShouldKeepTheBestWithinTheLimit() {
+        assertThat(skillMatchService.findBestMatches(1L, 2)).extracting(SkillMatchDto::getProjectId)
+            .containsExactly(10L, 11L);
+        assertThat(skillMatchService.findBestMatches(1L, 0)).extracting(SkillMatchDto::getProjectId)
+            .containsExactly(10L);
+    }
+
+    @Test
+    void findBestMatches_ShouldRescoreOnlyWhenTheIndexOrTheProfileChanges() {
+        skillMatchService.findBestMatches(1L, null);
+        skillMatchService.findBestMatches(1L, null);
+        verify(index, times(1)).overlap(any(), any());
+
+        index.put(12L, List.of(ANGULAR, JAVA));
+        assertThat(skillMatchService.findBestMatches(1L, null)).extracting(SkillMatchDto::getProjectId)
+            .containsExactly(10L, 11L, 13L, 12L);
+        verify(index, times(2)).overlap(any(), any());
+
+        when(skillTagService.resolveIds(anyLong(), any())).thenReturn(Map.of("angular", ANGULAR));
+        assertThat(skillMatchService.findBestMatches(1L, null)).extracting(SkillMatchDto::getProjectId)
+            .containsExactly(12L);
+        verify(index, times(3)).overlap(any(), any());
+    }
+
+    @Test
+    void findBestMatches_WithoutKnownSkills_ShouldReturnNothing() {
+        when(skillTagService.resolveIds(anyLong(), any())).thenReturn(Map.of());
+
+        assertThat(skillMatchService.findBestMatches(1L, null)).isEmpty();
+        verify(skillTagService, never()).index(anyLong());
+    }
+
+    @Test
+    void findBestMatches_WhenTheUserDoesNotExist_ShouldThrow() {
+        assertThatThrownBy(() -> skillMatchService.findBestMatches(2L, null))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static SkillTag tag(long id, String name) {
+        SkillTag tag = new SkillTag();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+
+    private record Opportunity(Long projectId, String role) implements ActiveOpportunity {
+
+        @Override
+        public Long getProjectId() {
+            return projectId;
+        }
+
+        @Override
+        public String getRole() {
+            return role;
+        }
+
+        @Override
+        public String getClientName() {
+            return "Acme";
+        }
+
+        @Override
+        public ProjectStatus getStatus() {
+            return ProjectStatus.APPLIED;
+        }
+    }
+}
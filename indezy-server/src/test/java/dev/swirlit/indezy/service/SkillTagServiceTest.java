@@ -0,0 +1,212 @@
+package dev.swirlit.indezy.service;
+
+import dev.swirlit.indezy.dto.SkillTagDto;
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.model.Client;
+import dev.swirlit.indezy.model.Freelance;
+import dev.swirlit.indezy.model.Project;
+import dev.swirlit.indezy.model.enums.EmploymentStatus;
+import dev.swirlit.indezy.repository.ClientRepository;
+import dev.swirlit.indezy.repository.FreelanceRepository;
+import dev.swirlit.indezy.repository.ProjectRepository;
+import dev.swirlit.indezy.repository.ProjectTagRepository;
+import dev.swirlit.indezy.repository.SkillTagAliasRepository;
+import dev.swirlit.indezy.repository.SkillTagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tags projects against the test database. Runs without the test transaction, as tags are
+ * written in transactions of their own; outside a transaction a project is tagged at once.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(SkillTagService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SkillTagServiceTest {
+
+    @Autowired
+    private FreelanceRepository freelanceRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectTagRepository projectTagRepository;
+
+    @Autowired
+    private SkillTagRepository tagRepository;
+
+    @Autowired
+    private SkillTagAliasRepository aliasRepository;
+
+    @Autowired
+    private SkillTagService skillTagService;
+
+    private Freelance freelance;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        freelance = new Freelance();
+        freelance.setFirstName("John");
+        freelance.setLastName("Doe");
+        freelance.setEmail("tags@example.com");
+        freelance.setStatus(EmploymentStatus.FREELANCE);
+        freelance = freelanceRepository.save(freelance);
+
+        client = new Client();
+        client.setCompanyName("Acme");
+        client.setIsFinal(true);
+        client.setFreelance(freelance);
+        client = clientRepository.save(client);
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectTagRepository.deleteAll();
+        aliasRepository.deleteAll();
+        tagRepository.deleteAll();
+        projectRepository.deleteAll();
+        clientRepository.deleteAll();
+        freelanceRepository.deleteAll();
+    }
+
+    @Test
+    void getTags_ShouldTagUntaggedProjectsAndCountThem() {
+        project("Java, Spring Boot, K8s");
+        project("java; kubernetes");
+        project("ReactJS");
+        project(null);
+
+        List<SkillTagDto> tags = skillTagService.getTags(freelance.getId());
+
+        assertThat(tags).extracting(SkillTagDto::getName, SkillTagDto::getProjectCount).containsExactly(
+            tuple("Java", 2), tuple("Kubernetes", 2), tuple("React", 1), tuple("Spring Boot", 1));
+    }
+
+    @Test
+    void findProjectIds_ShouldMatchAllAndAnySkills() {
+        Project javaKafka = project("Java, Kafka");
+        Project javaK8s = project("Java, Kubernetes");
+        Project angular = project("Angular");
+
+        assertThat(skillTagService.findProjectIds(freelance.getId(), List.of("JAVA"), null))
+            .containsExactly(javaKafka.getId(), javaK8s.getId());
+        assertThat(skillTagService.findProjectIds(freelance.getId(), List.of("java", "k8s"), List.of()))
+            .containsExactly(javaK8s.getId());
+        assertThat(skillTagService.findProjectIds(freelance.getId(), null, List.of("kafka", "angular", "cobol")))
+            .containsExactly(javaKafka.getId(), angular.getId());
+        assertThat(skillTagService.findProjectIds(freelance.getId(), List.of("java", "cobol"), null)).isEmpty();
+        assertThat(skillTagService.findProjectIds(freelance.getId(), null, List.of("cobol"))).isEmpty();
+        assertThat(skillTagService.findProjectIds(freelance.getId(), null, null)).isEmpty();
+    }
+
+    @Test
+    void tagProject_ShouldReplaceTheTagsOfAnEditedProject() {
+        Project project = project("Java, Kafka");
+        skillTagService.tagProject(project);
+
+        project.setTechStack("Java, Kotlin");
+        skillTagService.tagProject(project);
+
+        assertThat(skillTagService.findProjectIds(freelance.getId(), List.of("kotlin"), null)).containsExactly(project.getId());
+        assertThat(skillTagService.findProjectIds(freelance.getId(), List.of("kafka"), null)).isEmpty();
+    }
+
+    @Test
+    void tagProject_WhenTheTagWriteFails_ShouldNotThrow() {
+        Project deleted = project("Java");
+        projectRepository.delete(deleted);
+
+        assertThatCode(() -> skillTagService.tagProject(deleted)).doesNotThrowAnyException();
+        assertThat(projectTagRepository.count()).isZero();
+    }
+
+    @Test
+    void renameTag_ShouldRenameOnEveryProjectAndKeepTheOldNameAsAnAlias() {
+        Project project = project("Springs");
+        skillTagService.tagProject(project);
+
+        SkillTagDto renamed = skillTagService.renameTag(tagId("springs"), " Spring  Framework ");
+        Project other = project("springs, Java");
+        skillTagService.tagProject(other);
+
+        assertThat(renamed.getName()).isEqualTo("Spring Framework");
+        assertThat(renamed.getProjectCount()).isEqualTo(1);
+        assertThat(skillTagService.findProjectIds(freelance.getId(), List.of("spring framework"), null))
+            .containsExactly(project.getId(), other.getId());
+        assertThat(skillTagService.findProjectIds(freelance.getId(), List.of("springs"), null))
+            .containsExactly(project.getId(), other.getId());
+    }
+
+    @Test
+    void renameTag_ToTheNameOfAnotherTag_ShouldMergeThem() {
+        Project both = project("JavaScript, Node, JS Frameworks");
+        Project frameworks = project("JS Frameworks");
+        Project plain = project("JavaScript");
+        skillTagService.tagProject(both);
+        skillTagService.tagProject(frameworks);
+        skillTagService.tagProject(plain);
+        Long merged = tagId("js frameworks");
+        Long javascript = tagId("javascript");
+
+        SkillTagDto target = skillTagService.renameTag(merged, "javascript");
+
+        assertThat(target.getId()).isEqualTo(javascript);
+        assertThat(target.getName()).isEqualTo("JavaScript");
+        assertThat(target.getProjectCount()).isEqualTo(3);
+        assertThat(tagRepository.findById(merged)).isEmpty();
+        assertThat(skillTagService.findProjectIds(freelance.getId(), List.of("js frameworks"), null))
+            .containsExactly(both.getId(), frameworks.getId(), plain.getId());
+        assertThat(skillTagService.getTags(freelance.getId()))
+            .extracting(SkillTagDto::getName, SkillTagDto::getProjectCount)
+            .containsExactly(tuple("JavaScript", 3), tuple("Node.js", 1));
+    }
+
+    @Test
+    void renameTag_WithInvalidNameOrUnknownTag_ShouldReject() {
+        Project project = project("Java");
+        skillTagService.tagProject(project);
+        Long java = tagId("java");
+
+        assertThatThrownBy(() -> skillTagService.renameTag(java, " - "))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> skillTagService.renameTag(java, "x".repeat(101)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> skillTagService.renameTag(Long.MAX_VALUE, "Kotlin"))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private Project project(String techStack) {
+        Project project = new Project();
+        project.setRole("Developer");
+        project.setDailyRate(600);
+        project.setTechStack(techStack);
+        project.setFreelance(freelance);
+        project.setClient(client);
+        return projectRepository.save(project);
+    }
+
+    private Long tagId(String normalizedName) {
+        return tagRepository.findByFreelanceIdAndNormalizedNameIn(freelance.getId(), List.of(normalizedName))
+            .getFirst().getId();
+    }
+}
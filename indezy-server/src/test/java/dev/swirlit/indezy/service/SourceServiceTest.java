@@ -36,6 +36,15 @@ class SourceServiceTest {
     @Mock
     private SourceMapper sourceMapper;
 
+    @Mock
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    @Mock
+    private AggregateCounterService aggregateCounterService;
+
+    @Mock
+    private FreelanceViewCache viewCache;
+
     @InjectMocks
     private SourceService sourceService;
 
@@ -201,6 +210,9 @@ class SourceServiceTest {
         // Then
         verify(sourceRepository).findById(1L);
         verify(sourceRepository).delete(testSource);
+        verify(dashboardSnapshotService).invalidate(testFreelance.getId());
+        verify(aggregateCounterService).recount(testFreelance.getId());
+        verify(viewCache).invalidateAll(testFreelance.getId());
     }
 
     @Test
@@ -1,17 +1,43 @@
 package dev.swirlit.indezy.service;
 
+import dev.swirlit.indezy.dto.ClientDto;
+import dev.swirlit.indezy.dto.CursorPageDto;
+import dev.swirlit.indezy.dto.DataExportDto;
+import dev.swirlit.indezy.dto.JobDto;
 import dev.swirlit.indezy.dto.ProjectDto;
 import dev.swirlit.indezy.dto.UserDto;
+import dev.swirlit.indezy.exception.ResourceNotFoundException;
+import dev.swirlit.indezy.model.enums.JobStatus;
+import dev.swirlit.indezy.model.enums.JobType;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,35 +53,156 @@ class UserDataExportServiceTest {
     private ContactService contactService;
     @Mock
     private SourceService sourceService;
+    @Mock
+    private JobService jobService;
+
+    @TempDir
+    private Path directory;
 
-    @InjectMocks
     private UserDataExportService userDataExportService;
 
-    @Test
-    void exportUserData_ShouldSerializeProfileAndOwnedEntities() {
+    @BeforeEach
+    void setUp() {
         UserDto profile = new UserDto();
         profile.setFirstName("John");
         profile.setEmail("john.doe@example.com");
-        when(userService.getUserProfile(1L)).thenReturn(profile);
+        lenient().when(userService.getUserProfile(1L)).thenReturn(profile);
+        lenient().when(clientService.scrollByFreelanceId(eq(1L), isNull(), anyInt())).thenReturn(page(List.of(), null));
+        lenient().when(contactService.scrollByFreelanceId(eq(1L), isNull(), anyInt())).thenReturn(page(List.of(), null));
+        lenient().when(sourceService.scrollByFreelanceId(eq(1L), isNull(), anyInt())).thenReturn(page(List.of(), null));
+        userDataExportService = service(Duration.ofHours(24));
+    }
+
+    @Test
+    void run_ShouldWriteOneZipEntryPerSectionPageByPage() throws IOException {
+        when(projectService.scrollByFreelanceId(eq(1L), isNull(), anyInt()))
+            .thenReturn(page(List.of(project("Backend Dev"), project("Lead, Platform")), "next"));
+        when(projectService.scrollByFreelanceId(eq(1L), eq("next"), anyInt()))
+            .thenReturn(page(List.of(project("Architect")), null));
+        ClientDto client = new ClientDto();
+        client.setCompanyName("Acme");
+        when(clientService.scrollByFreelanceId(eq(1L), isNull(), anyInt())).thenReturn(page(List.of(client), null));
+        JobContext context = context(7L, true);
+
+        assertThat(userDataExportService.run(context)).isEqualTo("7.zip");
+
+        assertThat(context.getProcessedItems()).isEqualTo(5);
+        assertThat(context.getStep()).isEqualTo("sources");
+        when(jobService.findJob(1L, 7L)).thenReturn(Optional.of(job(7L, JobType.DATA_EXPORT, JobStatus.COMPLETED)));
+        Path archive = userDataExportService.getExportFile(1L, 7L);
+        assertThat(userDataExportService.getExport(1L, 7L).getSizeInBytes()).isEqualTo(Files.size(archive));
+
+        Map<String, String> entries = unzip(archive);
+        assertThat(entries).containsOnlyKeys(
+            "profile.json", "projects.ndjson", "clients.ndjson", "contacts.ndjson", "sources.ndjson");
+        assertThat(entries.get("profile.json")).contains("\"john.doe@example.com\"");
+        List<String> projects = entries.get("projects.ndjson").lines().toList();
+        assertThat(projects).hasSize(3);
+        assertThat(projects.get(1)).contains("\"role\":\"Lead, Platform\"");
+        assertThat(entries.get("clients.ndjson")).hasLineCount(1).contains("\"companyName\":\"Acme\"");
+        assertThat(entries.get("sources.ndjson")).isEmpty();
+    }
+
+    @Test
+    void run_WhenASectionFails_ShouldLeaveNoFile() throws IOException {
+        when(projectService.scrollByFreelanceId(eq(1L), isNull(), anyInt()))
+            .thenThrow(new IllegalStateException("database unavailable"));
 
+        assertThatThrownBy(() -> userDataExportService.run(context(7L, true)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("database unavailable");
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void run_WhenCancelled_ShouldStopAndLeaveNoFile() throws IOException {
+        assertThatThrownBy(() -> userDataExportService.run(context(7L, false)))
+            .isInstanceOf(CancellationException.class);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void startExport_ShouldSubmitADataExportJob() {
+        when(jobService.submit(JobType.DATA_EXPORT, 1L)).thenReturn(job(7L, JobType.DATA_EXPORT, JobStatus.QUEUED));
+
+        DataExportDto export = userDataExportService.startExport(1L);
+
+        assertThat(export.getId()).isEqualTo(7L);
+        assertThat(export.getStatus()).isEqualTo(DataExportDto.Status.QUEUED);
+        assertThat(export.getSizeInBytes()).isNull();
+    }
+
+    @Test
+    void getExport_OfAnotherUserOrJobType_ShouldNotBeFound() {
+        when(jobService.findJob(2L, 7L)).thenReturn(Optional.empty());
+        when(jobService.findJob(1L, 8L)).thenReturn(Optional.of(job(8L, JobType.DASHBOARD_RECONCILE, JobStatus.COMPLETED)));
+
+        assertThatThrownBy(() -> userDataExportService.getExport(2L, 7L))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> userDataExportService.getExport(1L, 8L))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void getExportFile_BeforeCompletion_ShouldBeRejected() {
+        when(jobService.findJob(1L, 7L)).thenReturn(Optional.of(job(7L, JobType.DATA_EXPORT, JobStatus.RUNNING)));
+
+        assertThatThrownBy(() -> userDataExportService.getExportFile(1L, 7L))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void purgeExpired_ShouldDeleteArchivesOlderThanRetention() throws IOException {
+        when(projectService.scrollByFreelanceId(eq(1L), isNull(), anyInt())).thenReturn(page(List.of(), null));
+        userDataExportService = service(Duration.ZERO);
+        userDataExportService.run(context(7L, true));
+        Files.writeString(directory.resolve("left-by-a-previous-run.zip.part"), "partial");
+
+        assertThat(userDataExportService.purgeExpired()).isEqualTo(2);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+        when(jobService.findJob(1L, 7L)).thenReturn(Optional.of(job(7L, JobType.DATA_EXPORT, JobStatus.COMPLETED)));
+        assertThatThrownBy(() -> userDataExportService.getExportFile(1L, 7L))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private UserDataExportService service(Duration retention) {
+        return new UserDataExportService(userService, projectService, clientService, contactService, sourceService,
+            jobService, JsonMapper.builder().build(), directory, 1, retention, Clock.systemDefaultZone());
+    }
+
+    /** Context of a job of user 1 storing every report; {@code active} false once cancellation is requested. */
+    private static JobContext context(Long jobId, boolean active) {
+        return new JobContext(jobId, 1L, 1, null, 0, Clock.systemDefaultZone(), Duration.ZERO, context -> active);
+    }
+
+    private static JobDto job(Long id, JobType type, JobStatus status) {
+        return JobDto.builder().id(id).type(type).status(status).build();
+    }
+
+    private static <T> CursorPageDto<T> page(List<T> items, String nextCursor) {
+        return new CursorPageDto<>(items, nextCursor, nextCursor != null, UserDataExportService.PAGE_SIZE);
+    }
+
+    private static ProjectDto project(String role) {
         ProjectDto project = new ProjectDto();
-        project.setRole("Backend Dev");
-        when(projectService.findByFreelanceId(1L)).thenReturn(List.of(project));
-        when(clientService.findByFreelanceId(1L)).thenReturn(List.of());
-        when(contactService.findByFreelanceId(1L)).thenReturn(List.of());
-        when(sourceService.findByFreelanceId(1L)).thenReturn(List.of());
-
-        String json = new String(userDataExportService.exportUserData(1L), StandardCharsets.UTF_8);
-
-        // Every section is present, and the profile and projects carry their data.
-        assertThat(json)
-            .contains("\"profile\"")
-            .contains("John")
-            .contains("john.doe@example.com")
-            .contains("\"projects\"")
-            .contains("Backend Dev")
-            .contains("\"clients\"")
-            .contains("\"contacts\"")
-            .contains("\"sources\"");
+        project.setRole(role);
+        return project;
+    }
+
+    private static Map<String, String> unzip(Path archive) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
     }
 }
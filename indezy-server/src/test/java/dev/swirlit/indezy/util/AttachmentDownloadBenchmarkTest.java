@@ -0,0 +1,146 @@
+package dev.swirlit.indezy.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends a {@value #FILE_MEGABYTES} MB PDF over a loopback socket {@value #ROUNDS} times each way:
+ * copied through an 8 KiB heap buffer, as a {@code Resource} body is written, and with
+ * {@link FileChannel#transferTo} to the socket, as the container's sendfile support does for
+ * {@link FileDownloads}. The throughput of both is logged; the assertions check that every byte
+ * arrived.
+ */
+class AttachmentDownloadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentDownloadBenchmarkTest.class);
+
+    private static final int FILE_MEGABYTES = 64;
+    private static final int ROUNDS = 5;
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    @TempDir
+    private Path directory;
+
+    private Path pdf;
+    private long size;
+    private ServerSocketChannel server;
+    private ExecutorService receiver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pdf = directory.resolve("job-description.pdf");
+        byte[] chunk = new byte[1024 * 1024];
+        new Random(42).nextBytes(chunk);
+        try (OutputStream out = Files.newOutputStream(pdf)) {
+            out.write("%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII));
+            for (int i = 0; i < FILE_MEGABYTES; i++) {
+                out.write(chunk);
+            }
+        }
+        size = Files.size(pdf);
+        server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        receiver = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        receiver.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    void transferTo_ShouldSendLargePdfsWithoutCopyingThemThroughTheHeap() throws Exception {
+        // Warm up both paths and the page cache.
+        send(this::streamCopy);
+        send(this::transferTo);
+
+        long copyNanos = 0;
+        long transferNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            copyNanos += send(this::streamCopy);
+            transferNanos += send(this::transferTo);
+        }
+
+        log.info("{} MB PDF x {}: 8 KiB stream copy {} MB/s, FileChannel.transferTo {} MB/s",
+            FILE_MEGABYTES, ROUNDS, throughput(copyNanos), throughput(transferNanos));
+    }
+
+    /** Sends the file once and returns how long it took, once every byte was received. */
+    private long send(Sender sender) throws Exception {
+        Future<Long> received = receiver.submit(this::drain);
+        long start = System.nanoTime();
+        try (SocketChannel socket = SocketChannel.open(server.getLocalAddress())) {
+            sender.send(socket);
+        }
+        assertThat(received.get(60, TimeUnit.SECONDS)).isEqualTo(size);
+        return System.nanoTime() - start;
+    }
+
+    private void streamCopy(SocketChannel socket) throws IOException {
+        OutputStream out = socket.socket().getOutputStream();
+        try (InputStream in = Files.newInputStream(pdf)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        out.flush();
+    }
+
+    private void transferTo(SocketChannel socket) throws IOException {
+        try (FileChannel channel = FileChannel.open(pdf, StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, socket);
+            }
+        }
+    }
+
+    private long drain() throws IOException {
+        try (SocketChannel socket = server.accept()) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+            long total = 0;
+            int read;
+            while ((read = socket.read(buffer)) != -1) {
+                total += read;
+                buffer.clear();
+            }
+            return total;
+        }
+    }
+
+    private long throughput(long nanos) {
+        return Math.round((double) size * ROUNDS / (1024 * 1024) / (nanos / 1e9));
+    }
+
+    @FunctionalInterface
+    private interface Sender {
+        void send(SocketChannel socket) throws IOException;
+    }
+}
@@ -0,0 +1,94 @@
+package dev.swirlit.indezy.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BitmapIndexTest {
+
+    private final BitmapIndex<String> index = new BitmapIndex<>();
+
+    @Test
+    void query_ShouldIntersectAllAndUniteAny() {
+        index.put(30L, List.of("java", "kafka"));
+        index.put(10L, List.of("java", "kubernetes"));
+        index.put(20L, List.of("angular"));
+
+        assertThat(index.query(List.of("java"), List.of())).containsExactly(10L, 30L);
+        assertThat(index.query(List.of("java", "kafka"), List.of())).containsExactly(30L);
+        assertThat(index.query(List.of(), List.of("angular", "kubernetes"))).containsExactly(10L, 20L);
+        assertThat(index.query(List.of("java"), List.of("angular", "kubernetes"))).containsExactly(10L);
+        assertThat(index.query(List.of("java", "cobol"), List.of())).isEmpty();
+        assertThat(index.query(List.of(), List.of())).isEmpty();
+    }
+
+    @Test
+    void put_ShouldReplaceTheKeysOfADocument() {
+        index.put(1L, List.of("java", "kafka"));
+
+        index.put(1L, List.of("kotlin"));
+
+        assertThat(index.query(List.of("java"), List.of())).isEmpty();
+        assertThat(index.query(List.of("kotlin"), List.of())).containsExactly(1L);
+        assertThat(index.count("kafka")).isZero();
+    }
+
+    @Test
+    void remove_ShouldDropTheDocumentFromEveryKey() {
+        index.put(1L, List.of("java"));
+        index.put(2L, List.of("java"));
+
+        index.remove(1L);
+        index.remove(3L);
+
+        assertThat(index.query(List.of("java"), List.of())).containsExactly(2L);
+        assertThat(index.count("java")).isEqualTo(1);
+    }
+
+    @Test
+    void merge_ShouldMoveTheDocumentsOfOneKeyToAnother() {
+        index.put(1L, List.of("js"));
+        index.put(2L, List.of("js", "javascript"));
+        index.put(3L, List.of("javascript"));
+
+        index.merge("js", "javascript");
+
+        assertThat(index.count("js")).isZero();
+        assertThat(index.count("javascript")).isEqualTo(3);
+        assertThat(index.query(List.of("javascript"), List.of())).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void overlap_ShouldCountTheKeysOfEachDocumentAndThoseMatched() {
+        index.put(1L, List.of("java", "kafka", "aws"));
+        index.put(2L, List.of("angular"));
+        index.put(3L, List.of("java"));
+        index.remove(3L);
+        Map<Long, String> overlaps = new HashMap<>();
+
+        index.overlap(Set.of("java", "kafka"), (document, keys, matched) -> overlaps.put(document, matched + "/" + keys));
+
+        assertThat(overlaps).containsExactlyInAnyOrderEntriesOf(Map.of(1L, "2/3", 2L, "0/1"));
+        assertThat(index.keys(1L)).containsExactlyInAnyOrder("java", "kafka", "aws");
+        assertThat(index.keys(3L)).isEmpty();
+    }
+
+    @Test
+    void version_ShouldChangeWithWritesOnly() {
+        long initial = index.version();
+        index.put(1L, List.of("java"));
+        long afterPut = index.version();
+        index.query(List.of("java"), List.of());
+        index.remove(2L);
+
+        assertThat(afterPut).isGreaterThan(initial);
+        assertThat(index.version()).isEqualTo(afterPut);
+        index.merge("java", "kotlin");
+        assertThat(index.version()).isGreaterThan(afterPut);
+    }
+}
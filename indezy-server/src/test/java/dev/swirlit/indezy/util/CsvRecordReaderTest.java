@@ -0,0 +1,50 @@
+package dev.swirlit.indezy.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void readRecord_ShouldSplitPlainAndQuotedFields() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,\"b,c\",\"say \"\"hi\"\"\",\n"));
+
+        assertThat(reader.readRecord()).containsExactly("a", "b,c", "say \"hi\"", "");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void readRecord_ShouldKeepLineBreaksInsideQuotesAndTrackRecordLines() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("h1,h2\r\n\"multi\nline\",x\r\nlast,y"));
+
+        assertThat(reader.readRecord()).containsExactly("h1", "h2");
+        assertThat(reader.getRecordLine()).isEqualTo(1);
+        assertThat(reader.readRecord()).containsExactly("multi\nline", "x");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.readRecord()).containsExactly("last", "y");
+        assertThat(reader.getRecordLine()).isEqualTo(4);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void readRecord_ShouldSkipByteOrderMark() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\uFEFFrole,client\n"));
+
+        assertThat(reader.readRecord()).containsExactly("role", "client");
+    }
+
+    @Test
+    void readRecord_WithUnterminatedQuote_ShouldThrowIllegalArgumentException() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("ok\n\"never closed,1\n"));
+
+        assertThat(reader.readRecord()).containsExactly("ok");
+        assertThatThrownBy(reader::readRecord)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("line 2");
+    }
+}
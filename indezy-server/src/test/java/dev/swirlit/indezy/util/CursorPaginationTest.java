@@ -0,0 +1,74 @@
+package dev.swirlit.indezy.util;
+
+import dev.swirlit.indezy.dto.CursorPageDto;
+import dev.swirlit.indezy.model.Client;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorPaginationTest {
+
+    @Test
+    void encodeAndDecode_ShouldRoundTripId() {
+        String cursor = CursorPagination.encode(42L);
+
+        assertThat(cursor).doesNotContain("42");
+        assertThat(CursorPagination.decode(cursor)).isEqualTo(42L);
+    }
+
+    @Test
+    void decode_WithoutCursor_ShouldStartFromNewestRow() {
+        assertThat(CursorPagination.decode(null)).isEqualTo(Long.MAX_VALUE);
+        assertThat(CursorPagination.decode(" ")).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void decode_WithTamperedCursor_ShouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> CursorPagination.decode("not-a-cursor!"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid pagination cursor");
+        assertThatThrownBy(() -> CursorPagination.decode("azE6YWJj")) // "k1:abc"
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void resolveLimit_ShouldDefaultAndClamp() {
+        assertThat(CursorPagination.resolveLimit(null)).isEqualTo(CursorPagination.DEFAULT_LIMIT);
+        assertThat(CursorPagination.resolveLimit(0)).isEqualTo(1);
+        assertThat(CursorPagination.resolveLimit(10_000)).isEqualTo(CursorPagination.MAX_LIMIT);
+        assertThat(CursorPagination.fetchLimit(20).max()).isEqualTo(21);
+    }
+
+    @Test
+    void toPage_WithLookAheadRow_ShouldTrimAndPointCursorAtLastKeptRow() {
+        List<Client> rows = clients(30, 29, 28, 27);
+
+        CursorPageDto<Long> page = CursorPagination.toPage(rows, 3, Client::getId);
+
+        assertThat(page.getItems()).containsExactly(30L, 29L, 28L);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getLimit()).isEqualTo(3);
+        assertThat(CursorPagination.decode(page.getNextCursor())).isEqualTo(28L);
+    }
+
+    @Test
+    void toPage_OnLastPage_ShouldNotReturnCursor() {
+        CursorPageDto<Long> page = CursorPagination.toPage(clients(2, 1), 3, Client::getId);
+
+        assertThat(page.getItems()).containsExactly(2L, 1L);
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    private List<Client> clients(long... ids) {
+        return LongStream.of(ids).mapToObj(id -> {
+            Client client = new Client();
+            client.setId(id);
+            return client;
+        }).toList();
+    }
+}
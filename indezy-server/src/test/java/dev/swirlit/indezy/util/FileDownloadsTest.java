@@ -0,0 +1,120 @@
+package dev.swirlit.indezy.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileDownloadsTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final String ETAG = "\"2c472cb7\"";
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.writeString(directory.resolve("brief.pdf"), CONTENT);
+        request = new MockHttpServletRequest("GET", "/api/projects/1/attachments/10/content");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void serve_ShouldSendTheWholeFileWithItsETag() throws IOException {
+        serve();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+        assertThat(response.getContentLengthLong()).isEqualTo(20);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    }
+
+    @Test
+    void serve_WhenTheETagMatches_ShouldAnswerNotModified() throws IOException {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        serve();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void serve_WithARange_ShouldSendThatRange() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+
+        serve();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 5-9/20");
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("56789");
+        assertThat(response.getContentLengthLong()).isEqualTo(5);
+    }
+
+    @Test
+    void serve_WithASuffixRange_ShouldSendTheEndOfTheFile() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=-4");
+
+        serve();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 16-19/20");
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("ghij");
+    }
+
+    @Test
+    void serve_WhenIfRangeNoLongerMatches_ShouldSendTheWholeFile() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"previous-version\"");
+
+        serve();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void serve_WhenTheRangeStartsPastTheEnd_ShouldAnswerRangeNotSatisfiable() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-");
+
+        serve();
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */20");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void serve_WhenTheContainerSupportsSendfile_ShouldLeaveTheBodyToIt() throws IOException {
+        Path large = Files.write(directory.resolve("large.pdf"), new byte[(int) FileDownloads.SENDFILE_MIN_SIZE * 2]);
+        request.setAttribute(FileDownloads.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=1000-");
+
+        FileDownloads.serve(large, Files.size(large), ETAG, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(FileDownloads.SENDFILE_FILENAME)).isEqualTo(large.toAbsolutePath().toString());
+        assertThat(request.getAttribute(FileDownloads.SENDFILE_START)).isEqualTo(1000L);
+        assertThat(request.getAttribute(FileDownloads.SENDFILE_END)).isEqualTo(FileDownloads.SENDFILE_MIN_SIZE * 2);
+    }
+
+    private void serve() throws IOException {
+        FileDownloads.serve(file, Files.size(file), ETAG, request, response);
+    }
+}
@@ -0,0 +1,101 @@
+package dev.swirlit.indezy.util;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Indexes {@value #DOCUMENTS} generated projects and notes (a role, a tech stack and a few dozen
+ * words of description) and runs single-word, multi-word and prefix queries {@value #ROUNDS} times
+ * each. The build time and the median and worst query latencies are logged; the assertions check
+ * that hits match and come best first.
+ */
+class InvertedIndexBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InvertedIndexBenchmarkTest.class);
+
+    private static final int DOCUMENTS = 100_000;
+    private static final int ROUNDS = 200;
+    private static final String[] ROLES = {"Développeur", "Architecte", "Lead", "Consultant", "Ingénieur", "Tech lead",
+        "Data engineer", "DevOps", "Scrum master", "Product owner"};
+    private static final String[] STACK = {"Java", "Spring", "Kotlin", "Angular", "React", "TypeScript", "Python",
+        "Kafka", "Kubernetes", "AWS", "Azure", "PostgreSQL", "MongoDB", "Go", "Rust", "C#", "C++", "Scala",
+        "Terraform", "Elasticsearch"};
+    private static final String[] QUERIES = {"kafka", "developpeur java", "kub*", "architecte azure terraform",
+        "migration paiement", "ingenieur data*"};
+
+    @Test
+    void search_ShouldAnswerInMillisecondsOverAHundredThousandDocuments() {
+        Random random = new Random(42);
+        String[] words = vocabulary(random);
+        InvertedIndex<Integer, String> index = new InvertedIndex<>();
+
+        long buildStart = System.nanoTime();
+        for (int doc = 0; doc < DOCUMENTS; doc++) {
+            String role = ROLES[random.nextInt(ROLES.length)] + " " + STACK[random.nextInt(STACK.length)];
+            StringBuilder stack = new StringBuilder();
+            StringBuilder description = new StringBuilder();
+            for (int i = 0; i < 4; i++) {
+                stack.append(STACK[random.nextInt(STACK.length)]).append(", ");
+            }
+            for (int i = 0, length = 20 + random.nextInt(60); i < length; i++) {
+                // Zipf-like: a few words are everywhere, most are rare.
+                description.append(words[(int) (words.length * Math.pow(random.nextDouble(), 3))]).append(' ');
+            }
+            index.put(doc, role, 0, List.of(new InvertedIndex.Field(role, 3),
+                new InvertedIndex.Field(stack.toString(), 2), new InvertedIndex.Field(description.toString(), 1)));
+        }
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+        assertThat(index.size()).isEqualTo(DOCUMENTS);
+
+        for (String query : QUERIES) {
+            // Warm up.
+            for (int round = 0; round < 20; round++) {
+                index.search(query, 20);
+            }
+            long[] nanos = new long[ROUNDS];
+            List<InvertedIndex.Hit<Integer, String>> hits = List.of();
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                hits = index.search(query, 20);
+                nanos[round] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            log.info("{} documents, query \"{}\": {} hits shown, median {} µs, max {} µs",
+                DOCUMENTS, query, hits.size(), nanos[ROUNDS / 2] / 1000, nanos[ROUNDS - 1] / 1000);
+
+            for (int i = 1; i < hits.size(); i++) {
+                assertThat(hits.get(i).score()).isLessThanOrEqualTo(hits.get(i - 1).score());
+            }
+        }
+        log.info("Indexed {} documents in {} ms", DOCUMENTS, buildMillis);
+
+        assertThat(index.search("developpeur java", 20)).isNotEmpty()
+            .allSatisfy(hit -> assertThat(InvertedIndex.analyze(hit.payload())).contains("developpeur"));
+        assertThat(index.search("kub*", 20)).hasSize(20);
+    }
+
+    /** Two thousand French-sounding words, including the ones queried. */
+    private static String[] vocabulary(Random random) {
+        List<String> words = new ArrayList<>(List.of("migration", "paiement", "plateforme", "équipe", "données",
+            "client", "mission", "télétravail", "facturation", "sécurité"));
+        String syllables = "ba be bi bo bu ca ce ci co cu da de di do du fa fe fi fo fu la le li lo lu ma me mi "
+            + "mo mu na ne ni no nu pa pe pi po pu ra re ri ro ru sa se si so su ta te ti to tu va ve vi vo vu";
+        String[] parts = syllables.split(" ");
+        while (words.size() < 2000) {
+            StringBuilder word = new StringBuilder();
+            for (int i = 0, length = 2 + random.nextInt(3); i < length; i++) {
+                word.append(parts[random.nextInt(parts.length)]);
+            }
+            words.add(word.toString());
+        }
+        return words.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,144 @@
+package dev.swirlit.indezy.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex<String, String> index = new InvertedIndex<>();
+
+    @Test
+    void analyze_ShouldFoldCaseAccentsAndLigaturesAndKeepLanguageNames() {
+        assertThat(InvertedIndex.analyze("Développeur C++/C# — cœur de l'Équipe, Straße"))
+            .containsExactly("developpeur", "c++", "c#", "coeur", "de", "l", "equipe", "strasse");
+        assertThat(InvertedIndex.analyze("  ")).isEmpty();
+        assertThat(InvertedIndex.analyze(null)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldMatchEveryTermRegardlessOfAccents() {
+        put("1", "Développeur Java", "Spring Boot, Kafka");
+        put("2", "Développeur Angular", "TypeScript");
+        put("3", "Architecte Java", "Kubernetes");
+
+        assertThat(keys(index.search("developpeur", 10))).containsExactlyInAnyOrder("1", "2");
+        assertThat(keys(index.search("DÉVELOPPEUR java", 10))).containsExactly("1");
+        assertThat(index.search("developpeur kubernetes", 10)).isEmpty();
+        assertThat(index.search("cobol", 10)).isEmpty();
+        assertThat(index.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldExpandTermsEndingWithAStar() {
+        put("1", "Kubernetes platform", null);
+        put("2", "Kubectl scripts", null);
+        put("3", "Kotlin backend", null);
+
+        assertThat(keys(index.search("kub*", 10))).containsExactlyInAnyOrder("1", "2");
+        assertThat(keys(index.search("ku* platform", 10))).containsExactly("1");
+        // A one-letter prefix is searched as a word.
+        assertThat(index.search("k*", 10)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldRankWeightedFieldsRareTermsAndShortDocumentsFirst() {
+        put("title", "Kotlin lead", "Java");
+        put("body", "Java lead", "Kotlin");
+        put("long", "Java lead", "Kotlin, and a lot of other words in a long description of the mission");
+
+        List<InvertedIndex.Hit<String, String>> hits = index.search("kotlin", 10);
+
+        assertThat(keys(hits)).containsExactly("title", "body", "long");
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+        assertThat(hits.get(0).payload()).isEqualTo("payload-title");
+    }
+
+    @Test
+    void search_ShouldReturnTheBestHitsUpToTheLimit() {
+        for (int i = 0; i < 50; i++) {
+            put("doc-" + i, "Java " + "filler ".repeat(i), null);
+        }
+
+        assertThat(keys(index.search("java", 3))).containsExactly("doc-0", "doc-1", "doc-2");
+    }
+
+    @Test
+    void put_ShouldReplaceTheDocumentUnlessItIsOlder() {
+        assertThat(index.put("1", "v2", 2, List.of(new InvertedIndex.Field("Java", 1)))).isTrue();
+
+        assertThat(index.put("1", "v1", 1, List.of(new InvertedIndex.Field("Cobol", 1)))).isFalse();
+        assertThat(keys(index.search("java", 10))).containsExactly("1");
+
+        assertThat(index.put("1", "v3", 3, List.of(new InvertedIndex.Field("Kotlin", 1)))).isTrue();
+        assertThat(index.search("java", 10)).isEmpty();
+        assertThat(index.search("kotlin", 10).getFirst().payload()).isEqualTo("v3");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removeAndRemoveIf_ShouldDropDocuments() {
+        put("project-1", "Java", null);
+        put("note-1", "Java call", null);
+        put("note-2", "Java meeting", null);
+
+        assertThat(index.remove("project-1")).isTrue();
+        assertThat(index.remove("project-1")).isFalse();
+        assertThat(index.removeIf((key, payload) -> key.startsWith("note-") && payload.endsWith("1"))).isEqualTo(1);
+
+        assertThat(keys(index.search("java", 10))).containsExactly("note-2");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_WhenMostDocumentsWereReplaced_ShouldCompactWithoutLosingAny() {
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 2000; i++) {
+                index.put("doc-" + i, "round-" + round, round,
+                    List.of(new InvertedIndex.Field("mission " + (i % 2 == 0 ? "even" : "odd") + " round" + round, 1)));
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(2000);
+        assertThat(index.search("even round2", 5000)).hasSize(1000)
+            .allSatisfy(hit -> assertThat(hit.payload()).isEqualTo("round-2"));
+        assertThat(index.search("round0", 10)).isEmpty();
+    }
+
+    @Test
+    void search_WhenADocumentWasReplacedManyTimes_ShouldScoreAsAFreshIndex() {
+        InvertedIndex<String, String> fresh = new InvertedIndex<>();
+        for (int i = 0; i < 20; i++) {
+            String title = i % 4 == 0 ? "Java Kotlin lead" : "Java developer";
+            put(index, "doc-" + i, title, "mission " + "step ".repeat(i));
+            put(fresh, "doc-" + i, title, "mission " + "step ".repeat(i));
+        }
+        for (int version = 1; version <= 30; version++) {
+            index.put("doc-0", "payload-doc-0", version,
+                List.of(new InvertedIndex.Field("Java Kotlin lead", 3), new InvertedIndex.Field("mission ", 1)));
+        }
+
+        List<InvertedIndex.Hit<String, String>> hits = index.search("java kotlin", 20);
+
+        assertThat(hits).hasSize(5).allSatisfy(hit -> assertThat(hit.score()).isPositive());
+        assertThat(hits).isEqualTo(fresh.search("java kotlin", 20));
+        // Equal scores are ordered by internal document number, which the replacements changed.
+        assertThat(index.search("java", 20)).allSatisfy(hit -> assertThat(hit.score()).isPositive())
+            .containsExactlyInAnyOrderElementsOf(fresh.search("java", 20));
+    }
+
+    private void put(String key, String title, String text) {
+        put(index, key, title, text);
+    }
+
+    private static void put(InvertedIndex<String, String> index, String key, String title, String text) {
+        index.put(key, "payload-" + key, 0,
+            List.of(new InvertedIndex.Field(title, 3), new InvertedIndex.Field(text, 1)));
+    }
+
+    private static List<String> keys(List<InvertedIndex.Hit<String, String>> hits) {
+        return hits.stream().map(InvertedIndex.Hit::key).toList();
+    }
+}
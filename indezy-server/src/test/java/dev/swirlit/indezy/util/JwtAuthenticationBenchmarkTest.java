@@ -0,0 +1,78 @@
+package dev.swirlit.indezy.util;
+
+import dev.swirlit.indezy.config.JwtAuthenticationFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs 20k authenticated requests with the same token through {@link JwtAuthenticationFilter},
+ * once with the verified-token cache disabled (every request parses and checks the signature) and
+ * once with it enabled. The overhead per request of both runs is logged; the assertions only check
+ * the number of signature verifications, which unlike wall-clock time is deterministic.
+ */
+class JwtAuthenticationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationBenchmarkTest.class);
+
+    private static final int REQUESTS = 20_000;
+    private static final int WARMUP = 2_000;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void filter20kRequests_ShouldVerifySignatureOncePerTokenWhenCached() throws Exception {
+        Run uncached = run(0);
+        Run cached = run(1024);
+
+        log.info("Authenticated {} requests: uncached {} ns/request ({} verifications), cached {} ns/request ({} verifications)",
+            REQUESTS, uncached.nanosPerRequest(), uncached.verifications(), cached.nanosPerRequest(), cached.verifications());
+
+        assertThat(uncached.verifications()).isEqualTo(WARMUP + REQUESTS);
+        assertThat(cached.verifications()).isEqualTo(1);
+    }
+
+    private Run run(int verifiedCacheSize) throws Exception {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-key-for-jwt-token-generation-and-validation");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", verifiedCacheSize);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil);
+        String header = "Bearer " + jwtUtil.generateToken("bench@example.com", 7L);
+
+        for (int i = 0; i < WARMUP; i++) {
+            authenticate(filter, header);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            Authentication authentication = authenticate(filter, header);
+            assertThat(authentication.getName()).isEqualTo("bench@example.com");
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        return new Run(elapsedNanos / REQUESTS, jwtUtil.signatureVerifications());
+    }
+
+    private Authentication authenticate(JwtAuthenticationFilter filter, String header) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader("Authorization", header);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private record Run(long nanosPerRequest, long verifications) {
+    }
+}
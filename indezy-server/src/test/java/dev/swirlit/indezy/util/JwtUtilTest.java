@@ -4,6 +4,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Optional;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class JwtUtilTest {
@@ -102,4 +104,56 @@ class JwtUtilTest {
         // Then
         assertThat(expiration).isAfter(new java.util.Date());
     }
+
+    @Test
+    void verify_ShouldReturnPrincipalWithUsernameAndUserId() {
+        // Given
+        String token = jwtUtil.generateToken("test@example.com", 42L);
+
+        // When
+        Optional<JwtPrincipal> principal = jwtUtil.verify(token);
+
+        // Then
+        assertThat(principal).isPresent();
+        assertThat(principal.get().getName()).isEqualTo("test@example.com");
+        assertThat(principal.get().userId()).isEqualTo(42L);
+    }
+
+    @Test
+    void verify_ShouldCheckSignatureOnlyOncePerToken() {
+        // Given
+        String token = jwtUtil.generateToken("test@example.com", 1L);
+
+        // When
+        JwtPrincipal first = jwtUtil.verify(token).orElseThrow();
+        JwtPrincipal second = jwtUtil.verify(token).orElseThrow();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(jwtUtil.signatureVerifications()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_ShouldRejectTamperedToken() {
+        // Given
+        String token = jwtUtil.generateToken("test@example.com", 1L);
+        jwtUtil.verify(token);
+        String[] parts = token.split("\\.");
+        String forged = jwtUtil.generateToken("other@example.com", 2L).split("\\.")[1];
+
+        // When & Then
+        assertThat(jwtUtil.verify(parts[0] + "." + forged + "." + parts[2])).isEmpty();
+        assertThat(jwtUtil.verify("not-a-jwt")).isEmpty();
+    }
+
+    @Test
+    void verify_ShouldRejectExpiredToken() {
+        // Given
+        ReflectionTestUtils.setField(jwtUtil, "expiration", -1000L);
+        String token = jwtUtil.generateToken("test@example.com", 1L);
+
+        // When & Then
+        assertThat(jwtUtil.verify(token)).isEmpty();
+        assertThat(jwtUtil.validateToken(token, "test@example.com")).isFalse();
+    }
 }
@@ -0,0 +1,47 @@
+package dev.swirlit.indezy.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class SkillTagsTest {
+
+    @Test
+    void normalize_ShouldFoldCaseAccentsAndSeparators() {
+        assertThat(SkillTags.normalize("  Spring-Boot ")).isEqualTo("spring boot");
+        assertThat(SkillTags.normalize("spring__boot")).isEqualTo("spring boot");
+        assertThat(SkillTags.normalize("Élasticsearch")).isEqualTo("elasticsearch");
+        assertThat(SkillTags.normalize("C#")).isEqualTo("c#");
+        assertThat(SkillTags.normalize(" ")).isEmpty();
+        assertThat(SkillTags.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void normalize_ShouldResolveCommonSpellings() {
+        assertThat(SkillTags.normalize("K8s")).isEqualTo("kubernetes");
+        assertThat(SkillTags.normalize("ReactJS")).isEqualTo("react");
+        assertThat(SkillTags.normalize("NodeJS")).isEqualTo("node.js");
+        assertThat(SkillTags.normalize("Postgres")).isEqualTo("postgresql");
+        assertThat(SkillTags.normalize("SpringBoot")).isEqualTo("spring boot");
+    }
+
+    @Test
+    void parse_ShouldSplitTheStackAndKeepOneNamePerSkill() {
+        assertThat(SkillTags.parse("Java, spring boot; K8s | kubernetes\nReact.js,, "))
+            .containsExactly(
+                entry("java", "Java"),
+                entry("spring boot", "Spring Boot"),
+                entry("kubernetes", "Kubernetes"),
+                entry("react", "React"));
+        assertThat(SkillTags.parse("Angular   Material")).containsExactly(entry("angular material", "Angular Material"));
+        assertThat(SkillTags.parse("  ")).isEmpty();
+        assertThat(SkillTags.parse(null)).isEmpty();
+    }
+
+    @Test
+    void parse_ShouldSkipNamesTooLongForATag() {
+        assertThat(SkillTags.parse("Java, " + "x".repeat(SkillTags.MAX_NAME_LENGTH + 1)))
+            .containsOnlyKeys("java");
+    }
+}
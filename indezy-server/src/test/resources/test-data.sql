@@ -31,52 +31,57 @@ INSERT INTO user_languages (user_id, language) VALUES
 (1, 'French');
 
 -- Insert test user session
-INSERT INTO user_sessions (session_id, device, browser, location, ip_address, last_active, is_current, user_id, created_at, updated_at, version) VALUES
-('session1', 'Chrome on Windows', 'Chrome', 'New York, NY', '192.168.1.1', CURRENT_TIMESTAMP, true, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
+INSERT INTO user_sessions (id, session_id, device, browser, location, ip_address, last_active, is_current, user_id, created_at, updated_at, version) VALUES
+(1, 'session1', 'Chrome on Windows', 'Chrome', 'New York, NY', '192.168.1.1', CURRENT_TIMESTAMP, true, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
 
 -- Insert test security question
-INSERT INTO user_security_questions (question, answer_hash, user_id, created_at, updated_at, version) VALUES
-('What is your mother''s maiden name?', '$2a$10$encrypted_answer_hash', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
+INSERT INTO user_security_questions (id, question, answer_hash, user_id, created_at, updated_at, version) VALUES
+(1, 'What is your mother''s maiden name?', '$2a$10$encrypted_answer_hash', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
+
+-- Move the user id sequences past the seeded rows
+ALTER SEQUENCE users_id_seq RESTART WITH 2;
+ALTER SEQUENCE user_sessions_id_seq RESTART WITH 2;
+ALTER SEQUENCE user_security_questions_id_seq RESTART WITH 2;
 
 -- Insert test freelances (using actual column names from Freelance entity)
 INSERT INTO freelances (id, first_name, last_name, email, phone, birth_date, address, city, status, notice_period_in_days, availability_date, reversion_rate, cv_file_path, password_hash, created_at, updated_at, version) VALUES
 (1, 'John', 'Doe', 'john.doe@example.com', '+33 1 23 45 67 89', '1985-03-15', '123 Rue de la Paix', 'Paris', 'FREELANCE', 30, '2024-02-01', 0.15, '/cv/john-doe.pdf', '$2a$10$encrypted_password_hash', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
 (2, 'Jane', 'Smith', 'jane.smith@example.com', '+33 1 98 76 54 32', '1990-07-22', '456 Avenue des Champs', 'Lyon', 'CDI', 60, '2024-03-01', 0.20, '/cv/jane-smith.pdf', '$2a$10$encrypted_password_hash2', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
 
--- Reset the auto-increment sequence for freelances
-ALTER TABLE freelances ALTER COLUMN id RESTART WITH 3;
+-- Move the id sequence for freelances past the seeded rows
+ALTER SEQUENCE freelances_id_seq RESTART WITH 3;
 
 -- Insert test clients (using actual column names from Client entity)
 INSERT INTO clients (id, company_name, address, city, domain, is_final, notes, freelance_id, created_at, updated_at, version) VALUES
 (1, 'Test Company', '456 Avenue Test', 'Paris', 'Technology', true, 'Test client for integration tests', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
 (2, 'Another Corp', '789 Boulevard Test', 'Lyon', 'Finance', false, 'Another test client', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
 
--- Reset the auto-increment sequence for clients
-ALTER TABLE clients ALTER COLUMN id RESTART WITH 3;
+-- Move the id sequence for clients past the seeded rows
+ALTER SEQUENCE clients_id_seq RESTART WITH 3;
 
 -- Insert test contacts (using actual column names from Contact entity)
 INSERT INTO contacts (id, first_name, last_name, email, phone, notes, client_id, freelance_id, created_at, updated_at, version) VALUES
 (1, 'Jane', 'Smith', 'jane.smith@testcompany.com', '+33 1 98 76 54 32', 'Primary contact for Test Company', 1, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
 (2, 'Bob', 'Johnson', 'bob.johnson@anothercorp.com', '+33 1 11 22 33 44', 'Contact for Another Corp', 2, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
 
--- Reset the auto-increment sequence for contacts
-ALTER TABLE contacts ALTER COLUMN id RESTART WITH 3;
+-- Move the id sequence for contacts past the seeded rows
+ALTER SEQUENCE contacts_id_seq RESTART WITH 3;
 
 -- Insert test sources (using actual column names from Source entity)
 INSERT INTO sources (id, name, type, link, is_listing, popularity_rating, usefulness_rating, notes, freelance_id, created_at, updated_at, version) VALUES
 (1, 'LinkedIn', 'JOB_BOARD', 'https://linkedin.com', false, 5, 4, 'Professional networking platform', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
 (2, 'Indeed', 'JOB_BOARD', 'https://indeed.com', true, 4, 3, 'Job search platform', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
 
--- Reset the auto-increment sequence for sources
-ALTER TABLE sources ALTER COLUMN id RESTART WITH 3;
+-- Move the id sequence for sources past the seeded rows
+ALTER SEQUENCE sources_id_seq RESTART WITH 3;
 
 -- Insert test projects (using actual column names from Project entity)
 INSERT INTO projects (id, role, description, tech_stack, daily_rate, work_mode, remote_days_per_month, onsite_days_per_month, advantages, start_date, duration_in_months, order_renewal_in_months, days_per_year, link, personal_rating, notes, status, client_id, freelance_id, source_id, created_at, updated_at, version) VALUES
 (1, 'Senior Full Stack Developer', 'Development of a modern web application using Angular and Spring Boot', 'Angular, Spring Boot, PostgreSQL', 650, 'HYBRID', 15, 5, 'Modern tech stack, flexible working conditions', '2024-01-15', 12, 6, 220, 'https://project.example.com', 4, 'Excellent project with great team', 'WON', 1, 1, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
 (2, 'Frontend Developer', 'React application development', 'React, TypeScript, Node.js', 550, 'REMOTE', 20, 0, 'Full remote work', '2024-02-01', 8, 4, 200, 'https://project2.example.com', 3, 'Good project but challenging deadlines', 'INTERVIEW', 2, 1, 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
 
--- Reset the auto-increment sequence for projects
-ALTER TABLE projects ALTER COLUMN id RESTART WITH 3;
+-- Move the id sequence for projects past the seeded rows
+ALTER SEQUENCE projects_id_seq RESTART WITH 3;
 
 -- Insert test interview steps (using actual column names from InterviewStep entity)
 INSERT INTO interview_steps (id, title, date, status, notes, project_id, created_at, updated_at, version) VALUES
@@ -84,5 +89,5 @@ INSERT INTO interview_steps (id, title, date, status, notes, project_id, created
 (2, 'Technical Interview', '2024-01-12 10:00:00', 'VALIDATED', 'Strong technical skills demonstrated', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
 (3, 'Initial Contact', '2024-01-25 16:00:00', 'PLANNED', 'Waiting for response', 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
 
--- Reset the auto-increment sequence for interview_steps
-ALTER TABLE interview_steps ALTER COLUMN id RESTART WITH 4;
+-- Move the id sequence for interview_steps past the seeded rows
+ALTER SEQUENCE interview_steps_id_seq RESTART WITH 4;
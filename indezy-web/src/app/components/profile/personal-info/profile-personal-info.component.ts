@@ -13,6 +13,7 @@ import { MatNativeDateModule } from '@angular/material/core';
 import { MatProgressSpinnerModule } from '@angular/material/progress-spinner';
 import { TranslateModule } from '@ngx-translate/core';
 import { UserProfile } from '../../../models/user-management.models';
+import { environment } from '../../../../environments/environment';
 
 /**
  * "Personal information" tab of the profile page: avatar, basic/professional
@@ -69,6 +70,20 @@ export class ProfilePersonalInfoComponent {
     { value: 'CHF', label: 'CHF Franc Suisse' }
   ];
 
+  /**
+   * Avatars uploaded to the API are served from its origin; the 256px thumbnail
+   * stays sharp in the 120px frame on high-density screens.
+   */
+  get avatarSrc(): string {
+    const avatar = this.userProfile.avatar;
+    if (!avatar) {
+      return 'assets/images/default-avatar.png';
+    }
+    return avatar.startsWith('/api/')
+      ? `${environment.apiUrl.replace(/\/api$/, '')}${avatar}?size=256`
+      : avatar;
+  }
+
   addSkill(skill: string): void {
     const skills: string[] = this.form.get('skills')?.value || [];
     if (!skills.includes(skill)) {
@@ -301,7 +301,7 @@ export class ProfileComponent implements OnInit {
         const url = globalThis.URL.createObjectURL(blob);
         const link = document.createElement('a');
         link.href = url;
-        link.download = 'indezy-user-data.json';
+        link.download = 'indezy-user-data.zip';
         link.click();
         globalThis.URL.revokeObjectURL(url);
 
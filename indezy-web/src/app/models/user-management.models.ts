@@ -93,3 +93,15 @@ export interface UpdateUserPreferencesDto {
   itemsPerPage?: number;
   autoSave?: boolean;
 }
+
+export interface DataExport {
+  id: number;
+  status: 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'FAILED' | 'CANCELLED';
+  progress: number;
+  currentSection?: string;
+  records: number;
+  sizeInBytes?: number;
+  error?: string;
+  createdAt?: string;
+  completedAt?: string;
+}
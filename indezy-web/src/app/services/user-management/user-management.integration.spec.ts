@@ -1,4 +1,4 @@
-import { TestBed } from '@angular/core/testing';
+import { TestBed, fakeAsync, tick } from '@angular/core/testing';
 import { provideHttpClient } from '@angular/common/http';
 import { HttpTestingController, provideHttpClientTesting } from '@angular/common/http/testing';
 import { UserManagementService, SecuritySettings } from './user-management.service';
@@ -430,30 +430,34 @@ describe('UserManagementService Integration Tests', () => {
   });
 
   describe('Account Management Integration', () => {
-    it('should export user data from indezy-server', (done) => {
-      const mockData = JSON.stringify({ user: 'data' });
-      const mockBlob = new Blob([mockData], { type: 'application/json' });
+    it('should export user data from indezy-server', fakeAsync(() => {
+      const mockBlob = new Blob(['PK'], { type: 'application/zip' });
+      let result: Blob | undefined;
 
       // Handle the constructor request first
       handleConstructorRequest();
 
       service.exportUserData().subscribe({
-        next: (blob) => {
-          expect(blob).toBeDefined();
-          expect(blob instanceof Blob).toBe(true);
-          expect(blob.size).toBeGreaterThan(0);
-          done();
-        },
-        error: (error) => {
-          fail(`Unexpected error: ${error.message}`);
-          done();
-        }
+        next: (blob) => result = blob,
+        error: (error) => fail(`Unexpected error: ${error.message}`)
       });
 
-      const req = httpMock.expectOne('http://localhost:8080/api/users/export');
-      expect(req.request.method).toBe('GET');
-      req.flush(mockBlob);
-    });
+      const start = httpMock.expectOne('http://localhost:8080/api/users/export');
+      expect(start.request.method).toBe('POST');
+      start.flush({ id: 7, status: 'QUEUED', progress: 0, records: 0 });
+
+      tick(0);
+      httpMock.expectOne('http://localhost:8080/api/users/export/7')
+        .flush({ id: 7, status: 'COMPLETED', progress: 100, records: 3 });
+
+      const download = httpMock.expectOne('http://localhost:8080/api/users/export/7/download');
+      expect(download.request.method).toBe('GET');
+      download.flush(mockBlob);
+
+      expect(result).toBeDefined();
+      expect(result instanceof Blob).toBe(true);
+      expect(result!.size).toBeGreaterThan(0);
+    }));
 
     // Note: Account deletion test is intentionally omitted to avoid
     // accidentally deleting test data during integration testing
@@ -1,4 +1,4 @@
-import { TestBed } from '@angular/core/testing';
+import { TestBed, fakeAsync, tick } from '@angular/core/testing';
 import { HttpTestingController, provideHttpClientTesting } from '@angular/common/http/testing';
 import { provideHttpClient } from '@angular/common/http';
 import { UserManagementService, SecuritySettings } from './user-management.service';
@@ -318,18 +318,40 @@ describe('UserManagementService', () => {
       req.flush(true);
     });
 
-    it('should export user data', () => {
-      const mockBlob = new Blob(['user data'], { type: 'application/json' });
+    it('should start, poll and download the user data export', fakeAsync(() => {
+      const mockBlob = new Blob(['zip'], { type: 'application/zip' });
+      let result: Blob | undefined;
 
-      service.exportUserData().subscribe(blob => {
-        expect(blob).toEqual(mockBlob);
-      });
+      service.exportUserData().subscribe(blob => result = blob);
 
-      const req = httpMock.expectOne(`${API_URL}/export`);
-      expect(req.request.method).toBe('GET');
-      expect(req.request.responseType).toBe('blob');
-      req.flush(mockBlob);
-    });
+      const start = httpMock.expectOne(`${API_URL}/export`);
+      expect(start.request.method).toBe('POST');
+      start.flush({ id: 42, status: 'QUEUED', progress: 0, records: 0 });
+
+      tick(0);
+      httpMock.expectOne(`${API_URL}/export/42`).flush({ id: 42, status: 'RUNNING', progress: 40, records: 12 });
+      tick(1000);
+      httpMock.expectOne(`${API_URL}/export/42`).flush({ id: 42, status: 'COMPLETED', progress: 100, records: 30 });
+
+      const download = httpMock.expectOne(`${API_URL}/export/42/download`);
+      expect(download.request.method).toBe('GET');
+      expect(download.request.responseType).toBe('blob');
+      download.flush(mockBlob);
+      expect(result).toEqual(mockBlob);
+    }));
+
+    it('should report a failed user data export', fakeAsync(() => {
+      let error: Error | undefined;
+
+      service.exportUserData().subscribe({ error: e => error = e });
+
+      httpMock.expectOne(`${API_URL}/export`).flush({ id: 42, status: 'QUEUED', progress: 0, records: 0 });
+      tick(0);
+      httpMock.expectOne(`${API_URL}/export/42`)
+        .flush({ id: 42, status: 'FAILED', progress: 20, records: 0, error: 'database unavailable' });
+
+      expect(error?.message).toBe('database unavailable');
+    }));
   });
 
   describe('User Profile Observable', () => {
@@ -1,12 +1,13 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { BehaviorSubject, Observable } from 'rxjs';
+import { BehaviorSubject, Observable, exhaustMap, first, switchMap, throwError, timer } from 'rxjs';
 import { environment } from '../../../environments/environment';
 import {
   UserProfile,
   UserNotificationSettings,
   UserPreferences,
-  PasswordChangeRequest
+  PasswordChangeRequest,
+  DataExport
 } from '../../models/user-management.models';
 
 export interface SecuritySettings {
@@ -36,6 +37,7 @@ export interface SecurityQuestion {
 })
 export class UserManagementService {
   private readonly API_URL = `${environment.apiUrl}/users`;
+  private readonly EXPORT_POLL_INTERVAL_MS = 1000;
 
   private readonly userProfileSubject = new BehaviorSubject<UserProfile | null>(null);
   public userProfile$ = this.userProfileSubject.asObservable();
@@ -55,8 +57,8 @@ export class UserManagementService {
 
   uploadAvatar(file: File): Observable<string> {
     const formData = new FormData();
-    formData.append('avatar', file);
-    return this.http.post<string>(`${this.API_URL}/avatar`, formData);
+    formData.append('file', file);
+    return this.http.post(`${this.API_URL}/avatar`, formData, { responseType: 'text' });
   }
 
   // Password Management
@@ -104,8 +106,17 @@ export class UserManagementService {
     return this.http.delete<boolean>(`${this.API_URL}/account`, { body: { password } });
   }
 
+  // The archive is built in the background: start it, poll its status, then download the ZIP.
   exportUserData(): Observable<Blob> {
-    return this.http.get(`${this.API_URL}/export`, { responseType: 'blob' });
+    return this.http.post<DataExport>(`${this.API_URL}/export`, null).pipe(
+      switchMap(started => timer(0, this.EXPORT_POLL_INTERVAL_MS).pipe(
+        exhaustMap(() => this.http.get<DataExport>(`${this.API_URL}/export/${started.id}`)),
+        first(dataExport => dataExport.status !== 'QUEUED' && dataExport.status !== 'RUNNING')
+      )),
+      switchMap(dataExport => dataExport.status === 'COMPLETED'
+        ? this.http.get(`${this.API_URL}/export/${dataExport.id}/download`, { responseType: 'blob' })
+        : throwError(() => new Error(dataExport.error ?? `Data export ${dataExport.status.toLowerCase()}`)))
+    );
   }
 
   private loadUserProfile(): void {